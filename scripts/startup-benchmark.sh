@@ -0,0 +1,97 @@
+#!/usr/bin/env bash
+# Mide el arranque del servicio en dos modos:
+#   jar  -> java -jar target/<app>.jar
+#   cds  -> JAR extraído + AOT + archivo CDS (target/cds, ver perfil cds del pom)
+#
+# Por cada corrida reporta el tiempo que informa Spring ("Started ... in X
+# seconds") y el tiempo hasta la primera petición respondida (liveness 200),
+# medido desde que se lanza la JVM. Al final imprime la mediana por modo.
+#
+# Uso:
+#   ./mvnw -Paot,cds -DskipTests package
+#   scripts/startup-benchmark.sh [corridas] [puerto]
+
+set -euo pipefail
+
+RUNS="${1:-10}"
+PORT="${2:-18080}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$ROOT/target"
+JAR="$(ls "$TARGET"/*.jar 2>/dev/null | grep -v -- '-plain' | head -n 1 || true)"
+CDS_DIR="$TARGET/cds"
+LOG="$(mktemp)"
+trap 'rm -f "$LOG" "$LOG.summary"' EXIT
+
+if [[ -z "$JAR" ]]; then
+    echo "❌ No se encontró el JAR en $TARGET; ejecutar primero ./mvnw -Paot,cds -DskipTests package" >&2
+    exit 1
+fi
+
+# Sin calentamiento de conexiones ni .env: el arranque no depende de la red
+export WARMUP_CONNECTIONS_PER_TARGET=0
+export SERVER_PORT="$PORT"
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END {
+        if (NR == 0) { print "-"; exit }
+        if (NR % 2) { print values[(NR + 1) / 2] } else { print int((values[NR / 2] + values[NR / 2 + 1]) / 2) }
+    }'
+}
+
+# run_once <directorio> <argumentos de java...> -> "<spring_ms> <primera_peticion_ms>"
+run_once() {
+    local dir="$1"
+    shift
+    local start pid first spring
+    start="$(now_ms)"
+    (cd "$dir" && exec java "$@") >"$LOG" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health/liveness"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "❌ La aplicación terminó antes de responder; ver log:" >&2
+            tail -n 40 "$LOG" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    first=$(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    spring="$(sed -n 's/.*Started .* in \([0-9.]*\) seconds.*/\1/p' "$LOG" | awk '{ printf "%d", $1 * 1000 }')"
+    echo "${spring:--} $first"
+}
+
+benchmark() {
+    local mode="$1" dir="$2"
+    shift 2
+    local spring_times=() first_times=()
+    run_once "$dir" "$@" >/dev/null # descartar la primera corrida (caché de disco)
+    for ((i = 1; i <= RUNS; i++)); do
+        read -r spring first < <(run_once "$dir" "$@")
+        spring_times+=("$spring")
+        first_times+=("$first")
+        printf '   %-4s corrida %2d: spring=%sms primera_peticion=%sms\n' "$mode" "$i" "$spring" "$first"
+    done
+    printf '%-4s | %16s | %24s\n' "$mode" \
+        "$(printf '%s\n' "${spring_times[@]}" | grep -v -- '-' | median)" \
+        "$(printf '%s\n' "${first_times[@]}" | median)" >>"$LOG.summary"
+}
+
+: >"$LOG.summary"
+
+echo "🚀 $RUNS corridas por modo ($(java -version 2>&1 | head -n 1))"
+benchmark jar "$TARGET" -jar "$JAR"
+if [[ -f "$CDS_DIR/application.jsa" ]]; then
+    benchmark cds "$CDS_DIR" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+        -jar "$(basename "$JAR")"
+else
+    echo "⚠️  $CDS_DIR/application.jsa no existe; se omite el modo cds (usar -Paot,cds)"
+fi
+
+echo
+printf '%-4s | %16s | %24s\n' "modo" "spring (mediana)" "primera petición (mediana)"
+cat "$LOG.summary"
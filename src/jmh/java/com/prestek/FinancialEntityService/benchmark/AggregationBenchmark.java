@@ -0,0 +1,70 @@
+package com.prestek.FinancialEntityService.benchmark;
+
+import com.prestek.FinancialEntityService.dto.BankApplicationDto;
+import com.prestek.FinancialEntityService.service.BankAggregationService;
+import com.prestek.FinancialEntityService.service.RetryBudgetRegistry;
+import com.prestek.FinancialEntityService.service.UserApplicationsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getAllApplicationsFromBanks} completo (WebClient, decodificación,
+ * mapeo y merge de los tres bancos) contra bancos en memoria, sin red ni
+ * caché de agregación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationBenchmark {
+
+    /**
+     * Solicitudes que devuelve cada banco.
+     */
+    @Param({"5", "50"})
+    public int perBank;
+
+    private BankAggregationService service;
+
+    @Setup
+    public void setUp() {
+        byte[] json = BenchmarkFixtures.applicationsJson(perBank);
+        WebClient.Builder stubBanks = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(json))))
+                        .build()));
+        service = new BankAggregationService(stubBanks,
+                new RetryBudgetRegistry(new SimpleMeterRegistry(), 0.1, 10, 2, 50, 1000),
+                new UserApplicationsCache(Duration.ZERO, 0), 5000, "application/json");
+    }
+
+    @Benchmark
+    public List<BankApplicationDto> getAllApplicationsFromBanks() {
+        return service.getAllApplicationsFromBanks("user-7", "Bearer benchmark-token").block();
+    }
+}
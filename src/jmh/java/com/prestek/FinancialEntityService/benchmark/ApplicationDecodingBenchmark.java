@@ -0,0 +1,68 @@
+package com.prestek.FinancialEntityService.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.prestek.FinancialEntityCore.dto.ApplicationDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodificación del arreglo de solicitudes de un banco: con el decoder
+ * reactivo que usa {@code bodyToFlux} y con el ObjectMapper directo como
+ * referencia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApplicationDecodingBenchmark {
+
+    private static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(ApplicationDto.class);
+    private static final TypeReference<List<ApplicationDto>> LIST_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private byte[] json;
+    private Jackson2JsonDecoder decoder;
+
+    @Setup
+    public void setUp() {
+        json = BenchmarkFixtures.applicationsJson(size);
+        decoder = new Jackson2JsonDecoder(BenchmarkFixtures.OBJECT_MAPPER);
+    }
+
+    @Benchmark
+    public List<Object> reactiveDecoder() {
+        return decoder.decode(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(json)),
+                        ELEMENT_TYPE, MediaType.APPLICATION_JSON, Map.of())
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<ApplicationDto> objectMapper() throws IOException {
+        return BenchmarkFixtures.OBJECT_MAPPER.readValue(json, LIST_TYPE);
+    }
+}
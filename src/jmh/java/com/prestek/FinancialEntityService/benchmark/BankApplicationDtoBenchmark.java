@@ -0,0 +1,44 @@
+package com.prestek.FinancialEntityService.benchmark;
+
+import com.prestek.FinancialEntityCore.dto.ApplicationDto;
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.BankApplicationDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeo {@code ApplicationDto -> BankApplicationDto} que se hace por cada
+ * solicitud devuelta por un banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BankApplicationDtoBenchmark {
+
+    private static final BankConstants.BankService BANK = BankConstants.BankService.BANCOLOMBIA;
+
+    private ApplicationDto application;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkFixtures.application(42);
+    }
+
+    @Benchmark
+    public BankApplicationDto from() {
+        return BankApplicationDto.from(application, BANK.bankName(), BANK.bankCode());
+    }
+}
@@ -0,0 +1,106 @@
+package com.prestek.FinancialEntityService.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prestek.FinancialEntityCore.dto.ApplicationDto;
+import com.prestek.FinancialEntityCore.model.Application;
+import com.prestek.FinancialEntityService.dto.BankAnalysisDto;
+import com.prestek.FinancialEntityService.dto.BankComparisonDto;
+import com.prestek.FinancialEntityService.dto.OfferDto;
+import com.prestek.FinancialEntityService.dto.RecommendationDto;
+import com.prestek.FinancialEntityService.dto.SimulationResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Datos de prueba con la forma de las respuestas de los bancos y de n8n.
+ */
+final class BenchmarkFixtures {
+
+    /**
+     * Mismo ObjectMapper que configura Spring Boot (JSR-310, sin fallar por
+     * propiedades desconocidas).
+     */
+    static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private static final Application.ApplicationStatus[] STATUSES = Application.ApplicationStatus.values();
+
+    private BenchmarkFixtures() {
+    }
+
+    static ApplicationDto application(long id) {
+        LocalDateTime created = LocalDateTime.of(2025, 1, 1, 9, 0).plusHours(id);
+        ApplicationDto dto = new ApplicationDto();
+        dto.setId(id);
+        dto.setStatus(STATUSES[(int) (id % STATUSES.length)]);
+        dto.setApplicationDate(created);
+        dto.setReviewDate(created.plusDays(1));
+        dto.setApprovalDate(created.plusDays(2));
+        dto.setNotes("Solicitud registrada desde la app móvil, documentos completos y verificados");
+        dto.setRejectionReason(null);
+        dto.setAmount(5_000_000.0 + id * 1_000);
+        dto.setCreatedAt(created);
+        dto.setUpdatedAt(created.plusDays(2));
+        dto.setUserId("user-" + (id % 50));
+        dto.setCreditOfferId(100 + id);
+        dto.setUserFullName("Usuario de Prueba " + id);
+        dto.setCreditOfferDescription("Crédito de libre inversión a 36 meses con tasa fija y seguro de vida incluido");
+        return dto;
+    }
+
+    static List<ApplicationDto> applications(int count) {
+        List<ApplicationDto> applications = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            applications.add(application(i));
+        }
+        return applications;
+    }
+
+    static byte[] applicationsJson(int count) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(applications(count));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static SimulationResponse simulationResponse() {
+        Map<String, BankAnalysisDto> banks = new LinkedHashMap<>();
+        List<OfferDto> offers = new ArrayList<>();
+        for (String bank : List.of("BCO", "DAVI", "COLT")) {
+            banks.put(bank, BankAnalysisDto.builder()
+                    .positives(List.of("Tasa competitiva", "Sin cuota de manejo"))
+                    .negatives(List.of("Seguro obligatorio"))
+                    .monthlyPaymentAvg(512_345L)
+                    .totalCost(18_444_420L)
+                    .totalInterest(3_444_420L)
+                    .paymentToIncomeRatio(0.21)
+                    .build());
+            offers.add(OfferDto.builder()
+                    .entity(bank)
+                    .approved(true)
+                    .effectiveAnnualRate(0.2412)
+                    .fees(35_000.0)
+                    .monthlyPayment(512_345)
+                    .totalPayments(36)
+                    .totalCost(18_444_420)
+                    .totalInterest(3_444_420)
+                    .build());
+        }
+        return SimulationResponse.builder()
+                .analysis(BankComparisonDto.of(banks))
+                .recommendation(RecommendationDto.builder()
+                        .bestOption("BCO")
+                        .reason("Menor costo total")
+                        .riskAssessment("Bajo")
+                        .summary("Bancolombia ofrece la menor cuota y el menor costo total del crédito")
+                        .build())
+                .offers(offers)
+                .build();
+    }
+}
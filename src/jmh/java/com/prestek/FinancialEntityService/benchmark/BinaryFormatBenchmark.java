@@ -0,0 +1,95 @@
+package com.prestek.FinancialEntityService.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.prestek.FinancialEntityCore.dto.ApplicationDto;
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.BankApplicationDto;
+import com.prestek.FinancialEntityService.dto.SimulationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON frente a Smile y CBOR con el mismo ObjectMapper: codificar la
+ * respuesta de la agregación y de la simulación, y decodificar la lista de
+ * solicitudes de un banco. El tamaño de cada cuerpo se imprime al iniciar
+ * cada combinación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    private static final BankConstants.BankService BANK = BankConstants.BankService.BANCOLOMBIA;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"100"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private JavaType applicationListType;
+    private List<BankApplicationDto> aggregated;
+    private SimulationResponse simulation;
+    private byte[] bankResponse;
+    private byte[] simulationBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "smile" -> BenchmarkFixtures.OBJECT_MAPPER.copyWith(new SmileFactory());
+            case "cbor" -> BenchmarkFixtures.OBJECT_MAPPER.copyWith(new CBORFactory());
+            default -> BenchmarkFixtures.OBJECT_MAPPER;
+        };
+        applicationListType = mapper.getTypeFactory().constructCollectionType(List.class, ApplicationDto.class);
+        List<ApplicationDto> applications = BenchmarkFixtures.applications(size);
+        aggregated = applications.stream()
+                .map(application -> BankApplicationDto.from(application, BANK.bankName(), BANK.bankCode()))
+                .toList();
+        simulation = BenchmarkFixtures.simulationResponse();
+        bankResponse = mapper.writeValueAsBytes(applications);
+        simulationBody = mapper.writeValueAsBytes(simulation);
+        System.out.printf("%n📦 %s: %d solicitudes = %d bytes, agregación = %d bytes, simulación = %d bytes%n",
+                format, size, bankResponse.length, mapper.writeValueAsBytes(aggregated).length,
+                simulationBody.length);
+    }
+
+    @Benchmark
+    public byte[] encodeAggregation() throws IOException {
+        return mapper.writeValueAsBytes(aggregated);
+    }
+
+    @Benchmark
+    public byte[] encodeSimulation() throws IOException {
+        return mapper.writeValueAsBytes(simulation);
+    }
+
+    @Benchmark
+    public List<ApplicationDto> decodeBankResponse() throws IOException {
+        return mapper.readValue(bankResponse, applicationListType);
+    }
+
+    @Benchmark
+    public SimulationResponse decodeSimulation() throws IOException {
+        return mapper.readValue(simulationBody, SimulationResponse.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.prestek.FinancialEntityService.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.BankApplicationDto;
+import com.prestek.FinancialEntityService.dto.DtoSerializersModule;
+import com.prestek.FinancialEntityService.dto.SimulationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializador de beans de Jackson frente a {@link DtoSerializersModule}
+ * sobre listas grandes de {@link BankApplicationDto} (respuesta de la
+ * agregación) y sobre {@link SimulationResponse}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoSerializerBenchmark {
+
+    @Param({"bean", "precompiled"})
+    public String serializer;
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<BankApplicationDto> applications;
+    private SimulationResponse simulation;
+
+    @Setup
+    public void setUp() {
+        mapper = "precompiled".equals(serializer)
+                ? Jackson2ObjectMapperBuilder.json().modulesToInstall(new DtoSerializersModule()).build()
+                : BenchmarkFixtures.OBJECT_MAPPER;
+        BankConstants.BankService[] banks = BankConstants.BankService.values();
+        applications = BenchmarkFixtures.applications(size).stream()
+                .map(application -> {
+                    BankConstants.BankService bank = banks[(int) (application.getId() % banks.length)];
+                    return BankApplicationDto.from(application, bank.bankName(), bank.bankCode());
+                })
+                .toList();
+        simulation = BenchmarkFixtures.simulationResponse();
+    }
+
+    @Benchmark
+    public byte[] applications() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(applications);
+    }
+
+    @Benchmark
+    public byte[] simulation() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(simulation);
+    }
+}
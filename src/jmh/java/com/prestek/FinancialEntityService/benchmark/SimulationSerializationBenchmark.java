@@ -0,0 +1,41 @@
+package com.prestek.FinancialEntityService.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.prestek.FinancialEntityService.dto.SimulationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización de {@link SimulationResponse} (tres bancos con análisis y
+ * ofertas) como la escribe {@code POST /api/simulation}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationSerializationBenchmark {
+
+    private SimulationResponse response;
+
+    @Setup
+    public void setUp() {
+        response = BenchmarkFixtures.simulationResponse();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return BenchmarkFixtures.OBJECT_MAPPER.writeValueAsBytes(response);
+    }
+}
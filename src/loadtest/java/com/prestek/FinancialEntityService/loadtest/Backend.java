@@ -0,0 +1,16 @@
+package com.prestek.FinancialEntityService.loadtest;
+
+import java.io.IOException;
+
+/**
+ * Banco o n8n en memoria al que se apunta el gateway durante la prueba.
+ */
+interface Backend extends AutoCloseable {
+
+    String url(String path);
+
+    String describe();
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,61 @@
+package com.prestek.FinancialEntityService.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencias y resultados de un endpoint. Guarda cada latencia (no un
+ * histograma aproximado) para que los percentiles altos sean exactos.
+ */
+final class EndpointStats {
+
+    private final String endpoint;
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private final Map<String, Long> outcomes = new TreeMap<>();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    synchronized void record(long latencyNanos, String outcome) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        outcomes.merge(outcome, 1L, Long::sum);
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        long errors = outcomes.entrySet().stream()
+                .filter(outcome -> !outcome.getKey().startsWith("2"))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        return new Summary(endpoint, count, count / seconds,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99), percentileMillis(sorted, 0.999),
+                count > 0 ? sorted[count - 1] / 1e6 : 0, errors, new TreeMap<>(outcomes));
+    }
+
+    private static double percentileMillis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    record Summary(
+            String endpoint,
+            long requests,
+            double throughput,
+            double p50Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis,
+            long errors,
+            Map<String, Long> outcomes) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.prestek.FinancialEntityService.loadtest;
+
+import java.util.Random;
+
+/**
+ * Latencia log-normal definida por su mediana y su p99, la forma habitual de
+ * la latencia de un servicio remoto (cola larga a la derecha).
+ */
+record LatencyDistribution(double p50Millis, double p99Millis) {
+
+    /**
+     * Cuantil 0.99 de la normal estándar.
+     */
+    private static final double Z_99 = 2.326;
+
+    LatencyDistribution {
+        if (p50Millis < 0 || p99Millis < p50Millis) {
+            throw new IllegalArgumentException("Se requiere 0 <= p50 <= p99: " + p50Millis + ", " + p99Millis);
+        }
+    }
+
+    long sampleMillis(Random random) {
+        if (p50Millis == 0) {
+            return 0;
+        }
+        double sigma = (Math.log(p99Millis) - Math.log(p50Millis)) / Z_99;
+        return Math.round(p50Millis * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    @Override
+    public String toString() {
+        return "p50=" + Math.round(p50Millis) + "ms p99=" + Math.round(p99Millis) + "ms";
+    }
+}
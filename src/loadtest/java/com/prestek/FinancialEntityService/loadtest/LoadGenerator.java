@@ -0,0 +1,77 @@
+package com.prestek.FinancialEntityService.loadtest;
+
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Generador de carga de lazo abierto: lanza peticiones a una tasa fija sin
+ * esperar a que terminen las anteriores. La latencia se mide desde el
+ * instante en que la petición debía salir, así que las esperas por falta de
+ * capacidad también cuentan (sin omisión coordinada).
+ */
+final class LoadGenerator {
+
+    private final WebClient webClient;
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+
+    LoadGenerator(WebClient webClient, List<Scenario> scenarios, int maxInFlight, Duration requestTimeout) {
+        this.webClient = webClient;
+        this.scenarios = scenarios;
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * @return Estadísticas por endpoint, en el orden de los escenarios
+     */
+    Map<String, EndpointStats> run(int requestsPerSecond, Duration duration) {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> stats.put(scenario.endpoint(), new EndpointStats(scenario.endpoint())));
+        long periodNanos = 1_000_000_000L / requestsPerSecond;
+        long total = duration.toNanos() / periodNanos;
+        long startNanos = System.nanoTime();
+
+        Flux.interval(Duration.ZERO, Duration.ofNanos(periodNanos))
+                .take(total)
+                .onBackpressureBuffer()
+                .flatMap(i -> {
+                    Scenario scenario = pick(i);
+                    long intendedStart = startNanos + i * periodNanos;
+                    return scenario.request().apply(webClient, i)
+                            .exchangeToMono(response -> response.releaseBody()
+                                    .thenReturn(String.valueOf(response.statusCode().value())))
+                            .timeout(requestTimeout)
+                            .onErrorResume(error -> Mono.just(outcome(error)))
+                            .doOnNext(outcome -> stats.get(scenario.endpoint())
+                                    .record(System.nanoTime() - intendedStart, outcome));
+                }, maxInFlight)
+                .blockLast();
+        return stats;
+    }
+
+    private Scenario pick(long i) {
+        long slot = i % totalWeight;
+        for (Scenario scenario : scenarios) {
+            slot -= scenario.weight();
+            if (slot < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(0);
+    }
+
+    private static String outcome(Throwable error) {
+        return error instanceof TimeoutException ? "timeout" : error.getClass().getSimpleName();
+    }
+}
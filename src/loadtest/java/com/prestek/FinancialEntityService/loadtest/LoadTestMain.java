@@ -0,0 +1,183 @@
+package com.prestek.FinancialEntityService.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prestek.FinancialEntityService.FinancialEntityServiceApplication;
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.SimulationRequest;
+import com.prestek.FinancialEntityService.service.OutboundTargetResolver;
+import com.prestek.FinancialEntityService.service.TrafficRecord;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prueba de carga autocontenida: levanta los tres bancos y n8n simulados,
+ * arranca el gateway en el mismo proceso apuntando a ellos y lo carga a una
+ * tasa fija. Imprime p50/p99/p999, throughput y errores por endpoint, y los
+ * deja en {@code target/loadtest-report.txt}.
+ *
+ * Propiedades ({@code -Dloadtest.*}): {@code rps} (200), {@code duration}
+ * (30s), {@code warmup} (10s), {@code seed} (42), {@code maxInFlight} (2000),
+ * {@code latency.p50}/{@code latency.p99} en ms (20/150), {@code errorRate}
+ * (0.01), {@code payload} (20 solicitudes), {@code cacheTtl} (0s: se mide el
+ * fan-out real). Las de los stubs aceptan override por servicio, p. ej.
+ * {@code -Dloadtest.DAVI.latency.p99=2000} o {@code -Dloadtest.n8n.errorRate=0.05}.
+ *
+ * Con {@code -Dloadtest.replay=<archivo>} los stubs se reemplazan por una
+ * grabación de {@code TRAFFIC_RECORDING_FILE} servida con
+ * {@link ReplayBackend} a {@code loadtest.replay.speed} (1 = velocidad real).
+ */
+public final class LoadTestMain {
+
+    private static final Path REPORT = Path.of("target", "loadtest-report.txt");
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int rps = Integer.getInteger("loadtest.rps", 200);
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "30s"));
+        Duration warmup = DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "10s"));
+        long seed = Long.getLong("loadtest.seed", 42);
+        int maxInFlight = Integer.getInteger("loadtest.maxInFlight", 2000);
+        String cacheTtl = System.getProperty("loadtest.cacheTtl", "0s");
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+        String replay = System.getProperty("loadtest.replay");
+        Map<String, List<TrafficRecord>> recording = replay != null ? ReplayBackend.load(Path.of(replay)) : Map.of();
+        double replaySpeed = Double.parseDouble(System.getProperty("loadtest.replay.speed", "1"));
+
+        List<Backend> stubs = new ArrayList<>();
+        try {
+            for (BankConstants.BankService bank : BankConstants.BankService.values()) {
+                Backend stub = replay != null
+                        ? ReplayBackend.start(bank.bankCode(), recording.getOrDefault(bank.bankCode(), List.of()),
+                                replaySpeed)
+                        : StubBackend.bank(bank.bankCode(),
+                                StubProfile.fromSystemProperties(bank.bankCode()), seed + stubs.size(), mapper);
+                stubs.add(stub);
+                // Antes de cargar BankConstants en el gateway: lee las URLs al inicializarse
+                System.setProperty(bank.urlProperty(), stub.url("").replaceAll("/$", ""));
+            }
+            List<TrafficRecord> n8nRecords = recording.getOrDefault(OutboundTargetResolver.N8N_TARGET, List.of());
+            Backend n8n = replay != null
+                    ? ReplayBackend.start(OutboundTargetResolver.N8N_TARGET, n8nRecords, replaySpeed)
+                    : StubBackend.n8n(StubProfile.fromSystemProperties("n8n"), seed + stubs.size(), mapper);
+            stubs.add(n8n);
+            // En replay el webhook se llama con la ruta grabada
+            configureGateway(n8n.url(n8nRecords.isEmpty() ? "/webhook/simulate-credit" : n8nRecords.get(0).path()),
+                    cacheTtl);
+            stubs.forEach(stub -> System.out.println("🏦 Stub " + stub.describe()));
+
+            try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(FinancialEntityServiceApplication.class)
+                    .run("--server.port=0")) {
+                String baseUrl = "http://localhost:" + gateway.getEnvironment().getProperty("local.server.port");
+                LoadGenerator generator = new LoadGenerator(client(baseUrl, maxInFlight), scenarios(mapper),
+                        maxInFlight, Duration.ofSeconds(30));
+
+                System.out.printf("🔥 Calentamiento: %d rps durante %s%n", rps, warmup);
+                generator.run(rps, warmup);
+                System.out.printf("🚀 Medición: %d rps durante %s%n", rps, duration);
+                Map<String, EndpointStats> stats = generator.run(rps, duration);
+
+                String report = report(rps, duration, stats);
+                System.out.println(report);
+                Files.createDirectories(REPORT.getParent());
+                Files.writeString(REPORT, report);
+            }
+        } finally {
+            for (Backend stub : stubs) {
+                stub.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Sin límites de tasa, sin cachés y con logs mínimos: se mide el camino
+     * completo hasta los bancos.
+     */
+    private static void configureGateway(String n8nUrl, String cacheTtl) {
+        System.setProperty("N8N_SIMULATION_URL", n8nUrl);
+        System.setProperty("RATE_LIMIT_REPLENISH_RATE", "1000000");
+        System.setProperty("RATE_LIMIT_BURST_CAPACITY", "1000000");
+        System.setProperty("BANK_RESPONSE_CACHE_TTL", cacheTtl);
+        System.setProperty("AGGREGATION_CACHE_TTL", cacheTtl);
+        System.setProperty("logging.level.root", "WARN");
+    }
+
+    private static WebClient client(String baseUrl, int maxConnections) {
+        ConnectionProvider pool = ConnectionProvider.builder("loadtest")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(pool)))
+                .build();
+    }
+
+    private static List<Scenario> scenarios(ObjectMapper mapper) throws IOException {
+        String[] banks = {"BCO", "DAVI", "COLT"};
+        byte[] simulation = mapper.writeValueAsBytes(SimulationRequest.builder()
+                .userId("load-user")
+                .amount(15_000_000.0)
+                .termMonths(36)
+                .monthlyIncome(6_000_000.0)
+                .build());
+        byte[] application = "{\"userId\":\"load-user\",\"amount\":5000000.0}".getBytes(StandardCharsets.UTF_8);
+        return List.of(
+                new Scenario("GET /api/applications/user/{id}", 5, (client, i) -> client.get()
+                        .uri("/api/applications/user/{userId}", "user-" + i % 1000)
+                        .header("Authorization", "Bearer load-token")),
+                new Scenario("GET /api/applications/{id} (ruta)", 3, (client, i) -> client.get()
+                        .uri("/api/applications/{id}", i % 500)
+                        .header("Authorization", "Bearer load-token")
+                        .header("X-Bank-Code", banks[(int) (i % banks.length)])),
+                new Scenario("POST /api/applications (ruta)", 1, (client, i) -> client.post()
+                        .uri("/api/applications")
+                        .header("Authorization", "Bearer load-token")
+                        .header("X-Bank-Code", banks[(int) (i % banks.length)])
+                        .header("Idempotency-Key", "load-" + i)
+                        .header("Content-Type", "application/json")
+                        .bodyValue(application)),
+                new Scenario("POST /api/simulation", 1, (client, i) -> client.post()
+                        .uri("/api/simulation")
+                        .header("Authorization", "Bearer load-token")
+                        .header("Content-Type", "application/json")
+                        .bodyValue(simulation)));
+    }
+
+    private static String report(int rps, Duration duration, Map<String, EndpointStats> stats) {
+        double seconds = duration.toMillis() / 1000.0;
+        StringBuilder report = new StringBuilder()
+                .append(String.format("%nCarga objetivo: %d rps durante %s (%s)%n", rps, duration, Runtime.version()))
+                .append(String.format("%-36s %8s %8s %9s %9s %9s %9s %7s  %s%n",
+                        "endpoint", "total", "rps", "p50 ms", "p99 ms", "p999 ms", "max ms", "error%", "resultados"));
+        long requests = 0;
+        for (EndpointStats endpoint : stats.values()) {
+            EndpointStats.Summary summary = endpoint.summarize(seconds);
+            requests += summary.requests();
+            report.append(String.format("%-36s %8d %8.1f %9.1f %9.1f %9.1f %9.1f %7.2f  %s%n",
+                    summary.endpoint(), summary.requests(), summary.throughput(),
+                    summary.p50Millis(), summary.p99Millis(), summary.p999Millis(), summary.maxMillis(),
+                    summary.requests() > 0 ? 100.0 * summary.errors() / summary.requests() : 0,
+                    summary.outcomes()));
+        }
+        return report.append(String.format("Throughput total: %.1f rps%n", requests / seconds)).toString();
+    }
+}
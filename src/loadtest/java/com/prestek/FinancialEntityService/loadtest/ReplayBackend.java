@@ -0,0 +1,174 @@
+package com.prestek.FinancialEntityService.loadtest;
+
+import com.prestek.FinancialEntityService.service.TrafficRecord;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Sirve un destino (banco o n8n) desde una grabación de
+ * {@code TrafficRecorder}, con sus estados, cuerpos y tiempos reales.
+ *
+ * Las peticiones se emparejan por método y plantilla de ruta (ids numéricos
+ * y usuarios como comodín, sin query). Con {@code speed > 0} la respuesta
+ * se elige por el instante de llegada: el reloj del replay empieza con la
+ * primera petición y avanza {@code speed} veces más rápido que el real, y
+ * cada plantilla responde con el último intercambio que empezó antes de ese
+ * punto de la grabación ({@code startOffsetMicros}). Así una ráfaga de
+ * errores o de latencia vuelve a ocurrir en el mismo momento del replay; al
+ * llegar al final la grabación vuelve a empezar. Los tiempos de respuesta
+ * se dividen por {@code speed}: 1 reproduce la velocidad grabada y 2 el
+ * doble de rápido. Con 0 responde sin esperas y cada plantilla recorre sus
+ * respuestas en orden circular.
+ */
+final class ReplayBackend implements Backend {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final Pattern USER_SEGMENT = Pattern.compile("/user/[^/]+");
+
+    private final String target;
+    private final double speed;
+    private final Map<String, Responses> responsesByKey = new LinkedHashMap<>();
+    private final MockWebServer server = new MockWebServer();
+    private final long firstOffsetMicros;
+    private final long spanMicros;
+    private final AtomicLong replayStartNanos = new AtomicLong();
+
+    private ReplayBackend(String target, List<TrafficRecord> records, double speed) {
+        this.target = target;
+        this.speed = speed;
+        List<TrafficRecord> byStart = new ArrayList<>(records);
+        // Se graban al terminar: el orden del archivo no es el de llegada
+        byStart.sort(Comparator.comparingLong(TrafficRecord::startOffsetMicros));
+        for (TrafficRecord record : byStart) {
+            responsesByKey.computeIfAbsent(key(record.method(), record.path()), key -> new Responses())
+                    .records.add(record);
+        }
+        this.firstOffsetMicros = byStart.isEmpty() ? 0 : byStart.get(0).startOffsetMicros();
+        this.spanMicros = byStart.isEmpty() ? 1
+                : byStart.get(byStart.size() - 1).startOffsetMicros() - firstOffsetMicros + 1;
+    }
+
+    /**
+     * Registros de la grabación agrupados por destino.
+     */
+    static Map<String, List<TrafficRecord>> load(Path recording) throws IOException {
+        Map<String, List<TrafficRecord>> byTarget = new TreeMap<>();
+        for (TrafficRecord record : TrafficRecord.readAll(recording)) {
+            byTarget.computeIfAbsent(record.target(), target -> new ArrayList<>()).add(record);
+        }
+        return byTarget;
+    }
+
+    static ReplayBackend start(String target, List<TrafficRecord> records, double speed) throws IOException {
+        ReplayBackend backend = new ReplayBackend(target, records, speed);
+        backend.server.setDispatcher(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest request) {
+                Responses responses = backend.responsesByKey.get(
+                        key(request.getMethod(), request.getPath() != null ? request.getPath() : ""));
+                return responses != null
+                        ? backend.respond(backend.select(responses))
+                        : new MockResponse().setResponseCode(404).setBody("{\"error\":\"Not recorded\"}");
+            }
+        });
+        backend.server.start();
+        return backend;
+    }
+
+    @Override
+    public String url(String path) {
+        return server.url(path).toString();
+    }
+
+    @Override
+    public String describe() {
+        int records = responsesByKey.values().stream().mapToInt(responses -> responses.records.size()).sum();
+        return target + " (replay de " + records + " intercambios en " + responsesByKey.size()
+                + " rutas, velocidad " + speed + "x) en " + url("");
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    private TrafficRecord select(Responses responses) {
+        if (speed <= 0) {
+            return responses.next();
+        }
+        long now = System.nanoTime();
+        replayStartNanos.compareAndSet(0, now);
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(now - replayStartNanos.get());
+        long recordingMicros = firstOffsetMicros + Math.floorMod((long) (elapsedMicros * speed), spanMicros);
+        return responses.at(recordingMicros);
+    }
+
+    private MockResponse respond(TrafficRecord record) {
+        MockResponse response = new MockResponse()
+                .setResponseCode(record.status())
+                .setBody(new Buffer().write(record.responseBody()));
+        if (!record.responseContentType().isEmpty()) {
+            response.setHeader("Content-Type", record.responseContentType());
+        }
+        if (speed > 0) {
+            long headersMicros = Math.round(record.headersMicros() / speed);
+            long bodyMicros = Math.round(Math.max(0, record.totalMicros() - record.headersMicros()) / speed);
+            response.setHeadersDelay(headersMicros, TimeUnit.MICROSECONDS)
+                    .setBodyDelay(bodyMicros, TimeUnit.MICROSECONDS);
+        }
+        return response;
+    }
+
+    private static String key(String method, String pathAndQuery) {
+        int query = pathAndQuery.indexOf('?');
+        String path = query >= 0 ? pathAndQuery.substring(0, query) : pathAndQuery;
+        path = USER_SEGMENT.matcher(path).replaceAll("/user/*");
+        return method + " " + NUMERIC_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+
+    private static final class Responses {
+
+        private final List<TrafficRecord> records = new ArrayList<>();
+        private final AtomicInteger next = new AtomicInteger();
+
+        private TrafficRecord next() {
+            return records.get(Math.floorMod(next.getAndIncrement(), records.size()));
+        }
+
+        /**
+         * Último intercambio que empezó antes de {@code offsetMicros}, o el
+         * primero si la plantilla todavía no aparece en ese punto.
+         */
+        private TrafficRecord at(long offsetMicros) {
+            int low = 0;
+            int high = records.size() - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (records.get(middle).startOffsetMicros() <= offsetMicros) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return records.get(low);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.prestek.FinancialEntityService.loadtest;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.service.OutboundTargetResolver;
+import com.prestek.FinancialEntityService.service.TrafficRecord;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sirve una grabación de {@code TRAFFIC_RECORDING_FILE} con un
+ * {@link ReplayBackend} por destino hasta que se detiene el proceso, para
+ * apuntar a ella el gateway, benchmarks o cualquier otra herramienta.
+ * Imprime las variables de entorno a exportar.
+ *
+ * Propiedades: {@code replay.file} (obligatoria), {@code replay.speed} (1).
+ */
+public final class ReplayServerMain {
+
+    private ReplayServerMain() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String file = System.getProperty("replay.file");
+        if (file == null) {
+            System.err.println("❌ Falta -Dreplay.file=<grabación>");
+            System.exit(1);
+        }
+        double speed = Double.parseDouble(System.getProperty("replay.speed", "1"));
+        Map<String, List<TrafficRecord>> recording = ReplayBackend.load(Path.of(file));
+
+        List<Backend> backends = new ArrayList<>();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> backends.forEach(ReplayServerMain::closeQuietly)));
+        for (Map.Entry<String, List<TrafficRecord>> target : recording.entrySet()) {
+            ReplayBackend backend = ReplayBackend.start(target.getKey(), target.getValue(), speed);
+            backends.add(backend);
+            System.out.println("🔁 " + backend.describe());
+            System.out.println("   export " + variable(target.getKey(), target.getValue(), backend));
+        }
+        Thread.currentThread().join();
+    }
+
+    private static String variable(String target, List<TrafficRecord> records, Backend backend) {
+        if (OutboundTargetResolver.N8N_TARGET.equals(target)) {
+            return "N8N_SIMULATION_URL=" + backend.url(records.get(0).path());
+        }
+        return BankConstants.BankService.fromCode(target)
+                .map(bank -> bank.urlProperty() + "=" + backend.url("").replaceAll("/$", ""))
+                .orElse("# destino desconocido: " + target);
+    }
+
+    private static void closeQuietly(Backend backend) {
+        try {
+            backend.close();
+        } catch (IOException e) {
+            // El proceso está terminando
+        }
+    }
+}
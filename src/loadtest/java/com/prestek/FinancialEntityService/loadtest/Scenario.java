@@ -0,0 +1,14 @@
+package com.prestek.FinancialEntityService.loadtest;
+
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.function.BiFunction;
+
+/**
+ * Tipo de petición del escenario de carga, con su peso en la mezcla.
+ *
+ * @param request Construye la petición {@code i} (para variar usuario,
+ *                banco o {@code Idempotency-Key} de forma determinista)
+ */
+record Scenario(String endpoint, int weight, BiFunction<WebClient, Long, WebClient.RequestHeadersSpec<?>> request) {
+}
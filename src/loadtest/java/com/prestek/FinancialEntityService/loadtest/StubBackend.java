@@ -0,0 +1,194 @@
+package com.prestek.FinancialEntityService.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Banco (golden-contract.yaml) o webhook de n8n simulado sobre MockWebServer.
+ *
+ * Los cuerpos se generan una vez al arrancar; cada respuesta sólo sortea su
+ * latencia y si falla, con una semilla fija para que las corridas sean
+ * reproducibles.
+ */
+final class StubBackend implements Backend {
+
+    private static final String[] STATUSES = {"PENDING", "UNDER_REVIEW", "APPROVED", "REJECTED", "CANCELLED"};
+
+    private final String name;
+    private final StubProfile profile;
+    private final Random random;
+    private final MockWebServer server = new MockWebServer();
+
+    private StubBackend(String name, StubProfile profile, long seed) {
+        this.name = name;
+        this.profile = profile;
+        this.random = new Random(seed);
+    }
+
+    static StubBackend bank(String code, StubProfile profile, long seed, ObjectMapper mapper) throws IOException {
+        StubBackend stub = new StubBackend(code, profile, seed);
+        String list = json(mapper, applications(code, profile.applications()));
+        String single = json(mapper, application(code, 1));
+        String quote = json(mapper, quote(code));
+        stub.start(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest request) {
+                String path = request.getPath() != null ? request.getPath().split("\\?")[0] : "";
+                String method = request.getMethod();
+                if ("POST".equals(method) && path.equals("/api/quotes")) {
+                    return stub.respond(200, quote);
+                }
+                if ("POST".equals(method) && path.equals("/api/applications")) {
+                    return stub.respond(201, single);
+                }
+                if ("PATCH".equals(method) && path.matches("/api/applications/\\d+/status")) {
+                    return stub.respond(200, single);
+                }
+                if ("GET".equals(method) && (path.equals("/api/applications")
+                        || path.startsWith("/api/applications/user/")
+                        || path.startsWith("/api/applications/status/"))) {
+                    return stub.respond(200, list);
+                }
+                if ("GET".equals(method) && path.matches("/api/applications/\\d+")) {
+                    return stub.respond(200, single);
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+        return stub;
+    }
+
+    static StubBackend n8n(StubProfile profile, long seed, ObjectMapper mapper) throws IOException {
+        StubBackend stub = new StubBackend("n8n", profile, seed);
+        String simulation = json(mapper, simulation());
+        stub.start(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest request) {
+                return "POST".equals(request.getMethod())
+                        ? stub.respond(200, simulation)
+                        : new MockResponse().setResponseCode(404);
+            }
+        });
+        return stub;
+    }
+
+    @Override
+    public String url(String path) {
+        return server.url(path).toString();
+    }
+
+    @Override
+    public String describe() {
+        return name + " (" + profile + ") en " + url("");
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    private void start(Dispatcher dispatcher) throws IOException {
+        server.setDispatcher(dispatcher);
+        server.start();
+    }
+
+    private MockResponse respond(int status, String body) {
+        long delay;
+        boolean failed;
+        synchronized (random) {
+            delay = profile.latency().sampleMillis(random);
+            failed = random.nextDouble() < profile.errorRate();
+        }
+        MockResponse response = new MockResponse()
+                .setHeadersDelay(delay, TimeUnit.MILLISECONDS)
+                .setHeader("Content-Type", "application/json");
+        return failed
+                ? response.setResponseCode(503).setBody("{\"error\":\"Service Unavailable\"}")
+                : response.setResponseCode(status).setBody(body);
+    }
+
+    private static String json(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Map<String, Object>> applications(String bankCode, int count) {
+        List<Map<String, Object>> applications = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            applications.add(application(bankCode, i));
+        }
+        return applications;
+    }
+
+    private static Map<String, Object> application(String bankCode, long id) {
+        String timestamp = LocalDateTime.of(2025, 1, 1, 9, 0).plusHours(id).toString();
+        Map<String, Object> application = new LinkedHashMap<>();
+        application.put("id", id);
+        application.put("status", STATUSES[(int) (id % STATUSES.length)]);
+        application.put("applicationDate", timestamp);
+        application.put("reviewDate", timestamp);
+        application.put("approvalDate", timestamp);
+        application.put("notes", "Solicitud de carga " + bankCode + "-" + id + " con documentos verificados");
+        application.put("rejectionReason", null);
+        application.put("amount", 5_000_000.0 + id * 1_000);
+        application.put("createdAt", timestamp);
+        application.put("updatedAt", timestamp);
+        application.put("userId", "load-user");
+        application.put("creditOfferId", 100 + id);
+        application.put("userFullName", "Usuario de Carga");
+        application.put("creditOfferDescription", "Crédito de libre inversión a 36 meses con tasa fija");
+        return application;
+    }
+
+    private static Map<String, Object> quote(String bankCode) {
+        Map<String, Object> quote = new LinkedHashMap<>();
+        quote.put("institution", bankCode);
+        quote.put("rateEAmin", 0.21);
+        quote.put("rateEAmax", 0.27);
+        quote.put("monthlyPaymentMin", 480_000L);
+        quote.put("monthlyPaymentMax", 530_000L);
+        quote.put("feesEstimated", 35_000L);
+        quote.put("aprEAEstimated", 0.245);
+        quote.put("validUntil", "2099-12-31");
+        return quote;
+    }
+
+    private static Map<String, Object> simulation() {
+        Map<String, Object> analysis = new LinkedHashMap<>();
+        for (String bank : List.of("BCO", "DAVI", "COLT")) {
+            analysis.put(bank, Map.of(
+                    "positives", List.of("Tasa competitiva"),
+                    "negatives", List.of("Seguro obligatorio"),
+                    "monthlyPaymentAvg", 512_345,
+                    "totalCost", 18_444_420,
+                    "totalInterest", 3_444_420,
+                    "paymentToIncomeRatio", 0.21));
+        }
+        return Map.of(
+                "analysis", analysis,
+                "recommendation", Map.of(
+                        "bestOption", "BCO",
+                        "reason", "Menor costo total",
+                        "riskAssessment", "Bajo",
+                        "summary", "Bancolombia ofrece la menor cuota"));
+    }
+}
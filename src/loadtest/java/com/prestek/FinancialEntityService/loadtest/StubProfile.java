@@ -0,0 +1,31 @@
+package com.prestek.FinancialEntityService.loadtest;
+
+/**
+ * Comportamiento de un banco o de n8n simulado. Se lee de propiedades
+ * {@code loadtest.*}, con override por servicio ({@code loadtest.BCO.errorRate}).
+ *
+ * @param latency      Latencia hasta los headers de la respuesta
+ * @param errorRate    Fracción de respuestas 503
+ * @param applications Solicitudes por respuesta de lista (tamaño del payload)
+ */
+record StubProfile(LatencyDistribution latency, double errorRate, int applications) {
+
+    static StubProfile fromSystemProperties(String service) {
+        return new StubProfile(
+                new LatencyDistribution(
+                        Double.parseDouble(property(service, "latency.p50", "20")),
+                        Double.parseDouble(property(service, "latency.p99", "150"))),
+                Double.parseDouble(property(service, "errorRate", "0.01")),
+                Integer.parseInt(property(service, "payload", "20")));
+    }
+
+    private static String property(String service, String name, String defaultValue) {
+        return System.getProperty("loadtest." + service + "." + name,
+                System.getProperty("loadtest." + name, defaultValue));
+    }
+
+    @Override
+    public String toString() {
+        return latency + " errores=" + errorRate * 100 + "% payload=" + applications;
+    }
+}
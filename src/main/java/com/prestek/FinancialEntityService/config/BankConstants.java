@@ -1,28 +1,46 @@
 package com.prestek.FinancialEntityService.config;
 
+import java.util.Arrays;
+import java.util.Optional;
+
 public final class BankConstants {
 
     private BankConstants() {
     }
 
+    /**
+     * Separa una lista de URLs por coma, sin espacios ni {@code /} final.
+     */
+    public static String[] splitEndpoints(String urls) {
+        return Arrays.stream(urls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> url.endsWith("/") ? url.substring(0, url.length() - 1) : url)
+                .toArray(String[]::new);
+    }
+
     public enum BankService {
-        BANCOLOMBIA(
-                System.getProperty("BANCOLOMBIA_SERVICE_URL", "http://localhost:8083"),
+        BANCOLOMBIA("BANCOLOMBIA_SERVICE_URL", "http://localhost:8083",
                 "Authorization", "Bancolombia", "BCO"),
-        DAVIVIENDA(
-                System.getProperty("DAVIVIENDA_SERVICE_URL", "http://localhost:8082"),
+        DAVIVIENDA("DAVIVIENDA_SERVICE_URL", "http://localhost:8082",
                 "Authorization", "Davivienda", "DAVI"),
-        COLTEFINANCIERA(
-                System.getProperty("COLTEFINANCIERA_SERVICE_URL", "http://localhost:8081"),
+        COLTEFINANCIERA("COLTEFINANCIERA_SERVICE_URL", "http://localhost:8081",
                 "Authorization", "Coltefinanciera", "COLT");
 
+        private final String urlProperty;
+        private final String defaultUrl;
         private final String baseUrl;
         private final String authHeader;
         private final String bankName;
         private final String bankCode;
 
-        BankService(String baseUrl, String authHeader, String bankName, String bankCode) {
-            this.baseUrl = baseUrl;
+        BankService(String urlProperty, String defaultUrl, String authHeader, String bankName, String bankCode) {
+            this.urlProperty = urlProperty;
+            this.defaultUrl = defaultUrl;
+            // La variable puede listar varias réplicas separadas por coma; la
+            // primera es la URL base y BankEndpointRegistry balancea entre todas
+            String[] endpoints = splitEndpoints(System.getProperty(urlProperty, defaultUrl));
+            this.baseUrl = endpoints.length > 0 ? endpoints[0] : defaultUrl;
             this.authHeader = authHeader;
             this.bankName = bankName;
             this.bankCode = bankCode;
@@ -32,6 +50,18 @@ public final class BankConstants {
             return this.baseUrl + path;
         }
 
+        public String baseUrl() {
+            return baseUrl;
+        }
+
+        public String urlProperty() {
+            return urlProperty;
+        }
+
+        public String defaultUrl() {
+            return defaultUrl;
+        }
+
         public String authHeader() {
             return authHeader;
         }
@@ -43,10 +73,31 @@ public final class BankConstants {
         public String bankCode() {
             return bankCode;
         }
+
+        public static Optional<BankService> fromCode(String bankCode) {
+            for (BankService bank : values()) {
+                if (bank.bankCode.equalsIgnoreCase(bankCode)) {
+                    return Optional.of(bank);
+                }
+            }
+            return Optional.empty();
+        }
+
+        public static Optional<BankService> resolve(String codeOrName) {
+            for (BankService bank : values()) {
+                if (bank.bankCode.equalsIgnoreCase(codeOrName) || bank.bankName.equalsIgnoreCase(codeOrName)) {
+                    return Optional.of(bank);
+                }
+            }
+            return Optional.empty();
+        }
     }
 
     public enum BankPaths {
-        GET_APPLICATIONS_BY_USER("/api/applications/user/%s");
+        GET_APPLICATIONS_BY_USER("/api/applications/user/%s"),
+        GET_APPLICATIONS("/api/applications"),
+        GET_APPLICATIONS_BY_STATUS("/api/applications/status/%s"),
+        QUOTES("/api/quotes");
 
         private final String path;
 
@@ -57,5 +108,9 @@ public final class BankConstants {
         public String format(String userId) {
             return path.formatted(userId);
         }
+
+        public String path() {
+            return path;
+        }
     }
 }
@@ -0,0 +1,37 @@
+package com.prestek.FinancialEntityService.config;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tabla declarativa de políticas por banco, indexada por código de banco
+ * (BCO, DAVI, COLT). Se enlaza desde el prefijo {@code bank-policies}; las
+ * reglas sin valor no se evalúan.
+ */
+@Data
+public class BankPolicyProperties {
+
+    public static final String PREFIX = "bank-policies";
+
+    private Map<String, BankPolicy> banks = new LinkedHashMap<>();
+
+    @Data
+    public static class BankPolicy {
+        private Double minAmount;
+        private Double maxAmount;
+        private Integer minTermMonths;
+        private Integer maxTermMonths;
+        private Double minMonthlyIncome;
+
+        // Relación cuota/ingreso máxima, evaluada con la cuota más barata posible
+        private Double maxPaymentToIncome;
+        private Double minAnnualRate;
+
+        private String amountCausal = "MONTO_FUERA_POLITICA";
+        private String termCausal = "PLAZO_FUERA_POLITICA";
+        private String incomeCausal = "INGRESO_INSUFICIENTE";
+        private String paymentToIncomeCausal = "CAPACIDAD_PAGO_INSUFICIENTE";
+    }
+}
@@ -0,0 +1,201 @@
+package com.prestek.FinancialEntityService.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.prestek.FinancialEntityService.dto.FieldSelection;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.codec.Hints;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codecs CBOR y Smile para el servidor y los {@code WebClient}, con el mismo
+ * ObjectMapper que configura Spring Boot (módulos, JSR-310, propiedades
+ * desconocidas).
+ *
+ * JSON sigue siendo el formato por defecto: Smile se registra detrás de JSON
+ * y CBOR solo se usa cuando se pide explícitamente, en los endpoints que lo
+ * declaran en {@code produces} o en cuerpos con {@code Content-Type:
+ * application/cbor}. Así un {@code Accept} comodín, una petición sin
+ * {@code Accept} o un {@code bodyValue} de un {@code WebClient} siguen
+ * siendo JSON.
+ *
+ * Los tres encoders (JSON, Smile y CBOR) aplican además {@code ?fields=} en
+ * los endpoints con {@link FieldProjection}. Este customizer corre después
+ * del de Spring Boot, que registra el encoder JSON con el mismo ObjectMapper.
+ */
+@Configuration
+public class BinaryCodecsConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    // Los constructores con ObjectMapper y sin tipos usan los de JSON
+    private static final MimeType APPLICATION_SMILE = MimeType.valueOf(APPLICATION_SMILE_VALUE);
+
+    @Bean
+    @Order(1)
+    public CodecCustomizer binaryCodecsCustomizer(ObjectMapper objectMapper) {
+        ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+        ObjectMapper cborMapper = objectMapper.copyWith(new CBORFactory());
+        return configurer -> {
+            configurer.defaultCodecs().jackson2JsonEncoder(new ProjectingJsonEncoder(objectMapper));
+            configurer.defaultCodecs().jackson2SmileEncoder(new ProjectingSmileEncoder(smileMapper));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, APPLICATION_SMILE));
+            configurer.customCodecs().register(new ExplicitCborEncoder(cborMapper));
+            configurer.customCodecs().register(new ExplicitCborDecoder(cborMapper));
+        };
+    }
+
+    /**
+     * Agrega la {@link FieldSelection} de {@code ?fields=} a los hints si el
+     * método del controller tiene {@link FieldProjection}.
+     */
+    static Map<String, Object> withFieldSelection(
+            Map<String, Object> hints, @Nullable ResolvableType actualType, ServerHttpRequest request) {
+        if (actualType == null || !(actualType.getSource() instanceof MethodParameter parameter)
+                || !parameter.hasMethodAnnotation(FieldProjection.class)) {
+            return hints;
+        }
+        FieldSelection fields = FieldSelection.parse(request.getQueryParams().getFirst(FieldSelection.PARAMETER));
+        return fields != null ? Hints.merge(hints, FieldSelection.ATTRIBUTE, fields) : hints;
+    }
+
+    static ObjectWriter withFieldSelection(ObjectWriter writer, @Nullable Map<String, Object> hints) {
+        Object fields = hints != null ? hints.get(FieldSelection.ATTRIBUTE) : null;
+        return fields != null ? writer.withAttribute(FieldSelection.ATTRIBUTE, fields) : writer;
+    }
+
+    static final class ProjectingJsonEncoder extends Jackson2JsonEncoder {
+
+        ProjectingJsonEncoder(ObjectMapper mapper) {
+            super(mapper);
+        }
+
+        @Override
+        public Map<String, Object> getEncodeHints(@Nullable ResolvableType actualType, ResolvableType elementType,
+                @Nullable MediaType mediaType, ServerHttpRequest request, ServerHttpResponse response) {
+            return withFieldSelection(super.getEncodeHints(actualType, elementType, mediaType, request, response),
+                    actualType, request);
+        }
+
+        @Override
+        protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable MimeType mimeType,
+                ResolvableType elementType, @Nullable Map<String, Object> hints) {
+            return withFieldSelection(super.customizeWriter(writer, mimeType, elementType, hints), hints);
+        }
+    }
+
+    static final class ProjectingSmileEncoder extends Jackson2SmileEncoder {
+
+        ProjectingSmileEncoder(ObjectMapper mapper) {
+            super(mapper, APPLICATION_SMILE);
+        }
+
+        @Override
+        public Map<String, Object> getEncodeHints(@Nullable ResolvableType actualType, ResolvableType elementType,
+                @Nullable MediaType mediaType, ServerHttpRequest request, ServerHttpResponse response) {
+            return withFieldSelection(super.getEncodeHints(actualType, elementType, mediaType, request, response),
+                    actualType, request);
+        }
+
+        @Override
+        protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable MimeType mimeType,
+                ResolvableType elementType, @Nullable Map<String, Object> hints) {
+            return withFieldSelection(super.customizeWriter(writer, mimeType, elementType, hints), hints);
+        }
+    }
+
+    /**
+     * Los codecs personalizados van antes que los de JSON; sin anunciar
+     * tipos ni aceptar un content type ausente o comodín, CBOR no se elige
+     * por defecto.
+     */
+    static final class ExplicitCborEncoder extends Jackson2CborEncoder {
+
+        ExplicitCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+            return mimeType != null && mimeType.isConcrete() && super.canEncode(elementType, mimeType);
+        }
+
+        @Override
+        public List<MimeType> getEncodableMimeTypes() {
+            return List.of();
+        }
+
+        @Override
+        public List<MimeType> getEncodableMimeTypes(ResolvableType elementType) {
+            return List.of();
+        }
+
+        /**
+         * {@link Jackson2CborEncoder} solo codifica valores sueltos: un Mono
+         * se escribe como su valor y un Flux como un arreglo con todos sus
+         * elementos.
+         */
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                ResolvableType elementType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> value) {
+                return value.map(element -> encodeValue(element, bufferFactory, elementType, mimeType, hints))
+                        .flux();
+            }
+            ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+            return Flux.from(inputStream)
+                    .collectList()
+                    .map(elements -> encodeValue(elements, bufferFactory, listType, mimeType, hints))
+                    .flux();
+        }
+
+        @Override
+        public Map<String, Object> getEncodeHints(@Nullable ResolvableType actualType, ResolvableType elementType,
+                @Nullable MediaType mediaType, ServerHttpRequest request, ServerHttpResponse response) {
+            return withFieldSelection(super.getEncodeHints(actualType, elementType, mediaType, request, response),
+                    actualType, request);
+        }
+
+        @Override
+        protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable MimeType mimeType,
+                ResolvableType elementType, @Nullable Map<String, Object> hints) {
+            return withFieldSelection(super.customizeWriter(writer, mimeType, elementType, hints), hints);
+        }
+    }
+
+    static final class ExplicitCborDecoder extends Jackson2CborDecoder {
+
+        ExplicitCborDecoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
+            return mimeType != null && super.canDecode(elementType, mimeType);
+        }
+    }
+}
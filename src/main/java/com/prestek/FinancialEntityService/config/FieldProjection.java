@@ -0,0 +1,20 @@
+package com.prestek.FinancialEntityService.config;
+
+import com.prestek.FinancialEntityService.dto.FieldSelection;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Habilita {@code ?fields=} en un endpoint: los encoders de
+ * {@link BinaryCodecsConfig} pasan la {@link FieldSelection} de la petición
+ * al ObjectWriter, igual que hacen con {@code @JsonView}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface FieldProjection {
+}
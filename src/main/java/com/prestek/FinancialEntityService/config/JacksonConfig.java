@@ -0,0 +1,19 @@
+package com.prestek.FinancialEntityService.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.prestek.FinancialEntityService.dto.DtoSerializersModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Spring Boot registra los beans {@link Module} en su ObjectMapper, que
+     * también usan los codecs Smile y CBOR.
+     */
+    @Bean
+    public Module dtoSerializersModule() {
+        return new DtoSerializersModule();
+    }
+}
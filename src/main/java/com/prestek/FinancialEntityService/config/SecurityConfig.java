@@ -1,20 +1,56 @@
 package com.prestek.FinancialEntityService.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
+/**
+ * Todo es público salvo los endpoints de actuator que cambian el estado del
+ * gateway ({@code /actuator/refresh} y {@code /actuator/chaos}), que piden
+ * HTTP Basic con {@code ACTUATOR_USERNAME}/{@code ACTUATOR_PASSWORD}. Sin
+ * contraseña configurada quedan cerrados.
+ */
 @Configuration
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
+    static final String ACTUATOR_ROLE = "ACTUATOR";
+    static final String[] PROTECTED_ACTUATOR_PATHS = { "/actuator/refresh", "/actuator/chaos", "/actuator/chaos/**" };
+
     @Bean
     public SecurityWebFilterChain securityWebFilterChain(
-            org.springframework.security.config.web.server.ServerHttpSecurity http) {
+            org.springframework.security.config.web.server.ServerHttpSecurity http,
+            @Value("${ACTUATOR_USERNAME:actuator}") String actuatorUsername,
+            @Value("${ACTUATOR_PASSWORD:}") String actuatorPassword) {
+        boolean actuatorEnabled = actuatorPassword != null && !actuatorPassword.isBlank();
+        if (actuatorEnabled) {
+            PasswordEncoder encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+            MapReactiveUserDetailsService users = new MapReactiveUserDetailsService(User.withUsername(actuatorUsername)
+                    .password(encoder.encode(actuatorPassword))
+                    .roles(ACTUATOR_ROLE)
+                    .build());
+            UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+                    new UserDetailsRepositoryReactiveAuthenticationManager(users);
+            authenticationManager.setPasswordEncoder(encoder);
+            http.httpBasic(basic -> basic.authenticationManager(authenticationManager));
+        }
         return http
                 .csrf(csrf -> csrf.disable())
-                .authorizeExchange(auth -> auth.anyExchange().permitAll())
+                .authorizeExchange(auth -> {
+                    if (actuatorEnabled) {
+                        auth.pathMatchers(PROTECTED_ACTUATOR_PATHS).hasRole(ACTUATOR_ROLE);
+                    } else {
+                        auth.pathMatchers(PROTECTED_ACTUATOR_PATHS).denyAll();
+                    }
+                    auth.anyExchange().permitAll();
+                })
                 .build();
     }
 }
@@ -0,0 +1,41 @@
+package com.prestek.FinancialEntityService.controller;
+
+import com.prestek.FinancialEntityService.dto.ApplicationExportRow;
+import com.prestek.FinancialEntityService.service.ApplicationExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/applications")
+@RequiredArgsConstructor
+public class ApplicationExportController {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ApplicationExportService exportService;
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ApplicationExportRow> exportApplications(
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestHeader(value = "Authorization", required = false) String jwtToken) {
+        return exportService.export(status, cursor, jwtToken);
+    }
+
+    @GetMapping(value = "/export", params = "format=csv", produces = TEXT_CSV_VALUE)
+    public Flux<String> exportApplicationsCsv(
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestHeader(value = "Authorization", required = false) String jwtToken) {
+        // La cabecera espera a la primera señal para que un cursor inválido siga siendo un 400
+        return exportService.export(status, cursor, jwtToken)
+                .switchOnFirst((first, rows) -> first.hasError()
+                        ? rows.map(ApplicationExportRow::toCsvLine)
+                        : Flux.concat(
+                                Mono.just(ApplicationExportRow.CSV_HEADER),
+                                rows.map(ApplicationExportRow::toCsvLine)));
+    }
+}
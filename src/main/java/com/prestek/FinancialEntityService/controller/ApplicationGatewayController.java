@@ -2,10 +2,13 @@ package com.prestek.FinancialEntityService.controller;
 
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.prestek.FinancialEntityService.config.BinaryCodecsConfig;
+import com.prestek.FinancialEntityService.config.FieldProjection;
 import com.prestek.FinancialEntityService.dto.BankApplicationDto;
 import com.prestek.FinancialEntityService.service.BankAggregationService;
 
@@ -21,7 +24,11 @@ public class ApplicationGatewayController {
 
     private final BankAggregationService aggregationService;
 
-    @GetMapping("/user/{userId}")
+    @GetMapping(value = "/user/{userId}", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE,
+            BinaryCodecsConfig.APPLICATION_SMILE_VALUE})
+    @FieldProjection
     public Mono<List<BankApplicationDto>> getApplicationsByUser(
             @PathVariable String userId,
             @RequestHeader(value = "Authorization", required = false) String jwtToken) {
@@ -0,0 +1,59 @@
+package com.prestek.FinancialEntityService.controller;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.service.BankEndpointRegistry;
+import com.prestek.FinancialEntityService.service.BankOutlierDetector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/bankendpoints}: réplicas por banco con su latencia
+ * estimada, peticiones en curso y estado de expulsión.
+ */
+@Component
+@Endpoint(id = "bankendpoints")
+@RequiredArgsConstructor
+public class BankEndpointsEndpoint {
+
+    private final BankEndpointRegistry endpointRegistry;
+
+    @ReadOperation
+    public Map<String, List<EndpointState>> endpoints() {
+        Map<String, List<EndpointState>> banks = new LinkedHashMap<>();
+        for (BankConstants.BankService bank : BankConstants.BankService.values()) {
+            banks.put(bank.bankCode(), endpointRegistry.endpoints(bank.bankCode()).stream()
+                    .map(EndpointState::from)
+                    .toList());
+        }
+        return banks;
+    }
+
+    public record EndpointState(
+            String url,
+            boolean ejected,
+            long ejectedForMillis,
+            int ejectionCount,
+            BankOutlierDetector.Outcome lastEjectionReason,
+            int consecutiveFailures,
+            double latencyMillis,
+            int inFlight) {
+
+        static EndpointState from(BankEndpointRegistry.BankEndpoint endpoint) {
+            return new EndpointState(
+                    endpoint.baseUrl(),
+                    endpoint.isEjected(),
+                    endpoint.ejectedForMillis(),
+                    endpoint.ejectionCount(),
+                    endpoint.lastEjectionReason(),
+                    endpoint.consecutiveFailures(),
+                    Math.round(endpoint.latencyMillis() * 10) / 10d,
+                    endpoint.inFlight());
+        }
+    }
+}
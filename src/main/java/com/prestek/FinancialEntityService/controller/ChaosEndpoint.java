@@ -0,0 +1,85 @@
+package com.prestek.FinancialEntityService.controller;
+
+import com.prestek.FinancialEntityService.service.FaultInjector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/chaos}: fallas inyectadas por destino (BCO, DAVI, COLT,
+ * n8n). Sin el perfil {@code chaos} solo lee y rechaza los cambios.
+ *
+ * <pre>
+ * GET    /actuator/chaos
+ * POST   /actuator/chaos/DAVI  {"latencyMs": 2000, "errorRate": 0.2}
+ * DELETE /actuator/chaos/DAVI
+ * DELETE /actuator/chaos
+ * </pre>
+ *
+ * Un POST reemplaza la falla completa del destino; los campos omitidos
+ * quedan en cero.
+ */
+@Component
+@Endpoint(id = "chaos")
+@RequiredArgsConstructor
+public class ChaosEndpoint {
+
+    private final FaultInjector faultInjector;
+
+    @ReadOperation
+    public Map<String, FaultInjector.Fault> faults() {
+        return faultInjector.faults();
+    }
+
+    @WriteOperation
+    public FaultInjector.Fault configure(
+            @Selector String target,
+            @Nullable Long latencyMs,
+            @Nullable Long jitterMs,
+            @Nullable Double errorRate,
+            @Nullable Integer errorStatus,
+            @Nullable Double dropRate,
+            @Nullable Double truncateRate,
+            @Nullable Long slowBodyMs,
+            @Nullable Integer slowBodyChunkBytes) {
+        try {
+            return faultInjector.configure(target, new FaultInjector.Fault(
+                    orZero(latencyMs),
+                    orZero(jitterMs),
+                    errorRate != null ? errorRate : 0,
+                    errorStatus != null ? errorStatus : 0,
+                    dropRate != null ? dropRate : 0,
+                    truncateRate != null ? truncateRate : 0,
+                    orZero(slowBodyMs),
+                    slowBodyChunkBytes != null ? slowBodyChunkBytes : 0));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    @DeleteOperation
+    public void clear(@Selector String target) {
+        try {
+            faultInjector.clear(target);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    @DeleteOperation
+    public void clearAll() {
+        faultInjector.clearAll();
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0;
+    }
+}
@@ -1,13 +1,23 @@
 package com.prestek.FinancialEntityService.controller;
 
-import org.springframework.web.bind.annotation.GetMapping;
+import com.prestek.FinancialEntityService.filter.LastKnownGoodStore;
+import com.prestek.FinancialEntityService.filter.ResponseCacheGatewayFilterFactory;
+import com.prestek.FinancialEntityService.filter.ResponseCacheStore;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import java.net.URI;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,9 +27,48 @@ public class FallbackController {
 
     private static final Logger log = LoggerFactory.getLogger(FallbackController.class);
 
-    @GetMapping
-    public ResponseEntity<Map<String, Object>> fallback(
-            @RequestHeader("X-Bank-Code") String bankCode) {
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private final LastKnownGoodStore lastKnownGoodStore;
+
+    public FallbackController(LastKnownGoodStore lastKnownGoodStore) {
+        this.lastKnownGoodStore = lastKnownGoodStore;
+    }
+
+    /**
+     * Fallback de los circuit breakers ({@code forward:/fallback/{banco}}).
+     * Para GETs responde la última respuesta exitosa del mismo recurso y
+     * llamante, marcada con {@code Warning} y {@code Age}; el 503 solo se usa
+     * cuando no hay nada guardado.
+     */
+    @RequestMapping({ "", "/{bank}" })
+    public ResponseEntity<?> fallback(
+            @RequestHeader("X-Bank-Code") String bankCode,
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            ServerWebExchange exchange) {
+
+        if (HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+            long now = System.currentTimeMillis();
+            URI originalUri = originalUri(exchange);
+            Optional<ResponseCacheStore.CachedResponse> stale = lastKnownGoodStore.find(
+                    bankCode, originalUri, authorizationHeader, now);
+            if (stale.isPresent()) {
+                ResponseCacheStore.CachedResponse cached = stale.get();
+                long ageSeconds = (now - cached.storedAt()) / 1000;
+                log.warn("Fallback con respuesta vencida para banco {}: {} ({}s)",
+                        bankCode, originalUri.getPath(), ageSeconds);
+
+                HttpHeaders headers = new HttpHeaders();
+                headers.putAll(cached.headers());
+                headers.set(HttpHeaders.WARNING, STALE_WARNING);
+                headers.set(HttpHeaders.AGE, String.valueOf(ageSeconds));
+                headers.set(ResponseCacheGatewayFilterFactory.CACHE_HEADER, "STALE");
+                return ResponseEntity
+                        .status(cached.status())
+                        .headers(headers)
+                        .body(cached.body());
+            }
+        }
 
         log.warn("Fallback activado para banco: {}", bankCode);
 
@@ -34,4 +83,15 @@ public class FallbackController {
                 .header("Retry-After", "60")
                 .body(body);
     }
+
+    private static URI originalUri(ServerWebExchange exchange) {
+        Set<URI> originalUris = exchange.getAttributeOrDefault(
+                ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR, Collections.emptySet());
+        for (URI uri : originalUris) {
+            if (uri.getPath() != null && !uri.getPath().startsWith("/fallback")) {
+                return uri;
+            }
+        }
+        return exchange.getRequest().getURI();
+    }
 }
@@ -1,24 +1,68 @@
 package com.prestek.FinancialEntityService.controller;
 
+import com.prestek.FinancialEntityService.config.BinaryCodecsConfig;
+import com.prestek.FinancialEntityService.config.FieldProjection;
+import com.prestek.FinancialEntityService.dto.SensitivityRequest;
+import com.prestek.FinancialEntityService.dto.SensitivitySeriesDto;
+import com.prestek.FinancialEntityService.dto.SimulationJobDto;
 import com.prestek.FinancialEntityService.dto.SimulationResponse;
 import com.prestek.FinancialEntityService.dto.SimulationRequest;
+import com.prestek.FinancialEntityService.service.SensitivityService;
+import com.prestek.FinancialEntityService.service.SimulationJobService;
 import com.prestek.FinancialEntityService.service.SimulationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/api/simulation")
 @RequiredArgsConstructor
 public class SimulationController {
 
     private final SimulationService simulationService;
+    private final SimulationJobService simulationJobService;
+    private final SensitivityService sensitivityService;
 
-    @PostMapping
+    @PostMapping(produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE,
+            BinaryCodecsConfig.APPLICATION_SMILE_VALUE})
+    @FieldProjection
     public Mono<SimulationResponse> simulateLoan(
             @RequestBody SimulationRequest request,
             @RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
         System.out.println("Authorization Header: " + authorizationHeader);
         return simulationService.simulateLoan(request, authorizationHeader);
     }
+
+    @PostMapping("/jobs")
+    public Mono<ResponseEntity<SimulationJobDto>> submitSimulationJob(
+            @RequestBody SimulationRequest request,
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
+        return simulationJobService.submit(request, authorizationHeader)
+                .map(job -> ResponseEntity
+                        .accepted()
+                        .location(URI.create("/api/simulation/jobs/" + job.getJobId()))
+                        .body(job));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public Mono<SimulationJobDto> getSimulationJob(
+            @PathVariable String jobId,
+            @RequestParam(value = "waitSeconds", required = false) Integer waitSeconds,
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
+        return simulationJobService.find(jobId, authorizationHeader, waitSeconds);
+    }
+
+    @PostMapping(value = "/sensitivity", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<SensitivitySeriesDto> analyzeSensitivity(
+            @RequestBody SensitivityRequest request,
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
+        return sensitivityService.analyze(request, authorizationHeader);
+    }
 }
@@ -0,0 +1,81 @@
+package com.prestek.FinancialEntityService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Una línea de {@code GET /api/applications/export}: la solicitud y el
+ * cursor que reanuda la exportación justo después de ella.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationExportRow {
+
+    public static final String CSV_HEADER = "cursor,bankName,bankCode,id,status,applicationDate,reviewDate,"
+            + "approvalDate,notes,rejectionReason,amount,createdAt,updatedAt,userId,creditOfferId,"
+            + "userFullName,creditOfferDescription\n";
+
+    private String cursor;
+    private BankApplicationDto application;
+
+    /**
+     * Línea CSV (RFC 4180) con las columnas de {@link #CSV_HEADER}.
+     */
+    public String toCsvLine() {
+        BankApplicationDto app = application;
+        StringBuilder line = new StringBuilder(256);
+        // El cursor es base64url: no necesita comillas y no debe llevar prefijo
+        line.append(cursor).append(',');
+        append(line, app.getBankName());
+        append(line, app.getBankCode());
+        append(line, app.getId());
+        append(line, app.getStatus());
+        append(line, app.getApplicationDate());
+        append(line, app.getReviewDate());
+        append(line, app.getApprovalDate());
+        append(line, app.getNotes());
+        append(line, app.getRejectionReason());
+        append(line, app.getAmount());
+        append(line, app.getCreatedAt());
+        append(line, app.getUpdatedAt());
+        append(line, app.getUserId());
+        append(line, app.getCreditOfferId());
+        append(line, app.getUserFullName());
+        append(line, app.getCreditOfferDescription());
+        line.setCharAt(line.length() - 1, '\n');
+        return line.toString();
+    }
+
+    private static void append(StringBuilder line, Object value) {
+        if (value instanceof LocalDateTime date) {
+            line.append(date.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        } else if (value instanceof String text) {
+            appendText(line, text);
+        } else if (value != null) {
+            line.append(value);
+        }
+        line.append(',');
+    }
+
+    private static void appendText(StringBuilder line, String text) {
+        // Evita que una hoja de cálculo interprete notas de usuario como fórmulas
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(text);
+            return;
+        }
+        line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+}
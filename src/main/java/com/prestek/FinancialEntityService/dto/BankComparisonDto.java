@@ -1,23 +1,48 @@
 package com.prestek.FinancialEntityService.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.prestek.FinancialEntityService.config.BankConstants;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-@Data
-@Builder
+/**
+ * Comparación de bancos indexada por código de banco (BCO, DAVI, COLT, ...).
+ * Se serializa como un objeto plano {@code {"BCO": {...}, "DAVI": {...}}}; al
+ * leer respuestas de n8n los nombres de banco ("bancolombia") se normalizan a
+ * su código.
+ */
 @NoArgsConstructor
-@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
 public class BankComparisonDto {
-    @JsonProperty("bancolombia")
-    private BankAnalysisDto bancolombia;
 
-    @JsonProperty("coltefinanciera")
-    private BankAnalysisDto coltefinanciera;
+    private final Map<String, BankAnalysisDto> banks = new LinkedHashMap<>();
 
-    @JsonProperty("davivienda")
-    private BankAnalysisDto davivienda;
+    public static BankComparisonDto of(Map<String, BankAnalysisDto> banks) {
+        BankComparisonDto comparison = new BankComparisonDto();
+        banks.forEach(comparison::put);
+        return comparison;
+    }
+
+    @JsonAnyGetter
+    public Map<String, BankAnalysisDto> getBanks() {
+        return banks;
+    }
+
+    @JsonAnySetter
+    public void put(String bank, BankAnalysisDto analysis) {
+        String bankCode = BankConstants.BankService.resolve(bank)
+                .map(BankConstants.BankService::bankCode)
+                .orElse(bank);
+        banks.put(bankCode, analysis);
+    }
+
+    public BankAnalysisDto get(String bankCode) {
+        return banks.get(bankCode);
+    }
 }
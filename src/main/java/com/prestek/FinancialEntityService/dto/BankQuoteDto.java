@@ -0,0 +1,30 @@
+package com.prestek.FinancialEntityService.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BankQuoteDto {
+    private String institution;
+
+    @JsonProperty("rateEAmin")
+    private Double rateEAmin;
+
+    @JsonProperty("rateEAmax")
+    private Double rateEAmax;
+
+    private Long monthlyPaymentMin;
+    private Long monthlyPaymentMax;
+    private Long feesEstimated;
+
+    @JsonProperty("aprEAEstimated")
+    private Double aprEAEstimated;
+
+    private String validUntil;
+}
@@ -0,0 +1,18 @@
+package com.prestek.FinancialEntityService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BankQuoteRequest {
+    private Long amount;
+    private Integer termMonths;
+    private Integer score;
+    private Long monthlyIncome;
+    private Long monthlyExpenses;
+}
@@ -0,0 +1,530 @@
+package com.prestek.FinancialEntityService.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.prestek.FinancialEntityService.config.BankConstants;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Serializadores escritos a mano para los DTOs de las respuestas más
+ * frecuentes: {@link BankApplicationDto} (agregación) y
+ * {@link SimulationResponse} con {@link BankComparisonDto},
+ * {@link BankAnalysisDto}, {@link RecommendationDto} y {@link OfferDto}
+ * (simulación).
+ *
+ * Escriben cada campo directamente, sin introspección, con los nombres ya
+ * codificados, el nombre y código de cada banco precodificados y las fechas
+ * formateadas a mano en el mismo formato ISO que usa Jackson. La salida es
+ * idéntica a la del serializador de beans; si el ObjectMapper usa una
+ * configuración que no replican (fechas como timestamp o inclusión por
+ * defecto distinta de ALWAYS), se usa el serializador de beans.
+ *
+ * Si el ObjectWriter trae una {@link FieldSelection} en el atributo
+ * {@link FieldSelection#ATTRIBUTE}, solo se escriben los campos
+ * seleccionados; los demás ni se leen. El serializador de beans no aplica
+ * la selección.
+ */
+public class DtoSerializersModule extends SimpleModule {
+
+    public DtoSerializersModule() {
+        super("DtoSerializersModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(
+                    SerializationConfig config, BeanDescription beanDescription, JsonSerializer<?> serializer) {
+                JsonInclude.Include inclusion = config.getDefaultPropertyInclusion().getValueInclusion();
+                if (inclusion != JsonInclude.Include.ALWAYS && inclusion != JsonInclude.Include.USE_DEFAULTS) {
+                    return serializer;
+                }
+                Class<?> type = beanDescription.getBeanClass();
+                if (type == BankApplicationDto.class) {
+                    return new BankApplicationSerializer(serializer);
+                }
+                if (type == SimulationResponse.class) {
+                    return new SimulationResponseSerializer(serializer);
+                }
+                if (type == BankComparisonDto.class) {
+                    return new BankComparisonSerializer(serializer);
+                }
+                if (type == OfferDto.class) {
+                    return new OfferSerializer(serializer);
+                }
+                return serializer;
+            }
+        });
+    }
+
+    /**
+     * Nombre de campo codificado una sola vez.
+     */
+    private static SerializedString name(String name) {
+        return new SerializedString(name);
+    }
+
+    /**
+     * Base: recurre al serializador de beans cuando las fechas se piden como
+     * timestamp (por ejemplo con un {@code ObjectWriter} que lo activa).
+     */
+    private abstract static class FastSerializer<T> extends StdSerializer<T> implements ResolvableSerializer {
+
+        private final JsonSerializer<Object> fallback;
+
+        @SuppressWarnings("unchecked")
+        FastSerializer(Class<T> type, JsonSerializer<?> fallback) {
+            super(type);
+            this.fallback = (JsonSerializer<Object>) fallback;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (fallback instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        @Override
+        public void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+                fallback.serialize(value, gen, provider);
+                return;
+            }
+            write(gen, value, (FieldSelection) provider.getAttribute(FieldSelection.ATTRIBUTE));
+        }
+
+        abstract void write(JsonGenerator gen, T value, FieldSelection fields) throws IOException;
+    }
+
+    /**
+     * Escribe el nombre del campo si está seleccionado; con {@code fields}
+     * null se escriben todos.
+     */
+    private static boolean field(JsonGenerator gen, FieldSelection fields, SerializedString name)
+            throws IOException {
+        if (fields != null && !fields.includes(name.getValue())) {
+            return false;
+        }
+        gen.writeFieldName(name);
+        return true;
+    }
+
+    private static FieldSelection child(FieldSelection fields, String field) {
+        return fields != null ? fields.child(field) : null;
+    }
+
+    static final class BankApplicationSerializer extends FastSerializer<BankApplicationDto> {
+
+        private static final SerializedString BANK_NAME = name("bankName");
+        private static final SerializedString BANK_CODE = name("bankCode");
+        private static final SerializedString ID = name("id");
+        private static final SerializedString STATUS = name("status");
+        private static final SerializedString APPLICATION_DATE = name("applicationDate");
+        private static final SerializedString REVIEW_DATE = name("reviewDate");
+        private static final SerializedString APPROVAL_DATE = name("approvalDate");
+        private static final SerializedString NOTES = name("notes");
+        private static final SerializedString REJECTION_REASON = name("rejectionReason");
+        private static final SerializedString AMOUNT = name("amount");
+        private static final SerializedString CREATED_AT = name("createdAt");
+        private static final SerializedString UPDATED_AT = name("updatedAt");
+        private static final SerializedString USER_ID = name("userId");
+        private static final SerializedString CREDIT_OFFER_ID = name("creditOfferId");
+        private static final SerializedString USER_FULL_NAME = name("userFullName");
+        private static final SerializedString CREDIT_OFFER_DESCRIPTION = name("creditOfferDescription");
+
+        // Todas las solicitudes de un banco repiten su nombre y código
+        private static final Map<String, SerializedString> BANK_VALUES = Stream.of(BankConstants.BankService.values())
+                .flatMap(bank -> Stream.of(bank.bankName(), bank.bankCode()))
+                .distinct()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), SerializedString::new));
+
+        BankApplicationSerializer(JsonSerializer<?> fallback) {
+            super(BankApplicationDto.class, fallback);
+        }
+
+        @Override
+        void write(JsonGenerator gen, BankApplicationDto value, FieldSelection fields) throws IOException {
+            char[] buffer = new char[IsoDateTime.MAX_LENGTH];
+            gen.writeStartObject(value);
+            if (field(gen, fields, BANK_NAME)) {
+                writeBankValue(gen, value.getBankName());
+            }
+            if (field(gen, fields, BANK_CODE)) {
+                writeBankValue(gen, value.getBankCode());
+            }
+            if (field(gen, fields, ID)) {
+                writeNumber(gen, value.getId());
+            }
+            if (field(gen, fields, STATUS)) {
+                gen.writeString(value.getStatus());
+            }
+            if (field(gen, fields, APPLICATION_DATE)) {
+                IsoDateTime.write(gen, value.getApplicationDate(), buffer);
+            }
+            if (field(gen, fields, REVIEW_DATE)) {
+                IsoDateTime.write(gen, value.getReviewDate(), buffer);
+            }
+            if (field(gen, fields, APPROVAL_DATE)) {
+                IsoDateTime.write(gen, value.getApprovalDate(), buffer);
+            }
+            if (field(gen, fields, NOTES)) {
+                gen.writeString(value.getNotes());
+            }
+            if (field(gen, fields, REJECTION_REASON)) {
+                gen.writeString(value.getRejectionReason());
+            }
+            if (field(gen, fields, AMOUNT)) {
+                writeNumber(gen, value.getAmount());
+            }
+            if (field(gen, fields, CREATED_AT)) {
+                IsoDateTime.write(gen, value.getCreatedAt(), buffer);
+            }
+            if (field(gen, fields, UPDATED_AT)) {
+                IsoDateTime.write(gen, value.getUpdatedAt(), buffer);
+            }
+            if (field(gen, fields, USER_ID)) {
+                gen.writeString(value.getUserId());
+            }
+            if (field(gen, fields, CREDIT_OFFER_ID)) {
+                writeNumber(gen, value.getCreditOfferId());
+            }
+            if (field(gen, fields, USER_FULL_NAME)) {
+                gen.writeString(value.getUserFullName());
+            }
+            if (field(gen, fields, CREDIT_OFFER_DESCRIPTION)) {
+                gen.writeString(value.getCreditOfferDescription());
+            }
+            gen.writeEndObject();
+        }
+
+        private static void writeBankValue(JsonGenerator gen, String value) throws IOException {
+            SerializedString encoded = value != null ? BANK_VALUES.get(value) : null;
+            if (encoded != null) {
+                gen.writeString(encoded);
+            } else {
+                gen.writeString(value);
+            }
+        }
+    }
+
+    static final class SimulationResponseSerializer extends FastSerializer<SimulationResponse> {
+
+        private static final SerializedString ANALYSIS = name("analysis");
+        private static final SerializedString RECOMMENDATION = name("recommendation");
+        private static final SerializedString OFFERS = name("offers");
+        private static final SerializedString ESTIMATED = name("estimated");
+
+        private static final SerializedString POSITIVES = name("positives");
+        private static final SerializedString NEGATIVES = name("negatives");
+        private static final SerializedString MONTHLY_PAYMENT_AVG = name("monthlyPaymentAvg");
+        private static final SerializedString TOTAL_COST = name("totalCost");
+        private static final SerializedString TOTAL_INTEREST = name("totalInterest");
+        private static final SerializedString PAYMENT_TO_INCOME_RATIO = name("paymentToIncomeRatio");
+
+        private static final SerializedString BEST_OPTION = name("bestOption");
+        private static final SerializedString REASON = name("reason");
+        private static final SerializedString RISK_ASSESSMENT = name("riskAssessment");
+        private static final SerializedString SUMMARY = name("summary");
+
+        private static final SerializedString ENTITY = name("entity");
+        private static final SerializedString APPROVED = name("approved");
+        private static final SerializedString EFFECTIVE_ANNUAL_RATE = name("effectiveAnnualRate");
+        private static final SerializedString FEES = name("fees");
+        private static final SerializedString MONTHLY_PAYMENT = name("monthlyPayment");
+        private static final SerializedString TOTAL_PAYMENTS = name("totalPayments");
+        private static final SerializedString POLICY_REJECTED = name("policyRejected");
+        private static final SerializedString COD_CAUSAL = name("codCausal");
+
+        SimulationResponseSerializer(JsonSerializer<?> fallback) {
+            super(SimulationResponse.class, fallback);
+        }
+
+        @Override
+        void write(JsonGenerator gen, SimulationResponse value, FieldSelection fields) throws IOException {
+            gen.writeStartObject(value);
+            if (field(gen, fields, RECOMMENDATION)) {
+                writeRecommendation(gen, value.getRecommendation(), child(fields, RECOMMENDATION.getValue()));
+            }
+            // @JsonInclude(NON_EMPTY) / @JsonInclude(NON_NULL) de SimulationResponse
+            if (value.getOffers() != null && !value.getOffers().isEmpty() && field(gen, fields, OFFERS)) {
+                FieldSelection offerFields = child(fields, OFFERS.getValue());
+                gen.writeStartArray(value.getOffers(), value.getOffers().size());
+                for (OfferDto offer : value.getOffers()) {
+                    writeOffer(gen, offer, offerFields);
+                }
+                gen.writeEndArray();
+            }
+            if (value.getEstimated() != null && field(gen, fields, ESTIMATED)) {
+                gen.writeBoolean(value.getEstimated());
+            }
+            // Jackson deja al final las propiedades con @JsonProperty en el campo
+            if (field(gen, fields, ANALYSIS)) {
+                writeComparison(gen, value.getAnalysis(), child(fields, ANALYSIS.getValue()));
+            }
+            gen.writeEndObject();
+        }
+
+        static void writeComparison(JsonGenerator gen, BankComparisonDto comparison, FieldSelection fields)
+                throws IOException {
+            if (comparison == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartObject(comparison);
+            for (Map.Entry<String, BankAnalysisDto> bank : comparison.getBanks().entrySet()) {
+                if (fields == null || fields.includes(bank.getKey())) {
+                    gen.writeFieldName(bank.getKey());
+                    writeAnalysis(gen, bank.getValue(), child(fields, bank.getKey()));
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        private static void writeAnalysis(JsonGenerator gen, BankAnalysisDto analysis, FieldSelection fields)
+                throws IOException {
+            if (analysis == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartObject(analysis);
+            if (field(gen, fields, POSITIVES)) {
+                writeStrings(gen, analysis.getPositives());
+            }
+            if (field(gen, fields, NEGATIVES)) {
+                writeStrings(gen, analysis.getNegatives());
+            }
+            if (field(gen, fields, MONTHLY_PAYMENT_AVG)) {
+                writeNumber(gen, analysis.getMonthlyPaymentAvg());
+            }
+            if (field(gen, fields, TOTAL_COST)) {
+                writeNumber(gen, analysis.getTotalCost());
+            }
+            if (field(gen, fields, TOTAL_INTEREST)) {
+                writeNumber(gen, analysis.getTotalInterest());
+            }
+            if (field(gen, fields, PAYMENT_TO_INCOME_RATIO)) {
+                writeNumber(gen, analysis.getPaymentToIncomeRatio());
+            }
+            gen.writeEndObject();
+        }
+
+        private static void writeRecommendation(
+                JsonGenerator gen, RecommendationDto recommendation, FieldSelection fields) throws IOException {
+            if (recommendation == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartObject(recommendation);
+            if (field(gen, fields, BEST_OPTION)) {
+                gen.writeString(recommendation.getBestOption());
+            }
+            if (field(gen, fields, REASON)) {
+                gen.writeString(recommendation.getReason());
+            }
+            if (field(gen, fields, RISK_ASSESSMENT)) {
+                gen.writeString(recommendation.getRiskAssessment());
+            }
+            if (field(gen, fields, SUMMARY)) {
+                gen.writeString(recommendation.getSummary());
+            }
+            gen.writeEndObject();
+        }
+
+        static void writeOffer(JsonGenerator gen, OfferDto offer, FieldSelection fields) throws IOException {
+            if (offer == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartObject(offer);
+            if (field(gen, fields, ENTITY)) {
+                gen.writeString(offer.getEntity());
+            }
+            if (field(gen, fields, APPROVED)) {
+                writeBoolean(gen, offer.getApproved());
+            }
+            if (field(gen, fields, EFFECTIVE_ANNUAL_RATE)) {
+                writeNumber(gen, offer.getEffectiveAnnualRate());
+            }
+            if (field(gen, fields, FEES)) {
+                writeNumber(gen, offer.getFees());
+            }
+            if (field(gen, fields, MONTHLY_PAYMENT)) {
+                writeNumber(gen, offer.getMonthlyPayment());
+            }
+            if (field(gen, fields, TOTAL_PAYMENTS)) {
+                writeNumber(gen, offer.getTotalPayments());
+            }
+            if (field(gen, fields, TOTAL_COST)) {
+                writeNumber(gen, offer.getTotalCost());
+            }
+            if (field(gen, fields, TOTAL_INTEREST)) {
+                writeNumber(gen, offer.getTotalInterest());
+            }
+            if (field(gen, fields, REASON)) {
+                gen.writeString(offer.getReason());
+            }
+            if (field(gen, fields, POLICY_REJECTED)) {
+                writeBoolean(gen, offer.getPolicyRejected());
+            }
+            if (field(gen, fields, COD_CAUSAL)) {
+                gen.writeString(offer.getCodCausal());
+            }
+            gen.writeEndObject();
+        }
+
+        private static void writeStrings(JsonGenerator gen, List<String> values) throws IOException {
+            if (values == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartArray(values, values.size());
+            for (String value : values) {
+                gen.writeString(value);
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    static final class BankComparisonSerializer extends FastSerializer<BankComparisonDto> {
+
+        BankComparisonSerializer(JsonSerializer<?> fallback) {
+            super(BankComparisonDto.class, fallback);
+        }
+
+        @Override
+        void write(JsonGenerator gen, BankComparisonDto value, FieldSelection fields) throws IOException {
+            SimulationResponseSerializer.writeComparison(gen, value, fields);
+        }
+    }
+
+    static final class OfferSerializer extends FastSerializer<OfferDto> {
+
+        OfferSerializer(JsonSerializer<?> fallback) {
+            super(OfferDto.class, fallback);
+        }
+
+        @Override
+        void write(JsonGenerator gen, OfferDto value, FieldSelection fields) throws IOException {
+            SimulationResponseSerializer.writeOffer(gen, value, fields);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, Double value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.doubleValue());
+        }
+    }
+
+    private static void writeBoolean(JsonGenerator gen, Boolean value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(value);
+        }
+    }
+
+    /**
+     * Formato de {@code DateTimeFormatter.ISO_LOCAL_DATE_TIME} (el que usa
+     * Jackson para {@link LocalDateTime}) escrito en un buffer reutilizable,
+     * sin pasar por {@code DateTimeFormatter}: segundos siempre, fracción
+     * solo si hay nanos y sin ceros a la derecha.
+     */
+    static final class IsoDateTime {
+
+        // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+        static final int MAX_LENGTH = 29;
+
+        private IsoDateTime() {
+        }
+
+        static void write(JsonGenerator gen, LocalDateTime value, char[] buffer) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+                return;
+            }
+            int length = format(value, buffer);
+            if (length < 0) {
+                gen.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            } else {
+                gen.writeString(buffer, 0, length);
+            }
+        }
+
+        /**
+         * Largo escrito, o -1 si el año no cabe en cuatro dígitos (el
+         * formateador ISO agrega signo y más dígitos).
+         */
+        static int format(LocalDateTime value, char[] buffer) {
+            int year = value.getYear();
+            if (year < 0 || year > 9999) {
+                return -1;
+            }
+            put(buffer, 0, year / 100);
+            put(buffer, 2, year % 100);
+            buffer[4] = '-';
+            put(buffer, 5, value.getMonthValue());
+            buffer[7] = '-';
+            put(buffer, 8, value.getDayOfMonth());
+            buffer[10] = 'T';
+            put(buffer, 11, value.getHour());
+            buffer[13] = ':';
+            put(buffer, 14, value.getMinute());
+            buffer[16] = ':';
+            put(buffer, 17, value.getSecond());
+            int nanos = value.getNano();
+            if (nanos == 0) {
+                return 19;
+            }
+            buffer[19] = '.';
+            int end = 29;
+            for (int i = 28; i >= 20; i--) {
+                buffer[i] = (char) ('0' + nanos % 10);
+                nanos /= 10;
+            }
+            while (buffer[end - 1] == '0') {
+                end--;
+            }
+            return end;
+        }
+
+        private static void put(char[] buffer, int offset, int twoDigits) {
+            buffer[offset] = (char) ('0' + twoDigits / 10);
+            buffer[offset + 1] = (char) ('0' + twoDigits % 10);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.prestek.FinancialEntityService.dto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Campos pedidos con {@code ?fields=}: nombres separados por coma, con
+ * puntos para campos anidados y {@code *} como comodín de claves
+ * ({@code recommendation.bestOption,offers.entity,analysis.*.totalCost}).
+ * Un campo pedido sin hijos se escribe completo. Los nombres que no existen
+ * se ignoran.
+ *
+ * La usan los serializadores de {@link DtoSerializersModule}, que la leen
+ * del atributo {@link #ATTRIBUTE} del ObjectWriter.
+ */
+public final class FieldSelection {
+
+    public static final String PARAMETER = "fields";
+    public static final String ATTRIBUTE = FieldSelection.class.getName();
+
+    private static final String ANY = "*";
+
+    // Un valor null indica que el campo se escribe completo
+    private final Map<String, FieldSelection> fields = new HashMap<>();
+
+    private FieldSelection() {
+    }
+
+    /**
+     * Selección de {@code fields}, o null si no se pidió ninguna.
+     */
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        FieldSelection root = new FieldSelection();
+        for (String path : fields.split(",")) {
+            root.add(path.trim().split("\\."), 0);
+        }
+        return root.fields.isEmpty() ? null : root;
+    }
+
+    private void add(String[] path, int index) {
+        String field = path[index].trim();
+        if (field.isEmpty()) {
+            return;
+        }
+        if (index == path.length - 1) {
+            fields.put(field, null);
+            return;
+        }
+        if (fields.containsKey(field) && fields.get(field) == null) {
+            return;
+        }
+        fields.computeIfAbsent(field, name -> new FieldSelection()).add(path, index + 1);
+    }
+
+    public boolean includes(String field) {
+        return fields.containsKey(field) || fields.containsKey(ANY);
+    }
+
+    /**
+     * Selección dentro de un campo incluido, o null si se escribe completo.
+     */
+    public FieldSelection child(String field) {
+        return fields.containsKey(field) ? fields.get(field) : fields.get(ANY);
+    }
+}
@@ -0,0 +1,36 @@
+package com.prestek.FinancialEntityService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SensitivityRequest {
+    private SimulationRequest base;
+
+    // Una o dos variables a barrer; la segunda genera una serie por cada valor
+    private List<Sweep> sweeps;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Sweep {
+        private Variable variable;
+        private Double from;
+        private Double to;
+        private Double step;
+    }
+
+    public enum Variable {
+        AMOUNT,
+        TERM_MONTHS,
+        MONTHLY_INCOME
+    }
+}
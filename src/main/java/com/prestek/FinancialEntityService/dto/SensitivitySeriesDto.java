@@ -0,0 +1,33 @@
+package com.prestek.FinancialEntityService.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Serie de sensibilidad de un banco: arreglos paralelos indexados por el valor
+ * de la variable barrida, listos para graficar.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SensitivitySeriesDto {
+    private String bankCode;
+    private String entity;
+    private Double effectiveAnnualRate;
+    private SensitivityRequest.Variable variable;
+    private double[] values;
+    private long[] monthlyPayment;
+    private long[] totalCost;
+    private double[] paymentToIncome;
+
+    // Solo en barridos de dos variables: valor fijo de la segunda variable en esta serie
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SensitivityRequest.Variable secondaryVariable;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double secondaryValue;
+}
@@ -0,0 +1,28 @@
+package com.prestek.FinancialEntityService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationJobDto {
+    private String jobId;
+    private Status status;
+    private Instant submittedAt;
+    private Instant completedAt;
+    private SimulationResponse result;
+    private String error;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -1,10 +1,13 @@
 package com.prestek.FinancialEntityService.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,4 +17,21 @@ public class SimulationRequest {
     private Double amount;
     private Integer termMonths;
     private Double monthlyIncome;
+
+    // Puntaje crediticio opcional; si no llega se usa la banda por defecto
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer score;
+
+    // ESTIMATE responde desde la caché local de cotizaciones sin llamar a los bancos
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Mode mode;
+
+    // Códigos de banco que n8n no debe cotizar (rechazados por política local)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> excludedBanks;
+
+    public enum Mode {
+        FIRM,
+        ESTIMATE
+    }
 }
@@ -1,11 +1,14 @@
 package com.prestek.FinancialEntityService.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,4 +18,12 @@ public class SimulationResponse {
     private BankComparisonDto analysis;
 
     private RecommendationDto recommendation;
+
+    // Ofertas por banco (incluye los rechazos sintéticos del pre-filtro de políticas)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<OfferDto> offers;
+
+    // true cuando la respuesta se calculó desde la caché de cotizaciones (no es firme)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean estimated;
 }
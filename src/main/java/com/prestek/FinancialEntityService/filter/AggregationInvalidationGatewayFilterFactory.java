@@ -0,0 +1,190 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prestek.FinancialEntityCore.dto.ApplicationDto;
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.BankApplicationDto;
+import com.prestek.FinancialEntityService.service.UserApplicationsCache;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mantiene las consultas agregadas por usuario al día con las mutaciones
+ * que pasan por las rutas de los bancos.
+ *
+ * Tras un 2xx de {@code POST /api/applications} o
+ * {@code PATCH /api/applications/{id}/status} lee la solicitud devuelta por el
+ * banco y la aplica en {@link UserApplicationsCache}; además invalida las
+ * entradas de {@code ResponseCache} de {@code /api/applications/user/{userId}}.
+ * Si la respuesta no se puede leer, invalida la solicitud (o todo el banco
+ * en un POST) en lugar de actualizarla.
+ *
+ * Uso en application.yaml: {@code - AggregationInvalidation}
+ */
+@Component
+@Slf4j
+public class AggregationInvalidationGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AggregationInvalidationGatewayFilterFactory.Config> {
+
+    private static final PathPattern CREATE_APPLICATION =
+            PathPatternParser.defaultInstance.parse("/api/applications");
+    private static final PathPattern UPDATE_STATUS =
+            PathPatternParser.defaultInstance.parse("/api/applications/{id}/status");
+    private static final String USER_APPLICATIONS_PATH = "/api/applications/user";
+
+    private final UserApplicationsCache applicationsCache;
+    private final ResponseCacheStore responseCache;
+    private final ObjectMapper objectMapper;
+
+    public AggregationInvalidationGatewayFilterFactory(
+            UserApplicationsCache applicationsCache,
+            ResponseCacheStore responseCache,
+            ObjectMapper objectMapper) {
+        super(Config.class);
+        this.applicationsCache = applicationsCache;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            PathContainer path = request.getPath().pathWithinApplication();
+            boolean created = HttpMethod.POST.equals(request.getMethod()) && CREATE_APPLICATION.matches(path);
+            PathPattern.PathMatchInfo statusChange = HttpMethod.PATCH.equals(request.getMethod())
+                    ? UPDATE_STATUS.matchAndExtract(path)
+                    : null;
+            if (!created && statusChange == null) {
+                return chain.filter(exchange);
+            }
+            BankConstants.BankService bank = BankConstants.BankService
+                    .fromCode(request.getHeaders().getFirst(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER))
+                    .orElse(null);
+            if (bank == null) {
+                return chain.filter(exchange);
+            }
+            Long applicationId = statusChange != null ? parseId(statusChange.getUriVariables().get("id")) : null;
+            MutationResponse response = new MutationResponse(exchange, bank, applicationId,
+                    config.getMaxBodySize().toBytes());
+            return chain.filter(exchange.mutate().response(response).build());
+        };
+    }
+
+    private static Long parseId(String id) {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lee la solicitud de la respuesta exitosa y actualiza las cachés una sola
+     * vez, al terminar de escribirla.
+     */
+    private final class MutationResponse extends BodyCapturingResponse {
+
+        private final ServerWebExchange exchange;
+        private final BankConstants.BankService bank;
+        private final Long applicationId;
+        private final AtomicBoolean handled = new AtomicBoolean();
+
+        private MutationResponse(
+                ServerWebExchange exchange,
+                BankConstants.BankService bank,
+                Long applicationId,
+                long maxBodyBytes) {
+            super(exchange.getResponse(), maxBodyBytes);
+            this.exchange = exchange;
+            this.bank = bank;
+            this.applicationId = applicationId;
+        }
+
+        @Override
+        protected boolean shouldCapture() {
+            return isSuccessful();
+        }
+
+        @Override
+        protected void onCaptured(byte[] body) {
+            if (!handled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                ApplicationDto application = objectMapper.readValue(body, ApplicationDto.class);
+                if (application.getUserId() != null && application.getId() != null) {
+                    applicationsCache.applyMutation(
+                            BankApplicationDto.from(application, bank.bankName(), bank.bankCode()));
+                    responseCache.invalidate(userApplicationsKey() + "/" + application.getUserId());
+                    log.info("♻️ {} application {} changed, user {} caches refreshed",
+                            bank.bankName(), application.getId(), application.getUserId());
+                    return;
+                }
+            } catch (IOException e) {
+                log.warn("⚠️ Could not read {} mutation response: {}", bank.bankName(), e.getMessage());
+            }
+            invalidate();
+        }
+
+        @Override
+        protected void onNotCaptured() {
+            if (isSuccessful() && handled.compareAndSet(false, true)) {
+                invalidate();
+            }
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            // Respuesta sin cuerpo: no hay solicitud que aplicar
+            onNotCaptured();
+            return super.setComplete();
+        }
+
+        private void invalidate() {
+            if (applicationId != null) {
+                applicationsCache.invalidateApplication(bank.bankCode(), applicationId);
+            } else {
+                applicationsCache.invalidateBank(bank.bankCode());
+            }
+            responseCache.invalidate(userApplicationsKey());
+            log.info("♻️ {} mutation without readable body, aggregated caches invalidated", bank.bankName());
+        }
+
+        private boolean isSuccessful() {
+            HttpStatusCode status = getStatusCode();
+            return status != null && status.is2xxSuccessful();
+        }
+
+        private String userApplicationsKey() {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            return (route != null ? route.getId() : "")
+                    + ResponseCacheStore.SEPARATOR + exchange.getRequest().getHeaders()
+                            .getFirst(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER)
+                    + ResponseCacheStore.SEPARATOR + USER_APPLICATIONS_PATH;
+        }
+    }
+
+    @Data
+    public static class Config {
+        private DataSize maxBodySize = DataSize.ofKilobytes(64);
+    }
+}
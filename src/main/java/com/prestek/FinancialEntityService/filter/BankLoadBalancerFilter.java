@@ -0,0 +1,60 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.service.BankEndpointRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Resuelve las rutas {@code uri: bank://BCO} contra la réplica elegida por
+ * {@link BankEndpointRegistry} y registra la latencia hasta el primer byte
+ * de la respuesta. Corre después de los filtros de la ruta, así que cada
+ * reintento de {@code BudgetedRetry} vuelve a elegir réplica.
+ */
+@Component
+@RequiredArgsConstructor
+public class BankLoadBalancerFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 150;
+
+    private final BankEndpointRegistry endpointRegistry;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || !BankEndpointRegistry.BANK_SCHEME.equalsIgnoreCase(url.getScheme())) {
+            return chain.filter(exchange);
+        }
+        BankEndpointRegistry.Routed routed = endpointRegistry.route(url);
+        if (routed == null) {
+            return Mono.error(NotFoundException.create(true, "Unknown bank: " + url.getHost()));
+        }
+
+        ServerWebExchangeUtils.addOriginalRequestUrl(exchange, url);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, routed.target());
+        BankEndpointRegistry.Call call = routed.endpoint().start();
+        exchange.getResponse().beforeCommit(() -> {
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            call.complete(status != null && status.is5xxServerError());
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .doOnError(call::fail)
+                .doFinally(signal -> call.cancel());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,54 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.service.BankEndpointRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Balancea entre las réplicas de cada banco las peticiones de todos los
+ * {@link WebClient} construidos con el {@link WebClient.Builder} de Spring
+ * (agregación, cotizaciones y broadcast).
+ *
+ * La réplica se elige en cada intercambio, así que cada reintento vuelve a
+ * elegir. La latencia se mide hasta recibir los headers de la respuesta.
+ * Las peticiones con el atributo {@link #PINNED_ATTRIBUTE} van a la URL
+ * indicada sin balancear (p. ej. el calentamiento de conexiones).
+ */
+@Component
+@RequiredArgsConstructor
+public class BankLoadBalancingExchangeFilter implements ExchangeFilterFunction, WebClientCustomizer {
+
+    public static final String PINNED_ATTRIBUTE = BankLoadBalancingExchangeFilter.class.getName() + ".pinned";
+
+    private final BankEndpointRegistry endpointRegistry;
+
+    @Override
+    public void customize(WebClient.Builder webClientBuilder) {
+        webClientBuilder.filter(this);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.attribute(PINNED_ATTRIBUTE).isPresent()) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            BankEndpointRegistry.Routed routed = endpointRegistry.route(request.url());
+            if (routed == null) {
+                return next.exchange(request);
+            }
+            BankEndpointRegistry.Call call = routed.endpoint().start();
+            return next.exchange(ClientRequest.from(request).url(routed.target()).build())
+                    .doOnNext(response -> call.complete(response.statusCode().is5xxServerError()))
+                    .doOnError(call::fail)
+                    .doOnCancel(call::cancel);
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package com.prestek.FinancialEntityService.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copia el cuerpo de la respuesta a medida que se escribe (sin retenerlo ni
+ * demorarlo) y lo entrega al completar, si no superó el tamaño máximo.
+ */
+abstract class BodyCapturingResponse extends ServerHttpResponseDecorator {
+
+    private static final List<String> HOP_BY_HOP_HEADERS = List.of(
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, "Keep-Alive");
+
+    private final long maxBytes;
+
+    BodyCapturingResponse(ServerHttpResponse delegate, long maxBytes) {
+        super(delegate);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Se evalúa al empezar a escribir, con el estado y los headers ya puestos.
+     */
+    protected abstract boolean shouldCapture();
+
+    protected abstract void onCaptured(byte[] body);
+
+    /**
+     * La respuesta no se capturó (no almacenable, demasiado grande o con error).
+     */
+    protected void onNotCaptured() {
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        if (!shouldCapture()) {
+            onNotCaptured();
+            return super.writeWith(body);
+        }
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        boolean[] overflow = new boolean[1];
+        Flux<? extends DataBuffer> capturing = Flux.from(body)
+                .doOnNext(buffer -> {
+                    int readable = buffer.readableByteCount();
+                    if (overflow[0] || captured.size() + readable > maxBytes) {
+                        overflow[0] = true;
+                        return;
+                    }
+                    byte[] bytes = new byte[readable];
+                    int position = buffer.readPosition();
+                    buffer.read(bytes);
+                    buffer.readPosition(position);
+                    captured.writeBytes(bytes);
+                })
+                .doOnComplete(() -> {
+                    if (overflow[0]) {
+                        onNotCaptured();
+                    } else {
+                        onCaptured(captured.toByteArray());
+                    }
+                })
+                .doOnError(error -> onNotCaptured());
+        return super.writeWith(capturing);
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWith(Flux.from(body).flatMapSequential(publisher -> publisher));
+    }
+
+    /**
+     * Headers para guardar junto al cuerpo, sin los de salto a salto ni los
+     * indicados.
+     */
+    protected HttpHeaders storableHeaders(String... excluded) {
+        HttpHeaders copy = new HttpHeaders();
+        for (Map.Entry<String, List<String>> header : getHeaders().entrySet()) {
+            if (HOP_BY_HOP_HEADERS.stream().noneMatch(header.getKey()::equalsIgnoreCase)
+                    && List.of(excluded).stream().noneMatch(header.getKey()::equalsIgnoreCase)) {
+                copy.put(header.getKey(), List.copyOf(header.getValue()));
+            }
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,229 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.prestek.FinancialEntityService.config.BankConstants;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reenvía un GET a varios bancos en paralelo ({@code X-Bank-Code: ALL} o una
+ * lista {@code BCO,DAVI}) y fusiona sus arreglos JSON en un solo arreglo a
+ * medida que llegan los elementos. Cada elemento se etiqueta con
+ * {@code bankCode}; los valores que no son objetos se envuelven como
+ * {@code {"bankCode": ..., "value": ...}}.
+ *
+ * Los errores por banco se reportan en {@code X-Bank-Errors}
+ * ({@code DAVI=503,COLT=timeout}): como header con los errores conocidos al
+ * enviar el primer byte y como trailer HTTP con la lista completa. Si todos
+ * los bancos fallan antes de responder el estado es 502.
+ *
+ * Uso en application.yaml: {@code - Broadcast}
+ */
+@Component
+@Slf4j
+public class BroadcastGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<BroadcastGatewayFilterFactory.Config> {
+
+    public static final String ALL_BANKS = "ALL";
+    public static final String BANK_ERRORS_HEADER = "X-Bank-Errors";
+
+    private static final byte[] OPEN = "[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] COMMA = ",".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CLOSE = "]".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EMPTY = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+
+    public BroadcastGatewayFilterFactory(WebClient.Builder webClientBuilder, ObjectMapper objectMapper) {
+        super(Config.class);
+        this.webClient = webClientBuilder.build();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeout");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> broadcast(exchange, config);
+    }
+
+    private Mono<Void> broadcast(ServerWebExchange exchange, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpResponse response = exchange.getResponse();
+        List<BankConstants.BankService> banks = selectBanks(request.getHeaders().getFirst(
+                ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER));
+        if (banks.isEmpty()) {
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            return response.setComplete();
+        }
+
+        String pathAndQuery = request.getURI().getRawQuery() != null
+                ? request.getPath().value() + "?" + request.getURI().getRawQuery()
+                : request.getPath().value();
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        Map<String, String> errors = new ConcurrentHashMap<>();
+
+        log.info("📡 Broadcasting GET {} to {}", pathAndQuery, banks);
+
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.TRAILER, BANK_ERRORS_HEADER);
+        response.beforeCommit(() -> {
+            if (!errors.isEmpty()) {
+                response.getHeaders().set(BANK_ERRORS_HEADER, formatErrors(errors));
+                if (errors.size() == banks.size()) {
+                    response.setStatusCode(HttpStatus.BAD_GATEWAY);
+                }
+            }
+            return Mono.empty();
+        });
+        if (nativeResponse(response) instanceof HttpServerResponse httpServerResponse) {
+            httpServerResponse.trailerHeaders(trailers -> {
+                if (!errors.isEmpty()) {
+                    trailers.set(BANK_ERRORS_HEADER, formatErrors(errors));
+                }
+            });
+        }
+
+        // El "[" viaja con el primer elemento para no confirmar la respuesta
+        // (y sus headers) antes de tener algún resultado
+        DataBufferFactory bufferFactory = response.bufferFactory();
+        AtomicBoolean first = new AtomicBoolean(true);
+        Flux<DataBuffer> elements = Flux.fromIterable(banks)
+                .flatMap(bank -> fetch(bank, pathAndQuery, authorization, config.getTimeout(), errors))
+                .map(element -> {
+                    byte[] prefix = first.compareAndSet(true, false) ? OPEN : COMMA;
+                    byte[] json = serialize(element);
+                    byte[] chunk = new byte[prefix.length + json.length];
+                    System.arraycopy(prefix, 0, chunk, 0, prefix.length);
+                    System.arraycopy(json, 0, chunk, prefix.length, json.length);
+                    return bufferFactory.wrap(chunk);
+                });
+
+        return response.writeWith(Flux.concat(
+                elements,
+                Mono.fromSupplier(() -> bufferFactory.wrap(first.get() ? EMPTY : CLOSE))));
+    }
+
+    private Flux<JsonNode> fetch(
+            BankConstants.BankService bank,
+            String pathAndQuery,
+            String authorization,
+            Duration timeout,
+            Map<String, String> errors) {
+        return webClient.get()
+                .uri(bank.buildUri(pathAndQuery))
+                .header(bank.authHeader(), authorization != null ? authorization : "")
+                .retrieve()
+                .bodyToFlux(JsonNode.class)
+                .timeout(timeout)
+                .map(element -> tag(element, bank.bankCode()))
+                .onErrorResume(error -> {
+                    String reason = reason(error);
+                    log.warn("⚠️  Broadcast to {} failed: {}", bank.bankName(), reason);
+                    errors.put(bank.bankCode(), reason);
+                    return Flux.empty();
+                });
+    }
+
+    private JsonNode tag(JsonNode element, String bankCode) {
+        if (element instanceof ObjectNode object) {
+            return object.put("bankCode", bankCode);
+        }
+        ObjectNode wrapper = objectMapper.createObjectNode();
+        wrapper.put("bankCode", bankCode);
+        wrapper.set("value", element);
+        return wrapper;
+    }
+
+    private byte[] serialize(JsonNode element) {
+        try {
+            return objectMapper.writeValueAsBytes(element);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize broadcast element", e);
+        }
+    }
+
+    static List<BankConstants.BankService> selectBanks(String header) {
+        if (header == null || header.isBlank()) {
+            return List.of();
+        }
+        if (ALL_BANKS.equalsIgnoreCase(header.trim())) {
+            return List.of(BankConstants.BankService.values());
+        }
+        List<BankConstants.BankService> banks = new ArrayList<>();
+        for (String code : header.split(",")) {
+            BankConstants.BankService.fromCode(code.trim())
+                    .filter(bank -> !banks.contains(bank))
+                    .ifPresent(banks::add);
+        }
+        return banks;
+    }
+
+    private static Object nativeResponse(ServerHttpResponse response) {
+        try {
+            return ServerHttpResponseDecorator.getNativeResponse(response);
+        } catch (RuntimeException e) {
+            // Respuestas sin servidor subyacente (p. ej. en pruebas): solo se usa el header
+            return null;
+        }
+    }
+
+    private static String reason(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            return String.valueOf(responseException.getStatusCode().value());
+        }
+        if (error instanceof TimeoutException) {
+            return "timeout";
+        }
+        return "unavailable";
+    }
+
+    private static String formatErrors(Map<String, String> errors) {
+        StringBuilder value = new StringBuilder();
+        errors.forEach((bankCode, reason) -> {
+            if (!value.isEmpty()) {
+                value.append(',');
+            }
+            value.append(bankCode).append('=').append(reason);
+        });
+        return value.toString();
+    }
+
+    @Data
+    public static class Config {
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+}
@@ -0,0 +1,83 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.service.RetryBudgetRegistry;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reintenta peticiones idempotentes (GET, HEAD, OPTIONS) hacia un banco ante
+ * fallas de conexión, usando el presupuesto por banco de
+ * {@link RetryBudgetRegistry}. Solo se reintenta si la respuesta aún no se
+ * ha confirmado y la espera no cruza el deadline de la ruta. Un intento que
+ * no termina dentro del deadline se cancela y responde 504.
+ *
+ * Va después de {@code CircuitBreaker} en la lista de filtros para que el
+ * circuito vea un único resultado por petición.
+ *
+ * Uso en application.yaml: {@code - BudgetedRetry=5s}
+ */
+@Component
+public class BudgetedRetryGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<BudgetedRetryGatewayFilterFactory.Config> {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    private final RetryBudgetRegistry retryBudget;
+
+    public BudgetedRetryGatewayFilterFactory(RetryBudgetRegistry retryBudget) {
+        super(Config.class);
+        this.retryBudget = retryBudget;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("deadline");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (!IDEMPOTENT_METHODS.contains(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+            String bankCode = exchange.getRequest().getHeaders()
+                    .getFirst(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER);
+            AtomicInteger attempt = new AtomicInteger();
+            Mono<Void> call = Mono.defer(() -> {
+                if (attempt.getAndIncrement() > 0) {
+                    ServerWebExchangeUtils.reset(exchange);
+                }
+                return chain.filter(exchange);
+            });
+            return retryBudget.execute(bankCode, config.getDeadline(),
+                            error -> isRetryable(exchange, error), call)
+                    .onErrorMap(TimeoutException.class,
+                            error -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, error.getMessage(), error));
+        };
+    }
+
+    private static boolean isRetryable(ServerWebExchange exchange, Throwable error) {
+        // Conexión rechazada, reseteada o cerrada antes de tiempo
+        return !exchange.getResponse().isCommitted() && error instanceof IOException;
+    }
+
+    @Data
+    public static class Config {
+        private Duration deadline = Duration.ofSeconds(5);
+    }
+}
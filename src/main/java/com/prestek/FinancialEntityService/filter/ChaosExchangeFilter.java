@@ -0,0 +1,112 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.service.FaultInjector;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Aplica las fallas de {@link FaultInjector} a las peticiones de todos los
+ * {@link WebClient} construidos con el {@link WebClient.Builder} de Spring
+ * (agregación, simulación, cotizaciones y broadcast). Solo se registra con
+ * el perfil {@code chaos}.
+ *
+ * El destino se reconoce por la URL de cualquiera de sus réplicas, así que
+ * funciona antes o después de {@link BankLoadBalancingExchangeFilter}. Los
+ * errores y reinicios inyectados no llegan al destino.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ChaosExchangeFilter implements ExchangeFilterFunction, WebClientCustomizer {
+
+    private final FaultInjector faultInjector;
+
+    @Override
+    public void customize(WebClient.Builder webClientBuilder) {
+        if (faultInjector.isEnabled()) {
+            webClientBuilder.filter(this);
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        FaultInjector.Fault fault = faultInjector.fault(request.url());
+        if (fault == null) {
+            return next.exchange(request);
+        }
+        Mono<ClientResponse> response = Mono.defer(() -> {
+            if (fault.shouldDrop()) {
+                return Mono.error(new WebClientRequestException(
+                        new IOException("Connection reset by peer (chaos)"),
+                        request.method(), request.url(), request.headers()));
+            }
+            if (fault.shouldFail()) {
+                return Mono.just(ClientResponse.create(HttpStatusCode.valueOf(fault.errorStatus()))
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(errorBody(fault.errorStatus()))
+                        .build());
+            }
+            boolean truncate = fault.shouldTruncate();
+            if (!truncate && !fault.hasSlowBody()) {
+                return next.exchange(request);
+            }
+            return next.exchange(request).map(original -> original.mutate()
+                    .body(body -> degrade(body, fault, truncate, DefaultDataBufferFactory.sharedInstance))
+                    .build());
+        });
+        Duration latency = fault.nextLatency();
+        return latency.isZero() ? response : Mono.delay(latency).then(response);
+    }
+
+    static String errorBody(int status) {
+        return "{\"error\":\"Injected fault\",\"status\":" + status + "}";
+    }
+
+    /**
+     * Corta el cuerpo a la mitad y/o lo entrega en trozos con pausa entre
+     * ellos. El cuerpo original se lee completo antes de empezar.
+     */
+    static Flux<DataBuffer> degrade(
+            Publisher<? extends DataBuffer> body,
+            FaultInjector.Fault fault,
+            boolean truncate,
+            DataBufferFactory bufferFactory) {
+        return DataBufferUtils.join(body).flatMapMany(joined -> {
+            byte[] bytes = new byte[joined.readableByteCount()];
+            joined.read(bytes);
+            DataBufferUtils.release(joined);
+            int length = truncate ? bytes.length / 2 : bytes.length;
+            if (!fault.hasSlowBody()) {
+                return Flux.just(bufferFactory.wrap(Arrays.copyOf(bytes, length)));
+            }
+            int chunk = fault.slowBodyChunkBytes();
+            return Flux.range(0, (length + chunk - 1) / chunk)
+                    .delayElements(Duration.ofMillis(fault.slowBodyMillis()))
+                    .map(i -> bufferFactory.wrap(
+                            Arrays.copyOfRange(bytes, i * chunk, Math.min(length, (i + 1) * chunk))));
+        });
+    }
+}
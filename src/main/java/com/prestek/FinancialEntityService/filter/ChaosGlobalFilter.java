@@ -0,0 +1,74 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.service.FaultInjector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Aplica las fallas de {@link FaultInjector} a las rutas del gateway, justo
+ * después de elegir réplica: la latencia, los errores y los reinicios pasan
+ * por {@code BudgetedRetry}, el circuit breaker y la detección de outliers
+ * igual que una falla real. Los cuerpos truncados o lentos los aplica
+ * {@link ChaosResponseFilter} al escribir la respuesta. Sin el perfil
+ * {@code chaos} no hay fallas y deja pasar la petición.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChaosGlobalFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = BankLoadBalancerFilter.ORDER + 1;
+
+    static final String BODY_FAULT_ATTRIBUTE = ChaosGlobalFilter.class.getName() + ".bodyFault";
+
+    private final FaultInjector faultInjector;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        FaultInjector.Fault fault = url != null ? faultInjector.fault(url) : null;
+        if (fault == null) {
+            return chain.filter(exchange);
+        }
+        Mono<Void> faulty = Mono.defer(() -> {
+            if (fault.shouldDrop()) {
+                return Mono.error(new IOException("Connection reset by peer (chaos)"));
+            }
+            if (fault.shouldFail()) {
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatusCode.valueOf(fault.errorStatus()));
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                byte[] body = ChaosExchangeFilter.errorBody(fault.errorStatus()).getBytes(StandardCharsets.UTF_8);
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+            }
+            boolean truncate = fault.shouldTruncate();
+            if (truncate || fault.hasSlowBody()) {
+                exchange.getAttributes().put(BODY_FAULT_ATTRIBUTE, new BodyFault(fault, truncate));
+            }
+            return chain.filter(exchange);
+        });
+        Duration latency = fault.nextLatency();
+        return latency.isZero() ? faulty : Mono.delay(latency).then(faulty);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    record BodyFault(FaultInjector.Fault fault, boolean truncate) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.service.FaultInjector;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Trunca o entrega lentamente el cuerpo que escribe
+ * {@link NettyWriteResponseFilter} cuando {@link ChaosGlobalFilter} lo
+ * decidió para el intento en curso. Tiene que envolver la respuesta antes
+ * de ese filtro, así que corre al principio de la cadena y solo consulta la
+ * decisión al escribir. Sin el perfil {@code chaos} no envuelve nada.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChaosResponseFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private final FaultInjector faultInjector;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!faultInjector.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        ServerHttpResponseDecorator response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                ChaosGlobalFilter.BodyFault bodyFault = exchange.getAttribute(ChaosGlobalFilter.BODY_FAULT_ATTRIBUTE);
+                if (bodyFault == null) {
+                    return super.writeWith(body);
+                }
+                getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                return super.writeWith(ChaosExchangeFilter.degrade(
+                        body, bodyFault.fault(), bodyFault.truncate(), bufferFactory()));
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                if (exchange.getAttribute(ChaosGlobalFilter.BODY_FAULT_ATTRIBUTE) == null) {
+                    return super.writeAndFlushWith(body);
+                }
+                return writeWith(Flux.from(body).concatMap(Flux::from));
+            }
+        };
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
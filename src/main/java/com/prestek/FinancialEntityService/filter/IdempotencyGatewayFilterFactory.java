@@ -0,0 +1,233 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.service.CallerHash;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Soporte de {@code Idempotency-Key} para POST/PATCH hacia los bancos.
+ *
+ * La primera petición con una clave se envía al banco; los reintentos con la
+ * misma clave (mismo banco y llamante) esperan a que termine o, si ya
+ * terminó, reciben la respuesta guardada con {@code Idempotent-Replayed:
+ * true}. Solo se guardan respuestas definitivas (2xx y 4xx salvo 408, 409,
+ * 425 y 429): tras un 5xx o un error el siguiente reintento vuelve al banco.
+ * Reutilizar la clave con otro método o path responde 422; si la original
+ * sigue en curso pasado {@code waitTimeout}, 409.
+ *
+ * Uso en application.yaml: {@code - Idempotency=10s}
+ */
+@Component
+@Slf4j
+public class IdempotencyGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<IdempotencyGatewayFilterFactory.Config> {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<Integer> RETRYABLE_CLIENT_ERRORS = Set.of(408, 409, 425, 429);
+
+    private final IdempotencyStore store;
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyGatewayFilterFactory(IdempotencyStore store, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("waitTimeout");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String idempotencyKey = request.getHeaders().getFirst(IDEMPOTENCY_KEY_HEADER);
+            if (idempotencyKey == null || !config.getMethods().contains(request.getMethod().name())) {
+                return chain.filter(exchange);
+            }
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+                return respond(exchange, HttpStatus.BAD_REQUEST, "invalid");
+            }
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String key = (route != null ? route.getId() : "")
+                    + ResponseCacheStore.SEPARATOR + nullToEmpty(request.getHeaders()
+                            .getFirst(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER))
+                    + ResponseCacheStore.SEPARATOR + CallerHash.of(
+                            request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION))
+                    + ResponseCacheStore.SEPARATOR + idempotencyKey;
+            String fingerprint = request.getMethod().name() + " " + request.getURI().getRawPath()
+                    + "?" + nullToEmpty(request.getURI().getRawQuery());
+            return handle(exchange, chain, key, fingerprint, config);
+        };
+    }
+
+    private Mono<Void> handle(
+            ServerWebExchange exchange,
+            GatewayFilterChain chain,
+            String key,
+            String fingerprint,
+            Config config) {
+        IdempotencyStore.Claim claim = store.claim(key, fingerprint, System.currentTimeMillis());
+        switch (claim.state()) {
+            case STARTED:
+                count("started");
+                return forward(exchange, chain, key, claim.inFlight(), config);
+            case PENDING:
+                count("joined");
+                log.info("🔂 Idempotent retry attached to in-flight request {}", fingerprint);
+                return claim.inFlight().result()
+                        .timeout(config.getWaitTimeout())
+                        .flatMap(response -> replay(exchange.getResponse(), response).thenReturn(true))
+                        .onErrorResume(TimeoutException.class,
+                                e -> respond(exchange, HttpStatus.CONFLICT, "in_flight").thenReturn(true))
+                        // La original se abandonó: este reintento toma su lugar
+                        .switchIfEmpty(Mono.defer(() -> handle(exchange, chain, key, fingerprint, config)
+                                .thenReturn(true)))
+                        .then();
+            case COMPLETED:
+                count("replayed");
+                log.info("🔂 Replaying stored response for {}", fingerprint);
+                return replay(exchange.getResponse(), claim.response());
+            case MISMATCH:
+                log.warn("⚠️ Idempotency-Key reused with a different request: {}", fingerprint);
+                return respond(exchange, HttpStatus.UNPROCESSABLE_ENTITY, "mismatch");
+            default:
+                log.warn("⛔ Idempotency store full, rejecting {}", fingerprint);
+                return respond(exchange, HttpStatus.SERVICE_UNAVAILABLE, "rejected");
+        }
+    }
+
+    private Mono<Void> forward(
+            ServerWebExchange exchange,
+            GatewayFilterChain chain,
+            String key,
+            IdempotencyStore.InFlight inFlight,
+            Config config) {
+        IdempotentResponse response = new IdempotentResponse(exchange.getResponse(), key, inFlight,
+                System.currentTimeMillis(), config.getMaxEntrySize().toBytes());
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> response.settle(null));
+    }
+
+    private Mono<Void> replay(ServerHttpResponse response, ResponseCacheStore.CachedResponse stored) {
+        response.setStatusCode(stored.status());
+        response.getHeaders().putAll(stored.headers());
+        response.getHeaders().set(REPLAYED_HEADER, "true");
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(stored.body())));
+    }
+
+    private Mono<Void> respond(ServerWebExchange exchange, HttpStatus status, String outcome) {
+        count(outcome);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return response.setComplete();
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("gateway.idempotency.requests", "outcome", outcome).increment();
+    }
+
+    static boolean isStorable(HttpStatusCode status) {
+        return status.is2xxSuccessful()
+                || (status.is4xxClientError() && !RETRYABLE_CLIENT_ERRORS.contains(status.value()));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * Captura la respuesta del banco y la entrega al almacén una sola vez:
+     * completa (con o sin cuerpo) o abandonada si no se pudo capturar.
+     */
+    private final class IdempotentResponse extends BodyCapturingResponse {
+
+        private final String key;
+        private final IdempotencyStore.InFlight inFlight;
+        private final long requestedAt;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private IdempotentResponse(
+                ServerHttpResponse delegate,
+                String key,
+                IdempotencyStore.InFlight inFlight,
+                long requestedAt,
+                long maxEntryBytes) {
+            super(delegate, maxEntryBytes);
+            this.key = key;
+            this.inFlight = inFlight;
+            this.requestedAt = requestedAt;
+        }
+
+        @Override
+        protected boolean shouldCapture() {
+            return true;
+        }
+
+        @Override
+        protected void onCaptured(byte[] body) {
+            settle(body);
+        }
+
+        @Override
+        protected void onNotCaptured() {
+            settle(null);
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            // Respuestas sin cuerpo (201/204 o rechazos locales)
+            settle(new byte[0]);
+            return super.setComplete();
+        }
+
+        private void settle(byte[] body) {
+            if (!settled.compareAndSet(false, true)) {
+                return;
+            }
+            HttpStatusCode status = getStatusCode();
+            if (body == null || status == null) {
+                store.abandon(key, inFlight);
+                return;
+            }
+            store.complete(key, inFlight, new ResponseCacheStore.CachedResponse(status,
+                    storableHeaders(REPLAYED_HEADER), body, requestedAt, requestedAt), isStorable(status));
+        }
+    }
+
+    @Data
+    public static class Config {
+        private Duration waitTimeout = Duration.ofSeconds(10);
+        private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+        private Set<String> methods = Set.of("POST", "PATCH");
+    }
+}
@@ -0,0 +1,201 @@
+package com.prestek.FinancialEntityService.filter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registro en memoria de peticiones con {@code Idempotency-Key}.
+ *
+ * Cada clave está en curso (los reintentos esperan su resultado) o
+ * completada (los reintentos reciben la respuesta guardada durante
+ * {@code IDEMPOTENCY_TTL}). Las completadas se desalojan por LRU al superar
+ * {@code IDEMPOTENCY_MAX_BYTES}; las en curso no se desalojan, pero no se
+ * aceptan más de {@code IDEMPOTENCY_MAX_IN_FLIGHT} a la vez.
+ *
+ * Métricas: {@code gateway.idempotency.entries} (tag {@code state}) y
+ * {@code gateway.idempotency.bytes}.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final long ttlMillis;
+    private final long maxBytes;
+    private final int maxInFlight;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long usedBytes;
+    private int inFlightCount;
+
+    public IdempotencyStore(
+            MeterRegistry meterRegistry,
+            @Value("${IDEMPOTENCY_TTL:24h}") Duration ttl,
+            @Value("${IDEMPOTENCY_MAX_BYTES:16777216}") long maxBytes,
+            @Value("${IDEMPOTENCY_MAX_IN_FLIGHT:10000}") int maxInFlight) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxBytes = maxBytes;
+        this.maxInFlight = maxInFlight;
+        Gauge.builder("gateway.idempotency.entries", this, IdempotencyStore::inFlight)
+                .tag("state", "in_flight")
+                .register(meterRegistry);
+        Gauge.builder("gateway.idempotency.entries", this, store -> store.size() - store.inFlight())
+                .tag("state", "completed")
+                .register(meterRegistry);
+        Gauge.builder("gateway.idempotency.bytes", this, IdempotencyStore::usedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reclama la clave para una petición.
+     *
+     * @param fingerprint Método y path; una clave reutilizada con otra
+     *                    petición da {@link Claim.State#MISMATCH}
+     */
+    public synchronized Claim claim(String key, String fingerprint, long now) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.response != null && entry.expiresAt <= now) {
+            remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            if (inFlightCount >= maxInFlight) {
+                return new Claim(Claim.State.REJECTED, null, null);
+            }
+            InFlight inFlight = new InFlight();
+            entries.put(key, new Entry(fingerprint, inFlight));
+            inFlightCount++;
+            return new Claim(Claim.State.STARTED, inFlight, null);
+        }
+        if (!entry.fingerprint.equals(fingerprint)) {
+            return new Claim(Claim.State.MISMATCH, null, null);
+        }
+        if (entry.inFlight != null) {
+            return new Claim(Claim.State.PENDING, entry.inFlight, null);
+        }
+        return new Claim(Claim.State.COMPLETED, null, entry.response);
+    }
+
+    /**
+     * Termina la petición en curso: guarda la respuesta si {@code store} y
+     * la entrega a los reintentos que esperan.
+     */
+    public void complete(String key, InFlight inFlight, ResponseCacheStore.CachedResponse response, boolean store) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.inFlight == inFlight) {
+                remove(key);
+                long size = response.size() + key.length();
+                if (store && size <= maxBytes) {
+                    entries.put(key, new Entry(entry.fingerprint, response, response.storedAt() + ttlMillis));
+                    usedBytes += size;
+                    evict();
+                }
+            }
+        }
+        inFlight.sink.tryEmitValue(response);
+    }
+
+    /**
+     * Libera la clave sin respuesta (error o cuerpo demasiado grande): el
+     * siguiente reintento vuelve a enviarse al banco.
+     */
+    public void abandon(String key, InFlight inFlight) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.inFlight == inFlight) {
+                remove(key);
+            }
+        }
+        inFlight.sink.tryEmitEmpty();
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized int inFlight() {
+        return inFlightCount;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> entry = eldest.next();
+            if (entry.getValue().response != null) {
+                usedBytes -= entry.getValue().response.size() + entry.getKey().length();
+                eldest.remove();
+            }
+        }
+    }
+
+    private void remove(String key) {
+        Entry previous = entries.remove(key);
+        if (previous == null) {
+            return;
+        }
+        if (previous.inFlight != null) {
+            inFlightCount--;
+        } else {
+            usedBytes -= previous.response.size() + key.length();
+        }
+    }
+
+    /**
+     * Resultado de {@link #claim}: la petición se envía ({@code STARTED}),
+     * espera a otra ({@code PENDING}), se repite la guardada
+     * ({@code COMPLETED}) o se rechaza.
+     */
+    public record Claim(State state, InFlight inFlight, ResponseCacheStore.CachedResponse response) {
+
+        public enum State {
+            STARTED, PENDING, COMPLETED, MISMATCH, REJECTED
+        }
+    }
+
+    /**
+     * Petición en curso; {@link #result()} emite su respuesta o termina vacío
+     * si se abandonó.
+     */
+    public static final class InFlight {
+
+        private final Sinks.One<ResponseCacheStore.CachedResponse> sink = Sinks.one();
+
+        public Mono<ResponseCacheStore.CachedResponse> result() {
+            return sink.asMono();
+        }
+    }
+
+    private static final class Entry {
+
+        private final String fingerprint;
+        private final InFlight inFlight;
+        private final ResponseCacheStore.CachedResponse response;
+        private final long expiresAt;
+
+        private Entry(String fingerprint, InFlight inFlight) {
+            this.fingerprint = fingerprint;
+            this.inFlight = inFlight;
+            this.response = null;
+            this.expiresAt = Long.MAX_VALUE;
+        }
+
+        private Entry(String fingerprint, ResponseCacheStore.CachedResponse response, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.inFlight = null;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
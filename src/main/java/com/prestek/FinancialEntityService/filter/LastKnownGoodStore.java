@@ -0,0 +1,56 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.service.CallerHash;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Última respuesta exitosa de cada GET a un banco, por banco, path con query
+ * y llamante. La llena {@link ResponseCacheGatewayFilterFactory} y la consulta
+ * el fallback del circuit breaker para responder con datos vencidos en lugar
+ * de un 503 vacío.
+ */
+@Component
+public class LastKnownGoodStore {
+
+    private final ResponseCacheStore store;
+    private final long maxStaleMillis;
+
+    public LastKnownGoodStore(
+            @Value("${LAST_KNOWN_GOOD_MAX_BYTES:67108864}") long maxBytes,
+            @Value("${LAST_KNOWN_GOOD_MAX_STALE_SECONDS:86400}") long maxStaleSeconds) {
+        this.store = new ResponseCacheStore(maxBytes);
+        this.maxStaleMillis = maxStaleSeconds * 1000;
+    }
+
+    public void record(
+            String bankCode,
+            URI uri,
+            String authorization,
+            HttpStatusCode status,
+            HttpHeaders headers,
+            byte[] body,
+            long storedAt) {
+        store.put(key(bankCode, uri, authorization),
+                new ResponseCacheStore.CachedResponse(status, headers, body, storedAt, storedAt + maxStaleMillis));
+    }
+
+    /**
+     * @return La última respuesta exitosa, si no supera la antigüedad máxima
+     */
+    public Optional<ResponseCacheStore.CachedResponse> find(String bankCode, URI uri, String authorization, long now) {
+        return Optional.ofNullable(store.get(key(bankCode, uri, authorization), now));
+    }
+
+    private static String key(String bankCode, URI uri, String authorization) {
+        return (bankCode != null ? bankCode : "")
+                + ResponseCacheStore.SEPARATOR + uri.getRawPath()
+                + ResponseCacheStore.SEPARATOR + (uri.getRawQuery() != null ? uri.getRawQuery() : "")
+                + ResponseCacheStore.SEPARATOR + CallerHash.of(authorization);
+    }
+}
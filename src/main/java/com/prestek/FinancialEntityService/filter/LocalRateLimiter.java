@@ -0,0 +1,167 @@
+package com.prestek.FinancialEntityService.filter;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limiter en memoria para {@code RequestRateLimiter} (sin Redis).
+ *
+ * Cada llave (ver {@link RateLimitKeyResolver}) tiene un balde de tokens
+ * representado por un único {@link AtomicLong} con el instante teórico de la
+ * próxima llegada (GCRA): admitir una petición es un CAS, sin locks. Las
+ * llaves viven en un {@link ConcurrentHashMap} por ruta; una llave cuyo
+ * instante ya pasó tiene el balde lleno y se elimina en un barrido
+ * programado, fuera del camino de las peticiones.
+ *
+ * El total de llaves está acotado por {@code RATE_LIMIT_MAX_KEYS}: con el
+ * mapa lleno, las llaves nuevas comparten un balde por ruta hasta el
+ * siguiente barrido, así que inventar llaves no hace crecer la memoria ni
+ * evita el límite.
+ *
+ * Uso en application.yaml:
+ * {@code rate-limiter: "#{@localRateLimiter}"} y, por ruta,
+ * {@code local-rate-limiter.replenish-rate}, {@code burst-capacity} y
+ * {@code requested-tokens}.
+ */
+@Component
+@Slf4j
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Config defaultConfig;
+    private final int maxKeys;
+    private final AtomicInteger keyCount = new AtomicInteger();
+    private final Map<String, Map<String, AtomicLong>> buckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> overflowBuckets = new ConcurrentHashMap<>();
+
+    public LocalRateLimiter(
+            ConfigurationService configurationService,
+            @Value("${RATE_LIMIT_REPLENISH_RATE:20}") int replenishRate,
+            @Value("${RATE_LIMIT_BURST_CAPACITY:40}") int burstCapacity,
+            @Value("${RATE_LIMIT_MAX_KEYS:100000}") int maxKeys) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = new Config();
+        this.defaultConfig.setReplenishRate(replenishRate);
+        this.defaultConfig.setBurstCapacity(burstCapacity);
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        return Mono.just(tryAcquire(routeId, id, System.nanoTime()));
+    }
+
+    /**
+     * Intenta consumir los tokens de la petición para {@code id} en la ruta
+     * {@code routeId}. Sin configuración propia de la ruta usa la global.
+     */
+    Response tryAcquire(String routeId, String id, long now) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        if (config.getReplenishRate() <= 0 || config.getBurstCapacity() <= 0) {
+            return new Response(true, Map.of());
+        }
+
+        long interval = NANOS_PER_SECOND / config.getReplenishRate();
+        long tolerance = interval * config.getBurstCapacity();
+        long cost = interval * config.getRequestedTokens();
+        AtomicLong theoreticalArrival = bucket(routeId, id);
+
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + cost;
+            long backlog = next - now;
+            if (backlog > tolerance) {
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(backlog - tolerance + NANOS_PER_SECOND - 1));
+                return new Response(false, headers(config, 0, retryAfterSeconds));
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return new Response(true, headers(config, (tolerance - backlog) / interval, -1));
+            }
+        }
+    }
+
+    Config getDefaultConfig() {
+        return defaultConfig;
+    }
+
+    int trackedKeys() {
+        return keyCount.get();
+    }
+
+    @Scheduled(fixedDelayString = "${RATE_LIMIT_IDLE_SWEEP_SECONDS:60}", timeUnit = TimeUnit.SECONDS)
+    public void sweepIdleKeys() {
+        sweepIdleKeys(System.nanoTime());
+    }
+
+    void sweepIdleKeys(long now) {
+        // Un instante teórico en el pasado equivale a un balde lleno: borrar la llave no cambia nada
+        buckets.values().forEach(keys -> keys.values().removeIf(arrival -> {
+            if (arrival.get() > now) {
+                return false;
+            }
+            keyCount.decrementAndGet();
+            return true;
+        }));
+        overflowBuckets.values().removeIf(arrival -> arrival.get() <= now);
+        log.debug("🧹 Rate limiter swept idle keys, {} remaining", trackedKeys());
+    }
+
+    private AtomicLong bucket(String routeId, String id) {
+        Map<String, AtomicLong> keys = buckets.computeIfAbsent(routeId, route -> new ConcurrentHashMap<>());
+        AtomicLong arrival = keys.get(id);
+        if (arrival != null) {
+            return arrival;
+        }
+        if (keyCount.get() >= maxKeys) {
+            log.debug("🚦 Rate limiter full ({} keys), {} shares the overflow bucket of {}", maxKeys, id, routeId);
+            return overflowBuckets.computeIfAbsent(routeId, route -> new AtomicLong(Long.MIN_VALUE));
+        }
+        return keys.computeIfAbsent(id, key -> {
+            keyCount.incrementAndGet();
+            return new AtomicLong(Long.MIN_VALUE);
+        });
+    }
+
+    private static Map<String, String> headers(Config config, long remaining, long retryAfterSeconds) {
+        if (retryAfterSeconds < 0) {
+            return Map.of(
+                    REMAINING_HEADER, Long.toString(remaining),
+                    REPLENISH_RATE_HEADER, Integer.toString(config.getReplenishRate()),
+                    BURST_CAPACITY_HEADER, Integer.toString(config.getBurstCapacity()),
+                    REQUESTED_TOKENS_HEADER, Integer.toString(config.getRequestedTokens()));
+        }
+        return Map.of(
+                REMAINING_HEADER, "0",
+                REPLENISH_RATE_HEADER, Integer.toString(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, Integer.toString(config.getBurstCapacity()),
+                REQUESTED_TOKENS_HEADER, Integer.toString(config.getRequestedTokens()),
+                HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+
+    @Data
+    public static class Config {
+        private int replenishRate = 20;
+        private int burstCapacity = 40;
+        private int requestedTokens = 1;
+    }
+}
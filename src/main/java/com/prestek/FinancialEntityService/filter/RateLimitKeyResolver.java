@@ -0,0 +1,134 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Llave de rate limiting: la IP del cliente ({@code ip:<address>}) y, si
+ * el JWT del header Authorization está firmado con
+ * {@code RATE_LIMIT_JWT_SECRET} (HS256) y no ha vencido, también su
+ * {@code sub} ({@code ip:<address>|sub:<subject>}).
+ *
+ * Sin secreto configurado el token no se lee: un {@code sub} sin verificar
+ * lo puede inventar cualquiera en cada petición para esquivar el límite.
+ * Con {@code RATE_LIMIT_TRUSTED_PROXIES > 0} la IP se toma de
+ * {@code X-Forwarded-For} confiando en ese número de proxies.
+ */
+@Component
+public class RateLimitKeyResolver implements KeyResolver {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final String UNKNOWN_CLIENT = "ip:unknown";
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final RemoteAddressResolver remoteAddressResolver;
+    private final SecretKeySpec jwtKey;
+
+    public RateLimitKeyResolver(
+            @Value("${RATE_LIMIT_TRUSTED_PROXIES:0}") int trustedProxies,
+            @Value("${RATE_LIMIT_JWT_SECRET:}") String jwtSecret) {
+        this.remoteAddressResolver = trustedProxies > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+                : new RemoteAddressResolver() {
+                };
+        this.jwtKey = jwtSecret == null || jwtSecret.isEmpty()
+                ? null
+                : new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), HMAC_SHA256);
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        return Mono.just(key(exchange));
+    }
+
+    String key(ServerWebExchange exchange) {
+        String ip = clientIp(exchange);
+        String subject = verifiedSubject(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION),
+                System.currentTimeMillis() / 1000);
+        return subject != null ? ip + "|sub:" + subject : ip;
+    }
+
+    private String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress address = remoteAddressResolver.resolve(exchange);
+        if (address == null) {
+            return UNKNOWN_CLIENT;
+        }
+        return "ip:" + (address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString());
+    }
+
+    /**
+     * @return el claim {@code sub} de un JWT HS256 con firma válida y sin
+     * vencer, o null en cualquier otro caso
+     */
+    String verifiedSubject(String authorization, long nowSeconds) {
+        if (jwtKey == null || authorization == null
+                || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        String token = authorization.substring(BEARER_PREFIX.length()).trim();
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd > 0 ? token.indexOf('.', headerEnd + 1) : -1;
+        if (payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            return null;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            if (!"HS256".equals(claim(decoder.decode(token.substring(0, headerEnd)), "alg"))) {
+                return null;
+            }
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(jwtKey);
+            byte[] expected = mac.doFinal(token.substring(0, payloadEnd).getBytes(StandardCharsets.US_ASCII));
+            if (!MessageDigest.isEqual(expected, decoder.decode(token.substring(payloadEnd + 1)))) {
+                return null;
+            }
+            byte[] payload = decoder.decode(token.substring(headerEnd + 1, payloadEnd));
+            String expiration = claim(payload, "exp");
+            if (expiration != null && Long.parseLong(expiration) <= nowSeconds) {
+                return null;
+            }
+            return claim(payload, "sub");
+        } catch (IllegalArgumentException | IOException | GeneralSecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Valor de texto o numérico de un campo de primer nivel del objeto JSON.
+     */
+    private String claim(byte[] json, String name) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (name.equals(field) && (value == JsonToken.VALUE_STRING || value == JsonToken.VALUE_NUMBER_INT)) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.prestek.FinancialEntityService.filter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Aplica {@link LocalRateLimiter} a los endpoints propios del gateway
+ * (controladores), que no pasan por el filtro {@code RequestRateLimiter} de
+ * las rutas: la consulta agregada de solicitudes por usuario y la simulación.
+ * Responde 429 con {@code Retry-After} cuando se agota el balde.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitWebFilter implements WebFilter, Ordered {
+
+    /**
+     * Endpoints limitados; el id se usa como ruta para separar los baldes.
+     */
+    private static final List<LimitedEndpoint> LIMITED_ENDPOINTS = List.of(
+            new LimitedEndpoint("applications-user", PathPatternParser.defaultInstance.parse("/api/applications/user/**")),
+            new LimitedEndpoint("simulation", PathPatternParser.defaultInstance.parse("/api/simulation/**")));
+
+    private final LocalRateLimiter rateLimiter;
+    private final RateLimitKeyResolver keyResolver;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String endpointId = endpointId(exchange.getRequest().getPath().pathWithinApplication());
+        if (endpointId == null) {
+            return chain.filter(exchange);
+        }
+        String key = keyResolver.key(exchange);
+        return rateLimiter.isAllowed(endpointId, key).flatMap(result -> {
+            ServerHttpResponse response = exchange.getResponse();
+            result.getHeaders().forEach(response.getHeaders()::set);
+            if (result.isAllowed()) {
+                return chain.filter(exchange);
+            }
+            log.warn("🚦 Rate limit exceeded for {} on {}", key, endpointId);
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            return response.setComplete();
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        // Antes de la seguridad y del ruteo: rechazar cuesta lo mínimo
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    private static String endpointId(PathContainer path) {
+        for (LimitedEndpoint endpoint : LIMITED_ENDPOINTS) {
+            if (endpoint.pattern().matches(path)) {
+                return endpoint.id();
+            }
+        }
+        return null;
+    }
+
+    private record LimitedEndpoint(String id, PathPattern pattern) {
+    }
+}
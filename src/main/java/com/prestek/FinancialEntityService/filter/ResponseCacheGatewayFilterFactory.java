@@ -0,0 +1,236 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.service.CallerHash;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Caché de respuestas GET por ruta, X-Bank-Code, path (con query) y
+ * llamante (hash del header Authorization).
+ *
+ * Solo se guardan respuestas 200 sin {@code Set-Cookie} ni
+ * {@code Cache-Control: no-store/no-cache}; el TTL es el de la ruta, acotado
+ * por {@code max-age} si el banco lo envía. Un {@code Cache-Control:
+ * no-cache} en la petición fuerza ir al banco y refrescar la entrada. Los
+ * POST/PUT/PATCH/DELETE invalidan el recurso, sus sub-recursos y cada
+ * recurso padre antes y después de enviarse: un PATCH a
+ * {@code /api/applications/5/status} también cambia
+ * {@code /api/applications/5} y {@code /api/applications}. Las respuestas llevan {@code X-Cache: HIT|MISS}.
+ * Cada respuesta almacenable también se registra en {@link LastKnownGoodStore}
+ * para servirla vencida si el circuito del banco se abre.
+ *
+ * Uso en application.yaml: {@code - ResponseCache=30s}
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_HEADER = "X-Cache";
+    public static final String BANK_CODE_HEADER = "X-Bank-Code";
+
+    private final ResponseCacheStore store;
+    private final LastKnownGoodStore lastKnownGood;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheStore store, LastKnownGoodStore lastKnownGood) {
+        super(Config.class);
+        this.store = store;
+        this.lastKnownGood = lastKnownGood;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (HttpMethod.GET.equals(method)) {
+                return cachedGet(exchange, chain, config);
+            }
+            if (HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method)
+                    || HttpMethod.PATCH.equals(method) || HttpMethod.DELETE.equals(method)) {
+                String resourceKey = resourceKey(exchange);
+                invalidate(resourceKey);
+                return chain.filter(exchange).doFinally(signal -> invalidate(resourceKey));
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    private void invalidate(String resourceKey) {
+        store.invalidate(resourceKey);
+        int pathStart = resourceKey.lastIndexOf(ResponseCacheStore.SEPARATOR) + 1;
+        for (int slash = resourceKey.lastIndexOf('/'); slash > pathStart;
+                slash = resourceKey.lastIndexOf('/', slash - 1)) {
+            store.invalidateExact(resourceKey.substring(0, slash));
+        }
+    }
+
+    private Mono<Void> cachedGet(
+            ServerWebExchange exchange,
+            GatewayFilterChain chain,
+            Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        String requestCacheControl = request.getHeaders().getCacheControl();
+        if (hasDirective(requestCacheControl, "no-store")) {
+            return chain.filter(exchange);
+        }
+
+        String key = resourceKey(exchange)
+                + ResponseCacheStore.SEPARATOR + nullToEmpty(request.getURI().getRawQuery())
+                + ResponseCacheStore.SEPARATOR + CallerHash.of(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        long now = System.currentTimeMillis();
+
+        if (!hasDirective(requestCacheControl, "no-cache")) {
+            ResponseCacheStore.CachedResponse hit = store.get(key, now);
+            if (hit != null) {
+                return writeCached(exchange.getResponse(), hit, now);
+            }
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(CACHE_HEADER, "MISS");
+        CapturingResponse capturing = new CapturingResponse(response, key, now, config, request);
+        return chain.filter(exchange.mutate().response(capturing).build());
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, ResponseCacheStore.CachedResponse hit, long now) {
+        response.setStatusCode(hit.status());
+        response.getHeaders().putAll(hit.headers());
+        response.getHeaders().set(CACHE_HEADER, "HIT");
+        response.getHeaders().set(HttpHeaders.AGE, String.valueOf((now - hit.storedAt()) / 1000));
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(hit.body())));
+    }
+
+    static String resourceKey(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ServerHttpRequest request = exchange.getRequest();
+        return (route != null ? route.getId() : "")
+                + ResponseCacheStore.SEPARATOR + nullToEmpty(request.getHeaders().getFirst(BANK_CODE_HEADER))
+                + ResponseCacheStore.SEPARATOR + request.getPath().value();
+    }
+
+    /**
+     * Compara nombres de directiva completos: {@code no-cache} no coincide
+     * con {@code no-cache-foo}, y {@code no-cache="Set-Cookie"} sí.
+     */
+    static boolean hasDirective(String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String part : cacheControl.split(",")) {
+            int equals = part.indexOf('=');
+            String name = (equals >= 0 ? part.substring(0, equals) : part).trim();
+            if (name.equalsIgnoreCase(directive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return max-age en segundos, o -1 si no viene
+     */
+    private static long maxAge(String cacheControl) {
+        if (cacheControl == null) {
+            return -1;
+        }
+        for (String part : cacheControl.split(",")) {
+            String directive = part.trim().toLowerCase(Locale.ROOT);
+            if (directive.startsWith("max-age=")) {
+                try {
+                    return Long.parseLong(directive.substring("max-age=".length()).trim());
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * Guarda la respuesta al completar si es almacenable. Las respuestas
+     * vencidas del fallback ({@code Warning}) no se guardan.
+     */
+    private final class CapturingResponse extends BodyCapturingResponse {
+
+        private final String key;
+        private final long requestedAt;
+        private final Config config;
+        private final ServerHttpRequest request;
+
+        private CapturingResponse(
+                ServerHttpResponse delegate,
+                String key,
+                long requestedAt,
+                Config config,
+                ServerHttpRequest request) {
+            super(delegate, config.getMaxEntrySize().toBytes());
+            this.key = key;
+            this.requestedAt = requestedAt;
+            this.config = config;
+            this.request = request;
+        }
+
+        @Override
+        protected boolean shouldCapture() {
+            HttpHeaders headers = getHeaders();
+            return HttpStatus.OK.equals(getStatusCode())
+                    && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                    && !headers.containsKey(HttpHeaders.WARNING)
+                    && !hasDirective(headers.getCacheControl(), "no-store");
+        }
+
+        @Override
+        protected void onCaptured(byte[] body) {
+            HttpHeaders headers = storableHeaders(CACHE_HEADER);
+            long ttlMillis = ttlMillis();
+            if (ttlMillis > 0) {
+                store.put(key, new ResponseCacheStore.CachedResponse(getStatusCode(),
+                        headers, body, requestedAt, requestedAt + ttlMillis));
+            }
+            lastKnownGood.record(request.getHeaders().getFirst(BANK_CODE_HEADER), request.getURI(),
+                    request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION),
+                    getStatusCode(), headers, body, requestedAt);
+        }
+
+        private long ttlMillis() {
+            String cacheControl = getHeaders().getCacheControl();
+            if (hasDirective(cacheControl, "no-cache")) {
+                return 0;
+            }
+            long ttl = config.getTtl().toMillis();
+            long maxAge = maxAge(cacheControl);
+            return maxAge >= 0 ? Math.min(ttl, maxAge * 1000) : ttl;
+        }
+    }
+
+    @Data
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);
+        private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+    }
+}
@@ -0,0 +1,185 @@
+package com.prestek.FinancialEntityService.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Almacén LRU de respuestas en memoria, acotado por bytes.
+ *
+ * Cada entrada guarda el cuerpo como {@code byte[]} junto con el estado y
+ * una copia de las cabeceras. Las claves empiezan por el recurso
+ * ({@code ruta, banco, path}) seguido de la variante ({@code query,
+ * llamante}). Un índice ordenado por recurso permite invalidar todas las
+ * variantes de un recurso y de sus sub-recursos sin recorrer el almacén: el
+ * lock se mantiene solo lo que cuesta encontrar y borrar esas entradas.
+ */
+@Component
+public class ResponseCacheStore {
+
+    static final char SEPARATOR = '\u0000';
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final TreeMap<String, Set<String>> keysByResource = new TreeMap<>();
+    private long usedBytes;
+
+    public ResponseCacheStore(@Value("${RESPONSE_CACHE_MAX_BYTES:33554432}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return La respuesta vigente para la clave, o {@code null}
+     */
+    public synchronized CachedResponse get(String key, long now) {
+        CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt <= now) {
+            remove(key);
+            return null;
+        }
+        return cached;
+    }
+
+    public synchronized void put(String key, CachedResponse response) {
+        long size = response.size() + key.length();
+        if (size > maxBytes) {
+            return;
+        }
+        remove(key);
+        entries.put(key, response);
+        keysByResource.computeIfAbsent(resourceOf(key), resource -> new HashSet<>()).add(key);
+        usedBytes += size;
+
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = eldest.next();
+            usedBytes -= entry.getValue().size() + entry.getKey().length();
+            eldest.remove();
+            unindex(entry.getKey());
+        }
+    }
+
+    /**
+     * Elimina todas las variantes del recurso y de sus sub-recursos
+     * ({@code /api/applications/5} invalida también {@code /api/applications/5/...}).
+     */
+    public synchronized void invalidate(String resourceKey) {
+        invalidateExact(resourceKey);
+        // Los sub-recursos son el rango [recurso + '/', recurso + '0') del índice
+        List<Set<String>> children = new ArrayList<>(
+                keysByResource.subMap(resourceKey + '/', resourceKey + (char) ('/' + 1)).values());
+        for (Set<String> keys : children) {
+            for (String key : List.copyOf(keys)) {
+                remove(key);
+            }
+        }
+    }
+
+    /**
+     * Elimina todas las variantes del recurso, sin tocar sus sub-recursos.
+     */
+    public synchronized void invalidateExact(String resourceKey) {
+        Set<String> keys = keysByResource.get(resourceKey);
+        if (keys != null) {
+            for (String key : List.copyOf(keys)) {
+                remove(key);
+            }
+        }
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void remove(String key) {
+        CachedResponse previous = entries.remove(key);
+        if (previous != null) {
+            usedBytes -= previous.size() + key.length();
+            unindex(key);
+        }
+    }
+
+    private void unindex(String key) {
+        String resource = resourceOf(key);
+        Set<String> keys = keysByResource.get(resource);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByResource.remove(resource);
+        }
+    }
+
+    /**
+     * Recurso de la clave: todo lo anterior a los dos últimos campos
+     * (query y llamante, que no contienen el separador).
+     */
+    static String resourceOf(String key) {
+        int caller = key.lastIndexOf(SEPARATOR);
+        int query = caller > 0 ? key.lastIndexOf(SEPARATOR, caller - 1) : -1;
+        return query >= 0 ? key.substring(0, query) : key;
+    }
+
+    /**
+     * Respuesta inmutable almacenada en caché.
+     */
+    public static final class CachedResponse {
+
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final long storedAt;
+        private final long expiresAt;
+        private final int headerBytes;
+
+        public CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, long storedAt, long expiresAt) {
+            this.status = status;
+            this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+            this.body = body;
+            this.storedAt = storedAt;
+            this.expiresAt = expiresAt;
+            int bytes = 0;
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                bytes += header.getKey().length();
+                for (String value : header.getValue()) {
+                    bytes += value.length();
+                }
+            }
+            this.headerBytes = bytes;
+        }
+
+        public HttpStatusCode status() {
+            return status;
+        }
+
+        public HttpHeaders headers() {
+            return headers;
+        }
+
+        public byte[] body() {
+            return body;
+        }
+
+        public long storedAt() {
+            return storedAt;
+        }
+
+        long size() {
+            return body.length + headerBytes;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.service.TrafficRecorder;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Copia cada intercambio de los {@link WebClient} de Spring con un banco o
+ * con n8n (agregación, simulación, cotizaciones y broadcast) hacia
+ * {@link TrafficRecorder}, con el tiempo hasta los headers y hasta el final
+ * del cuerpo. Solo se registra en los {@link WebClient} cuando
+ * {@code TRAFFIC_RECORDING_FILE} está definida.
+ *
+ * Los cuerpos se copian mientras pasan, sin retenerlos; un intercambio se
+ * graba cuando el cuerpo de la respuesta termina de leerse, así que los
+ * cancelados no se graban.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrafficRecordingExchangeFilter implements ExchangeFilterFunction, WebClientCustomizer {
+
+    private final TrafficRecorder recorder;
+
+    @Override
+    public void customize(WebClient.Builder webClientBuilder) {
+        if (recorder.isEnabled()) {
+            webClientBuilder.filter(this);
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String target = recorder.target(request.url());
+        if (target == null) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            BodyCopy requestBody = new BodyCopy(recorder.maxBodyBytes());
+            ClientRequest copying = ClientRequest.from(request)
+                    .body((outputMessage, context) -> request.body().insert(
+                            new ClientHttpRequestDecorator(outputMessage) {
+                                @Override
+                                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                                    // El encoder fija el content type aquí, no en ClientRequest
+                                    requestBody.contentType = getHeaders().getFirst(HttpHeaders.CONTENT_TYPE);
+                                    return super.writeWith(Flux.from(body).doOnNext(requestBody::append));
+                                }
+                            }, context))
+                    .build();
+
+            return next.exchange(copying).map(response -> {
+                long headersNanos = System.nanoTime();
+                BodyCopy responseBody = new BodyCopy(recorder.maxBodyBytes());
+                return response.mutate()
+                        .body(body -> body
+                                .doOnNext(responseBody::append)
+                                .doOnComplete(() -> recorder.record(new TrafficRecorder.Exchange(
+                                        target,
+                                        request.method().name(),
+                                        request.url(),
+                                        response.statusCode().value(),
+                                        startNanos,
+                                        headersNanos,
+                                        System.nanoTime(),
+                                        requestBody.contentType,
+                                        requestBody.toByteArray(),
+                                        response.headers().asHttpHeaders().getFirst(HttpHeaders.CONTENT_TYPE),
+                                        responseBody.toByteArray()))))
+                        .build();
+            });
+        });
+    }
+
+    /**
+     * Copia de un cuerpo hasta un máximo; lo que lo excede se descarta.
+     */
+    private static final class BodyCopy {
+
+        private final int maxBytes;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private volatile String contentType;
+
+        private BodyCopy(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized void append(DataBuffer buffer) {
+            int length = Math.min(buffer.readableByteCount(), maxBytes - bytes.size());
+            if (length <= 0) {
+                return;
+            }
+            byte[] chunk = new byte[length];
+            int position = buffer.readPosition();
+            buffer.read(chunk);
+            buffer.readPosition(position);
+            bytes.write(chunk, 0, length);
+        }
+
+        synchronized byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.prestek.FinancialEntityService.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.prestek.FinancialEntityCore.dto.ApplicationDto;
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.ApplicationExportRow;
+import com.prestek.FinancialEntityService.dto.BankApplicationDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Exportación masiva de las solicitudes de todos los bancos, uno detrás de
+ * otro en el orden de {@link BankConstants.BankService}.
+ *
+ * La respuesta de cada banco se decodifica elemento a elemento y solo se
+ * pide más al banco cuando el cliente de la exportación consume lo ya
+ * entregado, así que la memoria no depende del volumen. Las lecturas de cada
+ * banco comparten un límite de filas por segundo entre todas las
+ * exportaciones en curso, para no competir con el tráfico de producción.
+ *
+ * Cada fila lleva un cursor (estado, banco, posición dentro del banco e id
+ * de la solicitud); pasarlo en {@code ?cursor=} reanuda la exportación
+ * después de la solicitud con ese id, aunque se haya movido de posición. Si
+ * el banco ya no la tiene la reanudación falla con 409.
+ */
+@Service
+public class ApplicationExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationExportService.class);
+
+    // Filas que se reservan de una vez contra el límite del banco
+    static final int THROTTLE_BATCH = 64;
+
+    private static final String CURSOR_VERSION = "2";
+    private static final Pattern STATUS = Pattern.compile("[A-Z_]{1,32}");
+
+    private final WebClient webClient;
+    private final String bankAccept;
+    private final int pageSize;
+    private final long nanosPerRecord;
+    private final Map<String, AtomicLong> nextFreeNanos = new ConcurrentHashMap<>();
+
+    public ApplicationExportService(
+            WebClient.Builder webClientBuilder,
+            @Value("${BANK_ACCEPT:application/x-jackson-smile, application/json;q=0.9}") String bankAccept,
+            @Value("${EXPORT_PAGE_SIZE:0}") int pageSize,
+            @Value("${EXPORT_BANK_RECORDS_PER_SECOND:500}") int recordsPerSecond) {
+        this.webClient = webClientBuilder.build();
+        this.bankAccept = bankAccept;
+        this.pageSize = Math.max(0, pageSize);
+        this.nanosPerRecord = recordsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / recordsPerSecond : 0;
+    }
+
+    /**
+     * Solicitudes de todos los bancos, filtradas por {@code status} si se
+     * indica, desde la fila siguiente a {@code cursor}.
+     */
+    public Flux<ApplicationExportRow> export(String status, String cursor, String jwtToken) {
+        String normalizedStatus = status == null || status.isBlank() ? "" : status.trim().toUpperCase(Locale.ROOT);
+        if (!normalizedStatus.isEmpty() && !STATUS.matcher(normalizedStatus).matches()) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid application status: " + status));
+        }
+        BankConstants.BankService[] banks = BankConstants.BankService.values();
+        ExportCursor start;
+        try {
+            start = cursor == null || cursor.isBlank() ? null : ExportCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid export cursor"));
+        }
+        if (start != null && !start.status().equals(normalizedStatus)) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Export cursor belongs to status '" + start.status() + "'"));
+        }
+        BankConstants.BankService startBank = start == null
+                ? banks[0]
+                : BankConstants.BankService.fromCode(start.bankCode()).orElse(null);
+        if (startBank == null) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Export cursor references unknown bank " + start.bankCode()));
+        }
+        int first = startBank.ordinal();
+
+        logger.info("📤 Exporting applications (status: {}) from {} after application {}",
+                normalizedStatus.isEmpty() ? "ALL" : normalizedStatus, startBank.bankCode(),
+                start != null ? start.lastId() : "-");
+        // Un banco a la vez: el siguiente solo se pide cuando el anterior termina
+        return Flux.range(first, banks.length - first)
+                .concatMap(index -> exportBank(banks[index], normalizedStatus,
+                        index == first ? start : null, jwtToken), 0);
+    }
+
+    /**
+     * Solicitudes del banco, después de la del cursor si se indica. Con
+     * paginación se empieza en la página donde el cursor dejó esa solicitud
+     * y, si ya no está ahí ni más adelante (se borraron filas anteriores), se
+     * busca desde la primera página.
+     */
+    private Flux<ApplicationExportRow> exportBank(
+            BankConstants.BankService bank,
+            String status,
+            ExportCursor resume,
+            String jwtToken) {
+
+        if (resume == null) {
+            return exportFrom(bank, status, 0, null, jwtToken);
+        }
+        long hintPage = pageSize > 0 ? (resume.offset() - 1) / pageSize : 0;
+        Flux<ApplicationExportRow> fromHint = exportFrom(bank, status, hintPage, resume.lastId(), jwtToken);
+        if (hintPage == 0) {
+            return fromHint;
+        }
+        return fromHint.onErrorResume(
+                error -> error instanceof ResponseStatusException e && HttpStatus.CONFLICT.equals(e.getStatusCode()),
+                error -> {
+                    logger.info("🔎 {} moved application {} before page {}: searching from the first page",
+                            bank.bankName(), resume.lastId(), hintPage);
+                    return exportFrom(bank, status, 0, resume.lastId(), jwtToken);
+                });
+    }
+
+    private Flux<ApplicationExportRow> exportFrom(
+            BankConstants.BankService bank,
+            String status,
+            long firstPage,
+            Long afterId,
+            String jwtToken) {
+
+        return Flux.defer(() -> {
+            long firstPosition = firstPage * pageSize;
+            AtomicLong position = new AtomicLong(firstPosition);
+            AtomicLong exported = new AtomicLong();
+            Flux<Tuple2<Long, ApplicationDto>> applications = (pageSize > 0
+                    ? pages(bank, status, firstPage, jwtToken)
+                    : fetch(bank, status, -1, jwtToken))
+                    .index((index, app) -> Tuples.of(firstPosition + index + 1, app));
+            if (afterId != null) {
+                applications = after(bank, applications, afterId);
+            }
+            return throttle(bank, applications)
+                    .map(indexed -> {
+                        ApplicationDto app = indexed.getT2();
+                        position.set(indexed.getT1());
+                        exported.incrementAndGet();
+                        return new ApplicationExportRow(
+                                new ExportCursor(status, bank.bankCode(), indexed.getT1(), app.getId()).encode(),
+                                BankApplicationDto.from(app, bank.bankName(), bank.bankCode()));
+                    })
+                    .doOnComplete(() -> logger.info("✓ {} exported {} applications",
+                            bank.bankName(), exported.get()))
+                    .doOnError(error -> logger.error("❌ Export from {} failed after position {}: {}",
+                            bank.bankName(), position.get(), error.getMessage()));
+        });
+    }
+
+    /**
+     * Filas posteriores a la solicitud {@code afterId}; falla con 409 si el
+     * banco no la devuelve.
+     */
+    private static Flux<Tuple2<Long, ApplicationDto>> after(
+            BankConstants.BankService bank,
+            Flux<Tuple2<Long, ApplicationDto>> applications,
+            long afterId) {
+
+        AtomicBoolean found = new AtomicBoolean();
+        return applications
+                .skipUntil(indexed -> Long.valueOf(afterId).equals(indexed.getT2().getId())
+                        && found.compareAndSet(false, true))
+                .skip(1)
+                .concatWith(Mono.defer(() -> found.get()
+                        ? Mono.empty()
+                        : Mono.error(new ResponseStatusException(HttpStatus.CONFLICT,
+                                "Application " + afterId + " from the export cursor no longer exists in "
+                                        + bank.bankCode()))));
+    }
+
+    /**
+     * Páginas {@code page/size} consecutivas desde {@code firstPage} hasta la
+     * primera incompleta. Si el banco ignora la paginación (devuelve más de
+     * {@code size} filas o repite la página anterior) se corta para no
+     * duplicar filas.
+     */
+    private Flux<ApplicationDto> pages(BankConstants.BankService bank, String status, long firstPage, String jwtToken) {
+        AtomicBoolean more = new AtomicBoolean(true);
+        AtomicLong previousFirstId = new AtomicLong(Long.MIN_VALUE);
+
+        return Flux.<Long, Long>generate(() -> firstPage, (page, sink) -> {
+                    if (more.get()) {
+                        sink.next(page);
+                    } else {
+                        sink.complete();
+                    }
+                    return page + 1;
+                })
+                // Sin prefetch: la siguiente página se decide cuando termina la actual
+                .concatMap(page -> {
+                    AtomicInteger received = new AtomicInteger();
+                    Flux<ApplicationDto> current = fetch(bank, status, page, jwtToken)
+                            .takeWhile(app -> {
+                                if (received.getAndIncrement() > 0) {
+                                    return true;
+                                }
+                                long firstId = app.getId() != null ? app.getId() : Long.MIN_VALUE;
+                                if (firstId != Long.MIN_VALUE && previousFirstId.getAndSet(firstId) == firstId) {
+                                    logger.warn("⚠️  {} repeated page {}: ignoring page size", bank.bankName(), page);
+                                    more.set(false);
+                                    return false;
+                                }
+                                return true;
+                            })
+                            .doOnComplete(() -> {
+                                more.compareAndSet(true, received.get() == pageSize);
+                                if (received.get() > pageSize) {
+                                    logger.warn("⚠️  {} ignored page size {}: exported its full list",
+                                            bank.bankName(), pageSize);
+                                }
+                            });
+                    return current;
+                }, 0);
+    }
+
+    private Flux<ApplicationDto> fetch(BankConstants.BankService bank, String status, long page, String jwtToken) {
+        String relativePath = status.isEmpty()
+                ? BankConstants.BankPaths.GET_APPLICATIONS.path()
+                : BankConstants.BankPaths.GET_APPLICATIONS_BY_STATUS.format(status);
+        String url = bank.buildUri(relativePath) + (page >= 0 ? "?page=" + page + "&size=" + pageSize : "");
+        logger.debug("📞 Export fetching from {}: {}", bank.bankName(), url);
+
+        return webClient.get()
+                .uri(url)
+                .header(bank.authHeader(), jwtToken != null ? jwtToken : "")
+                .header(HttpHeaders.ACCEPT, bankAccept)
+                .retrieve()
+                .bodyToFlux(ApplicationDto.class);
+    }
+
+    private <T> Flux<T> throttle(BankConstants.BankService bank, Flux<T> applications) {
+        if (nanosPerRecord == 0) {
+            return applications;
+        }
+        return applications
+                .buffer(THROTTLE_BATCH)
+                .concatMap(batch -> {
+                    Duration wait = reserve(bank.bankCode(), batch.size(), System.nanoTime());
+                    Flux<T> rows = Flux.fromIterable(batch);
+                    return wait.isZero() ? rows : Mono.delay(wait).thenMany(rows);
+                }, 1);
+    }
+
+    /**
+     * Reserva {@code permits} filas en el límite del banco y devuelve cuánto
+     * esperar antes de entregarlas (GCRA, como {@code LocalRateLimiter}).
+     */
+    Duration reserve(String bankCode, int permits, long nowNanos) {
+        AtomicLong nextFree = nextFreeNanos.computeIfAbsent(bankCode, code -> new AtomicLong(nowNanos));
+        long cost = permits * nanosPerRecord;
+        while (true) {
+            long current = nextFree.get();
+            long start = Math.max(current, nowNanos);
+            if (nextFree.compareAndSet(current, start + cost)) {
+                return Duration.ofNanos(start - nowNanos);
+            }
+        }
+    }
+
+    /**
+     * Última fila entregada: posición (1..n) dentro del banco
+     * {@code bankCode} e id de la solicitud. La posición solo indica por qué
+     * página empezar; la reanudación se hace por {@code lastId}. Se serializa
+     * como base64url de {@code version:status:bankCode:offset:lastId}.
+     */
+    record ExportCursor(String status, String bankCode, long offset, Long lastId) {
+
+        String encode() {
+            String raw = String.join(":", CURSOR_VERSION, status, bankCode, Long.toString(offset),
+                    lastId != null ? Long.toString(lastId) : "");
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ExportCursor decode(String cursor) {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", -1);
+            if (parts.length != 5 || !CURSOR_VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported export cursor");
+            }
+            long offset = Long.parseLong(parts[3]);
+            if (offset < 1) {
+                throw new IllegalArgumentException("Export cursor offset must be positive");
+            }
+            if (parts[4].isEmpty()) {
+                throw new IllegalArgumentException("Export cursor without application id");
+            }
+            return new ExportCursor(parts[1], parts[2], offset, Long.parseLong(parts[4]));
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.prestek.FinancialEntityService.service;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import com.prestek.FinancialEntityService.config.BankConstants;
 import com.prestek.FinancialEntityService.dto.BankApplicationDto;
@@ -20,9 +25,22 @@ public class BankAggregationService {
     private static final Logger logger = LoggerFactory.getLogger(BankAggregationService.class);
 
     private final WebClient webClient;
+    private final RetryBudgetRegistry retryBudget;
+    private final UserApplicationsCache applicationsCache;
+    private final Duration requestDeadline;
+    private final String bankAccept;
 
-    public BankAggregationService(WebClient.Builder webClientBuilder) {
+    public BankAggregationService(
+            WebClient.Builder webClientBuilder,
+            RetryBudgetRegistry retryBudget,
+            UserApplicationsCache applicationsCache,
+            @Value("${BANK_REQUEST_DEADLINE_MS:5000}") long requestDeadlineMillis,
+            @Value("${BANK_ACCEPT:application/x-jackson-smile, application/json;q=0.9}") String bankAccept) {
         this.webClient = webClientBuilder.build();
+        this.retryBudget = retryBudget;
+        this.applicationsCache = applicationsCache;
+        this.requestDeadline = Duration.ofMillis(requestDeadlineMillis);
+        this.bankAccept = bankAccept;
     }
 
     public Mono<List<BankApplicationDto>> getAllApplicationsFromBanks(
@@ -39,6 +57,14 @@ public class BankAggregationService {
             BankConstants.BankService bank,
             String userId,
             String jwtToken) {
+        String caller = CallerHash.of(jwtToken);
+        List<BankApplicationDto> cached = applicationsCache.get(userId, bank.bankCode(), caller);
+        if (cached != null) {
+            logger.info("⚡ {} served {} applications from cache", bank.bankName(), cached.size());
+            return Mono.just(cached);
+        }
+        long generation = applicationsCache.generation(userId, bank.bankCode());
+
         String relativePath = BankConstants.BankPaths.GET_APPLICATIONS_BY_USER.format(userId);
         String url = bank.buildUri(relativePath);
 
@@ -46,9 +72,11 @@ public class BankAggregationService {
         logger.debug("   JWT Token: {}",
                 jwtToken != null ? jwtToken.substring(0, Math.min(20, jwtToken.length())) + "..." : "NULL");
 
-        return webClient.get()
+        Mono<List<BankApplicationDto>> request = webClient.get()
                 .uri(url)
                 .header(bank.authHeader(), jwtToken != null ? jwtToken : "")
+                // Smile si el banco lo soporta; el decoder se elige por el Content-Type de la respuesta
+                .header(HttpHeaders.ACCEPT, bankAccept)
                 .retrieve()
                 .onStatus(
                         status -> status.is4xxClientError() || status.is5xxServerError(),
@@ -59,15 +87,21 @@ public class BankAggregationService {
                                     .flatMap(errorBody -> {
                                         logger.error("❌ {} returned {} - Error body: {}",
                                                 bank.bankName(), statusCode, errorBody);
-                                        return Mono.error(new RuntimeException(
+                                        return Mono.error(new BankServiceException(bank.bankCode(), statusCode,
                                                 String.format("%s failed with %d: %s",
                                                         bank.bankName(), statusCode, errorBody)));
                                     });
                         })
                 .bodyToFlux(ApplicationDto.class)
                 .map(app -> BankApplicationDto.from(app, bank.bankName(), bank.bankCode()))
-                .collectList()
-                .doOnSuccess(apps -> logger.info("✓ {} returned {} applications", bank.bankName(), apps.size()))
+                .collectList();
+
+        // El deadline también acota un banco que no responde o entrega el cuerpo lentamente
+        return retryBudget.execute(bank.bankCode(), requestDeadline, BankAggregationService::isRetryable, request)
+                .doOnSuccess(apps -> {
+                    logger.info("✓ {} returned {} applications", bank.bankName(), apps.size());
+                    applicationsCache.put(userId, bank.bankCode(), caller, apps, generation);
+                })
                 .onErrorResume(error -> {
                     logger.error("⚠️  {} completely failed - Error type: {} - Message: {}",
                             bank.bankName(),
@@ -77,4 +111,18 @@ public class BankAggregationService {
                     return Mono.just(Collections.emptyList());
                 });
     }
+
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientRequestException) {
+            return true;
+        }
+        if (error instanceof BankServiceException bankError) {
+            return bankError.isTransient();
+        }
+        if (error instanceof WebClientResponseException responseError) {
+            int status = responseError.getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,200 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.config.BankPolicyProperties;
+import com.prestek.FinancialEntityService.dto.OfferDto;
+import com.prestek.FinancialEntityService.dto.SimulationRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Pre-filtro local de elegibilidad por banco.
+ *
+ * Compila la tabla {@link BankPolicyProperties} a reglas con campos primitivos
+ * que se evalúan sin asignar memoria antes de enviar la simulación. Un banco
+ * solo se descarta cuando su política lo rechaza con certeza; la tabla se
+ * recompila cuando cambia el entorno (por ejemplo con /actuator/refresh).
+ */
+@Service
+@Slf4j
+public class BankEligibilityService {
+
+    private final Environment environment;
+
+    private volatile CompiledPolicy[] policies;
+
+    public BankEligibilityService(Environment environment) {
+        this.environment = environment;
+        reload();
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith(BankPolicyProperties.PREFIX))) {
+            reload();
+        }
+    }
+
+    /**
+     * Evalúa las políticas de todos los bancos para la solicitud contra una
+     * sola versión de la tabla: los rechazos y los bancos excluidos de un
+     * mismo {@link Evaluation} siempre coinciden, aunque la tabla se recargue
+     * mientras tanto.
+     */
+    public Evaluation evaluate(SimulationRequest request) {
+        CompiledPolicy[] current = policies;
+        double amount = request.getAmount();
+        int termMonths = request.getTermMonths();
+        double monthlyIncome = request.getMonthlyIncome();
+
+        List<OfferDto> rejections = null;
+        int rejectedBanks = 0;
+        for (BankConstants.BankService bank : BankConstants.BankService.values()) {
+            CompiledPolicy policy = current[bank.ordinal()];
+            if (policy == null) {
+                continue;
+            }
+            int violation = policy.firstViolation(amount, termMonths, monthlyIncome);
+            if (violation != CompiledPolicy.ELIGIBLE) {
+                if (rejections == null) {
+                    rejections = new ArrayList<>(current.length);
+                }
+                rejections.add(policy.rejectedOffer(bank, violation));
+                rejectedBanks |= 1 << bank.ordinal();
+            }
+        }
+        return rejections != null ? new Evaluation(rejections, rejectedBanks) : Evaluation.ALL_ELIGIBLE;
+    }
+
+    private void reload() {
+        BankPolicyProperties properties = Binder.get(environment)
+                .bind(BankPolicyProperties.PREFIX, Bindable.of(BankPolicyProperties.class))
+                .orElseGet(BankPolicyProperties::new);
+
+        CompiledPolicy[] compiled = new CompiledPolicy[BankConstants.BankService.values().length];
+        for (Map.Entry<String, BankPolicyProperties.BankPolicy> entry : properties.getBanks().entrySet()) {
+            String bankCode = entry.getKey().toUpperCase(Locale.ROOT);
+            BankConstants.BankService.fromCode(bankCode).ifPresentOrElse(
+                    bank -> compiled[bank.ordinal()] = new CompiledPolicy(entry.getValue()),
+                    () -> log.warn("⚠️  Ignoring policy for unknown bank code {}", bankCode));
+        }
+        this.policies = compiled;
+        log.info("📋 Bank policies loaded for {} banks", properties.getBanks().size());
+    }
+
+    /**
+     * Resultado de {@link #evaluate}.
+     *
+     * @param rejections    Ofertas rechazadas sintéticas de los bancos que con
+     *                      certeza rechazarían la solicitud; vacía si todos son
+     *                      elegibles
+     * @param rejectedBanks Bancos rechazados, un bit por ordinal
+     */
+    public record Evaluation(List<OfferDto> rejections, int rejectedBanks) {
+
+        static final Evaluation ALL_ELIGIBLE = new Evaluation(Collections.emptyList(), 0);
+
+        public boolean isEligible(BankConstants.BankService bank) {
+            return (rejectedBanks & (1 << bank.ordinal())) == 0;
+        }
+
+        public boolean allRejected() {
+            return rejections.size() == BankConstants.BankService.values().length;
+        }
+
+        public List<String> excludedBankCodes() {
+            List<String> excluded = new ArrayList<>(rejections.size());
+            for (BankConstants.BankService bank : BankConstants.BankService.values()) {
+                if (!isEligible(bank)) {
+                    excluded.add(bank.bankCode());
+                }
+            }
+            return excluded;
+        }
+    }
+
+    private static final class CompiledPolicy {
+
+        static final int ELIGIBLE = -1;
+        static final int AMOUNT = 0;
+        static final int TERM = 1;
+        static final int INCOME = 2;
+        static final int PAYMENT_TO_INCOME = 3;
+
+        private final double minAmount;
+        private final double maxAmount;
+        private final int minTermMonths;
+        private final int maxTermMonths;
+        private final double minMonthlyIncome;
+        private final double maxPaymentToIncome;
+        private final double minMonthlyRate;
+        private final String[] causalCodes;
+        private final String[] reasons;
+
+        private CompiledPolicy(BankPolicyProperties.BankPolicy policy) {
+            this.minAmount = policy.getMinAmount() != null ? policy.getMinAmount() : Double.NEGATIVE_INFINITY;
+            this.maxAmount = policy.getMaxAmount() != null ? policy.getMaxAmount() : Double.POSITIVE_INFINITY;
+            this.minTermMonths = policy.getMinTermMonths() != null ? policy.getMinTermMonths() : Integer.MIN_VALUE;
+            this.maxTermMonths = policy.getMaxTermMonths() != null ? policy.getMaxTermMonths() : Integer.MAX_VALUE;
+            this.minMonthlyIncome = policy.getMinMonthlyIncome() != null
+                    ? policy.getMinMonthlyIncome()
+                    : Double.NEGATIVE_INFINITY;
+            this.maxPaymentToIncome = policy.getMaxPaymentToIncome() != null
+                    ? policy.getMaxPaymentToIncome()
+                    : Double.POSITIVE_INFINITY;
+            double annualRate = policy.getMinAnnualRate() != null ? policy.getMinAnnualRate() : 0.0;
+            this.minMonthlyRate = LoanMath.monthlyRate(annualRate);
+            this.causalCodes = new String[] {
+                    policy.getAmountCausal(),
+                    policy.getTermCausal(),
+                    policy.getIncomeCausal(),
+                    policy.getPaymentToIncomeCausal()
+            };
+            this.reasons = new String[] {
+                    "Monto fuera de la política del banco",
+                    "Plazo fuera de la política del banco",
+                    "Ingreso mensual inferior al mínimo del banco",
+                    "La cuota mínima posible supera la capacidad de pago permitida"
+            };
+        }
+
+        int firstViolation(double amount, int termMonths, double monthlyIncome) {
+            if (amount < minAmount || amount > maxAmount) {
+                return AMOUNT;
+            }
+            if (termMonths < minTermMonths || termMonths > maxTermMonths) {
+                return TERM;
+            }
+            if (monthlyIncome < minMonthlyIncome) {
+                return INCOME;
+            }
+            if (maxPaymentToIncome != Double.POSITIVE_INFINITY
+                    && LoanMath.monthlyPayment(amount, minMonthlyRate, termMonths)
+                            > maxPaymentToIncome * monthlyIncome) {
+                return PAYMENT_TO_INCOME;
+            }
+            return ELIGIBLE;
+        }
+
+        OfferDto rejectedOffer(BankConstants.BankService bank, int violation) {
+            return OfferDto.builder()
+                    .entity(bank.bankName())
+                    .approved(false)
+                    .policyRejected(true)
+                    .codCausal(causalCodes[violation])
+                    .reason(reasons[violation])
+                    .build();
+        }
+    }
+}
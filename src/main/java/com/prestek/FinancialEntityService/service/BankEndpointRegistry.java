@@ -0,0 +1,430 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Réplicas por banco y balanceo del lado del cliente.
+ *
+ * Cada variable {@code *_SERVICE_URL} acepta una lista de URLs separadas por
+ * coma. Para cada petición se eligen dos réplicas al azar y se usa la de
+ * menor carga (power of two choices). La carga es la latencia peak-EWMA
+ * multiplicada por las peticiones en curso + 1. La EWMA sube de inmediato
+ * ante una latencia mayor, decae con {@code BANK_LB_DECAY_SECONDS} y se
+ * alimenta solo de observación pasiva: cada respuesta registra su latencia y
+ * los errores de conexión o 5xx cuentan como {@code BANK_LB_FAILURE_PENALTY_MS}.
+ *
+ * Las réplicas que {@link BankOutlierDetector} expulsa quedan fuera de la
+ * elección hasta que vence su expulsión.
+ *
+ * Lo usan las rutas del gateway ({@code uri: bank://BCO}) y los WebClient de
+ * los servicios, que siguen construyendo URLs con
+ * {@link BankConstants.BankService#buildUri(String)}.
+ */
+@Component
+@Slf4j
+public class BankEndpointRegistry {
+
+    public static final String BANK_SCHEME = "bank";
+
+    private final Map<String, BankEndpoint[]> endpointsByBank = new LinkedHashMap<>();
+    // Por origen, de la ruta base más larga a la más corta
+    private final Map<String, List<Alias>> aliasesByOrigin = new HashMap<>();
+
+    public BankEndpointRegistry(
+            Environment environment,
+            BankOutlierDetector outlierDetector,
+            @Value("${BANK_LB_DEFAULT_RTT_MS:50}") long defaultRttMillis,
+            @Value("${BANK_LB_DECAY_SECONDS:10}") long decaySeconds,
+            @Value("${BANK_LB_FAILURE_PENALTY_MS:2000}") long failurePenaltyMillis) {
+        for (BankConstants.BankService bank : BankConstants.BankService.values()) {
+            String[] urls = BankConstants.splitEndpoints(
+                    environment.getProperty(bank.urlProperty(), bank.defaultUrl()));
+            if (urls.length == 0) {
+                urls = new String[] { bank.baseUrl() };
+            }
+            BankEndpoint[] endpoints = new BankEndpoint[urls.length];
+            for (int i = 0; i < urls.length; i++) {
+                endpoints[i] = new BankEndpoint(bank.bankCode(), urls[i], outlierDetector, endpoints,
+                        TimeUnit.MILLISECONDS.toNanos(defaultRttMillis),
+                        TimeUnit.SECONDS.toNanos(decaySeconds),
+                        TimeUnit.MILLISECONDS.toNanos(failurePenaltyMillis));
+                registerAlias(urls[i], bank.bankCode());
+            }
+            registerAlias(bank.baseUrl(), bank.bankCode());
+            endpointsByBank.put(bank.bankCode(), endpoints);
+            log.info("⚖️  {} endpoints: {}", bank.bankCode(), Arrays.toString(urls));
+        }
+    }
+
+    /**
+     * Réplicas configuradas del banco, en el orden de la variable.
+     */
+    public List<BankEndpoint> endpoints(String bankCode) {
+        BankEndpoint[] endpoints = endpointsByBank.get(bankCode);
+        return endpoints != null ? List.of(endpoints) : List.of();
+    }
+
+    /**
+     * Elige la réplica con power of two choices sobre la carga peak-EWMA,
+     * descartando las réplicas expulsadas.
+     */
+    public BankEndpoint choose(String bankCode) {
+        BankEndpoint[] endpoints = endpointsByBank.get(bankCode);
+        if (endpoints == null) {
+            throw new IllegalArgumentException("Unknown bank code: " + bankCode);
+        }
+        if (endpoints.length == 1) {
+            return endpoints[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(endpoints.length);
+        int second = random.nextInt(endpoints.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        long now = System.nanoTime();
+        boolean firstAvailable = !endpoints[first].isEjected(now);
+        boolean secondAvailable = !endpoints[second].isEjected(now);
+        if (firstAvailable && secondAvailable) {
+            return endpoints[first].load(now) <= endpoints[second].load(now) ? endpoints[first] : endpoints[second];
+        }
+        if (firstAvailable || secondAvailable) {
+            return firstAvailable ? endpoints[first] : endpoints[second];
+        }
+        for (int i = 1; i < endpoints.length; i++) {
+            BankEndpoint candidate = endpoints[(first + i) % endpoints.length];
+            if (!candidate.isEjected(now)) {
+                return candidate;
+            }
+        }
+        return endpoints[first];
+    }
+
+    /**
+     * Resuelve una URL dirigida a un banco ({@code bank://BCO/...} o la URL de
+     * alguna de sus réplicas) contra la réplica elegida.
+     *
+     * @return la réplica y la URL final, o null si la URL no es de un banco
+     */
+    public Routed route(URI url) {
+        String bankCode;
+        String basePath;
+        if (BANK_SCHEME.equalsIgnoreCase(url.getScheme())) {
+            bankCode = url.getHost() != null ? url.getHost().toUpperCase(Locale.ROOT) : null;
+            basePath = "";
+        } else {
+            Alias alias = alias(url);
+            if (alias == null) {
+                return null;
+            }
+            bankCode = alias.bankCode();
+            basePath = alias.basePath();
+        }
+        if (bankCode == null || !endpointsByBank.containsKey(bankCode)) {
+            return null;
+        }
+
+        String path = url.getRawPath() != null ? url.getRawPath() : "";
+        if (!basePath.isEmpty() && path.startsWith(basePath)) {
+            path = path.substring(basePath.length());
+        }
+        BankEndpoint endpoint = choose(bankCode);
+        String query = url.getRawQuery();
+        return new Routed(endpoint, URI.create(endpoint.baseUrl() + path + (query != null ? "?" + query : "")));
+    }
+
+    /**
+     * Código del banco al que va dirigida la URL ({@code bank://BCO/...} o la
+     * URL de alguna de sus réplicas), sin elegir réplica.
+     *
+     * @return el código, o null si la URL no es de un banco
+     */
+    public String bankCode(URI url) {
+        if (BANK_SCHEME.equalsIgnoreCase(url.getScheme())) {
+            String bankCode = url.getHost() != null ? url.getHost().toUpperCase(Locale.ROOT) : null;
+            return endpointsByBank.containsKey(bankCode) ? bankCode : null;
+        }
+        Alias alias = alias(url);
+        return alias != null ? alias.bankCode() : null;
+    }
+
+    /**
+     * Alias del mismo origen cuya ruta base es el prefijo más largo de la
+     * ruta de la URL: dos bancos detrás del mismo host con rutas base
+     * distintas ({@code /bco}, {@code /davi}) se distinguen.
+     */
+    private Alias alias(URI url) {
+        List<Alias> aliases = aliasesByOrigin.get(originKey(url));
+        if (aliases == null) {
+            return null;
+        }
+        String path = url.getRawPath() != null ? url.getRawPath() : "";
+        for (Alias alias : aliases) {
+            String basePath = alias.basePath();
+            if (basePath.isEmpty() || path.equals(basePath)
+                    || (path.startsWith(basePath) && path.charAt(basePath.length()) == '/')) {
+                return alias;
+            }
+        }
+        return null;
+    }
+
+    private void registerAlias(String url, String bankCode) {
+        URI uri = URI.create(url);
+        String path = uri.getRawPath() != null ? uri.getRawPath() : "";
+        String basePath = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        List<Alias> aliases = aliasesByOrigin.computeIfAbsent(originKey(uri), origin -> new ArrayList<>());
+        for (Alias alias : aliases) {
+            if (alias.basePath().equals(basePath)) {
+                if (!alias.bankCode().equals(bankCode)) {
+                    log.warn("⚠️  {} shares {} with {}: its URLs resolve to {}",
+                            bankCode, url, alias.bankCode(), alias.bankCode());
+                }
+                return;
+            }
+        }
+        aliases.add(new Alias(bankCode, basePath));
+        aliases.sort(Comparator.comparingInt((Alias alias) -> alias.basePath().length()).reversed());
+    }
+
+    private static String originKey(URI uri) {
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : "http";
+        int port = uri.getPort() >= 0 ? uri.getPort() : ("https".equals(scheme) ? 443 : 80);
+        String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : "";
+        return scheme + "://" + host + ":" + port;
+    }
+
+    private record Alias(String bankCode, String basePath) {
+    }
+
+    /**
+     * Réplica elegida para una petición y la URL resultante.
+     */
+    public record Routed(BankEndpoint endpoint, URI target) {
+    }
+
+    /**
+     * Una réplica de un banco con su latencia peak-EWMA y peticiones en curso.
+     */
+    public static final class BankEndpoint {
+
+        private final String bankCode;
+        private final String baseUrl;
+        private final BankOutlierDetector outlierDetector;
+        private final double decayNanos;
+        private final long failurePenaltyNanos;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        // Protegidos por this
+        private double costNanos;
+        private long updatedAtNanos;
+
+        // Estado de expulsión; las escrituras van sincronizadas sobre siblings
+        final BankEndpoint[] siblings;
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        volatile long ejectedUntilNanos;
+        volatile long multiplierDecayAtNanos;
+        volatile int ejectionCount;
+        volatile BankOutlierDetector.Outcome lastEjectionReason;
+
+        BankEndpoint(
+                String bankCode,
+                String baseUrl,
+                BankOutlierDetector outlierDetector,
+                BankEndpoint[] siblings,
+                long defaultRttNanos,
+                long decayNanos,
+                long failurePenaltyNanos) {
+            this.bankCode = bankCode;
+            this.baseUrl = baseUrl;
+            this.outlierDetector = outlierDetector;
+            this.siblings = siblings;
+            this.decayNanos = Math.max(1, decayNanos);
+            this.failurePenaltyNanos = failurePenaltyNanos;
+            this.costNanos = defaultRttNanos;
+            this.updatedAtNanos = System.nanoTime();
+            this.ejectedUntilNanos = updatedAtNanos;
+        }
+
+        public String bankCode() {
+            return bankCode;
+        }
+
+        public String baseUrl() {
+            return baseUrl;
+        }
+
+        public int inFlight() {
+            return inFlight.get();
+        }
+
+        public boolean isEjected() {
+            return isEjected(System.nanoTime());
+        }
+
+        /**
+         * Milisegundos que le quedan a la expulsión (0 si no está expulsada).
+         */
+        public long ejectedForMillis() {
+            return Math.max(0, TimeUnit.NANOSECONDS.toMillis(ejectedUntilNanos - System.nanoTime()));
+        }
+
+        public int ejectionCount() {
+            return ejectionCount;
+        }
+
+        public int consecutiveFailures() {
+            return consecutiveFailures.get();
+        }
+
+        public BankOutlierDetector.Outcome lastEjectionReason() {
+            return lastEjectionReason;
+        }
+
+        boolean isEjected(long now) {
+            return now - ejectedUntilNanos < 0;
+        }
+
+        double costNanos(long now) {
+            synchronized (this) {
+                observe(0, now);
+                return costNanos;
+            }
+        }
+
+        /**
+         * Latencia estimada en milisegundos (decaída hasta ahora).
+         */
+        public double latencyMillis() {
+            synchronized (this) {
+                observe(0, System.nanoTime());
+                return costNanos / 1_000_000d;
+            }
+        }
+
+        /**
+         * Marca el inicio de una petición; el {@link Call} devuelto debe
+         * completarse (o cancelarse) exactamente una vez.
+         */
+        public Call start() {
+            inFlight.incrementAndGet();
+            return new Call(this, System.nanoTime());
+        }
+
+        double load(long now) {
+            double cost;
+            synchronized (this) {
+                observe(0, now);
+                cost = costNanos;
+            }
+            return cost * (inFlight.get() + 1);
+        }
+
+        // Peak-EWMA: los picos se toman de inmediato y el resto decae según el tiempo transcurrido
+        private void observe(double rttNanos, long now) {
+            if (rttNanos > costNanos) {
+                costNanos = rttNanos;
+            } else {
+                double elapsed = Math.max(0, now - updatedAtNanos);
+                double decay = Math.exp(-elapsed / decayNanos);
+                costNanos = costNanos * decay + rttNanos * (1 - decay);
+            }
+            updatedAtNanos = Math.max(updatedAtNanos, now);
+        }
+
+        private void record(long rttNanos, BankOutlierDetector.Outcome outcome) {
+            long now = System.nanoTime();
+            boolean failed = outcome != BankOutlierDetector.Outcome.SUCCESS;
+            synchronized (this) {
+                observe(failed ? Math.max(rttNanos, failurePenaltyNanos) : rttNanos, now);
+            }
+            outlierDetector.onResult(this, rttNanos, outcome, now);
+        }
+
+        @Override
+        public String toString() {
+            return bankCode + "@" + baseUrl;
+        }
+    }
+
+    /**
+     * Petición en curso contra una réplica.
+     */
+    public static final class Call {
+
+        private final BankEndpoint endpoint;
+        private final long startedAtNanos;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Call(BankEndpoint endpoint, long startedAtNanos) {
+            this.endpoint = endpoint;
+            this.startedAtNanos = startedAtNanos;
+        }
+
+        public BankEndpoint endpoint() {
+            return endpoint;
+        }
+
+        /**
+         * Registra la latencia de la respuesta; {@code failed} para 5xx.
+         */
+        public void complete(boolean failed) {
+            finish(failed ? BankOutlierDetector.Outcome.ERROR : BankOutlierDetector.Outcome.SUCCESS);
+        }
+
+        /**
+         * Registra un error de la llamada: timeout si alguna causa lo es,
+         * error de conexión en otro caso.
+         */
+        public void fail(Throwable error) {
+            finish(isTimeout(error) ? BankOutlierDetector.Outcome.TIMEOUT : BankOutlierDetector.Outcome.ERROR);
+        }
+
+        /**
+         * Libera la petición cancelada por el llamante sin registrar latencia,
+         * salvo que ya haya superado el umbral de latencia (timeout).
+         */
+        public void cancel() {
+            if (done.compareAndSet(false, true)) {
+                endpoint.inFlight.decrementAndGet();
+                long now = System.nanoTime();
+                endpoint.outlierDetector.onCancel(endpoint, now - startedAtNanos, now);
+            }
+        }
+
+        private void finish(BankOutlierDetector.Outcome outcome) {
+            if (done.compareAndSet(false, true)) {
+                endpoint.inFlight.decrementAndGet();
+                endpoint.record(System.nanoTime() - startedAtNanos, outcome);
+            }
+        }
+
+        private static boolean isTimeout(Throwable error) {
+            for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+                if (cause instanceof TimeoutException || cause.getClass().getSimpleName().contains("Timeout")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
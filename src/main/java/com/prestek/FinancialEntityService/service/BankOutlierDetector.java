@@ -0,0 +1,135 @@
+package com.prestek.FinancialEntityService.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detección pasiva de réplicas anómalas y su expulsión temporal del balanceo.
+ *
+ * Cuentan como falla los 5xx y errores de conexión, los timeouts (incluida
+ * una cancelación tras superar el umbral de latencia) y las respuestas
+ * exitosas cuya latencia supera {@code OUTLIER_LATENCY_FACTOR} veces la media
+ * de las demás réplicas del banco. Tras {@code OUTLIER_CONSECUTIVE_FAILURES}
+ * fallas seguidas la réplica se expulsa por
+ * {@code OUTLIER_BASE_EJECTION_SECONDS * 2^expulsiones previas} (hasta
+ * {@code OUTLIER_MAX_EJECTION_SECONDS}); el multiplicador baja uno por cada
+ * intervalo base sano. Nunca se expulsa más de
+ * {@code OUTLIER_MAX_EJECTION_PERCENT} de las réplicas ni la última.
+ */
+@Component
+@Slf4j
+public class BankOutlierDetector {
+
+    public enum Outcome {
+        SUCCESS, ERROR, TIMEOUT, LATENCY
+    }
+
+    private final int consecutiveFailures;
+    private final double latencyFactor;
+    private final long minLatencyNanos;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final int maxEjectionPercent;
+
+    public BankOutlierDetector(
+            @Value("${OUTLIER_CONSECUTIVE_FAILURES:5}") int consecutiveFailures,
+            @Value("${OUTLIER_LATENCY_FACTOR:3.0}") double latencyFactor,
+            @Value("${OUTLIER_LATENCY_MIN_MS:1000}") long minLatencyMillis,
+            @Value("${OUTLIER_BASE_EJECTION_SECONDS:30}") long baseEjectionSeconds,
+            @Value("${OUTLIER_MAX_EJECTION_SECONDS:300}") long maxEjectionSeconds,
+            @Value("${OUTLIER_MAX_EJECTION_PERCENT:50}") int maxEjectionPercent) {
+        this.consecutiveFailures = Math.max(1, consecutiveFailures);
+        this.latencyFactor = latencyFactor;
+        this.minLatencyNanos = TimeUnit.MILLISECONDS.toNanos(minLatencyMillis);
+        this.baseEjectionNanos = TimeUnit.SECONDS.toNanos(baseEjectionSeconds);
+        this.maxEjectionNanos = TimeUnit.SECONDS.toNanos(maxEjectionSeconds);
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    /**
+     * Registra el resultado de una llamada y expulsa la réplica si acumula
+     * suficientes fallas seguidas.
+     */
+    void onResult(BankEndpointRegistry.BankEndpoint endpoint, long rttNanos, Outcome outcome, long now) {
+        Outcome effective = outcome == Outcome.SUCCESS && isLatencyOutlier(endpoint, rttNanos, now)
+                ? Outcome.LATENCY
+                : outcome;
+        if (effective == Outcome.SUCCESS) {
+            endpoint.consecutiveFailures.set(0);
+            if (endpoint.ejectionCount > 0) {
+                decayMultiplier(endpoint, now);
+            }
+            return;
+        }
+        if (endpoint.consecutiveFailures.incrementAndGet() >= consecutiveFailures) {
+            eject(endpoint, effective, now);
+        }
+    }
+
+    /**
+     * Una cancelación que llega después del umbral de latencia es un timeout
+     * del llamante; antes de eso no dice nada de la réplica.
+     */
+    void onCancel(BankEndpointRegistry.BankEndpoint endpoint, long elapsedNanos, long now) {
+        if (elapsedNanos >= minLatencyNanos) {
+            onResult(endpoint, elapsedNanos, Outcome.TIMEOUT, now);
+        }
+    }
+
+    private boolean isLatencyOutlier(BankEndpointRegistry.BankEndpoint endpoint, long rttNanos, long now) {
+        BankEndpointRegistry.BankEndpoint[] siblings = endpoint.siblings;
+        if (siblings.length < 2 || rttNanos < minLatencyNanos) {
+            return false;
+        }
+        double total = 0;
+        int peers = 0;
+        for (BankEndpointRegistry.BankEndpoint sibling : siblings) {
+            if (sibling != endpoint && !sibling.isEjected(now)) {
+                total += sibling.costNanos(now);
+                peers++;
+            }
+        }
+        return peers > 0 && rttNanos > latencyFactor * (total / peers);
+    }
+
+    private void eject(BankEndpointRegistry.BankEndpoint endpoint, Outcome reason, long now) {
+        BankEndpointRegistry.BankEndpoint[] siblings = endpoint.siblings;
+        synchronized (siblings) {
+            if (endpoint.isEjected(now)) {
+                return;
+            }
+            int ejected = 0;
+            for (BankEndpointRegistry.BankEndpoint sibling : siblings) {
+                if (sibling.isEjected(now)) {
+                    ejected++;
+                }
+            }
+            int cap = Math.min(siblings.length - 1, Math.max(1, siblings.length * maxEjectionPercent / 100));
+            if (ejected >= cap) {
+                log.warn("⚠️  {} is an outlier ({}) but {} of {} replicas are already ejected",
+                        endpoint, reason, ejected, siblings.length);
+                return;
+            }
+            long duration = Math.min(maxEjectionNanos, baseEjectionNanos << Math.min(endpoint.ejectionCount, 20));
+            endpoint.ejectedUntilNanos = now + duration;
+            endpoint.multiplierDecayAtNanos = now + duration + baseEjectionNanos;
+            endpoint.ejectionCount++;
+            endpoint.lastEjectionReason = reason;
+            endpoint.consecutiveFailures.set(0);
+            log.warn("⏏️  Ejecting {} for {}s after {} ({} ejections)", endpoint,
+                    TimeUnit.NANOSECONDS.toSeconds(duration), reason, endpoint.ejectionCount);
+        }
+    }
+
+    private void decayMultiplier(BankEndpointRegistry.BankEndpoint endpoint, long now) {
+        synchronized (endpoint.siblings) {
+            if (endpoint.ejectionCount > 0 && now - endpoint.multiplierDecayAtNanos >= 0) {
+                endpoint.ejectionCount--;
+                endpoint.multiplierDecayAtNanos = now + baseEjectionNanos;
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.BankQuoteDto;
+import com.prestek.FinancialEntityService.dto.BankQuoteRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cliente del endpoint {@code POST /api/quotes} del contrato común de los
+ * bancos.
+ */
+@Service
+@Slf4j
+public class BankQuoteClient {
+
+    private final WebClient webClient;
+
+    public BankQuoteClient(WebClient.Builder webClientBuilder) {
+        this.webClient = webClientBuilder.build();
+    }
+
+    public Mono<BankQuoteDto> quote(
+            BankConstants.BankService bank,
+            BankQuoteRequest request,
+            String authorizationHeader) {
+        String url = bank.buildUri(BankConstants.BankPaths.QUOTES.path());
+
+        return webClient.post()
+                .uri(url)
+                .headers(headers -> {
+                    if (authorizationHeader != null && !authorizationHeader.isBlank()) {
+                        headers.set(bank.authHeader(), authorizationHeader);
+                    }
+                })
+                .bodyValue(request)
+                .retrieve()
+                .onStatus(
+                        status -> status.is4xxClientError() || status.is5xxServerError(),
+                        clientResponse -> {
+                            int statusCode = clientResponse.statusCode().value();
+                            return clientResponse.bodyToMono(String.class)
+                                    .defaultIfEmpty("No error body")
+                                    .flatMap(errorBody -> Mono.error(new RuntimeException(
+                                            String.format("%s quote failed with %d: %s",
+                                                    bank.bankName(), statusCode, errorBody))));
+                        })
+                .bodyToMono(BankQuoteDto.class)
+                .doOnNext(quote -> log.debug("✓ {} quoted {} months at {}-{} EA",
+                        bank.bankName(), request.getTermMonths(), quote.getRateEAmin(), quote.getRateEAmax()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.prestek.FinancialEntityService.service;
+
+/**
+ * Respuesta de error (4xx/5xx) de un banco, conservando el código HTTP para
+ * decidir si se puede reintentar.
+ */
+public class BankServiceException extends RuntimeException {
+
+    private final String bankCode;
+    private final int statusCode;
+
+    public BankServiceException(String bankCode, int statusCode, String message) {
+        super(message);
+        this.bankCode = bankCode;
+        this.statusCode = statusCode;
+    }
+
+    public String getBankCode() {
+        return bankCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * 502, 503 y 504 indican fallas transitorias del banco o de su red.
+     */
+    public boolean isTransient() {
+        return statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+}
@@ -0,0 +1,28 @@
+package com.prestek.FinancialEntityService.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Identifica al llamante en las llaves de caché sin guardar su token: hash
+ * SHA-256 (base64) del header Authorization, o vacío si no viene.
+ */
+public final class CallerHash {
+
+    private CallerHash() {
+    }
+
+    public static String of(String authorization) {
+        if (authorization == null || authorization.isBlank()) {
+            return "";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(authorization.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
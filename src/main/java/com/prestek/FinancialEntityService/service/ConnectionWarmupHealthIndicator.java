@@ -0,0 +1,27 @@
+package com.prestek.FinancialEntityService.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estado {@code connectionWarmup} del grupo readiness: OUT_OF_SERVICE mientras
+ * {@link ConnectionWarmupService} calienta los pools, UP al terminar o al
+ * vencer el timeout.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectionWarmupHealthIndicator implements HealthIndicator {
+
+    private final ConnectionWarmupService warmupService;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmupService.isReady() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("complete", warmupService.isComplete())
+                .withDetails(warmupService.details())
+                .build();
+    }
+}
@@ -0,0 +1,174 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.filter.BankLoadBalancingExchangeFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Calienta al arrancar las conexiones hacia cada banco y hacia n8n para que
+ * las primeras peticiones reales no paguen DNS, TCP y TLS.
+ *
+ * Por cada destino (cada réplica de cada banco y n8n) envía
+ * {@code WARMUP_CONNECTIONS_PER_TARGET} peticiones {@code HEAD /}
+ * concurrentes, lo que deja ese número de conexiones abiertas en el pool
+ * de {@link WebClient} y, para los bancos, en el pool del {@link HttpClient}
+ * de las rutas del gateway. Cualquier respuesta HTTP cuenta como conexión
+ * caliente. Con {@code WARMUP_PROBE_PATH} se envía
+ * además un GET a esa ruta y se reporta su estado.
+ *
+ * {@link ConnectionWarmupHealthIndicator} mantiene el readiness fuera de
+ * servicio hasta que todos los destinos terminan o vence
+ * {@code WARMUP_TIMEOUT}.
+ */
+@Service
+@Slf4j
+public class ConnectionWarmupService {
+
+    private static final String N8N_TARGET = "n8n";
+
+    private final WebClient webClient;
+    private final HttpClient gatewayHttpClient;
+    private final BankEndpointRegistry endpointRegistry;
+    private final String n8nSimulationUrl;
+    private final int connectionsPerTarget;
+    private final String probePath;
+    private final Duration timeout;
+
+    private final Map<String, String> results = new ConcurrentHashMap<>();
+    private volatile long startedAtNanos;
+    private volatile boolean started;
+    private volatile boolean complete;
+
+    public ConnectionWarmupService(
+            WebClient.Builder webClientBuilder,
+            ObjectProvider<HttpClient> gatewayHttpClient,
+            BankEndpointRegistry endpointRegistry,
+            @Value("${N8N_SIMULATION_URL:http://localhost:5678/webhook-test/simulate-credit}") String n8nSimulationUrl,
+            @Value("${WARMUP_CONNECTIONS_PER_TARGET:4}") int connectionsPerTarget,
+            @Value("${WARMUP_PROBE_PATH:}") String probePath,
+            @Value("${WARMUP_TIMEOUT:20s}") Duration timeout) {
+        this.webClient = webClientBuilder.build();
+        this.gatewayHttpClient = gatewayHttpClient.getIfUnique();
+        this.endpointRegistry = endpointRegistry;
+        this.n8nSimulationUrl = n8nSimulationUrl;
+        this.connectionsPerTarget = connectionsPerTarget;
+        this.probePath = probePath == null || probePath.isBlank() ? null : probePath;
+        this.timeout = timeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        warmUp().subscribe();
+    }
+
+    /**
+     * Calienta todos los destinos en paralelo. Nunca falla: los errores
+     * quedan en {@link #details()}.
+     */
+    public Mono<Void> warmUp() {
+        startedAtNanos = System.nanoTime();
+        started = true;
+        if (connectionsPerTarget <= 0) {
+            complete = true;
+            return Mono.empty();
+        }
+
+        Map<String, String> targets = new LinkedHashMap<>();
+        for (BankConstants.BankService bank : BankConstants.BankService.values()) {
+            List<BankEndpointRegistry.BankEndpoint> endpoints = endpointRegistry.endpoints(bank.bankCode());
+            for (BankEndpointRegistry.BankEndpoint endpoint : endpoints) {
+                targets.put(endpoints.size() == 1 ? bank.bankCode() : endpoint.toString(), endpoint.baseUrl());
+            }
+        }
+        targets.put(N8N_TARGET, n8nSimulationUrl);
+        log.info("🔥 Warming up {} connections per target: {}", connectionsPerTarget, targets.keySet());
+
+        return Flux.fromIterable(targets.entrySet())
+                .flatMap(target -> warm(target.getKey(), origin(target.getValue()), !N8N_TARGET.equals(target.getKey())))
+                .then()
+                .doFinally(signal -> {
+                    complete = true;
+                    log.info("✅ Connection warm-up finished in {}ms: {}",
+                            Duration.ofNanos(System.nanoTime() - startedAtNanos).toMillis(), results);
+                });
+    }
+
+    /**
+     * @return true cuando todos los destinos terminaron o venció el timeout
+     */
+    public boolean isReady() {
+        return complete || (started && System.nanoTime() - startedAtNanos >= timeout.toNanos());
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public Map<String, String> details() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(results));
+    }
+
+    private Mono<Void> warm(String name, String origin, boolean gatewayRoute) {
+        Flux<Integer> webClientConnections = Flux.range(0, connectionsPerTarget)
+                .flatMap(i -> webClient.head()
+                        .uri(origin)
+                        .attribute(BankLoadBalancingExchangeFilter.PINNED_ATTRIBUTE, true)
+                        .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value())),
+                        connectionsPerTarget);
+        Flux<Integer> routeConnections = gatewayRoute && gatewayHttpClient != null
+                ? Flux.range(0, connectionsPerTarget)
+                        .flatMap(i -> gatewayHttpClient.head().uri(origin).response()
+                                .map(response -> response.status().code()), connectionsPerTarget)
+                : Flux.empty();
+
+        return Flux.merge(webClientConnections, routeConnections)
+                .count()
+                .flatMap(connections -> probe(origin)
+                        .map(status -> connections + " connections, probe " + status)
+                        .defaultIfEmpty(connections + " connections"))
+                .timeout(timeout)
+                .onErrorResume(error -> Mono.just("failed: " + (error instanceof TimeoutException
+                        ? "timeout" : error.getMessage())))
+                .doOnNext(result -> {
+                    results.put(name, result);
+                    log.info("   {} → {}", name, result);
+                })
+                .then();
+    }
+
+    private Mono<Integer> probe(String origin) {
+        if (probePath == null) {
+            return Mono.empty();
+        }
+        return webClient.get()
+                .uri(origin + (probePath.startsWith("/") ? probePath.substring(1) : probePath))
+                .attribute(BankLoadBalancingExchangeFilter.PINNED_ATTRIBUTE, true)
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()));
+    }
+
+    /**
+     * Los pools se indexan por host y puerto: basta con tocar la raíz.
+     */
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getRawAuthority() + "/";
+    }
+}
@@ -0,0 +1,191 @@
+package com.prestek.FinancialEntityService.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fallas configurables por destino (BCO, DAVI, COLT o n8n) para pruebas de
+ * caos locales. Solo se activan con el perfil {@code chaos}; las aplican
+ * {@code ChaosExchangeFilter} a los WebClient y {@code ChaosGlobalFilter} a
+ * las rutas del gateway, y se cambian en caliente con
+ * {@code /actuator/chaos}.
+ *
+ * El perfil se consulta al arrancar y no con {@code @Profile}: la imagen AOT
+ * fija los beans al compilar y el perfil de ejecución ya no los cambiaría.
+ * Sin el perfil no hay fallas y {@link #configure} las rechaza.
+ */
+@Component
+@Slf4j
+public class FaultInjector {
+
+    public static final String PROFILE = "chaos";
+
+    private final OutboundTargetResolver targetResolver;
+    private final Map<String, Fault> faults = new ConcurrentHashMap<>();
+    private final boolean enabled;
+
+    public FaultInjector(OutboundTargetResolver targetResolver, Environment environment) {
+        this.targetResolver = targetResolver;
+        this.enabled = environment.acceptsProfiles(Profiles.of(PROFILE));
+        if (enabled) {
+            log.warn("🐒 Chaos profile active: outbound faults can be injected via /actuator/chaos");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Falla activa para la URL de salida, o null si no hay.
+     */
+    public Fault fault(URI url) {
+        if (faults.isEmpty()) {
+            return null;
+        }
+        String target = targetResolver.target(url);
+        return target != null ? faults.get(target) : null;
+    }
+
+    /**
+     * Reemplaza la falla del destino.
+     *
+     * @throws IllegalArgumentException si el destino no es un banco ni n8n
+     * @throws IllegalStateException     sin el perfil {@code chaos}
+     */
+    public Fault configure(String target, Fault fault) {
+        if (!enabled) {
+            throw new IllegalStateException("Fault injection requires the '" + PROFILE + "' profile");
+        }
+        String key = OutboundTargetResolver.normalize(target);
+        if (fault.isNoop()) {
+            faults.remove(key);
+        } else {
+            faults.put(key, fault);
+        }
+        log.warn("🐒 Fault for {} set to {}", key, fault);
+        return fault;
+    }
+
+    public void clear(String target) {
+        String key = OutboundTargetResolver.normalize(target);
+        if (faults.remove(key) != null) {
+            log.warn("🐒 Fault for {} cleared", key);
+        }
+    }
+
+    public void clearAll() {
+        faults.clear();
+        log.warn("🐒 All faults cleared");
+    }
+
+    public Map<String, Fault> faults() {
+        return new TreeMap<>(faults);
+    }
+
+    /**
+     * Falla de un destino. Cada petición sortea por separado cada tipo de
+     * falla según su tasa.
+     *
+     * @param latencyMillis      Latencia agregada antes de la respuesta
+     * @param jitterMillis       Variación uniforme sobre la latencia
+     * @param errorRate          Fracción de respuestas {@code errorStatus} sin llegar al destino
+     * @param errorStatus        Estado de las respuestas de error (por defecto 503)
+     * @param dropRate           Fracción de conexiones reiniciadas antes de la respuesta
+     * @param truncateRate       Fracción de cuerpos cortados a la mitad (JSON truncado)
+     * @param slowBodyMillis     Pausa entre trozos del cuerpo
+     * @param slowBodyChunkBytes Tamaño de cada trozo cuando el cuerpo es lento (por defecto 64)
+     */
+    public record Fault(
+            long latencyMillis,
+            long jitterMillis,
+            double errorRate,
+            int errorStatus,
+            double dropRate,
+            double truncateRate,
+            long slowBodyMillis,
+            int slowBodyChunkBytes) {
+
+        public Fault {
+            if (latencyMillis < 0 || jitterMillis < 0 || slowBodyMillis < 0) {
+                throw new IllegalArgumentException("Fault durations must be >= 0");
+            }
+            requireRate("errorRate", errorRate);
+            requireRate("dropRate", dropRate);
+            requireRate("truncateRate", truncateRate);
+            if (errorStatus == 0) {
+                errorStatus = 503;
+            } else if (errorStatus < 400 || errorStatus > 599) {
+                throw new IllegalArgumentException("errorStatus must be 4xx or 5xx");
+            }
+            if (slowBodyChunkBytes <= 0) {
+                slowBodyChunkBytes = 64;
+            }
+        }
+
+        public static Fault latency(long latencyMillis) {
+            return new Fault(latencyMillis, 0, 0, 0, 0, 0, 0, 0);
+        }
+
+        public static Fault errors(double errorRate, int errorStatus) {
+            return new Fault(0, 0, errorRate, errorStatus, 0, 0, 0, 0);
+        }
+
+        public static Fault drops(double dropRate) {
+            return new Fault(0, 0, 0, 0, dropRate, 0, 0, 0);
+        }
+
+        public static Fault truncated(double truncateRate) {
+            return new Fault(0, 0, 0, 0, 0, truncateRate, 0, 0);
+        }
+
+        public static Fault slowBody(long slowBodyMillis, int chunkBytes) {
+            return new Fault(0, 0, 0, 0, 0, 0, slowBodyMillis, chunkBytes);
+        }
+
+        public Duration nextLatency() {
+            long jitter = jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1) : 0;
+            return Duration.ofMillis(Math.max(0, latencyMillis + jitter));
+        }
+
+        public boolean shouldFail() {
+            return roll(errorRate);
+        }
+
+        public boolean shouldDrop() {
+            return roll(dropRate);
+        }
+
+        public boolean shouldTruncate() {
+            return roll(truncateRate);
+        }
+
+        public boolean hasSlowBody() {
+            return slowBodyMillis > 0;
+        }
+
+        boolean isNoop() {
+            return latencyMillis == 0 && jitterMillis == 0 && errorRate == 0 && dropRate == 0
+                    && truncateRate == 0 && slowBodyMillis == 0;
+        }
+
+        private static boolean roll(double rate) {
+            return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+        }
+
+        private static void requireRate(String name, double rate) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException(name + " must be between 0 and 1");
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.prestek.FinancialEntityService.service;
+
+/**
+ * Fórmulas de crédito de cuota fija (sistema francés) usadas para evaluar
+ * ofertas localmente. Todos los métodos trabajan con primitivos.
+ */
+public final class LoanMath {
+
+    private LoanMath() {
+    }
+
+    /**
+     * Convierte una tasa efectiva anual (0.18 = 18% EA) a tasa mensual vencida.
+     */
+    public static double monthlyRate(double effectiveAnnualRate) {
+        return Math.pow(1.0 + effectiveAnnualRate, 1.0 / 12.0) - 1.0;
+    }
+
+    /**
+     * Cuota mensual de un crédito de cuota fija.
+     */
+    public static double monthlyPayment(double principal, double monthlyRate, int termMonths) {
+        if (monthlyRate <= 0.0) {
+            return principal / termMonths;
+        }
+        return principal * monthlyRate / (1.0 - Math.pow(1.0 + monthlyRate, -termMonths));
+    }
+}
@@ -0,0 +1,67 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Locale;
+
+/**
+ * Reconoce el destino de una llamada de salida: el código del banco (por la
+ * URL de cualquiera de sus réplicas o {@code bank://CODE}) o {@code n8n}.
+ * Lo usan la inyección de fallas y la grabación de tráfico.
+ */
+@Component
+public class OutboundTargetResolver {
+
+    public static final String N8N_TARGET = "n8n";
+
+    private final BankEndpointRegistry endpointRegistry;
+    private final URI n8nUrl;
+
+    public OutboundTargetResolver(
+            BankEndpointRegistry endpointRegistry,
+            @Value("${N8N_SIMULATION_URL:http://localhost:5678/webhook-test/simulate-credit}") String n8nUrl) {
+        this.endpointRegistry = endpointRegistry;
+        this.n8nUrl = URI.create(n8nUrl);
+    }
+
+    /**
+     * @return el código del banco, {@code n8n} o null si la URL no es de un destino conocido
+     */
+    public String target(URI url) {
+        String bankCode = endpointRegistry.bankCode(url);
+        if (bankCode != null) {
+            return bankCode;
+        }
+        return sameOrigin(url, n8nUrl) ? N8N_TARGET : null;
+    }
+
+    /**
+     * Normaliza un destino escrito por una persona (código o nombre del banco, o n8n).
+     *
+     * @throws IllegalArgumentException si no es un banco ni n8n
+     */
+    public static String normalize(String target) {
+        if (N8N_TARGET.equalsIgnoreCase(target)) {
+            return N8N_TARGET;
+        }
+        return BankConstants.BankService.resolve(target)
+                .map(BankConstants.BankService::bankCode)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown target: " + target));
+    }
+
+    private static boolean sameOrigin(URI a, URI b) {
+        return a.getHost() != null
+                && a.getHost().equalsIgnoreCase(b.getHost())
+                && port(a) == port(b);
+    }
+
+    private static int port(URI uri) {
+        if (uri.getPort() >= 0) {
+            return uri.getPort();
+        }
+        return "https".equals(uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : "") ? 443 : 80;
+    }
+}
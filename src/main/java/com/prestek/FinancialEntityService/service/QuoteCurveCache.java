@@ -0,0 +1,316 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.BankQuoteDto;
+import com.prestek.FinancialEntityService.dto.BankQuoteRequest;
+import com.prestek.FinancialEntityService.dto.OfferDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Caché por banco de curvas de cotización indexadas por (banda de puntaje,
+ * monto, plazo).
+ *
+ * Los puntos de la grilla se refrescan en segundo plano contra
+ * {@code /api/quotes} de cada banco con {@code QUOTE_CURVE_REFRESH_TOKEN};
+ * sin token el refresco no corre y no hay estimaciones. El primer ciclo
+ * cotiza la grilla completa para que las estimaciones estén disponibles poco
+ * después del arranque; los siguientes vuelven a cotizar solo los
+ * {@code QUOTE_CURVE_REFRESH_BATCH} puntos más antiguos de cada banco, así
+ * la grilla se renueva a lo largo de varios ciclos en lugar de cotizarla
+ * entera de una vez. Las estimaciones interpolan
+ * bilinealmente la tasa entre los cuatro puntos vecinos y calculan la cuota
+ * exacta con esa tasa; solo se responde cuando los vecinos están vigentes y su
+ * dispersión de tasa no supera {@code QUOTE_CURVE_MAX_RATE_SPREAD}, lo que
+ * acota el error de la tasa estimada.
+ */
+@Service
+@Slf4j
+public class QuoteCurveCache {
+
+    private final BankQuoteClient quoteClient;
+    private final double[] amounts;
+    private final int[] terms;
+    private final int[] bandScores;
+    private final int defaultScore;
+    private final long maxAgeMillis;
+    private final double maxRateSpread;
+    private final long referenceIncome;
+    private final String refreshToken;
+    private final int refreshConcurrency;
+    private final int refreshBatch;
+
+    private final List<AtomicReferenceArray<QuotePoint>> curves;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile boolean filled;
+
+    public QuoteCurveCache(
+            BankQuoteClient quoteClient,
+            @Value("${QUOTE_CURVE_AMOUNTS:1000000,2000000,5000000,10000000,20000000,30000000,40000000,50000000}") double[] amounts,
+            @Value("${QUOTE_CURVE_TERMS:6,12,24,36,48,60}") int[] terms,
+            @Value("${QUOTE_CURVE_BAND_SCORES:550,625,705,770,830}") int[] bandScores,
+            @Value("${QUOTE_CURVE_DEFAULT_SCORE:650}") int defaultScore,
+            @Value("${QUOTE_CURVE_MAX_AGE_SECONDS:86400}") long maxAgeSeconds,
+            @Value("${QUOTE_CURVE_MAX_RATE_SPREAD:0.02}") double maxRateSpread,
+            @Value("${QUOTE_CURVE_REFERENCE_INCOME:20000000}") long referenceIncome,
+            @Value("${QUOTE_CURVE_REFRESH_TOKEN:}") String refreshToken,
+            @Value("${QUOTE_CURVE_REFRESH_CONCURRENCY:4}") int refreshConcurrency,
+            @Value("${QUOTE_CURVE_REFRESH_BATCH:60}") int refreshBatch) {
+        this.quoteClient = quoteClient;
+        this.amounts = sorted(amounts);
+        this.terms = sorted(terms);
+        this.bandScores = sorted(bandScores);
+        this.defaultScore = defaultScore;
+        this.maxAgeMillis = maxAgeSeconds * 1000;
+        this.maxRateSpread = maxRateSpread;
+        this.referenceIncome = referenceIncome;
+        this.refreshToken = refreshToken == null || refreshToken.isBlank() ? null : refreshToken;
+        this.refreshConcurrency = refreshConcurrency;
+        this.refreshBatch = refreshBatch;
+
+        int pointsPerBank = this.bandScores.length * this.amounts.length * this.terms.length;
+        this.curves = Arrays.stream(BankConstants.BankService.values())
+                .map(bank -> new AtomicReferenceArray<QuotePoint>(pointsPerBank))
+                .toList();
+        if (this.refreshToken == null) {
+            log.warn("⚠️  QUOTE_CURVE_REFRESH_TOKEN is not set: quote curves will not be refreshed "
+                    + "and ESTIMATE simulations will not be answered");
+        }
+    }
+
+    /**
+     * Estima la oferta de un banco a partir de la curva en caché, sin llamadas
+     * de red.
+     *
+     * @return Oferta estimada, o vacío si no hay vecinos vigentes o la
+     *         interpolación excede el error permitido
+     */
+    public Optional<OfferDto> estimateOffer(
+            BankConstants.BankService bank,
+            Integer score,
+            double amount,
+            int termMonths) {
+        int band = band(score != null ? score : defaultScore);
+        int a0 = lowerIndex(amounts, amount);
+        int t0 = lowerIndex(terms, termMonths);
+        if (a0 < 0 || t0 < 0) {
+            return Optional.empty();
+        }
+        int a1 = amounts[a0] == amount ? a0 : a0 + 1;
+        int t1 = terms[t0] == termMonths ? t0 : t0 + 1;
+
+        AtomicReferenceArray<QuotePoint> curve = curves.get(bank.ordinal());
+        long oldest = System.currentTimeMillis() - maxAgeMillis;
+        QuotePoint p00 = fresh(curve.get(index(band, a0, t0)), oldest);
+        QuotePoint p01 = fresh(curve.get(index(band, a0, t1)), oldest);
+        QuotePoint p10 = fresh(curve.get(index(band, a1, t0)), oldest);
+        QuotePoint p11 = fresh(curve.get(index(band, a1, t1)), oldest);
+        if (p00 == null || p01 == null || p10 == null || p11 == null) {
+            return Optional.empty();
+        }
+
+        // La interpolación es una combinación convexa: el error queda acotado por la dispersión
+        if (spread(p00.rateMin, p01.rateMin, p10.rateMin, p11.rateMin) > maxRateSpread
+                || spread(p00.rateMax, p01.rateMax, p10.rateMax, p11.rateMax) > maxRateSpread) {
+            return Optional.empty();
+        }
+
+        double wa = a1 == a0 ? 0.0 : (amount - amounts[a0]) / (amounts[a1] - amounts[a0]);
+        double wt = t1 == t0 ? 0.0 : (double) (termMonths - terms[t0]) / (terms[t1] - terms[t0]);
+        double rateMin = bilinear(p00.rateMin, p01.rateMin, p10.rateMin, p11.rateMin, wa, wt);
+        double rateMax = bilinear(p00.rateMax, p01.rateMax, p10.rateMax, p11.rateMax, wa, wt);
+        double fees = bilinear(p00.fees, p01.fees, p10.fees, p11.fees, wa, wt);
+
+        double rate = (rateMin + rateMax) / 2.0;
+        double payment = LoanMath.monthlyPayment(amount, LoanMath.monthlyRate(rate), termMonths);
+        long totalPaid = Math.round(payment * termMonths);
+
+        return Optional.of(OfferDto.builder()
+                .entity(bank.bankName())
+                .effectiveAnnualRate(rate)
+                .fees(fees)
+                .monthlyPayment((int) Math.round(payment))
+                .totalPayments(termMonths)
+                .totalCost((int) Math.round(totalPaid + fees))
+                .totalInterest((int) Math.round(totalPaid - amount))
+                .reason("Estimación basada en cotizaciones recientes")
+                .build());
+    }
+
+    /**
+     * Registra una cotización para un punto de la grilla. Los puntos fuera de
+     * la grilla se ignoran.
+     */
+    public void record(BankConstants.BankService bank, int score, double amount, int termMonths, BankQuoteDto quote) {
+        int a = Arrays.binarySearch(amounts, amount);
+        int t = Arrays.binarySearch(terms, termMonths);
+        if (a < 0 || t < 0 || quote == null || quote.getRateEAmin() == null) {
+            return;
+        }
+        double rateMin = quote.getRateEAmin();
+        double rateMax = quote.getRateEAmax() != null ? quote.getRateEAmax() : rateMin;
+        double fees = quote.getFeesEstimated() != null ? quote.getFeesEstimated() : 0.0;
+        curves.get(bank.ordinal()).set(index(band(score), a, t),
+                new QuotePoint(rateMin, rateMax, fees, System.currentTimeMillis()));
+    }
+
+    @Scheduled(
+            initialDelayString = "${QUOTE_CURVE_INITIAL_DELAY_MS:30000}",
+            fixedDelayString = "${QUOTE_CURVE_REFRESH_INTERVAL_MS:3600000}")
+    public void scheduledRefresh() {
+        if (refreshToken == null || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        (refreshBatch > 0 && filled ? refreshStalest(refreshBatch) : refreshAll())
+                .doOnSuccess(refreshed -> filled = true)
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(
+                        refreshed -> log.info("📈 Quote curves refreshed: {} points", refreshed),
+                        error -> log.error("❌ Quote curve refresh failed: {}", error.getMessage()));
+    }
+
+    /**
+     * Vuelve a cotizar todos los puntos de la grilla en todos los bancos.
+     *
+     * @return Cantidad de puntos actualizados
+     */
+    public Mono<Long> refreshAll() {
+        int pointsPerBank = bandScores.length * amounts.length * terms.length;
+        return Flux.fromArray(BankConstants.BankService.values())
+                .concatMap(bank -> Flux.range(0, pointsPerBank)
+                        .flatMap(point -> refreshPoint(bank, point), refreshConcurrency))
+                .count();
+    }
+
+    /**
+     * Vuelve a cotizar, en cada banco, los {@code perBank} puntos más
+     * antiguos (primero los que nunca se cotizaron).
+     *
+     * @return Cantidad de puntos actualizados
+     */
+    public Mono<Long> refreshStalest(int perBank) {
+        return Flux.fromArray(BankConstants.BankService.values())
+                .concatMap(bank -> Flux.fromArray(stalestPoints(curves.get(bank.ordinal()), perBank))
+                        .flatMap(point -> refreshPoint(bank, point), refreshConcurrency))
+                .count();
+    }
+
+    private static Integer[] stalestPoints(AtomicReferenceArray<QuotePoint> curve, int limit) {
+        Integer[] points = new Integer[curve.length()];
+        long[] fetchedAt = new long[curve.length()];
+        for (int i = 0; i < points.length; i++) {
+            QuotePoint point = curve.get(i);
+            points[i] = i;
+            fetchedAt[i] = point != null ? point.fetchedAt : Long.MIN_VALUE;
+        }
+        Arrays.sort(points, Comparator.comparingLong(i -> fetchedAt[i]));
+        return Arrays.copyOf(points, Math.min(limit, points.length));
+    }
+
+    private Mono<BankQuoteDto> refreshPoint(BankConstants.BankService bank, int point) {
+        int t = point % terms.length;
+        int a = (point / terms.length) % amounts.length;
+        int band = point / (terms.length * amounts.length);
+        BankQuoteRequest request = BankQuoteRequest.builder()
+                .amount(Math.round(amounts[a]))
+                .termMonths(terms[t])
+                .score(bandScores[band])
+                .monthlyIncome(referenceIncome)
+                .monthlyExpenses(0L)
+                .build();
+
+        return quoteClient.quote(bank, request, refreshToken)
+                .doOnNext(quote -> record(bank, bandScores[band], amounts[a], terms[t], quote))
+                .onErrorResume(error -> {
+                    log.debug("   {} quote refresh failed for {}: {}", bank.bankName(), request, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private int band(int score) {
+        for (int i = 0; i < bandScores.length - 1; i++) {
+            if (score < (bandScores[i] + bandScores[i + 1]) / 2) {
+                return i;
+            }
+        }
+        return bandScores.length - 1;
+    }
+
+    private int index(int band, int amountIndex, int termIndex) {
+        return (band * amounts.length + amountIndex) * terms.length + termIndex;
+    }
+
+    private static QuotePoint fresh(QuotePoint point, long oldestAllowed) {
+        return point != null && point.fetchedAt >= oldestAllowed ? point : null;
+    }
+
+    private static double bilinear(double v00, double v01, double v10, double v11, double wa, double wt) {
+        double low = v00 + (v01 - v00) * wt;
+        double high = v10 + (v11 - v10) * wt;
+        return low + (high - low) * wa;
+    }
+
+    private static double spread(double v00, double v01, double v10, double v11) {
+        return Math.max(Math.max(v00, v01), Math.max(v10, v11)) - Math.min(Math.min(v00, v01), Math.min(v10, v11));
+    }
+
+    private static int lowerIndex(double[] grid, double value) {
+        if (value < grid[0] || value > grid[grid.length - 1]) {
+            return -1;
+        }
+        int i = 0;
+        while (i < grid.length - 1 && grid[i + 1] <= value) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int lowerIndex(int[] grid, int value) {
+        if (value < grid[0] || value > grid[grid.length - 1]) {
+            return -1;
+        }
+        int i = 0;
+        while (i < grid.length - 1 && grid[i + 1] <= value) {
+            i++;
+        }
+        return i;
+    }
+
+    private static double[] sorted(double[] values) {
+        double[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static int[] sorted(int[] values) {
+        int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static final class QuotePoint {
+
+        private final double rateMin;
+        private final double rateMax;
+        private final double fees;
+        private final long fetchedAt;
+
+        private QuotePoint(double rateMin, double rateMax, double fees, long fetchedAt) {
+            this.rateMin = rateMin;
+            this.rateMax = rateMax;
+            this.fees = fees;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.prestek.FinancialEntityService.service;
+
+/**
+ * Oferta normalizada que consume {@link RankingEngine}.
+ *
+ * @param bankCode        Código del banco, usado para desempatar
+ * @param bankName        Nombre del banco reportado en la recomendación
+ * @param monthlyPayment  Cuota mensual
+ * @param totalCost       Costo total del crédito
+ * @param paymentToIncome Relación cuota/ingreso (0.35 = 35%)
+ * @param approved        true si el banco aprobó la oferta, false si la rechazó
+ *                        (nunca se recomienda) o null si no hay datos
+ */
+public record RankingCandidate(
+        String bankCode,
+        String bankName,
+        double monthlyPayment,
+        double totalCost,
+        double paymentToIncome,
+        Boolean approved) {
+
+    public boolean isRejected() {
+        return Boolean.FALSE.equals(approved);
+    }
+}
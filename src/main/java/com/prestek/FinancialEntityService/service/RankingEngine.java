@@ -0,0 +1,23 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.dto.RecommendationDto;
+
+import java.util.List;
+
+/**
+ * Motor de ranking de ofertas en proceso. La implementación por defecto es
+ * {@link WeightedRankingEngine}; para reemplazarla basta con registrar otro
+ * bean marcado como {@code @Primary}.
+ */
+public interface RankingEngine {
+
+    /**
+     * Ordena los candidatos y produce la recomendación. Debe ser determinista:
+     * el mismo conjunto de candidatos produce siempre la misma recomendación.
+     *
+     * @param candidates Ofertas comparables (una por banco)
+     * @return Recomendación, sin {@code bestOption} si todos los candidatos
+     * fueron rechazados, o {@code null} si no hay candidatos comparables
+     */
+    RecommendationDto rank(List<RankingCandidate> candidates);
+}
@@ -0,0 +1,172 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Reintentos con presupuesto por banco.
+ *
+ * Cada petición original deposita {@code RETRY_BUDGET_RATIO} tokens en el
+ * balde del banco (hasta {@code RETRY_BUDGET_MAX_TOKENS}) y cada reintento
+ * consume uno, de modo que los reintentos nunca superan esa fracción de la
+ * carga. La espera entre intentos es exponencial con jitter completo y no se
+ * reintenta si la espera cruzaría el deadline de la petición. Cada intento
+ * se corta con {@link TimeoutException} en lo que queda del deadline, así
+ * que un destino que no responde o entrega el cuerpo lentamente tampoco lo
+ * excede.
+ *
+ * Métricas (tag {@code bank}): {@code bank.retry.attempts},
+ * {@code bank.retry.budget.exhausted} y {@code bank.retry.success}.
+ */
+@Component
+@Slf4j
+public class RetryBudgetRegistry {
+
+    private static final long MILLI_TOKENS = 1000;
+    private static final String UNKNOWN_BANK = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final long depositMilliTokens;
+    private final long maxMilliTokens;
+    private final int maxRetries;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+
+    private final Map<String, BankBudget> budgets = new ConcurrentHashMap<>();
+
+    public RetryBudgetRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${RETRY_BUDGET_RATIO:0.1}") double budgetRatio,
+            @Value("${RETRY_BUDGET_MAX_TOKENS:10}") double maxTokens,
+            @Value("${RETRY_MAX_ATTEMPTS:2}") int maxRetries,
+            @Value("${RETRY_BACKOFF_BASE_MS:50}") long backoffBaseMillis,
+            @Value("${RETRY_BACKOFF_MAX_MS:1000}") long backoffMaxMillis) {
+        this.meterRegistry = meterRegistry;
+        this.depositMilliTokens = Math.round(budgetRatio * MILLI_TOKENS);
+        this.maxMilliTokens = Math.round(maxTokens * MILLI_TOKENS);
+        this.maxRetries = maxRetries;
+        this.backoffBaseMillis = backoffBaseMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+    }
+
+    /**
+     * Ejecuta {@code source} reintentando (por re-suscripción) los errores que
+     * cumplan {@code retryable}, mientras haya presupuesto y tiempo. Falla
+     * con {@link TimeoutException} si se agota el deadline.
+     *
+     * @param bankCode  Código del banco (BCO, DAVI, COLT)
+     * @param deadline  Tiempo total disponible desde la suscripción
+     * @param retryable Errores transitorios que se pueden reintentar
+     * @param source    Llamada idempotente; cada suscripción es un intento
+     */
+    public <T> Mono<T> execute(String bankCode, Duration deadline, Predicate<Throwable> retryable, Mono<T> source) {
+        return Mono.defer(() -> {
+            BankBudget budget = budget(bankCode);
+            budget.deposit();
+            long deadlineNanos = System.nanoTime() + deadline.toNanos();
+            boolean[] retried = new boolean[1];
+            Mono<T> attempt = Mono.defer(() -> {
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                return remainingNanos > 0
+                        ? source.timeout(Duration.ofNanos(remainingNanos))
+                        : Mono.error(new TimeoutException("Deadline of " + deadline.toMillis() + "ms exceeded"));
+            });
+
+            return attempt
+                    .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                        Throwable failure = signal.failure();
+                        if (!retryable.test(failure) || signal.totalRetries() >= maxRetries) {
+                            return Mono.error(failure);
+                        }
+                        long delayMillis = backoffMillis(signal.totalRetries());
+                        if (System.nanoTime() + delayMillis * 1_000_000 >= deadlineNanos) {
+                            return Mono.error(failure);
+                        }
+                        if (!budget.tryWithdraw()) {
+                            budget.exhausted.increment();
+                            log.warn("⛔ Retry budget exhausted for {}", budget.bankCode);
+                            return Mono.error(failure);
+                        }
+                        budget.attempts.increment();
+                        retried[0] = true;
+                        log.info("🔁 Retrying {} in {}ms after: {}", budget.bankCode, delayMillis, failure.getMessage());
+                        return Mono.delay(Duration.ofMillis(delayMillis));
+                    })))
+                    .doOnSuccess(value -> {
+                        if (retried[0]) {
+                            budget.successes.increment();
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Tokens disponibles para el banco (para diagnóstico y pruebas).
+     */
+    public double availableTokens(String bankCode) {
+        return budget(bankCode).milliTokens.get() / (double) MILLI_TOKENS;
+    }
+
+    private long backoffMillis(long retry) {
+        long ceiling = Math.min(backoffMaxMillis, backoffBaseMillis << Math.min(retry, 20));
+        return 1 + ThreadLocalRandom.current().nextLong(Math.max(ceiling, 1));
+    }
+
+    private BankBudget budget(String bankCode) {
+        String key = BankConstants.BankService.fromCode(bankCode)
+                .map(BankConstants.BankService::bankCode)
+                .orElse(UNKNOWN_BANK);
+        return budgets.computeIfAbsent(key, BankBudget::new);
+    }
+
+    private final class BankBudget {
+
+        private final String bankCode;
+        private final AtomicLong milliTokens = new AtomicLong(maxMilliTokens);
+        private final Counter attempts;
+        private final Counter exhausted;
+        private final Counter successes;
+
+        private BankBudget(String bankCode) {
+            this.bankCode = bankCode;
+            this.attempts = meterRegistry.counter("bank.retry.attempts", "bank", bankCode);
+            this.exhausted = meterRegistry.counter("bank.retry.budget.exhausted", "bank", bankCode);
+            this.successes = meterRegistry.counter("bank.retry.success", "bank", bankCode);
+        }
+
+        private void deposit() {
+            long current;
+            do {
+                current = milliTokens.get();
+                if (current >= maxMilliTokens) {
+                    return;
+                }
+            } while (!milliTokens.compareAndSet(current, Math.min(maxMilliTokens, current + depositMilliTokens)));
+        }
+
+        private boolean tryWithdraw() {
+            long current;
+            do {
+                current = milliTokens.get();
+                if (current < MILLI_TOKENS) {
+                    return false;
+                }
+            } while (!milliTokens.compareAndSet(current, current - MILLI_TOKENS));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.BankQuoteRequest;
+import com.prestek.FinancialEntityService.dto.SensitivityRequest;
+import com.prestek.FinancialEntityService.dto.SensitivitySeriesDto;
+import com.prestek.FinancialEntityService.dto.SimulationRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Análisis de sensibilidad: cómo cambian cuota, costo total y relación
+ * cuota/ingreso de cada banco al barrer monto, plazo o ingreso.
+ *
+ * Se cotiza una sola vez por banco con la solicitud base (o, si la
+ * cotización falla, se usa la estimación de {@link QuoteCurveCache}) y cada
+ * punto del barrido se evalúa localmente con {@link LoanMath} manteniendo la
+ * tasa y los costos de esa cotización. Las series se calculan en paralelo y se
+ * emiten a medida que terminan.
+ */
+@Service
+@Slf4j
+public class SensitivityService {
+
+    private final BankQuoteClient quoteClient;
+    private final QuoteCurveCache quoteCurveCache;
+    private final BankEligibilityService eligibilityService;
+    private final int maxPoints;
+
+    public SensitivityService(
+            BankQuoteClient quoteClient,
+            QuoteCurveCache quoteCurveCache,
+            BankEligibilityService eligibilityService,
+            @Value("${SENSITIVITY_MAX_POINTS:2000}") int maxPoints) {
+        this.quoteClient = quoteClient;
+        this.quoteCurveCache = quoteCurveCache;
+        this.eligibilityService = eligibilityService;
+        this.maxPoints = maxPoints;
+    }
+
+    /**
+     * @param request             Solicitud base y variables a barrer (una o dos)
+     * @param authorizationHeader JWT token en formato "Bearer {token}"
+     * @return Una serie por banco (y por valor de la segunda variable, si la hay)
+     */
+    public Flux<SensitivitySeriesDto> analyze(SensitivityRequest request, String authorizationHeader) {
+        String validationError = getValidationError(request);
+        if (validationError != null) {
+            log.warn("❌ Sensitivity validation failed: {}", validationError);
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, validationError));
+        }
+        if (authorizationHeader == null || authorizationHeader.isBlank()) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Authorization token is required"));
+        }
+
+        SimulationRequest base = request.getBase();
+        SensitivityRequest.Sweep primary = request.getSweeps().get(0);
+        SensitivityRequest.Sweep secondary = request.getSweeps().size() > 1 ? request.getSweeps().get(1) : null;
+        double[] primaryValues = expand(primary);
+        double[] secondaryValues = secondary != null ? expand(secondary) : new double[] { Double.NaN };
+
+        log.info("📊 Sensitivity for user {}: {} x {} points",
+                base.getUserId(), primaryValues.length, secondary != null ? secondaryValues.length : 1);
+
+        BankEligibilityService.Evaluation eligibility = eligibilityService.evaluate(base);
+        return Flux.fromArray(BankConstants.BankService.values())
+                .filter(eligibility::isEligible)
+                .flatMap(bank -> quoteParameters(bank, base, authorizationHeader))
+                .flatMap(params -> Flux.range(0, secondaryValues.length)
+                        .map(i -> new SeriesTask(params, secondaryValues[i])))
+                .parallel()
+                .runOn(Schedulers.parallel())
+                .map(task -> evaluate(task, base, primary.getVariable(), primaryValues,
+                        secondary != null ? secondary.getVariable() : null))
+                .sequential();
+    }
+
+    private Mono<QuoteParameters> quoteParameters(
+            BankConstants.BankService bank,
+            SimulationRequest base,
+            String authorizationHeader) {
+        BankQuoteRequest quoteRequest = BankQuoteRequest.builder()
+                .amount(Math.round(base.getAmount()))
+                .termMonths(base.getTermMonths())
+                .score(base.getScore())
+                .monthlyIncome(Math.round(base.getMonthlyIncome()))
+                .monthlyExpenses(0L)
+                .build();
+
+        return quoteClient.quote(bank, quoteRequest, authorizationHeader)
+                .filter(quote -> quote.getRateEAmin() != null)
+                .map(quote -> {
+                    double rateMax = quote.getRateEAmax() != null ? quote.getRateEAmax() : quote.getRateEAmin();
+                    double fees = quote.getFeesEstimated() != null ? quote.getFeesEstimated() : 0.0;
+                    return new QuoteParameters(bank, (quote.getRateEAmin() + rateMax) / 2.0, fees);
+                })
+                .onErrorResume(error -> {
+                    log.warn("⚠️  {} quote failed, using cached curve: {}", bank.bankName(), error.getMessage());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> Mono.justOrEmpty(quoteCurveCache
+                        .estimateOffer(bank, base.getScore(), base.getAmount(), base.getTermMonths())
+                        .map(offer -> new QuoteParameters(bank, offer.getEffectiveAnnualRate(), offer.getFees())))));
+    }
+
+    private static SensitivitySeriesDto evaluate(
+            SeriesTask task,
+            SimulationRequest base,
+            SensitivityRequest.Variable primary,
+            double[] primaryValues,
+            SensitivityRequest.Variable secondary) {
+        int size = primaryValues.length;
+        long[] payments = new long[size];
+        long[] totalCosts = new long[size];
+        double[] ratios = new double[size];
+        double monthlyRate = LoanMath.monthlyRate(task.params.rate);
+        double y = task.secondaryValue;
+
+        for (int i = 0; i < size; i++) {
+            double x = primaryValues[i];
+            double amount = resolve(SensitivityRequest.Variable.AMOUNT, base.getAmount(), primary, x, secondary, y);
+            int term = (int) resolve(SensitivityRequest.Variable.TERM_MONTHS, base.getTermMonths(), primary, x, secondary, y);
+            double income = resolve(SensitivityRequest.Variable.MONTHLY_INCOME, base.getMonthlyIncome(), primary, x, secondary, y);
+
+            double payment = LoanMath.monthlyPayment(amount, monthlyRate, term);
+            payments[i] = Math.round(payment);
+            totalCosts[i] = Math.round(payment * term + task.params.fees);
+            ratios[i] = Math.round(payment / income * 10000.0) / 10000.0;
+        }
+
+        return SensitivitySeriesDto.builder()
+                .bankCode(task.params.bank.bankCode())
+                .entity(task.params.bank.bankName())
+                .effectiveAnnualRate(task.params.rate)
+                .variable(primary)
+                .values(primaryValues)
+                .monthlyPayment(payments)
+                .totalCost(totalCosts)
+                .paymentToIncome(ratios)
+                .secondaryVariable(secondary)
+                .secondaryValue(secondary != null ? y : null)
+                .build();
+    }
+
+    private static double resolve(
+            SensitivityRequest.Variable target,
+            double baseValue,
+            SensitivityRequest.Variable primary,
+            double x,
+            SensitivityRequest.Variable secondary,
+            double y) {
+        if (primary == target) {
+            return x;
+        }
+        return secondary == target ? y : baseValue;
+    }
+
+    private static double[] expand(SensitivityRequest.Sweep sweep) {
+        // Ya validado: cabe en maxPoints
+        int count = (int) pointCount(sweep);
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = sweep.getFrom() + i * sweep.getStep();
+        }
+        return values;
+    }
+
+    /**
+     * Puntos del barrido en double: un paso diminuto no desborda a un
+     * conteo negativo.
+     */
+    private static double pointCount(SensitivityRequest.Sweep sweep) {
+        // Tolerancia para que pasos decimales no pierdan el último punto
+        return Math.floor((sweep.getTo() - sweep.getFrom()) / sweep.getStep() + 1e-9) + 1;
+    }
+
+    private static boolean isWhole(double value) {
+        return value == Math.rint(value);
+    }
+
+    private String getValidationError(SensitivityRequest request) {
+        SimulationRequest base = request.getBase();
+        if (base == null || base.getAmount() == null || base.getAmount() <= 0
+                || base.getTermMonths() == null || base.getTermMonths() <= 0
+                || base.getMonthlyIncome() == null || base.getMonthlyIncome() <= 0) {
+            return "Base simulation requires amount, termMonths and monthlyIncome";
+        }
+        List<SensitivityRequest.Sweep> sweeps = request.getSweeps();
+        if (sweeps == null || sweeps.isEmpty() || sweeps.size() > 2) {
+            return "Between one and two sweeps are required";
+        }
+        double totalPoints = 1;
+        for (SensitivityRequest.Sweep sweep : sweeps) {
+            if (sweep == null || sweep.getVariable() == null || sweep.getFrom() == null
+                    || sweep.getTo() == null || sweep.getStep() == null) {
+                return "Each sweep requires variable, from, to and step";
+            }
+            if (sweep.getStep() <= 0 || sweep.getFrom() <= 0 || sweep.getTo() < sweep.getFrom()) {
+                return "Sweep " + sweep.getVariable() + " must have 0 < from <= to and a positive step";
+            }
+            if (sweep.getVariable() == SensitivityRequest.Variable.TERM_MONTHS && sweep.getFrom() < 1) {
+                return "TERM_MONTHS sweep must start at 1 month or more";
+            }
+            // Un paso fraccionario redondeado repetiría plazos
+            if (sweep.getVariable() == SensitivityRequest.Variable.TERM_MONTHS
+                    && (!isWhole(sweep.getFrom()) || !isWhole(sweep.getStep()))) {
+                return "TERM_MONTHS sweep requires whole-month from and step";
+            }
+            totalPoints *= pointCount(sweep);
+        }
+        if (sweeps.size() == 2 && sweeps.get(0).getVariable() == sweeps.get(1).getVariable()) {
+            return "Sweeps must use different variables";
+        }
+        if (!(totalPoints <= maxPoints)) {
+            return "Sweep has " + String.format(Locale.ROOT, "%.0f", totalPoints) + " points, maximum is " + maxPoints;
+        }
+        return null;
+    }
+
+    private record QuoteParameters(BankConstants.BankService bank, double rate, double fees) {
+    }
+
+    private record SeriesTask(QuoteParameters params, double secondaryValue) {
+    }
+}
@@ -0,0 +1,227 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.dto.SimulationJobDto;
+import com.prestek.FinancialEntityService.dto.SimulationRequest;
+import com.prestek.FinancialEntityService.dto.SimulationResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Ejecuta simulaciones de forma asíncrona sobre una cola acotada.
+ *
+ * Los trabajos se encolan en memoria y un número configurable de workers los
+ * envía a {@link SimulationService}. Los clientes consultan el resultado por id
+ * (opcionalmente con long-poll). Las solicitudes idénticas del mismo usuario y
+ * token se deduplican mientras el trabajo siga vigente y los resultados
+ * terminados expiran tras un TTL.
+ */
+@Service
+@Slf4j
+public class SimulationJobService {
+
+    private final SimulationService simulationService;
+    private final Duration resultTtl;
+    private final Duration jobTimeout;
+    private final Duration maxWait;
+
+    private final Map<String, SimulationJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, String> jobIdsByFingerprint = new ConcurrentHashMap<>();
+    private final Sinks.Many<SimulationJob> queue;
+    private final Disposable workers;
+
+    public SimulationJobService(
+            SimulationService simulationService,
+            @Value("${SIMULATION_JOBS_QUEUE_CAPACITY:100}") int queueCapacity,
+            @Value("${SIMULATION_JOBS_CONCURRENCY:4}") int concurrency,
+            @Value("${SIMULATION_JOBS_RESULT_TTL_SECONDS:600}") long resultTtlSeconds,
+            @Value("${SIMULATION_JOBS_TIMEOUT_SECONDS:120}") long jobTimeoutSeconds,
+            @Value("${SIMULATION_JOBS_MAX_WAIT_SECONDS:30}") long maxWaitSeconds) {
+        this.simulationService = simulationService;
+        this.resultTtl = Duration.ofSeconds(resultTtlSeconds);
+        this.jobTimeout = Duration.ofSeconds(jobTimeoutSeconds);
+        this.maxWait = Duration.ofSeconds(maxWaitSeconds);
+        this.queue = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(queueCapacity));
+        this.workers = queue.asFlux()
+                .flatMap(this::run, concurrency)
+                .subscribe();
+    }
+
+    /**
+     * Encola una simulación y retorna inmediatamente el trabajo creado. Si ya
+     * existe un trabajo vigente para la misma solicitud se retorna ese mismo.
+     *
+     * @param request             Datos de la simulación
+     * @param authorizationHeader JWT token en formato "Bearer {token}"
+     * @return Estado inicial del trabajo, o error 503 si la cola está llena
+     */
+    public Mono<SimulationJobDto> submit(SimulationRequest request, String authorizationHeader) {
+        return Mono.fromCallable(() -> enqueue(request, authorizationHeader));
+    }
+
+    /**
+     * Consulta un trabajo por id. Con {@code waitSeconds} mayor a cero espera
+     * (hasta el máximo configurado) a que el trabajo termine antes de responder.
+     */
+    public Mono<SimulationJobDto> find(String jobId, String authorizationHeader, Integer waitSeconds) {
+        SimulationJob job = jobs.get(jobId);
+        if (job == null || job.isExpired(Instant.now(), resultTtl)
+                || !Objects.equals(job.authorization, authorizationHeader)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Simulation job not found"));
+        }
+        if (waitSeconds == null || waitSeconds <= 0 || job.isFinished()) {
+            return Mono.just(job.toDto());
+        }
+        Duration wait = Duration.ofSeconds(Math.min(waitSeconds, maxWait.getSeconds()));
+        return job.done.asMono()
+                .timeout(wait, Mono.empty())
+                .then(Mono.fromSupplier(job::toDto));
+    }
+
+    @Scheduled(fixedDelayString = "${SIMULATION_JOBS_PURGE_INTERVAL_MS:60000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        jobs.values().removeIf(job -> {
+            if (!job.isExpired(now, resultTtl)) {
+                return false;
+            }
+            jobIdsByFingerprint.remove(job.fingerprint, job.id);
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.dispose();
+    }
+
+    private synchronized SimulationJobDto enqueue(SimulationRequest request, String authorizationHeader) {
+        String fingerprint = fingerprint(request, authorizationHeader);
+        String existingId = jobIdsByFingerprint.get(fingerprint);
+        if (existingId != null) {
+            SimulationJob existing = jobs.get(existingId);
+            if (existing != null && !existing.isExpired(Instant.now(), resultTtl)) {
+                log.info("♻️  Reusing simulation job {} for user {}", existing.id, request.getUserId());
+                return existing.toDto();
+            }
+        }
+
+        // Se registra antes de encolar: un worker libre puede ejecutar (y
+        // terminar) el trabajo dentro de tryEmitNext
+        SimulationJob job = new SimulationJob(UUID.randomUUID().toString(), fingerprint, request, authorizationHeader);
+        jobs.put(job.id, job);
+        jobIdsByFingerprint.put(fingerprint, job.id);
+        Sinks.EmitResult result = queue.tryEmitNext(job);
+        if (result.isFailure()) {
+            jobIdsByFingerprint.remove(fingerprint, job.id);
+            jobs.remove(job.id);
+            log.warn("⚠️  Simulation queue rejected job for user {}: {}", request.getUserId(), result);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Simulation queue is full");
+        }
+
+        log.info("📥 Simulation job {} queued for user {}", job.id, request.getUserId());
+        return job.toDto();
+    }
+
+    private Mono<Void> run(SimulationJob job) {
+        return Mono.defer(() -> {
+            job.status = SimulationJobDto.Status.RUNNING;
+            return simulationService.simulateLoan(job.request, job.authorization);
+        })
+                .timeout(jobTimeout)
+                .doOnNext(job::complete)
+                .doOnError(error -> {
+                    String message = error instanceof TimeoutException
+                            ? "Simulation timed out after " + jobTimeout.getSeconds() + "s"
+                            : error.getMessage();
+                    log.error("❌ Simulation job {} failed: {}", job.id, message);
+                    job.fail(message);
+                    jobIdsByFingerprint.remove(job.fingerprint, job.id);
+                })
+                .doOnSuccess(response -> {
+                    if (response == null && !job.isFinished()) {
+                        job.fail("Simulation returned an empty response");
+                    }
+                })
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private static String fingerprint(SimulationRequest request, String authorizationHeader) {
+        return request.getUserId() + '|' + request.getAmount() + '|' + request.getTermMonths() + '|'
+                + request.getMonthlyIncome() + '|' + request.getScore() + '|' + request.getMode() + '|'
+                + authorizationHeader;
+    }
+
+    private static final class SimulationJob {
+
+        private final String id;
+        private final String fingerprint;
+        private final SimulationRequest request;
+        private final String authorization;
+        private final Instant submittedAt = Instant.now();
+        private final Sinks.Empty<Void> done = Sinks.empty();
+
+        private volatile SimulationJobDto.Status status = SimulationJobDto.Status.QUEUED;
+        private volatile Instant completedAt;
+        private volatile SimulationResponse result;
+        private volatile String error;
+
+        private SimulationJob(String id, String fingerprint, SimulationRequest request, String authorization) {
+            this.id = id;
+            this.fingerprint = fingerprint;
+            this.request = request;
+            this.authorization = authorization;
+        }
+
+        private void complete(SimulationResponse response) {
+            this.result = response;
+            this.completedAt = Instant.now();
+            this.status = SimulationJobDto.Status.COMPLETED;
+            done.tryEmitEmpty();
+        }
+
+        private void fail(String message) {
+            this.error = message;
+            this.completedAt = Instant.now();
+            this.status = SimulationJobDto.Status.FAILED;
+            done.tryEmitEmpty();
+        }
+
+        private boolean isFinished() {
+            return status == SimulationJobDto.Status.COMPLETED || status == SimulationJobDto.Status.FAILED;
+        }
+
+        private boolean isExpired(Instant now, Duration ttl) {
+            Instant finishedAt = completedAt;
+            return finishedAt != null && finishedAt.plus(ttl).isBefore(now);
+        }
+
+        private SimulationJobDto toDto() {
+            return SimulationJobDto.builder()
+                    .jobId(id)
+                    .status(status)
+                    .submittedAt(submittedAt)
+                    .completedAt(completedAt)
+                    .result(result)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.prestek.FinancialEntityService.service;
 
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.BankAnalysisDto;
+import com.prestek.FinancialEntityService.dto.BankComparisonDto;
+import com.prestek.FinancialEntityService.dto.OfferDto;
+import com.prestek.FinancialEntityService.dto.RecommendationDto;
 import com.prestek.FinancialEntityService.dto.SimulationResponse;
 import com.prestek.FinancialEntityService.dto.SimulationRequest;
 import lombok.RequiredArgsConstructor;
@@ -9,23 +14,36 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SimulationService {
 
     private final WebClient.Builder webClientBuilder;
+    private final BankEligibilityService eligibilityService;
+    private final QuoteCurveCache quoteCurveCache;
+    private final RankingEngine rankingEngine;
 
     @Value("${N8N_SIMULATION_URL:http://localhost:5678/webhook-test/simulate-credit}")
     private String n8nSimulationUrl;
 
     /**
-     * Envía la solicitud de simulación a n8n que:
+     * Evalúa primero las políticas locales de cada banco. Las simulaciones en
+     * modo ESTIMATE se responden desde {@link QuoteCurveCache} sin llamadas de
+     * red, pero igual exigen el token. Si todos los bancos rechazan la solicitud se responde sin llamar a
+     * n8n. En otro caso envía la solicitud
+     * (excluyendo los bancos rechazados) a n8n que:
      * 1. Valida el input
      * 2. Obtiene historial crediticio
      * 3. Valida políticas de cada banco
      * 4. Llama a quotes de cada banco
      * 5. Compara ofertas y retorna las mejores
+     * La recomendación final la calcula {@link RankingEngine} en proceso a
+     * partir del análisis por banco.
      * 
      * @param request             Datos de la simulación
      * @param authorizationHeader JWT token en formato "Bearer {token}"
@@ -40,26 +58,42 @@ public class SimulationService {
             return Mono.error(new IllegalArgumentException(validationError));
         }
 
+        // Validar que el token esté presente, también para las estimaciones
+        if (authorizationHeader == null || authorizationHeader.isBlank()) {
+            log.error("❌ Authorization header is required");
+            return Mono.error(new IllegalArgumentException("Authorization token is required"));
+        }
+
+        // Pre-filtro local: descartar bancos que con certeza rechazan la solicitud
+        BankEligibilityService.Evaluation eligibility = eligibilityService.evaluate(request);
+        List<OfferDto> policyRejections = eligibility.rejections();
+
+        // Las estimaciones se responden desde la caché de cotizaciones, sin red
+        if (request.getMode() == SimulationRequest.Mode.ESTIMATE) {
+            return Mono.fromSupplier(() -> estimateFromQuoteCurves(request, eligibility));
+        }
+
         log.info("📤 Sending simulation request to N8N");
         log.info("   URL: {}", n8nSimulationUrl);
         log.info("   User: {}", request.getUserId());
         log.info("   Amount: ${}", String.format("%,.0f", request.getAmount()));
         log.info("   Term: {} months", request.getTermMonths());
         log.info("   Income: ${}", String.format("%,.0f", request.getMonthlyIncome()));
-        log.info("   Authorization: {}", authorizationHeader != null ? "Present" : "Missing");
+        log.info("   Authorization: Present");
 
-        // Validar que el token esté presente
-        if (authorizationHeader == null || authorizationHeader.isBlank()) {
-            log.error("❌ Authorization header is required");
-            return Mono.error(new IllegalArgumentException("Authorization token is required"));
+        if (eligibility.allRejected()) {
+            log.info("⛔ All banks reject user {} by local policy, skipping N8N", request.getUserId());
+            return Mono.just(allRejectedResponse(policyRejections));
         }
 
+        SimulationRequest payload = policyRejections.isEmpty() ? request : excludeBanks(request, eligibility);
+
         // Enviar a n8n para procesamiento completo
         return webClientBuilder.build()
                 .post()
                 .uri(n8nSimulationUrl)
                 .header("Authorization", authorizationHeader)
-                .bodyValue(request)
+                .bodyValue(payload)
                 .retrieve()
                 .onStatus(
                         status -> status.is4xxClientError() || status.is5xxServerError(),
@@ -71,6 +105,7 @@ public class SimulationService {
                                             "N8N error: " + clientResponse.statusCode() + " - " + errorBody));
                                 }))
                 .bodyToMono(SimulationResponse.class)
+                .map(response -> rank(withPolicyRejections(response, policyRejections), request))
                 .doOnSuccess(response -> {
                     if (response != null && response.getRecommendation() != null) {
                         String bestBank = response.getRecommendation().getBestOption();
@@ -81,7 +116,7 @@ public class SimulationService {
                         log.info("   Risk assessment: {}", riskLevel);
 
                         if (response.getAnalysis() != null) {
-                            log.info("   Banks analyzed: Bancolombia, Coltefinanciera, Davivienda");
+                            log.info("   Banks analyzed: {}", response.getAnalysis().getBanks().keySet());
                         }
                     } else {
                         log.warn("⚠️  Simulation returned null response for user {}", request.getUserId());
@@ -95,6 +130,151 @@ public class SimulationService {
                 });
     }
 
+    private SimulationRequest excludeBanks(SimulationRequest request, BankEligibilityService.Evaluation eligibility) {
+        List<String> excludedBanks = eligibility.excludedBankCodes();
+        log.info("   Excluded by local policy: {}", excludedBanks);
+        return SimulationRequest.builder()
+                .userId(request.getUserId())
+                .amount(request.getAmount())
+                .termMonths(request.getTermMonths())
+                .monthlyIncome(request.getMonthlyIncome())
+                .score(request.getScore())
+                .excludedBanks(excludedBanks)
+                .build();
+    }
+
+    private SimulationResponse withPolicyRejections(SimulationResponse response, List<OfferDto> policyRejections) {
+        if (policyRejections.isEmpty()) {
+            return response;
+        }
+        List<OfferDto> offers = response.getOffers() != null
+                ? new ArrayList<>(response.getOffers())
+                : new ArrayList<>(policyRejections.size());
+        offers.addAll(policyRejections);
+        response.setOffers(offers);
+        return response;
+    }
+
+    private SimulationResponse rank(SimulationResponse response, SimulationRequest request) {
+        BankComparisonDto analysis = response.getAnalysis();
+        if (analysis == null || analysis.getBanks().isEmpty()) {
+            return response;
+        }
+
+        double income = request.getMonthlyIncome();
+        List<RankingCandidate> candidates = new ArrayList<>(analysis.getBanks().size());
+        for (Map.Entry<String, BankAnalysisDto> entry : analysis.getBanks().entrySet()) {
+            BankAnalysisDto bank = entry.getValue();
+            if (bank == null || bank.getMonthlyPaymentAvg() == null || bank.getTotalCost() == null) {
+                continue;
+            }
+            String bankName = BankConstants.BankService.fromCode(entry.getKey())
+                    .map(BankConstants.BankService::bankName)
+                    .orElse(entry.getKey());
+            candidates.add(new RankingCandidate(
+                    entry.getKey(),
+                    bankName,
+                    bank.getMonthlyPaymentAvg(),
+                    bank.getTotalCost(),
+                    bank.getMonthlyPaymentAvg() / income,
+                    approval(response.getOffers(), entry.getKey(), bankName)));
+        }
+
+        // Sin un banco recomendable se conserva la recomendación de n8n
+        RecommendationDto recommendation = rankingEngine.rank(candidates);
+        if (recommendation != null
+                && (recommendation.getBestOption() != null || response.getRecommendation() == null)) {
+            response.setRecommendation(recommendation);
+        }
+        return response;
+    }
+
+    /**
+     * false si alguna oferta del banco lo rechaza (n8n o la política local),
+     * true si alguna lo aprueba y null si no hay datos: n8n no envía ofertas,
+     * así que la falta de datos no cuenta como rechazo. La oferta puede
+     * identificar al banco por código o por nombre.
+     */
+    private static Boolean approval(List<OfferDto> offers, String bankCode, String bankName) {
+        if (offers == null) {
+            return null;
+        }
+        Boolean approved = null;
+        for (OfferDto offer : offers) {
+            if (!bankCode.equalsIgnoreCase(offer.getEntity()) && !bankName.equalsIgnoreCase(offer.getEntity())) {
+                continue;
+            }
+            if (Boolean.FALSE.equals(offer.getApproved())) {
+                return false;
+            }
+            if (Boolean.TRUE.equals(offer.getApproved())) {
+                approved = true;
+            }
+        }
+        return approved;
+    }
+
+    private SimulationResponse estimateFromQuoteCurves(
+            SimulationRequest request,
+            BankEligibilityService.Evaluation eligibility) {
+        List<OfferDto> offers = new ArrayList<>(eligibility.rejections());
+        List<RankingCandidate> candidates = new ArrayList<>(BankConstants.BankService.values().length);
+        BankComparisonDto analysis = new BankComparisonDto();
+        double income = request.getMonthlyIncome();
+        for (BankConstants.BankService bank : BankConstants.BankService.values()) {
+            if (!eligibility.isEligible(bank)) {
+                continue;
+            }
+            OfferDto estimate = quoteCurveCache.estimateOffer(
+                    bank, request.getScore(), request.getAmount(), request.getTermMonths()).orElse(null);
+            if (estimate == null) {
+                continue;
+            }
+            double paymentToIncome = estimate.getMonthlyPayment() / income;
+            offers.add(estimate);
+            analysis.put(bank.bankCode(), BankAnalysisDto.builder()
+                    .monthlyPaymentAvg(estimate.getMonthlyPayment().longValue())
+                    .totalCost(estimate.getTotalCost().longValue())
+                    .totalInterest(estimate.getTotalInterest().longValue())
+                    .paymentToIncomeRatio(paymentToIncome)
+                    .build());
+            candidates.add(new RankingCandidate(bank.bankCode(), bank.bankName(),
+                    estimate.getMonthlyPayment(), estimate.getTotalCost(), paymentToIncome, true));
+        }
+
+        log.info("📐 Estimated simulation for user {}: {} offers from quote curves",
+                request.getUserId(), candidates.size());
+
+        RecommendationDto recommendation = rankingEngine.rank(candidates);
+        if (recommendation != null) {
+            recommendation.setSummary(recommendation.getSummary()
+                    + ". Estimación basada en cotizaciones recientes; solicita una simulación firme para confirmar");
+        } else {
+            recommendation = RecommendationDto.builder()
+                    .reason("No hay cotizaciones recientes suficientes para estimar")
+                    .summary("Solicita una simulación firme")
+                    .build();
+        }
+
+        return SimulationResponse.builder()
+                .analysis(analysis.getBanks().isEmpty() ? null : analysis)
+                .offers(offers)
+                .recommendation(recommendation)
+                .estimated(true)
+                .build();
+    }
+
+    private SimulationResponse allRejectedResponse(List<OfferDto> policyRejections) {
+        return SimulationResponse.builder()
+                .offers(policyRejections)
+                .recommendation(RecommendationDto.builder()
+                        .reason("Ningún banco acepta la solicitud según sus políticas")
+                        .riskAssessment("alto")
+                        .summary("Ajusta el monto, el plazo o el ingreso reportado")
+                        .build())
+                .build();
+    }
+
     private boolean validateRequest(SimulationRequest request) {
         if (request.getUserId() == null || request.getUserId().isBlank()) {
             return false;
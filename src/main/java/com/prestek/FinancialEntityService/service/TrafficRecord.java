@@ -0,0 +1,118 @@
+package com.prestek.FinancialEntityService.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Un intercambio grabado por {@link TrafficRecorder}, ya anonimizado.
+ *
+ * Formato del archivo: gzip de un encabezado ({@link #MAGIC}, versión) y
+ * registros consecutivos con el destino, método, ruta, estado, los tiempos
+ * en microsegundos y los cuerpos con su content type. Un archivo cortado
+ * (proceso detenido sin cerrar) se lee hasta el último registro completo.
+ *
+ * @param target              Código del banco o {@code n8n}
+ * @param path                Ruta con query, anonimizada
+ * @param startOffsetMicros   Inicio del intercambio desde el inicio de la grabación
+ * @param headersMicros       Tiempo hasta los headers de la respuesta
+ * @param totalMicros         Tiempo hasta el final del cuerpo de la respuesta
+ */
+public record TrafficRecord(
+        String target,
+        String method,
+        String path,
+        int status,
+        long startOffsetMicros,
+        int headersMicros,
+        int totalMicros,
+        String requestContentType,
+        byte[] requestBody,
+        String responseContentType,
+        byte[] responseBody) {
+
+    public static final int MAGIC = 0x50545231; // "PTR1"
+    public static final int VERSION = 1;
+
+    /**
+     * Escribe el registro completo o nada: se serializa primero en memoria
+     * para que un campo inválido (p. ej. una ruta de más de 64 KB para
+     * {@code writeUTF}) no deje medio registro en el archivo.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 + requestBody.length + responseBody.length);
+        DataOutputStream record = new DataOutputStream(buffer);
+        record.writeUTF(target);
+        record.writeUTF(method);
+        record.writeUTF(path);
+        record.writeShort(status);
+        record.writeLong(startOffsetMicros);
+        record.writeInt(headersMicros);
+        record.writeInt(totalMicros);
+        record.writeUTF(requestContentType);
+        writeBytes(record, requestBody);
+        record.writeUTF(responseContentType);
+        writeBytes(record, responseBody);
+        buffer.writeTo(out);
+    }
+
+    public static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+    }
+
+    /**
+     * Lee todos los registros completos del archivo.
+     */
+    public static List<TrafficRecord> readAll(Path file) throws IOException {
+        List<TrafficRecord> records = new ArrayList<>();
+        try (InputStream raw = Files.newInputStream(file);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(raw)))) {
+            if (in.readInt() != MAGIC || in.readUnsignedShort() != VERSION) {
+                throw new IOException("Not a traffic recording: " + file);
+            }
+            while (true) {
+                try {
+                    records.add(readFrom(in));
+                } catch (EOFException e) {
+                    return records;
+                }
+            }
+        }
+    }
+
+    private static TrafficRecord readFrom(DataInputStream in) throws IOException {
+        return new TrafficRecord(
+                in.readUTF(),
+                in.readUTF(),
+                in.readUTF(),
+                in.readUnsignedShort(),
+                in.readLong(),
+                in.readInt(),
+                in.readInt(),
+                in.readUTF(),
+                readBytes(in),
+                in.readUTF(),
+                readBytes(in));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,331 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Graba las llamadas de salida a los bancos y a n8n en
+ * {@code TRAFFIC_RECORDING_FILE} para reproducirlas después
+ * ({@code ReplayBackend} en {@code src/loadtest/java}). Sin la variable el
+ * bean existe pero queda inactivo: se decide al arrancar y no con
+ * {@code @ConditionalOnProperty}, que la imagen AOT fija al compilar.
+ *
+ * Los intercambios se encolan desde el event loop y un hilo propio los
+ * anonimiza y escribe; si la cola se llena se descartan. La anonimización
+ * reemplaza los segmentos de ruta que siguen a {@code /user/} y los campos
+ * de {@code TRAFFIC_RECORDING_REDACT_FIELDS} por un seudónimo del mismo
+ * largo (HMAC con una clave aleatoria por grabación: estable dentro de la
+ * grabación, irreversible fuera de ella). Los cuerpos JSON, Smile y CBOR se
+ * reescriben en su mismo formato; los demás se reemplazan por relleno del
+ * mismo tamaño y no se graban headers. Los campos numéricos se reemplazan
+ * por otro número con la misma cantidad de dígitos, para que el replay siga
+ * deserializando y calculando con magnitudes realistas.
+ */
+@Component
+@Slf4j
+public class TrafficRecorder {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    private final OutboundTargetResolver targetResolver;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper cborMapper;
+    private final Set<String> redactedFields;
+    private final long maxRecords;
+    private final int maxBodyBytes;
+    private final Mac pseudonyms;
+    private final long startNanos = System.nanoTime();
+    private final BlockingQueue<Exchange> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final DataOutputStream out;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public TrafficRecorder(
+            OutboundTargetResolver targetResolver,
+            ObjectMapper objectMapper,
+            @Value("${TRAFFIC_RECORDING_FILE:#{null}}") Path file,
+            @Value("${TRAFFIC_RECORDING_REDACT_FIELDS:userId,userFullName,fullName,name,email,phone,documentNumber,address,notes,rejectionReason,monthlyIncome,amount}") String redactedFields,
+            @Value("${TRAFFIC_RECORDING_MAX_RECORDS:100000}") long maxRecords,
+            @Value("${TRAFFIC_RECORDING_MAX_BODY_BYTES:1048576}") int maxBodyBytes) throws IOException {
+        this.targetResolver = targetResolver;
+        this.objectMapper = objectMapper;
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+        this.redactedFields = Arrays.stream(redactedFields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.maxRecords = maxRecords;
+        this.maxBodyBytes = maxBodyBytes;
+        this.pseudonyms = newMac();
+
+        if (file == null) {
+            this.out = null;
+            this.writer = null;
+            this.closed = true;
+            return;
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        // syncFlush: lo escrito hasta cada flush se puede leer aunque el proceso muera
+        this.out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024, true)));
+        TrafficRecord.writeHeader(out);
+        this.writer = Thread.ofPlatform().daemon().name("traffic-recorder").start(this::drain);
+        log.warn("⏺️ Recording outbound traffic to {} (max {} exchanges)", file.toAbsolutePath(), maxRecords);
+    }
+
+    public boolean isEnabled() {
+        return writer != null;
+    }
+
+    /**
+     * Destino grabable de la URL, o null si no es un banco ni n8n o ya se
+     * alcanzó el máximo de registros.
+     */
+    public String target(URI url) {
+        if (closed || accepted.get() >= maxRecords) {
+            return null;
+        }
+        return targetResolver.target(url);
+    }
+
+    public int maxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void record(Exchange exchange) {
+        if (closed || accepted.incrementAndGet() > maxRecords) {
+            return;
+        }
+        if (!queue.offer(exchange)) {
+            accepted.decrementAndGet();
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        closed = true;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        synchronized (out) {
+            out.close();
+        }
+        log.info("⏹️ Traffic recording closed: {} exchanges, {} dropped",
+                Math.min(accepted.get(), maxRecords), dropped.get());
+    }
+
+    private void drain() {
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Exchange exchange = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (exchange == null) {
+                    continue;
+                }
+                TrafficRecord record = anonymize(exchange);
+                synchronized (out) {
+                    record.writeTo(out);
+                    if (queue.isEmpty()) {
+                        out.flush();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("⚠️ Could not record exchange: {}", e.getMessage());
+            }
+        }
+    }
+
+    TrafficRecord anonymize(Exchange exchange) {
+        return new TrafficRecord(
+                exchange.target(),
+                exchange.method(),
+                anonymizePath(exchange.url()),
+                exchange.status(),
+                TimeUnit.NANOSECONDS.toMicros(exchange.startNanos() - startNanos),
+                micros(exchange.headersNanos() - exchange.startNanos()),
+                micros(exchange.endNanos() - exchange.startNanos()),
+                orEmpty(exchange.requestContentType()),
+                anonymizeBody(exchange.requestContentType(), exchange.requestBody()),
+                orEmpty(exchange.responseContentType()),
+                anonymizeBody(exchange.responseContentType(), exchange.responseBody()));
+    }
+
+    private String anonymizePath(URI url) {
+        String[] segments = (url.getRawPath() != null ? url.getRawPath() : "").split("/", -1);
+        for (int i = 1; i < segments.length; i++) {
+            if ("user".equals(segments[i - 1]) && !segments[i].isEmpty()) {
+                segments[i] = pseudonym(segments[i]);
+            }
+        }
+        String path = String.join("/", segments);
+        String query = url.getRawQuery();
+        if (query == null) {
+            return path;
+        }
+        String[] params = query.split("&");
+        for (int i = 0; i < params.length; i++) {
+            int equals = params[i].indexOf('=');
+            if (equals > 0 && redactedFields.contains(params[i].substring(0, equals))) {
+                params[i] = params[i].substring(0, equals + 1) + pseudonym(params[i].substring(equals + 1));
+            }
+        }
+        return path + "?" + String.join("&", params);
+    }
+
+    private byte[] anonymizeBody(String contentType, byte[] body) {
+        if (body.length == 0) {
+            return body;
+        }
+        ObjectMapper mapper = mapperFor(contentType);
+        if (mapper != null) {
+            try {
+                JsonNode tree = mapper.readTree(body);
+                redact(tree);
+                return mapper.writeValueAsBytes(tree);
+            } catch (IOException e) {
+                // Cuerpo truncado o inválido: se graba solo su tamaño
+            }
+        }
+        byte[] filler = new byte[body.length];
+        Arrays.fill(filler, (byte) '#');
+        return filler;
+    }
+
+    private ObjectMapper mapperFor(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        if (contentType.contains("smile")) {
+            return smileMapper;
+        }
+        if (contentType.contains("cbor")) {
+            return cborMapper;
+        }
+        return contentType.contains("json") ? objectMapper : null;
+    }
+
+    private void redact(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            for (Map.Entry<String, JsonNode> field : object.properties()) {
+                JsonNode value = field.getValue();
+                if (redactedFields.contains(field.getKey()) && value.isNumber()) {
+                    field.setValue(pseudonymNumber(value));
+                } else if (redactedFields.contains(field.getKey()) && value.isValueNode() && !value.isNull()) {
+                    field.setValue(object.textNode(pseudonym(value.asText())));
+                } else {
+                    redact(value);
+                }
+            }
+        } else if (node.isArray()) {
+            node.forEach(this::redact);
+        }
+    }
+
+    /**
+     * Seudónimo hexadecimal del mismo largo que el valor original.
+     */
+    private String pseudonym(String value) {
+        String hash = HexFormat.of().formatHex(pseudonyms.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+        int length = Math.max(1, value.length());
+        return hash.repeat(length / hash.length() + 1).substring(0, length);
+    }
+
+    /**
+     * Seudónimo numérico con los mismos dígitos enteros que el original
+     * (entero si el original lo era).
+     */
+    private JsonNode pseudonymNumber(JsonNode value) {
+        byte[] hash = pseudonyms.doFinal(value.asText().getBytes(StandardCharsets.UTF_8));
+        long magnitude = Math.max(1, Math.min(Math.abs(value.asLong()), 999_999_999_999_999_999L));
+        long lower = 1;
+        while (lower * 10 <= magnitude) {
+            lower *= 10;
+        }
+        long number = lower + Math.floorMod(ByteBuffer.wrap(hash).getLong(), lower * 9);
+        return value.isIntegralNumber()
+                ? JsonNodeFactory.instance.numberNode(number)
+                : JsonNodeFactory.instance.numberNode((double) number);
+    }
+
+    private static Mac newMac() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int micros(long nanos) {
+        return (int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos)));
+    }
+
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * Intercambio tal como se observó, antes de anonimizar.
+     */
+    public record Exchange(
+            String target,
+            String method,
+            URI url,
+            int status,
+            long startNanos,
+            long headersNanos,
+            long endNanos,
+            String requestContentType,
+            byte[] requestBody,
+            String responseContentType,
+            byte[] responseBody) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.dto.BankApplicationDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caché de las solicitudes de cada usuario por banco y llamante, usada por
+ * {@link BankAggregationService}.
+ *
+ * Las mutaciones que pasan por las rutas del gateway (crear una solicitud o
+ * cambiar su estado) la actualizan en el momento: la solicitud devuelta por el
+ * banco reemplaza a la cacheada o se agrega, así que el usuario ve sus
+ * cambios aunque el TTL sea largo. Cada mutación avanza la generación del
+ * usuario en ese banco y las consultas de ese usuario que empezaron antes no
+ * guardan su resultado; las de otros usuarios no se ven afectadas. Solo una
+ * mutación sin usuario conocido avanza la generación de todo el banco.
+ */
+@Component
+@Slf4j
+public class UserApplicationsCache {
+
+    private static final int USER_GENERATION_STRIPES = 1024;
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    // Generaciones por usuario y banco repartidas en franjas: memoria fija y,
+    // en una colisión, solo se descarta de más algún resultado
+    private final AtomicLongArray userGenerations = new AtomicLongArray(USER_GENERATION_STRIPES);
+
+    public UserApplicationsCache(
+            @Value("${AGGREGATION_CACHE_TTL:60s}") Duration ttl,
+            @Value("${AGGREGATION_CACHE_MAX_ENTRIES:10000}") int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Generación actual del usuario en el banco; se pasa a {@link #put} para
+     * descartar resultados que una mutación dejó viejos mientras se
+     * consultaban. Suma dos contadores que solo crecen, así que cambia si
+     * avanza cualquiera de los dos.
+     */
+    public long generation(String userId, String bankCode) {
+        return generations.computeIfAbsent(bankCode, code -> new AtomicLong()).get()
+                + userGenerations.get(stripe(userId, bankCode));
+    }
+
+    /**
+     * @return Las solicitudes vigentes, o {@code null}
+     */
+    public synchronized List<BankApplicationDto> get(String userId, String bankCode, String caller) {
+        Key key = new Key(userId, bankCode, caller);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.applications;
+    }
+
+    public synchronized void put(
+            String userId,
+            String bankCode,
+            String caller,
+            List<BankApplicationDto> applications,
+            long generation) {
+        if (ttlMillis <= 0 || generation != generation(userId, bankCode)) {
+            return;
+        }
+        entries.put(new Key(userId, bankCode, caller),
+                new Entry(List.copyOf(applications), System.currentTimeMillis() + ttlMillis));
+        Iterator<Key> eldest = entries.keySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Aplica una solicitud creada o modificada a las entradas de su usuario en
+     * ese banco, conservando su vencimiento.
+     */
+    public synchronized void applyMutation(BankApplicationDto application) {
+        userGenerations.incrementAndGet(stripe(application.getUserId(), application.getBankCode()));
+        for (Map.Entry<Key, Entry> cached : entries.entrySet()) {
+            Key key = cached.getKey();
+            if (!key.bankCode.equals(application.getBankCode())
+                    || !key.userId.equals(application.getUserId())) {
+                continue;
+            }
+            List<BankApplicationDto> updated = new ArrayList<>(cached.getValue().applications);
+            updated.removeIf(existing -> Objects.equals(existing.getId(), application.getId()));
+            updated.add(application);
+            cached.setValue(new Entry(List.copyOf(updated), cached.getValue().expiresAt));
+        }
+        log.debug("♻️ Aggregation cache updated for user {} in {}", application.getUserId(), application.getBankCode());
+    }
+
+    /**
+     * Descarta las entradas del banco que contienen la solicitud (cuando no se
+     * pudo leer la respuesta de la mutación). Sin saber de qué usuario es,
+     * avanza la generación de todo el banco.
+     */
+    public synchronized void invalidateApplication(String bankCode, Long applicationId) {
+        advance(bankCode);
+        entries.entrySet().removeIf(cached -> cached.getKey().bankCode.equals(bankCode)
+                && cached.getValue().applications.stream()
+                        .anyMatch(application -> Objects.equals(application.getId(), applicationId)));
+    }
+
+    /**
+     * Descarta todas las entradas del banco.
+     */
+    public synchronized void invalidateBank(String bankCode) {
+        advance(bankCode);
+        entries.keySet().removeIf(key -> key.bankCode.equals(bankCode));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void advance(String bankCode) {
+        generations.computeIfAbsent(bankCode, code -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static int stripe(String userId, String bankCode) {
+        return Math.floorMod(31 * Objects.hashCode(userId) + bankCode.hashCode(), USER_GENERATION_STRIPES);
+    }
+
+    private record Key(String userId, String bankCode, String caller) {
+    }
+
+    private record Entry(List<BankApplicationDto> applications, long expiresAt) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.dto.RecommendationDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Ranking por suma ponderada de métricas normalizadas (min-max) sobre costo
+ * total, cuota mensual, relación cuota/ingreso y aprobación. Una oferta
+ * rechazada explícitamente nunca se recomienda, por barata que sea, y
+ * tampoco cuenta para la normalización; una sin datos de aprobación compite
+ * con la penalización de {@code RANKING_WEIGHT_APPROVAL} frente a las
+ * aprobadas. Menor puntaje es mejor; los empates se resuelven por código de
+ * banco para que el resultado sea determinista. Trabaja sobre la lista en
+ * dos pasadas.
+ */
+@Component
+public class WeightedRankingEngine implements RankingEngine {
+
+    private final double totalCostWeight;
+    private final double monthlyPaymentWeight;
+    private final double paymentToIncomeWeight;
+    private final double approvalWeight;
+    private final double lowRiskRatio;
+    private final double mediumRiskRatio;
+
+    public WeightedRankingEngine(
+            @Value("${RANKING_WEIGHT_TOTAL_COST:0.4}") double totalCostWeight,
+            @Value("${RANKING_WEIGHT_MONTHLY_PAYMENT:0.2}") double monthlyPaymentWeight,
+            @Value("${RANKING_WEIGHT_PAYMENT_TO_INCOME:0.2}") double paymentToIncomeWeight,
+            @Value("${RANKING_WEIGHT_APPROVAL:0.2}") double approvalWeight,
+            @Value("${RANKING_RISK_LOW_RATIO:0.3}") double lowRiskRatio,
+            @Value("${RANKING_RISK_MEDIUM_RATIO:0.4}") double mediumRiskRatio) {
+        this.totalCostWeight = totalCostWeight;
+        this.monthlyPaymentWeight = monthlyPaymentWeight;
+        this.paymentToIncomeWeight = paymentToIncomeWeight;
+        this.approvalWeight = approvalWeight;
+        this.lowRiskRatio = lowRiskRatio;
+        this.mediumRiskRatio = mediumRiskRatio;
+    }
+
+    @Override
+    public RecommendationDto rank(List<RankingCandidate> candidates) {
+        int size = candidates.size();
+        if (size == 0) {
+            return null;
+        }
+
+        double minCost = Double.POSITIVE_INFINITY;
+        double maxCost = Double.NEGATIVE_INFINITY;
+        double minPayment = Double.POSITIVE_INFINITY;
+        double maxPayment = Double.NEGATIVE_INFINITY;
+        double minRatio = Double.POSITIVE_INFINITY;
+        double maxRatio = Double.NEGATIVE_INFINITY;
+        int ranked = 0;
+        for (int i = 0; i < size; i++) {
+            RankingCandidate candidate = candidates.get(i);
+            if (candidate.isRejected()) {
+                continue;
+            }
+            ranked++;
+            minCost = Math.min(minCost, candidate.totalCost());
+            maxCost = Math.max(maxCost, candidate.totalCost());
+            minPayment = Math.min(minPayment, candidate.monthlyPayment());
+            maxPayment = Math.max(maxPayment, candidate.monthlyPayment());
+            minRatio = Math.min(minRatio, candidate.paymentToIncome());
+            maxRatio = Math.max(maxRatio, candidate.paymentToIncome());
+        }
+
+        if (ranked == 0) {
+            return RecommendationDto.builder()
+                    .reason("Ningún banco aprobó la solicitud")
+                    .summary(String.format("%d ofertas comparadas, ninguna aprobada", size))
+                    .build();
+        }
+
+        int best = -1;
+        double bestScore = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            RankingCandidate candidate = candidates.get(i);
+            if (candidate.isRejected()) {
+                continue;
+            }
+            double score = totalCostWeight * normalize(candidate.totalCost(), minCost, maxCost)
+                    + monthlyPaymentWeight * normalize(candidate.monthlyPayment(), minPayment, maxPayment)
+                    + paymentToIncomeWeight * normalize(candidate.paymentToIncome(), minRatio, maxRatio)
+                    + (Boolean.TRUE.equals(candidate.approved()) ? 0.0 : approvalWeight);
+            if (score < bestScore || (score == bestScore
+                    && candidate.bankCode().compareTo(candidates.get(best).bankCode()) < 0)) {
+                best = i;
+                bestScore = score;
+            }
+        }
+
+        RankingCandidate winner = candidates.get(best);
+        return RecommendationDto.builder()
+                .bestOption(winner.bankName())
+                .reason(String.format("Mejor puntaje ponderado: costo total $%,.0f y cuota $%,.0f (%.0f%% del ingreso)",
+                        winner.totalCost(), winner.monthlyPayment(), winner.paymentToIncome() * 100))
+                .riskAssessment(riskAssessment(winner.paymentToIncome()))
+                .summary(ranked == size
+                        ? String.format("%d ofertas comparadas", size)
+                        : String.format("%d ofertas comparadas, %d aprobadas", size, ranked))
+                .build();
+    }
+
+    private String riskAssessment(double paymentToIncome) {
+        if (paymentToIncome < lowRiskRatio) {
+            return "bajo";
+        }
+        return paymentToIncome < mediumRiskRatio ? "medio" : "alto";
+    }
+
+    private static double normalize(double value, double min, double max) {
+        return max > min ? (value - min) / (max - min) : 0.0;
+    }
+}
@@ -0,0 +1,208 @@
+package com.prestek.FinancialEntityService.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.prestek.FinancialEntityCore.dto.ApplicationDto;
+import com.prestek.FinancialEntityService.controller.ApplicationGatewayController;
+import com.prestek.FinancialEntityService.controller.SimulationController;
+import com.prestek.FinancialEntityService.dto.BankApplicationDto;
+import com.prestek.FinancialEntityService.dto.DtoSerializersModule;
+import com.prestek.FinancialEntityService.dto.RecommendationDto;
+import com.prestek.FinancialEntityService.dto.SimulationRequest;
+import com.prestek.FinancialEntityService.dto.SimulationResponse;
+import com.prestek.FinancialEntityService.service.BankAggregationService;
+import com.prestek.FinancialEntityService.service.SensitivityService;
+import com.prestek.FinancialEntityService.service.SimulationJobService;
+import com.prestek.FinancialEntityService.service.SimulationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BinaryCodecsConfigTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType(BinaryCodecsConfig.APPLICATION_SMILE_VALUE);
+
+    // Fechas ISO como el ObjectMapper de Spring Boot
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new DtoSerializersModule())
+            .build();
+    private final ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+    private final ObjectMapper cborMapper = objectMapper.copyWith(new CBORFactory());
+    private final CodecCustomizer customizer = new BinaryCodecsConfig().binaryCodecsCustomizer(objectMapper);
+
+    private BankAggregationService aggregationService;
+    private SimulationService simulationService;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        aggregationService = mock(BankAggregationService.class);
+        simulationService = mock(SimulationService.class);
+        client = WebTestClient
+                .bindToController(
+                        new ApplicationGatewayController(aggregationService),
+                        new SimulationController(simulationService,
+                                mock(SimulationJobService.class), mock(SensitivityService.class)))
+                .httpMessageCodecs(customizer::customize)
+                .build();
+
+        BankApplicationDto application = new BankApplicationDto();
+        application.setId(1L);
+        application.setUserId("user123");
+        application.setAmount(10000000.0);
+        application.setStatus("PENDING");
+        application.setApplicationDate(LocalDateTime.of(2025, 3, 1, 10, 30));
+        application.setBankName("Bancolombia");
+        application.setBankCode("BCO");
+        when(aggregationService.getAllApplicationsFromBanks(anyString(), isNull()))
+                .thenReturn(Mono.just(List.of(application)));
+    }
+
+    @Test
+    void getApplications_WithoutAccept_ShouldDefaultToJson() {
+        // Act & Assert
+        client.get().uri("/api/applications/user/user123")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$[0].bankCode").isEqualTo("BCO");
+    }
+
+    @Test
+    void getApplications_WithWildcardAccept_ShouldDefaultToJson() {
+        // Act & Assert
+        client.get().uri("/api/applications/user/user123")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void getApplications_WithCborAccept_ShouldWriteCbor() throws Exception {
+        // Act
+        byte[] body = client.get().uri("/api/applications/user/user123")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        // Assert
+        BankApplicationDto[] applications = cborMapper.readValue(body, BankApplicationDto[].class);
+        assertThat(applications).singleElement().satisfies(application -> {
+            assertThat(application.getBankCode()).isEqualTo("BCO");
+            assertThat(application.getApplicationDate()).isEqualTo(LocalDateTime.of(2025, 3, 1, 10, 30));
+        });
+        assertThat(body.length).isLessThan(objectMapper.writeValueAsBytes(applications).length);
+    }
+
+    @Test
+    void getApplications_WithFields_ShouldWriteOnlySelectedFields() {
+        // Act & Assert
+        client.get().uri("/api/applications/user/user123?fields=id,status,amount,bankCode")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].bankCode").isEqualTo("BCO")
+                .jsonPath("$[0].amount").isEqualTo(10000000.0)
+                .jsonPath("$[0].bankName").doesNotExist()
+                .jsonPath("$[0].applicationDate").doesNotExist();
+    }
+
+    @Test
+    void getApplications_WithFieldsAndCbor_ShouldProjectBinaryResponse() throws Exception {
+        // Act
+        byte[] body = client.get().uri("/api/applications/user/user123?fields=id,bankCode")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        // Assert
+        assertThat(cborMapper.readTree(body).get(0).properties()).extracting(Map.Entry::getKey)
+                .containsExactly("bankCode", "id");
+    }
+
+    @Test
+    void simulateLoan_WithCborBodyAndSmileAccept_ShouldDecodeAndWriteSmile() throws Exception {
+        // Arrange
+        SimulationRequest request = SimulationRequest.builder()
+                .userId("user123").amount(15000000.0).termMonths(36).monthlyIncome(5000000.0).build();
+        when(simulationService.simulateLoan(any(SimulationRequest.class), isNull()))
+                .thenAnswer(invocation -> Mono.just(SimulationResponse.builder()
+                        .recommendation(RecommendationDto.builder()
+                                .bestOption("BCO")
+                                .summary(invocation.getArgument(0, SimulationRequest.class).getUserId())
+                                .build())
+                        .offers(List.of())
+                        .build()));
+
+        // Act
+        byte[] body = client.post().uri("/api/simulation")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(SMILE)
+                .bodyValue(cborMapper.writeValueAsBytes(request))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(SMILE)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        // Assert
+        SimulationResponse response = smileMapper.readValue(body, SimulationResponse.class);
+        assertThat(response.getRecommendation().getBestOption()).isEqualTo("BCO");
+        assertThat(response.getRecommendation().getSummary()).isEqualTo("user123");
+    }
+
+    @Test
+    void webClient_WithSmileResponse_ShouldStreamDecodeApplications() throws Exception {
+        // Arrange
+        ApplicationDto application = new ApplicationDto();
+        application.setId(7L);
+        application.setAmount(2500000.0);
+        byte[] smile = smileMapper.writeValueAsBytes(List.of(application, application));
+        ExchangeStrategies strategies = ExchangeStrategies.builder().codecs(customizer::customize).build();
+        WebClient webClient = WebClient.builder()
+                .exchangeStrategies(strategies)
+                .exchangeFunction(clientRequest -> Mono.just(ClientResponse.create(HttpStatus.OK, strategies)
+                        .header(HttpHeaders.CONTENT_TYPE, BinaryCodecsConfig.APPLICATION_SMILE_VALUE)
+                        .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(smile)))
+                        .build()))
+                .build();
+
+        // Act
+        List<ApplicationDto> applications = webClient.get().uri("http://bank.local/api/applications")
+                .retrieve()
+                .bodyToFlux(ApplicationDto.class)
+                .collectList()
+                .block();
+
+        // Assert
+        assertThat(applications).hasSize(2).allSatisfy(decoded -> assertThat(decoded.getId()).isEqualTo(7L));
+    }
+}
@@ -0,0 +1,108 @@
+package com.prestek.FinancialEntityService.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.WebFilterChainProxy;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+class SecurityConfigTest {
+
+    @Test
+    void refresh_WithoutCredentials_ShouldBeUnauthorized() {
+        // Arrange
+        WebTestClient client = client("s3cret");
+
+        // Act & Assert
+        client.post().uri("/actuator/refresh").exchange().expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void refresh_WithActuatorCredentials_ShouldBeAllowed() {
+        // Arrange
+        WebTestClient client = client("s3cret");
+
+        // Act & Assert
+        client.post().uri("/actuator/refresh")
+                .headers(headers -> headers.setBasicAuth("actuator", "s3cret"))
+                .exchange()
+                .expectStatus().isOk();
+        client.post().uri("/actuator/refresh")
+                .headers(headers -> headers.setBasicAuth("actuator", "wrong"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void refresh_WithoutConfiguredPassword_ShouldStayClosed() {
+        // Arrange
+        WebTestClient client = client("");
+
+        // Act & Assert
+        client.post().uri("/actuator/refresh")
+                .headers(headers -> headers.setBasicAuth("actuator", ""))
+                .exchange()
+                .expectStatus().is4xxClientError();
+    }
+
+    @Test
+    void chaos_ShouldRequireActuatorCredentials() {
+        // Arrange
+        WebTestClient client = client("s3cret");
+
+        // Act & Assert
+        client.get().uri("/actuator/chaos").exchange().expectStatus().isUnauthorized();
+        client.post().uri("/actuator/chaos/DAVI").exchange().expectStatus().isUnauthorized();
+        client.post().uri("/actuator/chaos/DAVI")
+                .headers(headers -> headers.setBasicAuth("actuator", "s3cret"))
+                .exchange()
+                .expectStatus().isOk();
+        client("").get().uri("/actuator/chaos").exchange().expectStatus().is4xxClientError();
+    }
+
+    @Test
+    void otherPaths_ShouldStayPublic() {
+        // Arrange
+        WebTestClient client = client("s3cret");
+
+        // Act & Assert
+        client.get().uri("/api/applications/user/user123")
+                .header("Authorization", "Bearer token")
+                .exchange()
+                .expectStatus().isOk();
+        client.get().uri("/actuator/health").exchange().expectStatus().isOk();
+    }
+
+    private static WebTestClient client(String password) {
+        WebFilterChainProxy security = new WebFilterChainProxy(
+                new SecurityConfig().securityWebFilterChain(ServerHttpSecurity.http(), "actuator", password));
+        return WebTestClient.bindToController(new StubController()).webFilter(security).build();
+    }
+
+    @RestController
+    static class StubController {
+
+        @PostMapping({ "/actuator/refresh", "/actuator/chaos/{target}" })
+        String write() {
+            return "[]";
+        }
+
+        @GetMapping("/actuator/chaos")
+        String faults() {
+            return "{}";
+        }
+
+        @GetMapping("/actuator/health")
+        String health() {
+            return "{\"status\":\"UP\"}";
+        }
+
+        @GetMapping("/api/applications/user/{userId}")
+        String applications(@PathVariable String userId) {
+            return "[]";
+        }
+    }
+}
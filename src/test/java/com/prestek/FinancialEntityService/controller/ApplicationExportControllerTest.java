@@ -0,0 +1,98 @@
+package com.prestek.FinancialEntityService.controller;
+
+import com.prestek.FinancialEntityService.dto.ApplicationExportRow;
+import com.prestek.FinancialEntityService.dto.BankApplicationDto;
+import com.prestek.FinancialEntityService.service.ApplicationExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApplicationExportControllerTest {
+
+    private ApplicationExportService exportService;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        exportService = mock(ApplicationExportService.class);
+        client = WebTestClient.bindToController(new ApplicationExportController(exportService)).build();
+    }
+
+    @Test
+    void exportApplications_ShouldStreamNdjsonWithCursor() {
+        // Arrange
+        when(exportService.export(eq("PENDING"), isNull(), eq("Bearer token")))
+                .thenReturn(Flux.just(row("c1", 1L, "Primera"), row("c2", 2L, "Segunda")));
+
+        // Act
+        String body = client.get().uri("/api/applications/export?status=PENDING")
+                .header("Authorization", "Bearer token")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        // Assert
+        assertThat(body.lines()).hasSize(2);
+        assertThat(body.lines().findFirst().orElseThrow())
+                .startsWith("{\"cursor\":\"c1\",\"application\":{\"bankName\":\"Bancolombia\"");
+    }
+
+    @Test
+    void exportApplicationsCsv_ShouldWriteHeaderAndEscapedRows() {
+        // Arrange
+        when(exportService.export(isNull(), eq("c0"), isNull()))
+                .thenReturn(Flux.just(row("c1", 1L, "Notas, con \"comillas\""), row("c2", 2L, "=HYPERLINK(1)")));
+
+        // Act
+        String body = client.get().uri("/api/applications/export?format=csv&cursor=c0")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("text/csv"))
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        // Assert
+        assertThat(body).isEqualTo(ApplicationExportRow.CSV_HEADER
+                + "c1,Bancolombia,BCO,1,PENDING,2025-03-01T10:30:00,,,\"Notas, con \"\"comillas\"\"\",,1500000.0,"
+                + ",,user1,,,\n"
+                + "c2,Bancolombia,BCO,2,PENDING,2025-03-01T10:30:00,,,'=HYPERLINK(1),,1500000.0,,,user2,,,\n");
+    }
+
+    @Test
+    void exportApplicationsCsv_WithInvalidCursor_ShouldReturnBadRequest() {
+        // Arrange
+        when(exportService.export(any(), eq("bad"), any()))
+                .thenReturn(Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid export cursor")));
+
+        // Act & Assert
+        client.get().uri("/api/applications/export?format=csv&cursor=bad")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private static ApplicationExportRow row(String cursor, Long id, String notes) {
+        BankApplicationDto application = new BankApplicationDto();
+        application.setBankName("Bancolombia");
+        application.setBankCode("BCO");
+        application.setId(id);
+        application.setStatus("PENDING");
+        application.setApplicationDate(LocalDateTime.of(2025, 3, 1, 10, 30));
+        application.setNotes(notes);
+        application.setAmount(1_500_000.0);
+        application.setUserId("user" + id);
+        return new ApplicationExportRow(cursor, application);
+    }
+}
@@ -0,0 +1,113 @@
+package com.prestek.FinancialEntityService.controller;
+
+import com.prestek.FinancialEntityService.service.BankEndpointRegistry;
+import com.prestek.FinancialEntityService.service.BankOutlierDetector;
+import com.prestek.FinancialEntityService.service.FaultInjector;
+import com.prestek.FinancialEntityService.service.OutboundTargetResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChaosEndpointTest {
+
+    @Test
+    void configure_WithChaosProfile_ShouldStoreFaultWithDefaults() {
+        // Arrange
+        ChaosEndpoint endpoint = endpoint(true);
+
+        // Act
+        FaultInjector.Fault fault = endpoint.configure("davi", 2000L, null, 0.2, null, null, null, null, null);
+
+        // Assert
+        assertThat(fault.latencyMillis()).isEqualTo(2000);
+        assertThat(fault.errorRate()).isEqualTo(0.2);
+        assertThat(fault.errorStatus()).isEqualTo(503);
+        assertThat(endpoint.faults()).containsOnlyKeys("DAVI").containsEntry("DAVI", fault);
+    }
+
+    @Test
+    void configure_WithInvalidFault_ShouldRejectRequest() {
+        // Arrange
+        ChaosEndpoint endpoint = endpoint(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> endpoint.configure("DAVI", null, null, 1.5, null, null, null, null, null))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessageContaining("errorRate");
+        assertThatThrownBy(() -> endpoint.configure("DAVI", -1L, null, null, null, null, null, null, null))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+        assertThatThrownBy(() -> endpoint.configure("DAVI", null, null, 1.0, 302, null, null, null, null))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+        assertThat(endpoint.faults()).isEmpty();
+    }
+
+    @Test
+    void configure_WithUnknownTarget_ShouldRejectRequest() {
+        // Arrange
+        ChaosEndpoint endpoint = endpoint(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> endpoint.configure("NOBANK", 100L, null, null, null, null, null, null, null))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessageContaining("NOBANK");
+        assertThatThrownBy(() -> endpoint.clear("NOBANK"))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+    }
+
+    @Test
+    void configure_WithoutChaosProfile_ShouldRejectRequest() {
+        // Arrange
+        ChaosEndpoint endpoint = endpoint(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> endpoint.configure("DAVI", 100L, null, null, null, null, null, null, null))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessageContaining(FaultInjector.PROFILE);
+        assertThat(endpoint.faults()).isEmpty();
+    }
+
+    @Test
+    void clear_ShouldRemoveOneTargetAndClearAllShouldRemoveEvery() {
+        // Arrange
+        ChaosEndpoint endpoint = endpoint(true);
+        endpoint.configure("BCO", 100L, null, null, null, null, null, null, null);
+        endpoint.configure("DAVI", null, null, null, null, 0.5, null, null, null);
+        endpoint.configure("COLT", null, null, null, null, null, 1.0, null, null);
+
+        // Act
+        endpoint.clear("bco");
+        var afterClear = endpoint.faults();
+        endpoint.clearAll();
+
+        // Assert
+        assertThat(afterClear).containsOnlyKeys("COLT", "DAVI");
+        assertThat(endpoint.faults()).isEmpty();
+    }
+
+    @Test
+    void configure_WithNoopFault_ShouldRemoveTarget() {
+        // Arrange
+        ChaosEndpoint endpoint = endpoint(true);
+        endpoint.configure("DAVI", 100L, null, null, null, null, null, null, null);
+
+        // Act
+        endpoint.configure("DAVI", null, null, null, null, null, null, null, null);
+
+        // Assert
+        assertThat(endpoint.faults()).isEmpty();
+    }
+
+    private static ChaosEndpoint endpoint(boolean chaosProfile) {
+        MockEnvironment environment = new MockEnvironment();
+        if (chaosProfile) {
+            environment.setActiveProfiles(FaultInjector.PROFILE);
+        }
+        BankEndpointRegistry endpointRegistry = new BankEndpointRegistry(new MockEnvironment(),
+                new BankOutlierDetector(5, 3.0, 1000, 30, 300, 50), 50, 10, 2000);
+        return new ChaosEndpoint(new FaultInjector(
+                new OutboundTargetResolver(endpointRegistry, "http://n8n.local/webhook"), environment));
+    }
+}
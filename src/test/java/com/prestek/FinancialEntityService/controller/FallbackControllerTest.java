@@ -0,0 +1,94 @@
+package com.prestek.FinancialEntityService.controller;
+
+import com.prestek.FinancialEntityService.filter.LastKnownGoodStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FallbackControllerTest {
+
+    private static final String AUTH = "Bearer valid-token";
+    private static final URI ORIGINAL_URI = URI.create("http://localhost:8080/api/applications/5");
+
+    private LastKnownGoodStore lastKnownGoodStore;
+    private FallbackController fallbackController;
+
+    @BeforeEach
+    void setUp() {
+        lastKnownGoodStore = new LastKnownGoodStore(1024 * 1024, 3600);
+        fallbackController = new FallbackController(lastKnownGoodStore);
+    }
+
+    @Test
+    void fallback_WithLastKnownGoodResponse_ShouldServeItAsStale() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = "{\"id\":5}".getBytes(StandardCharsets.UTF_8);
+        lastKnownGoodStore.record("BCO", ORIGINAL_URI, AUTH, HttpStatus.OK, headers, body,
+                System.currentTimeMillis() - 120000);
+
+        // Act
+        ResponseEntity<?> response = fallbackController.fallback("BCO", AUTH, forwardedExchange(MockServerHttpRequest
+                .get("/fallback/bancolombia")));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(body);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.WARNING)).isEqualTo(FallbackController.STALE_WARNING);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.AGE)).isEqualTo("120");
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void fallback_WithDifferentCaller_ShouldReturnServiceUnavailable() {
+        // Arrange
+        lastKnownGoodStore.record("BCO", ORIGINAL_URI, AUTH, HttpStatus.OK, new HttpHeaders(),
+                new byte[] { '{', '}' }, System.currentTimeMillis());
+
+        // Act
+        ResponseEntity<?> response = fallbackController.fallback("BCO", "Bearer other-token",
+                forwardedExchange(MockServerHttpRequest.get("/fallback/bancolombia")));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("60");
+        assertThat(((Map<?, ?>) response.getBody()).get("bank")).isEqualTo("BCO");
+    }
+
+    @Test
+    void fallback_ForWriteRequest_ShouldNeverServeStale() {
+        // Arrange
+        lastKnownGoodStore.record("BCO", ORIGINAL_URI, AUTH, HttpStatus.OK, new HttpHeaders(),
+                new byte[] { '{', '}' }, System.currentTimeMillis());
+
+        // Act
+        ResponseEntity<?> response = fallbackController.fallback("BCO", AUTH,
+                forwardedExchange(MockServerHttpRequest.post("/fallback/bancolombia")));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private MockServerWebExchange forwardedExchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        Set<URI> originalUris = new LinkedHashSet<>();
+        originalUris.add(ORIGINAL_URI);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR, originalUris);
+        return exchange;
+    }
+}
@@ -1,8 +1,13 @@
 package com.prestek.FinancialEntityService.controller;
 
 import com.prestek.FinancialEntityService.dto.RecommendationDto;
+import com.prestek.FinancialEntityService.dto.SensitivityRequest;
+import com.prestek.FinancialEntityService.dto.SensitivitySeriesDto;
+import com.prestek.FinancialEntityService.dto.SimulationJobDto;
 import com.prestek.FinancialEntityService.dto.SimulationRequest;
 import com.prestek.FinancialEntityService.dto.SimulationResponse;
+import com.prestek.FinancialEntityService.service.SensitivityService;
+import com.prestek.FinancialEntityService.service.SimulationJobService;
 import com.prestek.FinancialEntityService.service.SimulationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,11 +15,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
@@ -24,6 +33,12 @@ class SimulationControllerTest {
     @Mock
     private SimulationService simulationService;
 
+    @Mock
+    private SimulationJobService simulationJobService;
+
+    @Mock
+    private SensitivityService sensitivityService;
+
     @InjectMocks
     private SimulationController simulationController;
 
@@ -85,4 +100,61 @@ class SimulationControllerTest {
                 .expectError(RuntimeException.class)
                 .verify();
     }
+
+    @Test
+    void submitSimulationJob_ShouldReturnAcceptedWithLocation() {
+        // Arrange
+        String authToken = "Bearer valid-token";
+        SimulationJobDto job = SimulationJobDto.builder()
+                .jobId("job-1")
+                .status(SimulationJobDto.Status.QUEUED)
+                .build();
+        when(simulationJobService.submit(any(SimulationRequest.class), anyString()))
+                .thenReturn(Mono.just(job));
+
+        // Act & Assert
+        StepVerifier.create(simulationController.submitSimulationJob(validRequest, authToken))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+                    assertThat(response.getHeaders().getLocation()).hasToString("/api/simulation/jobs/job-1");
+                    assertThat(response.getBody()).isEqualTo(job);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getSimulationJob_ShouldDelegateToJobService() {
+        // Arrange
+        String authToken = "Bearer valid-token";
+        SimulationJobDto job = SimulationJobDto.builder()
+                .jobId("job-1")
+                .status(SimulationJobDto.Status.COMPLETED)
+                .result(validResponse)
+                .build();
+        when(simulationJobService.find(eq("job-1"), eq(authToken), eq(10)))
+                .thenReturn(Mono.just(job));
+
+        // Act & Assert
+        StepVerifier.create(simulationController.getSimulationJob("job-1", 10, authToken))
+                .expectNext(job)
+                .verifyComplete();
+    }
+
+    @Test
+    void analyzeSensitivity_ShouldStreamSeriesFromService() {
+        // Arrange
+        String authToken = "Bearer valid-token";
+        SensitivityRequest request = SensitivityRequest.builder().base(validRequest).build();
+        SensitivitySeriesDto series = SensitivitySeriesDto.builder()
+                .bankCode("BCO")
+                .variable(SensitivityRequest.Variable.AMOUNT)
+                .values(new double[] { 10000000, 20000000 })
+                .build();
+        when(sensitivityService.analyze(request, authToken)).thenReturn(Flux.just(series));
+
+        // Act & Assert
+        StepVerifier.create(simulationController.analyzeSensitivity(request, authToken))
+                .expectNext(series)
+                .verifyComplete();
+    }
 }
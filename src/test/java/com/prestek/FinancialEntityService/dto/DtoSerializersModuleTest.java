@@ -0,0 +1,214 @@
+package com.prestek.FinancialEntityService.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DtoSerializersModuleTest {
+
+    // Fechas ISO como el ObjectMapper de Spring Boot
+    private final ObjectMapper beanMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper fastMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new DtoSerializersModule())
+            .build();
+
+    @Test
+    void serialize_BankApplication_ShouldMatchBeanSerializer() throws Exception {
+        // Arrange
+        BankApplicationDto application = application(LocalDateTime.of(2025, 3, 1, 10, 30));
+        application.setReviewDate(LocalDateTime.of(2025, 3, 2, 8, 0, 5, 120_000_000));
+        application.setApprovalDate(LocalDateTime.of(2025, 3, 3, 23, 59, 59, 1));
+
+        // Act & Assert
+        assertSameJson(List.of(application, new BankApplicationDto()));
+    }
+
+    @Test
+    void serialize_BankApplicationWithUnknownBankAndEscapes_ShouldMatchBeanSerializer() throws Exception {
+        // Arrange
+        BankApplicationDto application = application(LocalDateTime.of(1999, 12, 31, 0, 0));
+        application.setBankName("Banco \"Nuevo\"");
+        application.setBankCode("NEW");
+        application.setNotes("Línea 1\nLínea 2 áé");
+
+        // Act & Assert
+        assertSameJson(application);
+    }
+
+    @Test
+    void serialize_SimulationResponse_ShouldMatchBeanSerializer() throws Exception {
+        // Arrange
+        Map<String, BankAnalysisDto> banks = new LinkedHashMap<>();
+        banks.put("BCO", BankAnalysisDto.builder()
+                .positives(List.of("Tasa competitiva", "Sin cuota de manejo"))
+                .negatives(List.of())
+                .monthlyPaymentAvg(512_345L)
+                .totalCost(18_444_420L)
+                .paymentToIncomeRatio(0.21)
+                .build());
+        banks.put("DAVI", null);
+        List<OfferDto> offers = new ArrayList<>();
+        offers.add(OfferDto.builder().entity("BCO").approved(true).effectiveAnnualRate(0.2412).fees(35_000.0)
+                .monthlyPayment(512_345).totalPayments(36).totalCost(18_444_420).totalInterest(3_444_420).build());
+        offers.add(OfferDto.builder().entity("COLT").approved(false).policyRejected(true).codCausal("SCORE")
+                .reason("Puntaje insuficiente").build());
+        SimulationResponse response = SimulationResponse.builder()
+                .analysis(BankComparisonDto.of(banks))
+                .recommendation(RecommendationDto.builder().bestOption("BCO").summary("Menor costo").build())
+                .offers(offers)
+                .estimated(true)
+                .build();
+
+        // Act & Assert
+        assertSameJson(response);
+        assertSameJson(response.getAnalysis());
+        assertSameJson(offers.get(1));
+    }
+
+    @Test
+    void serialize_SimulationResponseWithOptionalFieldsMissing_ShouldMatchBeanSerializer() throws Exception {
+        // Act & Assert
+        assertSameJson(new SimulationResponse());
+        assertSameJson(SimulationResponse.builder().offers(List.of()).build());
+    }
+
+    @Test
+    void serialize_WithDatesAsTimestamps_ShouldFallBackToBeanSerializer() throws Exception {
+        // Arrange
+        BankApplicationDto application = application(LocalDateTime.of(2025, 3, 1, 10, 30));
+
+        // Act
+        String fast = fastMapper.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValueAsString(application);
+
+        // Assert
+        assertThat(fast).isEqualTo(beanMapper.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValueAsString(application));
+        assertThat(fast).contains("\"applicationDate\":[2025,3,1,10,30]");
+    }
+
+    @Test
+    void serialize_WithSmile_ShouldMatchBeanSerializer() throws Exception {
+        // Arrange
+        List<BankApplicationDto> applications = List.of(application(LocalDateTime.of(2025, 3, 1, 10, 30)));
+        ObjectMapper smile = beanMapper.copyWith(new SmileFactory());
+
+        // Act
+        byte[] fast = fastMapper.copyWith(new SmileFactory()).writeValueAsBytes(applications);
+
+        // Assert
+        assertThat(smile.readTree(fast)).isEqualTo(smile.readTree(smile.writeValueAsBytes(applications)));
+    }
+
+    @Test
+    void serialize_WithFieldSelection_ShouldWriteOnlySelectedFields() throws Exception {
+        // Arrange
+        List<BankApplicationDto> applications = List.of(application(LocalDateTime.of(2025, 3, 1, 10, 30)));
+
+        // Act
+        String json = fastMapper.writer()
+                .withAttribute(FieldSelection.ATTRIBUTE, FieldSelection.parse("id, status,amount,bankCode,unknown"))
+                .writeValueAsString(applications);
+
+        // Assert
+        assertThat(json).isEqualTo("[{\"bankCode\":\"BCO\",\"id\":42,\"status\":\"PENDING\",\"amount\":5000000.5}]");
+    }
+
+    @Test
+    void serialize_SimulationResponseWithNestedSelection_ShouldProjectNestedFields() throws Exception {
+        // Arrange
+        Map<String, BankAnalysisDto> banks = new LinkedHashMap<>();
+        banks.put("BCO", BankAnalysisDto.builder().totalCost(18_444_420L).totalInterest(3_444_420L).build());
+        banks.put("DAVI", BankAnalysisDto.builder().totalCost(19_000_000L).build());
+        SimulationResponse response = SimulationResponse.builder()
+                .analysis(BankComparisonDto.of(banks))
+                .recommendation(RecommendationDto.builder().bestOption("BCO").summary("Menor costo").build())
+                .offers(List.of(OfferDto.builder().entity("BCO").approved(true).monthlyPayment(512_345).build()))
+                .estimated(true)
+                .build();
+
+        // Act
+        String json = fastMapper.writer()
+                .withAttribute(FieldSelection.ATTRIBUTE,
+                        FieldSelection.parse("recommendation.bestOption,offers.entity,offers.monthlyPayment,"
+                                + "analysis.*.totalCost,estimated"))
+                .writeValueAsString(response);
+
+        // Assert
+        assertThat(json).isEqualTo("{\"recommendation\":{\"bestOption\":\"BCO\"},"
+                + "\"offers\":[{\"entity\":\"BCO\",\"monthlyPayment\":512345}],\"estimated\":true,"
+                + "\"analysis\":{\"BCO\":{\"totalCost\":18444420},\"DAVI\":{\"totalCost\":19000000}}}");
+    }
+
+    @Test
+    void parse_WithWholeFieldAndNestedPath_ShouldKeepWholeField() {
+        // Act
+        FieldSelection fields = FieldSelection.parse("offers.entity,offers,recommendation.reason");
+
+        // Assert
+        assertThat(fields.includes("offers")).isTrue();
+        assertThat(fields.child("offers")).isNull();
+        assertThat(fields.child("recommendation").includes("reason")).isTrue();
+        assertThat(fields.includes("analysis")).isFalse();
+        assertThat(FieldSelection.parse(" ")).isNull();
+    }
+
+    @Test
+    void format_ShouldMatchIsoLocalDateTime() {
+        // Arrange
+        char[] buffer = new char[DtoSerializersModule.IsoDateTime.MAX_LENGTH];
+        List<LocalDateTime> values = Arrays.asList(
+                LocalDateTime.of(2025, 1, 1, 0, 0),
+                LocalDateTime.of(2025, 12, 31, 23, 59, 59),
+                LocalDateTime.of(1, 2, 3, 4, 5, 6, 7),
+                LocalDateTime.of(9999, 6, 15, 12, 0, 0, 100_000_000),
+                LocalDateTime.of(2024, 2, 29, 1, 2, 3, 123_456_789),
+                LocalDateTime.of(2024, 2, 29, 1, 2, 3, 1_000));
+
+        for (LocalDateTime value : values) {
+            // Act
+            int length = DtoSerializersModule.IsoDateTime.format(value, buffer);
+
+            // Assert
+            assertThat(new String(buffer, 0, length)).isEqualTo(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        }
+        assertThat(DtoSerializersModule.IsoDateTime.format(LocalDateTime.of(10000, 1, 1, 0, 0), buffer)).isEqualTo(-1);
+    }
+
+    private void assertSameJson(Object value) throws Exception {
+        assertThat(fastMapper.writeValueAsString(value)).isEqualTo(beanMapper.writeValueAsString(value));
+    }
+
+    private static BankApplicationDto application(LocalDateTime created) {
+        BankApplicationDto dto = new BankApplicationDto();
+        dto.setBankName("Bancolombia");
+        dto.setBankCode("BCO");
+        dto.setId(42L);
+        dto.setStatus("PENDING");
+        dto.setApplicationDate(created);
+        dto.setNotes("Solicitud registrada desde la app móvil");
+        dto.setAmount(5_000_000.5);
+        dto.setCreatedAt(created);
+        dto.setUpdatedAt(created.plusDays(2));
+        dto.setUserId("user-7");
+        dto.setCreditOfferId(107L);
+        dto.setUserFullName("Usuario de Prueba");
+        dto.setCreditOfferDescription("Crédito de libre inversión");
+        return dto;
+    }
+}
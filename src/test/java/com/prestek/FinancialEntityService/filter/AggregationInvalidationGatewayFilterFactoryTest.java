@@ -0,0 +1,160 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.dto.BankApplicationDto;
+import com.prestek.FinancialEntityService.service.CallerHash;
+import com.prestek.FinancialEntityService.service.UserApplicationsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AggregationInvalidationGatewayFilterFactoryTest {
+
+    private static final String CALLER = CallerHash.of("Bearer token-a");
+
+    private UserApplicationsCache applicationsCache;
+    private ResponseCacheStore responseCache;
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        applicationsCache = new UserApplicationsCache(Duration.ofSeconds(60), 100);
+        responseCache = new ResponseCacheStore(1024 * 1024);
+        filter = new AggregationInvalidationGatewayFilterFactory(applicationsCache, responseCache,
+                Jackson2ObjectMapperBuilder.json().build())
+                .apply(new AggregationInvalidationGatewayFilterFactory.Config());
+        applicationsCache.put("user7", "BCO", CALLER, List.of(application(1L, "PENDING")),
+                applicationsCache.generation("user7", "BCO"));
+    }
+
+    @Test
+    void filter_OnSuccessfulStatusPatch_ShouldUpdateCachedApplicationInPlace() {
+        // Arrange
+        MockServerWebExchange patch = MockServerWebExchange.from(
+                MockServerHttpRequest.patch("/api/applications/1/status")
+                        .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO"));
+
+        // Act
+        filter.filter(patch, respond(HttpStatus.OK, "{\"id\":1,\"userId\":\"user7\",\"status\":\"APPROVED\"}")).block();
+
+        // Assert
+        assertThat(applicationsCache.get("user7", "BCO", CALLER))
+                .singleElement()
+                .satisfies(application -> {
+                    assertThat(application.getStatus()).isEqualTo("APPROVED");
+                    assertThat(application.getBankName()).isEqualTo("Bancolombia");
+                });
+    }
+
+    @Test
+    void filter_OnSuccessfulCreate_ShouldAppendAndInvalidateUserListInResponseCache() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        responseCache.put("\u0000BCO\u0000/api/applications/user/user7\u0000\u0000" + CALLER,
+                new ResponseCacheStore.CachedResponse(HttpStatus.OK, new HttpHeaders(), new byte[8], now, now + 60000));
+        MockServerWebExchange post = MockServerWebExchange.from(MockServerHttpRequest.post("/api/applications")
+                .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO"));
+
+        // Act
+        filter.filter(post, respond(HttpStatus.CREATED, "{\"id\":2,\"userId\":\"user7\",\"status\":\"PENDING\"}"))
+                .block();
+
+        // Assert
+        assertThat(applicationsCache.get("user7", "BCO", CALLER))
+                .extracting(BankApplicationDto::getId)
+                .containsExactly(1L, 2L);
+        assertThat(responseCache.size()).isZero();
+    }
+
+    @Test
+    void filter_WithUnreadableBody_ShouldInvalidateApplication() {
+        // Arrange
+        MockServerWebExchange patch = MockServerWebExchange.from(
+                MockServerHttpRequest.patch("/api/applications/1/status")
+                        .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO"));
+
+        // Act
+        filter.filter(patch, respond(HttpStatus.OK, "not json")).block();
+
+        // Assert
+        assertThat(applicationsCache.get("user7", "BCO", CALLER)).isNull();
+    }
+
+    @Test
+    void filter_OnFailedMutation_ShouldKeepCache() {
+        // Arrange
+        long generation = applicationsCache.generation("user7", "BCO");
+        MockServerWebExchange patch = MockServerWebExchange.from(
+                MockServerHttpRequest.patch("/api/applications/1/status")
+                        .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO"));
+
+        // Act
+        filter.filter(patch, respond(HttpStatus.BAD_REQUEST, "{\"error\":\"invalid status\"}")).block();
+
+        // Assert
+        assertThat(applicationsCache.get("user7", "BCO", CALLER)).hasSize(1);
+        assertThat(applicationsCache.generation("user7", "BCO")).isEqualTo(generation);
+    }
+
+    @Test
+    void put_WithGenerationFromBeforeMutation_ShouldNotCacheStaleResult() {
+        // Arrange - la consulta empezó antes de la mutación
+        long generation = applicationsCache.generation("user7", "DAVI");
+        applicationsCache.invalidateBank("DAVI");
+
+        // Act
+        applicationsCache.put("user7", "DAVI", CALLER, List.of(application(3L, "PENDING")), generation);
+
+        // Assert
+        assertThat(applicationsCache.get("user7", "DAVI", CALLER)).isNull();
+    }
+
+    @Test
+    void filter_OnSuccessfulStatusPatch_ShouldOnlyDiscardInFlightResultsOfThatUser() {
+        // Arrange - consultas en curso de dos usuarios del mismo banco
+        long user7Generation = applicationsCache.generation("user7", "BCO");
+        long user8Generation = applicationsCache.generation("user8", "BCO");
+        MockServerWebExchange patch = MockServerWebExchange.from(
+                MockServerHttpRequest.patch("/api/applications/1/status")
+                        .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO"));
+        filter.filter(patch, respond(HttpStatus.OK, "{\"id\":1,\"userId\":\"user7\",\"status\":\"APPROVED\"}")).block();
+
+        // Act
+        applicationsCache.put("user7", "BCO", "other-caller", List.of(application(1L, "PENDING")), user7Generation);
+        applicationsCache.put("user8", "BCO", CALLER, List.of(application(5L, "PENDING")), user8Generation);
+
+        // Assert
+        assertThat(applicationsCache.get("user7", "BCO", "other-caller")).isNull();
+        assertThat(applicationsCache.get("user8", "BCO", CALLER)).hasSize(1);
+    }
+
+    private GatewayFilterChain respond(HttpStatus status, String body) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(status);
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes)));
+        };
+    }
+
+    private static BankApplicationDto application(Long id, String status) {
+        BankApplicationDto application = new BankApplicationDto();
+        application.setId(id);
+        application.setStatus(status);
+        application.setUserId("user7");
+        application.setBankName("Bancolombia");
+        application.setBankCode("BCO");
+        return application;
+    }
+}
@@ -0,0 +1,118 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.service.BankEndpointRegistry;
+import com.prestek.FinancialEntityService.service.BankOutlierDetector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BankLoadBalancerFilterTest {
+
+    private BankEndpointRegistry registry;
+    private BankLoadBalancerFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("BANCOLOMBIA_SERVICE_URL", "http://bco-1:9000")
+                .withProperty("DAVIVIENDA_SERVICE_URL", "http://davi-1:9000");
+        registry = new BankEndpointRegistry(environment,
+                new BankOutlierDetector(5, 3.0, 1000, 30, 300, 50), 50, 10, 2000);
+        filter = new BankLoadBalancerFilter(registry);
+    }
+
+    @Test
+    void filter_WithBankSchemeRoute_ShouldRouteToReplicaAndReleaseIt() {
+        // Arrange
+        MockServerWebExchange exchange = routedTo("bank://BCO/api/applications/5?view=full");
+        List<URI> forwardedTo = new ArrayList<>();
+
+        // Act
+        filter.filter(exchange, e -> {
+            forwardedTo.add(e.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR));
+            e.getResponse().setStatusCode(HttpStatus.OK);
+            return e.getResponse().setComplete();
+        }).block();
+
+        // Assert
+        assertThat(forwardedTo).containsExactly(URI.create("http://bco-1:9000/api/applications/5?view=full"));
+        Set<URI> original = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+        assertThat(original).contains(URI.create("bank://BCO/api/applications/5?view=full"));
+        assertThat(registry.endpoints("BCO").get(0).inFlight()).isZero();
+    }
+
+    @Test
+    void filter_WhenReplicaFails_ShouldRecordPenalty() {
+        // Arrange
+        MockServerWebExchange exchange = routedTo("bank://BCO/api/applications/5");
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, e -> Mono.error(new IOException("Connection refused"))))
+                .expectError(IOException.class)
+                .verify();
+
+        BankEndpointRegistry.BankEndpoint endpoint = registry.endpoints("BCO").get(0);
+        assertThat(endpoint.inFlight()).isZero();
+        assertThat(endpoint.latencyMillis()).isGreaterThan(1000);
+    }
+
+    @Test
+    void filter_WithHttpRoute_ShouldNotTouchRequestUrl() {
+        // Arrange
+        MockServerWebExchange exchange = routedTo("http://localhost:5678/webhook");
+
+        // Act
+        filter.filter(exchange, e -> Mono.empty()).block();
+
+        // Assert
+        assertThat((URI) exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR))
+                .isEqualTo(URI.create("http://localhost:5678/webhook"));
+    }
+
+    @Test
+    void exchangeFilter_ShouldBalanceBankUrlsUnlessPinned() {
+        // Arrange
+        List<String> requestedUrls = new ArrayList<>();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requestedUrls.add(request.url().toString());
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                })
+                .filter(new BankLoadBalancingExchangeFilter(registry))
+                .build();
+        String primaryUrl = BankConstants.BankService.DAVIVIENDA.buildUri("/api/quotes");
+
+        // Act
+        webClient.get().uri(primaryUrl).retrieve().toBodilessEntity().block();
+        webClient.get().uri(primaryUrl)
+                .attribute(BankLoadBalancingExchangeFilter.PINNED_ATTRIBUTE, true)
+                .retrieve().toBodilessEntity().block();
+
+        // Assert
+        assertThat(requestedUrls).containsExactly("http://davi-1:9000/api/quotes", primaryUrl);
+        assertThat(registry.endpoints("DAVI").get(0).inFlight()).isZero();
+    }
+
+    private MockServerWebExchange routedTo(String url) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/applications/5"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create(url));
+        return exchange;
+    }
+}
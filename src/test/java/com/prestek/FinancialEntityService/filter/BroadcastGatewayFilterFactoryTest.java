@@ -0,0 +1,117 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prestek.FinancialEntityService.config.BankConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BroadcastGatewayFilterFactoryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> requestedUrls = new ArrayList<>();
+
+    @Test
+    void filter_WithAllBanks_ShouldMergeArraysAndTagBankCode() throws Exception {
+        // Arrange
+        GatewayFilter filter = filter(Map.of(
+                8083, ok("[{\"id\":1},{\"id\":2}]"),
+                8082, ok("[{\"id\":3}]"),
+                8081, ok("[]")));
+        MockServerWebExchange exchange = exchange("ALL");
+
+        // Act
+        filter.filter(exchange, e -> Mono.empty()).block();
+
+        // Assert
+        JsonNode body = objectMapper.readTree(exchange.getResponse().getBodyAsString().block());
+        assertThat(body).hasSize(3);
+        assertThat(body.findValuesAsText("bankCode")).containsExactlyInAnyOrder("BCO", "BCO", "DAVI");
+        assertThat(exchange.getResponse().getHeaders().containsKey(BroadcastGatewayFilterFactory.BANK_ERRORS_HEADER))
+                .isFalse();
+        assertThat(requestedUrls).allMatch(url -> url.endsWith("/api/applications/status/PENDING?page=1"));
+    }
+
+    @Test
+    void filter_WithBankError_ShouldReportItInHeaderAndKeepOtherResults() throws Exception {
+        // Arrange
+        GatewayFilter filter = filter(Map.of(
+                8082, Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()),
+                8081, ok("[{\"id\":7}, 42]").delayElement(Duration.ofMillis(50))));
+        MockServerWebExchange exchange = exchange("DAVI,COLT");
+
+        // Act
+        filter.filter(exchange, e -> Mono.empty()).block();
+
+        // Assert
+        JsonNode body = objectMapper.readTree(exchange.getResponse().getBodyAsString().block());
+        assertThat(body).hasSize(2);
+        assertThat(body.get(0).get("bankCode").asText()).isEqualTo("COLT");
+        assertThat(body.get(1).get("value").asInt()).isEqualTo(42);
+        assertThat(exchange.getResponse().getHeaders().getFirst(BroadcastGatewayFilterFactory.BANK_ERRORS_HEADER))
+                .isEqualTo("DAVI=503");
+        assertThat(requestedUrls).hasSize(2);
+    }
+
+    @Test
+    void filter_WhenEveryBankFails_ShouldReturnBadGatewayWithEmptyArray() {
+        // Arrange
+        GatewayFilter filter = filter(Map.of());
+        MockServerWebExchange exchange = exchange("BCO,DAVI");
+
+        // Act
+        filter.filter(exchange, e -> Mono.empty()).block();
+
+        // Assert
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("[]");
+        assertThat(exchange.getResponse().getHeaders().getFirst(BroadcastGatewayFilterFactory.BANK_ERRORS_HEADER))
+                .contains("BCO=500", "DAVI=500");
+    }
+
+    @Test
+    void selectBanks_ShouldResolveAllOrListOfKnownCodes() {
+        assertThat(BroadcastGatewayFilterFactory.selectBanks("all")).hasSize(3);
+        assertThat(BroadcastGatewayFilterFactory.selectBanks("DAVI, bco,DAVI,XYZ")).containsExactly(
+                BankConstants.BankService.DAVIVIENDA, BankConstants.BankService.BANCOLOMBIA);
+        assertThat(BroadcastGatewayFilterFactory.selectBanks(null)).isEmpty();
+    }
+
+    private GatewayFilter filter(Map<Integer, Mono<ClientResponse>> responsesByPort) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requestedUrls.add(request.url().toString());
+            return responsesByPort.getOrDefault(request.url().getPort(),
+                    Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+        });
+        BroadcastGatewayFilterFactory factory = new BroadcastGatewayFilterFactory(builder, objectMapper);
+        return factory.apply(new BroadcastGatewayFilterFactory.Config());
+    }
+
+    private Mono<ClientResponse> ok(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    private MockServerWebExchange exchange(String bankCodes) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/applications/status/PENDING?page=1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, bankCodes));
+    }
+}
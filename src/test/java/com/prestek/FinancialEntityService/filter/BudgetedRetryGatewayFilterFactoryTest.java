@@ -0,0 +1,120 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.service.RetryBudgetRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BudgetedRetryGatewayFilterFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RetryBudgetRegistry retryBudget = new RetryBudgetRegistry(meterRegistry, 0.1, 10, 2, 1, 5);
+        filter = new BudgetedRetryGatewayFilterFactory(retryBudget)
+                .apply(new BudgetedRetryGatewayFilterFactory.Config());
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void filter_GetWithConnectionReset_ShouldRetryAndSucceed() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/applications/5")
+                .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO"));
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, failingOnce(new IOException("Connection reset by peer"))))
+                .verifyComplete();
+
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.counter("bank.retry.success", "bank", "BCO").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void filter_PostWithConnectionError_ShouldNotRetry() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/applications")
+                .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO"));
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, failingOnce(new ConnectException("Connection refused"))))
+                .expectError(ConnectException.class)
+                .verify();
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void filter_GetWithNonIoError_ShouldNotRetry() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/applications/5")
+                .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "DAVI"));
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, failingOnce(new IllegalStateException("boom"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.counter("bank.retry.attempts", "bank", "DAVI").count()).isZero();
+    }
+
+    @Test
+    void filter_GetThatHangs_ShouldFailWithGatewayTimeoutAtDeadline() {
+        // Arrange
+        BudgetedRetryGatewayFilterFactory.Config config = new BudgetedRetryGatewayFilterFactory.Config();
+        config.setDeadline(Duration.ofMillis(200));
+        GatewayFilter bounded = new BudgetedRetryGatewayFilterFactory(
+                new RetryBudgetRegistry(meterRegistry, 0.1, 10, 2, 1, 5)).apply(config);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/applications/5")
+                .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO"));
+
+        // Act & Assert
+        StepVerifier.create(bounded.filter(exchange, chain -> Mono.never()))
+                .expectErrorSatisfies(error -> assertThat(error).isInstanceOf(ResponseStatusException.class)
+                        .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.GATEWAY_TIMEOUT))
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void execute_WithHangingRetry_ShouldBoundEachAttemptByRemainingDeadline() {
+        // Arrange
+        RetryBudgetRegistry retryBudget = new RetryBudgetRegistry(meterRegistry, 0.1, 10, 2, 1, 5);
+        Mono<String> source = Mono.defer(() -> calls.getAndIncrement() == 0
+                ? Mono.error(new IOException("Connection reset by peer"))
+                : Mono.never());
+        long start = System.nanoTime();
+
+        // Act & Assert
+        StepVerifier.create(retryBudget.execute("DAVI", Duration.ofMillis(200), IOException.class::isInstance, source))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(1));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(600));
+        assertThat(calls).hasValue(2);
+    }
+
+    private GatewayFilterChain failingOnce(Throwable error) {
+        return exchange -> calls.getAndIncrement() == 0 ? Mono.error(error) : Mono.empty();
+    }
+}
@@ -0,0 +1,236 @@
+package com.prestek.FinancialEntityService.filter;
+
+import com.prestek.FinancialEntityService.service.BankEndpointRegistry;
+import com.prestek.FinancialEntityService.service.BankOutlierDetector;
+import com.prestek.FinancialEntityService.service.FaultInjector;
+import com.prestek.FinancialEntityService.service.OutboundTargetResolver;
+import com.prestek.FinancialEntityService.service.RetryBudgetRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Escenarios de caos sobre una ruta de banco del gateway, con los filtros
+ * en el orden de application.yaml: {@link ChaosResponseFilter}, el circuit
+ * breaker (misma configuración que {@code coltefinancieraCB}, con una espera
+ * en abierto corta), {@code BudgetedRetry}, {@link ChaosGlobalFilter} y el
+ * banco en memoria.
+ */
+class ChaosGatewayScenarioTest {
+
+    private static final URI DAVI_URL = URI.create("http://localhost:8082/api/applications/5");
+    private static final String BODY = "{\"id\":5,\"status\":\"PENDING\",\"notes\":\"abcdefghijklmnop\"}";
+
+    private FaultInjector faultInjector;
+    private ChaosGlobalFilter chaosGlobalFilter;
+    private ChaosResponseFilter chaosResponseFilter;
+    private GatewayFilter budgetedRetry;
+    private CircuitBreaker circuitBreaker;
+    private AtomicInteger attempts;
+    private AtomicInteger bankCalls;
+
+    @BeforeEach
+    void setUp() {
+        BankEndpointRegistry endpointRegistry = new BankEndpointRegistry(new MockEnvironment(),
+                new BankOutlierDetector(5, 3.0, 1000, 30, 300, 50), 50, 10, 2000);
+        MockEnvironment chaosEnvironment = new MockEnvironment();
+        chaosEnvironment.setActiveProfiles(FaultInjector.PROFILE);
+        faultInjector = new FaultInjector(new OutboundTargetResolver(endpointRegistry, "http://n8n.local/webhook"),
+                chaosEnvironment);
+        chaosGlobalFilter = new ChaosGlobalFilter(faultInjector);
+        chaosResponseFilter = new ChaosResponseFilter(faultInjector);
+
+        BudgetedRetryGatewayFilterFactory.Config retryConfig = new BudgetedRetryGatewayFilterFactory.Config();
+        retryConfig.setDeadline(Duration.ofMillis(150));
+        budgetedRetry = new BudgetedRetryGatewayFilterFactory(
+                new RetryBudgetRegistry(new SimpleMeterRegistry(), 0.1, 10, 2, 1, 5)).apply(retryConfig);
+
+        circuitBreaker = CircuitBreaker.of("daviviendaCB", CircuitBreakerConfig.custom()
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(5)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMillis(200))
+                .permittedNumberOfCallsInHalfOpenState(2)
+                .build());
+        attempts = new AtomicInteger();
+        bankCalls = new AtomicInteger();
+    }
+
+    @Test
+    void route_WithDroppedConnections_ShouldOpenCircuitAndStopReachingBank() {
+        // Arrange
+        faultInjector.configure("DAVI", FaultInjector.Fault.drops(1.0));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThat(route().getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        int attemptsBeforeOpen = attempts.get();
+        MockServerWebExchange shortCircuited = route();
+
+        // Assert - abierto: ni intentos ni reintentos llegan a la ruta
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(attemptsBeforeOpen).isGreaterThan(5);
+        assertThat(attempts).hasValue(attemptsBeforeOpen);
+        assertThat(shortCircuited.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(bankCalls).hasValue(0);
+    }
+
+    @Test
+    void route_WithLatencyAboveDeadline_ShouldTimeOutAndOpenCircuit() {
+        // Arrange
+        faultInjector.configure("DAVI", FaultInjector.Fault.latency(1_000));
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            route();
+        }
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Assert - cada petición se corta en el deadline de BudgetedRetry
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(elapsedMillis).isLessThan(5 * 500);
+        assertThat(bankCalls).hasValue(0);
+    }
+
+    @Test
+    void route_AfterFaultsClearAndOpenWaitElapses_ShouldCloseCircuit() throws Exception {
+        // Arrange
+        faultInjector.configure("DAVI", FaultInjector.Fault.drops(1.0));
+        for (int i = 0; i < 5; i++) {
+            route();
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // Act
+        faultInjector.clearAll();
+        Thread.sleep(250);
+        MockServerWebExchange first = route();
+        MockServerWebExchange second = route();
+
+        // Assert
+        assertThat(first.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void route_WithInjectedErrorStatus_ShouldAnswerWithoutReachingBank() {
+        // Arrange
+        faultInjector.configure("DAVI", FaultInjector.Fault.errors(1.0, 502));
+
+        // Act
+        MockServerWebExchange exchange = route();
+
+        // Assert - una respuesta 5xx no es un error para el circuito sin statusCodes en la ruta
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+        assertThat(exchange.getResponse().getBodyAsString().block()).contains("Injected fault");
+        assertThat(bankCalls).hasValue(0);
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void route_WithTruncatedBody_ShouldWriteHalfTheBodyWithoutContentLength() {
+        // Arrange
+        faultInjector.configure("DAVI", FaultInjector.Fault.truncated(1.0));
+
+        // Act
+        MockServerWebExchange exchange = route();
+
+        // Assert
+        String body = exchange.getResponse().getBodyAsString().block();
+        assertThat(body).isEqualTo(BODY.substring(0, BODY.length() / 2));
+        assertThat(exchange.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH)).isFalse();
+        assertThat(bankCalls).hasValue(1);
+    }
+
+    @Test
+    void route_WithSlowBody_ShouldDeliverWholeBodyInDelayedChunks() {
+        // Arrange - 54 bytes en trozos de 16: 4 trozos con 20ms antes de cada uno
+        faultInjector.configure("DAVI", FaultInjector.Fault.slowBody(20, 16));
+
+        // Act
+        long start = System.nanoTime();
+        MockServerWebExchange exchange = route();
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Assert
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(4 * 20);
+    }
+
+    @Test
+    void route_WithoutChaosProfile_ShouldPassThrough() {
+        // Arrange
+        BankEndpointRegistry endpointRegistry = new BankEndpointRegistry(new MockEnvironment(),
+                new BankOutlierDetector(5, 3.0, 1000, 30, 300, 50), 50, 10, 2000);
+        faultInjector = new FaultInjector(new OutboundTargetResolver(endpointRegistry, "http://n8n.local/webhook"),
+                new MockEnvironment());
+        chaosGlobalFilter = new ChaosGlobalFilter(faultInjector);
+        chaosResponseFilter = new ChaosResponseFilter(faultInjector);
+
+        // Act
+        MockServerWebExchange exchange = route();
+
+        // Assert
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(bankCalls).hasValue(1);
+    }
+
+    /**
+     * Una petición GET a DAVI por la cadena completa; el fallback responde
+     * 503 como {@code FallbackController} sin respuesta guardada.
+     */
+    private MockServerWebExchange route() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/applications/5")
+                .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "DAVI"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, DAVI_URL);
+
+        GatewayFilterChain bank = routed -> {
+            bankCalls.incrementAndGet();
+            routed.getResponse().setStatusCode(HttpStatus.OK);
+            routed.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            routed.getResponse().getHeaders().setContentLength(BODY.length());
+            byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+            return routed.getResponse().writeWith(Mono.just(routed.getResponse().bufferFactory().wrap(bytes)));
+        };
+        GatewayFilterChain chaos = routed -> {
+            attempts.incrementAndGet();
+            return chaosGlobalFilter.filter(routed, bank);
+        };
+        GatewayFilterChain breaker = routed -> budgetedRetry.filter(routed, chaos)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorResume(error -> fallback(routed));
+
+        chaosResponseFilter.filter(exchange, breaker).block(Duration.ofSeconds(5));
+        return exchange;
+    }
+
+    private static Mono<Void> fallback(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        return exchange.getResponse().setComplete();
+    }
+}
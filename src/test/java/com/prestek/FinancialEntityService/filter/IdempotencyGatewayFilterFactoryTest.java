@@ -0,0 +1,159 @@
+package com.prestek.FinancialEntityService.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyGatewayFilterFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyStore store;
+    private GatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+    private HttpStatus upstreamStatus;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new IdempotencyStore(meterRegistry, Duration.ofHours(1), 1024 * 1024, 100);
+        filter = new IdempotencyGatewayFilterFactory(store, meterRegistry)
+                .apply(new IdempotencyGatewayFilterFactory.Config());
+        upstreamCalls = new AtomicInteger();
+        upstreamStatus = HttpStatus.CREATED;
+    }
+
+    @Test
+    void filter_RetryWithSameKey_ShouldReplayStoredResponse() {
+        // Act
+        MockServerWebExchange first = post("/api/applications", "key-1");
+        filter.filter(first, upstream()).block();
+        MockServerWebExchange retry = post("/api/applications", "key-1");
+        filter.filter(retry, upstream()).block();
+
+        // Assert
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(retry.getResponse().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":1}");
+        assertThat(retry.getResponse().getHeaders().getFirst(IdempotencyGatewayFilterFactory.REPLAYED_HEADER))
+                .isEqualTo("true");
+        assertThat(meterRegistry.counter("gateway.idempotency.requests", "outcome", "replayed").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void filter_RetryWhileInFlight_ShouldAttachToOriginalRequest() {
+        // Arrange - el banco no responde hasta que se libera
+        Sinks.Empty<Void> bankLatch = Sinks.empty();
+        GatewayFilterChain slowUpstream = exchange -> bankLatch.asMono()
+                .then(Mono.defer(() -> upstream().filter(exchange)));
+
+        // Act
+        MockServerWebExchange first = post("/api/applications", "key-1");
+        MockServerWebExchange retry = post("/api/applications", "key-1");
+        Mono<Void> original = filter.filter(first, slowUpstream).cache();
+        original.subscribe();
+        Mono<Void> attached = filter.filter(retry, slowUpstream).cache();
+        attached.subscribe();
+        assertThat(store.inFlight()).isEqualTo(1);
+        bankLatch.tryEmitEmpty();
+        original.block(Duration.ofSeconds(5));
+        attached.block(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(retry.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":1}");
+        assertThat(store.inFlight()).isZero();
+    }
+
+    @Test
+    void filter_WithServerError_ShouldNotStoreAndLetRetryThrough() {
+        // Arrange
+        upstreamStatus = HttpStatus.BAD_GATEWAY;
+
+        // Act
+        filter.filter(post("/api/applications", "key-1"), upstream()).block();
+        filter.filter(post("/api/applications", "key-1"), upstream()).block();
+
+        // Assert
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void filter_KeyReusedOnDifferentPath_ShouldRespond422() {
+        // Act
+        filter.filter(post("/api/applications", "key-1"), upstream()).block();
+        MockServerWebExchange reused = post("/api/applications/7/status", "key-1");
+        filter.filter(reused, upstream()).block();
+
+        // Assert
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(reused.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void filter_WithDifferentCallerOrNoKey_ShouldForwardEveryRequest() {
+        // Act
+        filter.filter(post("/api/applications", "key-1"), upstream()).block();
+        MockServerWebExchange otherCaller = MockServerWebExchange.from(MockServerHttpRequest.post("/api/applications")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token-b")
+                .header(IdempotencyGatewayFilterFactory.IDEMPOTENCY_KEY_HEADER, "key-1")
+                .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO"));
+        filter.filter(otherCaller, upstream()).block();
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/api/applications")), upstream()).block();
+
+        // Assert
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    @Test
+    void store_WhenOverByteLimit_ShouldEvictOldestCompletedEntry() {
+        // Arrange
+        IdempotencyStore small = new IdempotencyStore(meterRegistry, Duration.ofHours(1), 100, 100);
+        long now = System.currentTimeMillis();
+
+        // Act
+        for (String key : new String[]{"a", "b"}) {
+            IdempotencyStore.Claim claim = small.claim(key, "POST /api/applications?", now);
+            small.complete(key, claim.inFlight(), new ResponseCacheStore.CachedResponse(HttpStatus.CREATED,
+                    new HttpHeaders(), new byte[60], now, now), true);
+        }
+
+        // Assert
+        assertThat(small.size()).isEqualTo(1);
+        assertThat(small.claim("b", "POST /api/applications?", now).state())
+                .isEqualTo(IdempotencyStore.Claim.State.COMPLETED);
+        assertThat(small.claim("a", "POST /api/applications?", now).state())
+                .isEqualTo(IdempotencyStore.Claim.State.STARTED);
+    }
+
+    private GatewayFilterChain upstream() {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(upstreamStatus);
+            byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+        };
+    }
+
+    private MockServerWebExchange post(String path, String idempotencyKey) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token-a")
+                .header(IdempotencyGatewayFilterFactory.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO"));
+    }
+}
@@ -0,0 +1,186 @@
+package com.prestek.FinancialEntityService.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private LocalRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new LocalRateLimiter(null, 10, 5, 1000);
+    }
+
+    @Test
+    void tryAcquire_BeyondBurstCapacity_ShouldDenyWithRetryAfter() {
+        // Arrange
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("route", "sub:ana", now).isAllowed()).isTrue();
+        }
+
+        // Act
+        RateLimiter.Response denied = rateLimiter.tryAcquire("route", "sub:ana", now);
+
+        // Assert
+        assertThat(denied.isAllowed()).isFalse();
+        assertThat(denied.getHeaders())
+                .containsEntry(LocalRateLimiter.REMAINING_HEADER, "0")
+                .containsEntry(HttpHeaders.RETRY_AFTER, "1");
+    }
+
+    @Test
+    void tryAcquire_AfterReplenishInterval_ShouldAllowAgain() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("route", "sub:ana", 0);
+        }
+
+        // Act
+        RateLimiter.Response response = rateLimiter.tryAcquire("route", "sub:ana", SECOND / 10);
+
+        // Assert - 10 tokens/s: a los 100ms hay un token nuevo
+        assertThat(response.isAllowed()).isTrue();
+        assertThat(response.getHeaders()).containsEntry(LocalRateLimiter.REMAINING_HEADER, "0");
+    }
+
+    @Test
+    void tryAcquire_WithDifferentKeysOrRoutes_ShouldUseSeparateBuckets() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("route", "sub:ana", 0);
+        }
+
+        // Act & Assert
+        assertThat(rateLimiter.tryAcquire("route", "sub:ana", 0).isAllowed()).isFalse();
+        assertThat(rateLimiter.tryAcquire("route", "sub:luis", 0).isAllowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("other-route", "sub:ana", 0).isAllowed()).isTrue();
+    }
+
+    @Test
+    void tryAcquire_WithRequestedTokens_ShouldConsumeSeveralTokens() {
+        // Arrange
+        LocalRateLimiter.Config broadcast = new LocalRateLimiter.Config();
+        broadcast.setReplenishRate(10);
+        broadcast.setBurstCapacity(5);
+        broadcast.setRequestedTokens(3);
+        rateLimiter.getConfig().put("broadcast", broadcast);
+
+        // Act & Assert
+        RateLimiter.Response first = rateLimiter.tryAcquire("broadcast", "ip:10.0.0.1", 0);
+        assertThat(first.isAllowed()).isTrue();
+        assertThat(first.getHeaders()).containsEntry(LocalRateLimiter.REMAINING_HEADER, "2");
+        assertThat(rateLimiter.tryAcquire("broadcast", "ip:10.0.0.1", 0).isAllowed()).isFalse();
+    }
+
+    @Test
+    void sweepIdleKeys_ShouldDropKeysWithFullBucket() {
+        // Arrange
+        rateLimiter.tryAcquire("route", "sub:ana", 0);
+        rateLimiter.tryAcquire("route", "sub:luis", 0);
+        rateLimiter.tryAcquire("route", "sub:maria", 10 * SECOND);
+        assertThat(rateLimiter.trackedKeys()).isEqualTo(3);
+
+        // Act
+        rateLimiter.sweepIdleKeys(SECOND);
+
+        // Assert
+        assertThat(rateLimiter.trackedKeys()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_WithKeyMapFull_ShouldShareOverflowBucket() {
+        // Arrange
+        LocalRateLimiter bounded = new LocalRateLimiter(null, 10, 5, 2);
+        bounded.tryAcquire("route", "ip:10.0.0.1", 0);
+        bounded.tryAcquire("route", "ip:10.0.0.2", 0);
+
+        // Act - cada llave nueva consume del mismo balde
+        for (int i = 0; i < 5; i++) {
+            assertThat(bounded.tryAcquire("route", "ip:10.1.0." + i, 0).isAllowed()).isTrue();
+        }
+        RateLimiter.Response denied = bounded.tryAcquire("route", "ip:10.1.0.99", 0);
+
+        // Assert
+        assertThat(denied.isAllowed()).isFalse();
+        assertThat(bounded.trackedKeys()).isEqualTo(2);
+        assertThat(bounded.tryAcquire("route", "ip:10.0.0.1", 0).isAllowed()).isTrue();
+    }
+
+    @Test
+    void key_WithoutSecret_ShouldIgnoreJwtSubject() {
+        // Arrange
+        RateLimitKeyResolver keyResolver = new RateLimitKeyResolver(0, "");
+        MockServerWebExchange withToken = exchange("Bearer " + jwt("secreto", "{\"sub\":\"user-42\"}"));
+
+        // Act & Assert
+        assertThat(keyResolver.key(withToken)).isEqualTo("ip:10.0.0.7");
+    }
+
+    @Test
+    void key_WithVerifiedToken_ShouldCombineIpAndSubject() {
+        // Arrange
+        RateLimitKeyResolver keyResolver = new RateLimitKeyResolver(0, "secreto");
+        String claims = "{\"iss\":\"prestek\",\"roles\":[\"user\"],\"sub\":\"user-42\"}";
+
+        // Act & Assert
+        assertThat(keyResolver.key(exchange("Bearer " + jwt("secreto", claims)))).isEqualTo("ip:10.0.0.7|sub:user-42");
+        assertThat(keyResolver.key(exchange("Bearer " + jwt("otro-secreto", claims)))).isEqualTo("ip:10.0.0.7");
+        assertThat(keyResolver.key(exchange("Bearer not-a-jwt"))).isEqualTo("ip:10.0.0.7");
+    }
+
+    @Test
+    void verifiedSubject_WithForgedOrExpiredToken_ShouldReturnNull() {
+        // Arrange
+        RateLimitKeyResolver keyResolver = new RateLimitKeyResolver(0, "secreto");
+        String valid = jwt("secreto", "{\"sub\":\"user-42\",\"exp\":2000}");
+        String[] parts = valid.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"otro\",\"exp\":2000}".getBytes(StandardCharsets.UTF_8));
+        String unsigned = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "." + parts[1] + ".";
+
+        // Act & Assert
+        assertThat(keyResolver.verifiedSubject("Bearer " + valid, 1000)).isEqualTo("user-42");
+        assertThat(keyResolver.verifiedSubject("Bearer " + valid, 2000)).isNull();
+        assertThat(keyResolver.verifiedSubject("Bearer " + parts[0] + "." + forgedPayload + "." + parts[2], 1000))
+                .isNull();
+        assertThat(keyResolver.verifiedSubject("Bearer " + unsigned, 1000)).isNull();
+    }
+
+    private static MockServerWebExchange exchange(String authorization) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/simulation")
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .remoteAddress(new InetSocketAddress("10.0.0.7", 5000)));
+    }
+
+    private static String jwt(String secret, String claims) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String signingInput = encoder.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return signingInput + "." + encoder.encodeToString(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.prestek.FinancialEntityService.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitWebFilterTest {
+
+    private RateLimitWebFilter filter;
+    private AtomicInteger chainCalls;
+    private WebFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitWebFilter(new LocalRateLimiter(null, 1, 2, 1000), new RateLimitKeyResolver(0, ""));
+        chainCalls = new AtomicInteger();
+        chain = exchange -> {
+            chainCalls.incrementAndGet();
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    void filter_SimulationBeyondBurst_ShouldReturnTooManyRequests() {
+        // Act
+        filter.filter(exchange(MockServerHttpRequest.post("/api/simulation")), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.post("/api/simulation/jobs")), chain).block();
+        MockServerWebExchange limited = exchange(MockServerHttpRequest.post("/api/simulation"));
+        filter.filter(limited, chain).block();
+
+        // Assert
+        assertThat(chainCalls).hasValue(2);
+        assertThat(limited.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(limited.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void filter_EndpointsShouldNotShareBuckets() {
+        // Act
+        filter.filter(exchange(MockServerHttpRequest.post("/api/simulation")), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.post("/api/simulation")), chain).block();
+        MockServerWebExchange applications = exchange(MockServerHttpRequest.get("/api/applications/user/7"));
+        filter.filter(applications, chain).block();
+
+        // Assert
+        assertThat(chainCalls).hasValue(3);
+        assertThat(applications.getResponse().getHeaders().getFirst(LocalRateLimiter.REMAINING_HEADER)).isEqualTo("1");
+    }
+
+    @Test
+    void filter_OtherPaths_ShouldPassThroughWithoutLimit() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            filter.filter(exchange(MockServerHttpRequest.get("/api/applications/5")), chain).block();
+        }
+
+        // Assert
+        assertThat(chainCalls).hasValue(5);
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request.remoteAddress(new InetSocketAddress("10.0.0.9", 4000)));
+    }
+}
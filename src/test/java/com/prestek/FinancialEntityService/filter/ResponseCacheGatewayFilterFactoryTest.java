@@ -0,0 +1,221 @@
+package com.prestek.FinancialEntityService.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private ResponseCacheStore store;
+    private LastKnownGoodStore lastKnownGood;
+    private GatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+    private String upstreamCacheControl;
+
+    @BeforeEach
+    void setUp() {
+        store = new ResponseCacheStore(1024 * 1024);
+        lastKnownGood = new LastKnownGoodStore(1024 * 1024, 3600);
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setTtl(Duration.ofSeconds(60));
+        filter = new ResponseCacheGatewayFilterFactory(store, lastKnownGood).apply(config);
+        upstreamCalls = new AtomicInteger();
+        upstreamCacheControl = null;
+    }
+
+    @Test
+    void filter_SecondIdenticalGet_ShouldBeServedFromCache() {
+        // Act
+        MockServerWebExchange first = get("/api/applications/5", "Bearer token-a");
+        filter.filter(first, upstream()).block();
+        MockServerWebExchange second = get("/api/applications/5", "Bearer token-a");
+        filter.filter(second, upstream()).block();
+
+        // Assert
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(first.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_HEADER))
+                .isEqualTo("MISS");
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_HEADER))
+                .isEqualTo("HIT");
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void filter_WithDifferentCaller_ShouldNotShareEntries() {
+        // Act
+        filter.filter(get("/api/applications/5", "Bearer token-a"), upstream()).block();
+        filter.filter(get("/api/applications/5", "Bearer token-b"), upstream()).block();
+
+        // Assert
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void filter_WithNoStoreResponse_ShouldNotCache() {
+        // Arrange
+        upstreamCacheControl = "no-store";
+
+        // Act
+        filter.filter(get("/api/applications/5", "Bearer token-a"), upstream()).block();
+        filter.filter(get("/api/applications/5", "Bearer token-a"), upstream()).block();
+
+        // Assert
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void filter_WithNoCacheRequest_ShouldBypassAndRefresh() {
+        // Arrange
+        filter.filter(get("/api/applications/5", "Bearer token-a"), upstream()).block();
+        MockServerWebExchange refresh = MockServerWebExchange.from(MockServerHttpRequest.get("/api/applications/5")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token-a")
+                .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO")
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+        // Act
+        filter.filter(refresh, upstream()).block();
+
+        // Assert
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void filter_PatchToSameResource_ShouldInvalidateAllCallers() {
+        // Arrange
+        filter.filter(get("/api/applications/5", "Bearer token-a"), upstream()).block();
+        filter.filter(get("/api/applications/5", "Bearer token-b"), upstream()).block();
+        filter.filter(get("/api/applications/6", "Bearer token-a"), upstream()).block();
+        MockServerWebExchange patch = MockServerWebExchange.from(MockServerHttpRequest.patch("/api/applications/5")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token-a")
+                .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO"));
+
+        // Act
+        filter.filter(patch, exchange -> Mono.empty()).block();
+
+        // Assert - solo sobrevive /api/applications/6
+        assertThat(store.size()).isEqualTo(1);
+        filter.filter(get("/api/applications/6", "Bearer token-a"), upstream()).block();
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    @Test
+    void filter_PatchToSubResource_ShouldInvalidateParentsButNotSiblings() {
+        // Arrange
+        filter.filter(get("/api/applications/5", "Bearer token-a"), upstream()).block();
+        filter.filter(get("/api/applications", "Bearer token-a"), upstream()).block();
+        filter.filter(get("/api/applications/6", "Bearer token-a"), upstream()).block();
+        MockServerWebExchange patch = MockServerWebExchange.from(
+                MockServerHttpRequest.patch("/api/applications/5/status")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer token-a")
+                        .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO"));
+
+        // Act
+        filter.filter(patch, exchange -> Mono.empty()).block();
+        MockServerWebExchange parent = get("/api/applications/5", "Bearer token-a");
+        filter.filter(parent, upstream()).block();
+
+        // Assert - /api/applications/6 sigue en caché
+        assertThat(parent.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_HEADER))
+                .isEqualTo("MISS");
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(upstreamCalls).hasValue(4);
+    }
+
+    @Test
+    void hasDirective_ShouldMatchWholeDirectiveNames() {
+        // Act & Assert
+        assertThat(ResponseCacheGatewayFilterFactory.hasDirective("no-cache-foo, max-age=60", "no-cache")).isFalse();
+        assertThat(ResponseCacheGatewayFilterFactory.hasDirective("private, No-Cache", "no-cache")).isTrue();
+        assertThat(ResponseCacheGatewayFilterFactory.hasDirective("no-cache=\"Set-Cookie\"", "no-cache")).isTrue();
+        assertThat(ResponseCacheGatewayFilterFactory.hasDirective(null, "no-store")).isFalse();
+    }
+
+    @Test
+    void invalidate_ShouldRemoveResourceAndSubResourcesOnly() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        store.put("r\u0000BCO\u0000/api/applications/5\u0000\u0000a", entry(8, now));
+        store.put("r\u0000BCO\u0000/api/applications/5/offers\u0000page=1\u0000a", entry(8, now));
+        store.put("r\u0000BCO\u0000/api/applications/50\u0000\u0000a", entry(8, now));
+        store.put("r\u0000BCO\u0000/api/applications\u0000\u0000a", entry(8, now));
+
+        // Act
+        store.invalidate("r\u0000BCO\u0000/api/applications/5");
+
+        // Assert
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.get("r\u0000BCO\u0000/api/applications/50\u0000\u0000a", now)).isNotNull();
+        assertThat(store.get("r\u0000BCO\u0000/api/applications\u0000\u0000a", now)).isNotNull();
+    }
+
+    @Test
+    void filter_OnSuccessfulGet_ShouldRecordLastKnownGood() {
+        // Act
+        MockServerWebExchange exchange = get("/api/applications/5?view=full", "Bearer token-a");
+        filter.filter(exchange, upstream()).block();
+
+        // Assert
+        assertThat(lastKnownGood.find("BCO", exchange.getRequest().getURI(), "Bearer token-a",
+                System.currentTimeMillis())).hasValueSatisfying(cached ->
+                        assertThat(new String(cached.body(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}"));
+        assertThat(lastKnownGood.find("BCO", exchange.getRequest().getURI(), "Bearer token-b",
+                System.currentTimeMillis())).isEmpty();
+    }
+
+    @Test
+    void put_WhenOverCapacity_ShouldEvictLeastRecentlyUsed() {
+        // Arrange
+        ResponseCacheStore small = new ResponseCacheStore(100);
+        long now = System.currentTimeMillis();
+
+        // Act
+        small.put("a", entry(40, now));
+        small.put("b", entry(40, now));
+        small.get("a", now);
+        small.put("c", entry(40, now));
+
+        // Assert
+        assertThat(small.get("a", now)).isNotNull();
+        assertThat(small.get("b", now)).isNull();
+        assertThat(small.get("c", now)).isNotNull();
+        assertThat(small.usedBytes()).isLessThanOrEqualTo(100);
+    }
+
+    private ResponseCacheStore.CachedResponse entry(int bytes, long now) {
+        return new ResponseCacheStore.CachedResponse(HttpStatus.OK, new HttpHeaders(), new byte[bytes], now, now + 60000);
+    }
+
+    private MockServerWebExchange get(String path, String authorization) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .header(ResponseCacheGatewayFilterFactory.BANK_CODE_HEADER, "BCO"));
+    }
+
+    private GatewayFilterChain upstream() {
+        return (ServerWebExchange exchange) -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            if (upstreamCacheControl != null) {
+                exchange.getResponse().getHeaders().setCacheControl(upstreamCacheControl);
+            }
+            byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+        };
+    }
+}
@@ -0,0 +1,260 @@
+package com.prestek.FinancialEntityService.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prestek.FinancialEntityCore.dto.ApplicationDto;
+import com.prestek.FinancialEntityCore.model.Application;
+import com.prestek.FinancialEntityService.controller.ApplicationGatewayController;
+import com.prestek.FinancialEntityService.dto.BankAnalysisDto;
+import com.prestek.FinancialEntityService.dto.BankComparisonDto;
+import com.prestek.FinancialEntityService.dto.OfferDto;
+import com.prestek.FinancialEntityService.dto.RecommendationDto;
+import com.prestek.FinancialEntityService.dto.SimulationRequest;
+import com.prestek.FinancialEntityService.dto.SimulationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Presupuestos de asignación por petición de los endpoints principales,
+ * contra bancos y n8n en memoria (WebClient con {@code exchangeFunction}).
+ *
+ * Se mide con el contador de asignación del hilo que ejecuta las
+ * peticiones, después de calentar. Los logs de la aplicación se bajan a WARN
+ * durante la medición para que el presupuesto cubra el código y no el volumen
+ * de logs. Si un cambio necesita subir un presupuesto, se sube aquí y se
+ * justifica en el PR.
+ */
+class AllocationBudgetTest {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 1_000;
+    private static final int APPLICATIONS_PER_BANK = 20;
+
+    // Presupuestos en bytes por petición (incluye la serialización de la respuesta),
+    // ~25% sobre la línea base medida (JDK 21, G1, 3 corridas):
+    // agregación 230,752-231,239 B, desde caché 57,405-57,406 B, simulación 30,102-30,265 B
+    private static final long AGGREGATION_BUDGET = 289_000;
+    private static final long AGGREGATION_CACHED_BUDGET = 72_000;
+    private static final long SIMULATION_BUDGET = 38_000;
+
+    private static Level previousLevel;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private byte[] applicationsJson;
+    private byte[] simulationJson;
+
+    @BeforeAll
+    static void quietLogs() {
+        Logger logger = (Logger) LoggerFactory.getLogger("com.prestek");
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    static void restoreLogs() {
+        ((Logger) LoggerFactory.getLogger("com.prestek")).setLevel(previousLevel);
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        List<ApplicationDto> applications = new ArrayList<>();
+        for (long id = 1; id <= APPLICATIONS_PER_BANK; id++) {
+            applications.add(application(id));
+        }
+        applicationsJson = objectMapper.writeValueAsBytes(applications);
+        simulationJson = objectMapper.writeValueAsBytes(simulationResponse());
+    }
+
+    @Test
+    void getApplicationsByUser_ShouldStayWithinAllocationBudget() {
+        // Arrange
+        ApplicationGatewayController controller = new ApplicationGatewayController(
+                aggregationService(new UserApplicationsCache(Duration.ZERO, 0)));
+
+        // Act
+        long bytesPerRequest = allocatedBytesPerOperation(() -> encode(
+                controller.getApplicationsByUser("user123", "Bearer token").block()));
+
+        // Assert
+        assertThat(bytesPerRequest)
+                .as("GET /api/applications/user/{userId} asigna %,d B por petición", bytesPerRequest)
+                .isLessThanOrEqualTo(AGGREGATION_BUDGET);
+    }
+
+    @Test
+    void getApplicationsByUser_FromCache_ShouldStayWithinAllocationBudget() {
+        // Arrange
+        ApplicationGatewayController controller = new ApplicationGatewayController(
+                aggregationService(new UserApplicationsCache(Duration.ofHours(1), 100)));
+
+        // Act
+        long bytesPerRequest = allocatedBytesPerOperation(() -> encode(
+                controller.getApplicationsByUser("user123", "Bearer token").block()));
+
+        // Assert
+        assertThat(bytesPerRequest)
+                .as("GET /api/applications/user/{userId} desde caché asigna %,d B por petición", bytesPerRequest)
+                .isLessThanOrEqualTo(AGGREGATION_CACHED_BUDGET);
+    }
+
+    @Test
+    void simulateLoan_ShouldStayWithinAllocationBudget() {
+        // Arrange
+        QuoteCurveCache quoteCurveCache = new QuoteCurveCache(mock(BankQuoteClient.class),
+                new double[] { 10000000, 30000000 }, new int[] { 36, 60 }, new int[] { 650 },
+                650, 86400, 0.02, 20000000, "", 4, 0);
+        SimulationService service = new SimulationService(stubClient(simulationJson),
+                new BankEligibilityService(new MockEnvironment()), quoteCurveCache,
+                new WeightedRankingEngine(0.4, 0.2, 0.2, 0.2, 0.3, 0.4));
+        ReflectionTestUtils.setField(service, "n8nSimulationUrl", "http://n8n.local/webhook/simulate-credit");
+        SimulationRequest request = SimulationRequest.builder()
+                .userId("user123")
+                .amount(15000000.0)
+                .termMonths(36)
+                .monthlyIncome(6000000.0)
+                .build();
+
+        // Act
+        long bytesPerRequest = allocatedBytesPerOperation(() -> encode(
+                service.simulateLoan(request, "Bearer token").block()));
+
+        // Assert
+        assertThat(bytesPerRequest)
+                .as("POST /api/simulation asigna %,d B por petición", bytesPerRequest)
+                .isLessThanOrEqualTo(SIMULATION_BUDGET);
+    }
+
+    private BankAggregationService aggregationService(UserApplicationsCache cache) {
+        return new BankAggregationService(stubClient(applicationsJson),
+                new RetryBudgetRegistry(new SimpleMeterRegistry(), 0.1, 10, 2, 1, 5), cache, 5000, "application/json");
+    }
+
+    private static WebClient.Builder stubClient(byte[] body) {
+        return WebClient.builder().exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))))
+                .build()));
+    }
+
+    private void encode(Object response) {
+        assertThat(response).isNotNull();
+        try {
+            objectMapper.writeValueAsBytes(response);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Bytes asignados por operación en un hilo dedicado. Los bancos y n8n
+     * de prueba responden en el hilo que se suscribe, así que todo el
+     * trabajo de la petición queda en ese hilo; sumar todos los hilos de la
+     * JVM pierde lo asignado por hilos que ya terminaron y suma ruido de
+     * otros.
+     */
+    private static long allocatedBytesPerOperation(Runnable operation) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeThat(threads.isThreadAllocatedMemorySupported()).isTrue();
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> {
+                for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                    operation.run();
+                }
+                long before = threads.getCurrentThreadAllocatedBytes();
+                for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                    operation.run();
+                }
+                return (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED_ITERATIONS;
+            }).get(2, TimeUnit.MINUTES);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ApplicationDto application(long id) {
+        ApplicationDto dto = new ApplicationDto();
+        dto.setId(id);
+        dto.setStatus(Application.ApplicationStatus.PENDING);
+        dto.setUserId("user123");
+        dto.setAmount(5000000.0 + id);
+        dto.setApplicationDate(LocalDateTime.of(2025, 1, 1, 9, 0));
+        dto.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+        dto.setUpdatedAt(LocalDateTime.of(2025, 1, 2, 9, 0));
+        dto.setCreditOfferId(100L + id);
+        dto.setUserFullName("Test User");
+        dto.setNotes("Solicitud registrada desde la app móvil");
+        dto.setCreditOfferDescription("Crédito de libre inversión a 36 meses");
+        return dto;
+    }
+
+    private static SimulationResponse simulationResponse() {
+        Map<String, BankAnalysisDto> banks = new LinkedHashMap<>();
+        List<OfferDto> offers = new ArrayList<>();
+        for (String bank : List.of("BCO", "DAVI", "COLT")) {
+            banks.put(bank, BankAnalysisDto.builder()
+                    .positives(List.of("Tasa competitiva", "Sin cuota de manejo"))
+                    .negatives(List.of("Seguro obligatorio"))
+                    .monthlyPaymentAvg(512_345L)
+                    .totalCost(18_444_420L)
+                    .totalInterest(3_444_420L)
+                    .paymentToIncomeRatio(0.21)
+                    .build());
+            offers.add(OfferDto.builder()
+                    .entity(bank)
+                    .approved(true)
+                    .effectiveAnnualRate(0.2412)
+                    .fees(35_000.0)
+                    .monthlyPayment(512_345)
+                    .totalPayments(36)
+                    .totalCost(18_444_420)
+                    .totalInterest(3_444_420)
+                    .build());
+        }
+        return SimulationResponse.builder()
+                .analysis(BankComparisonDto.of(banks))
+                .recommendation(RecommendationDto.builder()
+                        .bestOption("BCO")
+                        .reason("Menor costo total")
+                        .build())
+                .offers(offers)
+                .build();
+    }
+}
@@ -0,0 +1,320 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prestek.FinancialEntityCore.dto.ApplicationDto;
+import com.prestek.FinancialEntityCore.model.Application;
+import com.prestek.FinancialEntityService.dto.ApplicationExportRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApplicationExportServiceTest {
+
+    private static final int BANCOLOMBIA_PORT = 8083;
+    private static final int DAVIVIENDA_PORT = 8082;
+    private static final int COLTEFINANCIERA_PORT = 8081;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<URI> requests = new CopyOnWriteArrayList<>();
+    private final Map<Integer, List<ApplicationDto>> bankApplications = new HashMap<>();
+    private final Map<Integer, Boolean> bankPaging = new HashMap<>();
+
+    @Test
+    void export_WithoutCursor_ShouldStreamEveryBankInOrder() {
+        // Arrange
+        givenBank(BANCOLOMBIA_PORT, true, 1, 2, 3);
+        givenBank(DAVIVIENDA_PORT, true, 10, 11);
+        givenBank(COLTEFINANCIERA_PORT, true, 20);
+        ApplicationExportService service = service(0, 0);
+
+        // Act
+        List<ApplicationExportRow> rows = service.export("pending", null, "Bearer token").collectList().block();
+
+        // Assert
+        assertThat(rows).extracting(row -> row.getApplication().getBankCode() + ":" + row.getApplication().getId())
+                .containsExactly("BCO:1", "BCO:2", "BCO:3", "DAVI:10", "DAVI:11", "COLT:20");
+        assertThat(rows).extracting(ApplicationExportRow::getCursor).doesNotHaveDuplicates();
+        assertThat(requests).extracting(URI::getPath).containsOnly("/api/applications/status/PENDING");
+        assertThat(requests).extracting(URI::getQuery).containsOnlyNulls();
+    }
+
+    @Test
+    void export_WithCursor_ShouldResumeAfterThatRow() {
+        // Arrange
+        givenBank(BANCOLOMBIA_PORT, true, 1, 2, 3);
+        givenBank(DAVIVIENDA_PORT, true, 10, 11);
+        givenBank(COLTEFINANCIERA_PORT, true, 20);
+        ApplicationExportService service = service(0, 0);
+        String cursor = service.export(null, null, null).collectList().block().get(3).getCursor();
+        requests.clear();
+
+        // Act
+        List<ApplicationExportRow> rows = service.export(null, cursor, null).collectList().block();
+
+        // Assert
+        assertThat(rows).extracting(row -> row.getApplication().getId()).containsExactly(11L, 20L);
+        assertThat(requests).extracting(URI::getPort).containsExactly(DAVIVIENDA_PORT, COLTEFINANCIERA_PORT);
+        assertThat(requests).extracting(URI::getPath).containsOnly("/api/applications");
+    }
+
+    @Test
+    void export_WithPageSize_ShouldFetchPagesUntilShortPage() {
+        // Arrange
+        givenBank(BANCOLOMBIA_PORT, true, 1, 2, 3, 4, 5);
+        givenBank(DAVIVIENDA_PORT, true, 10, 11);
+        givenBank(COLTEFINANCIERA_PORT, true);
+        ApplicationExportService service = service(2, 0);
+
+        // Act
+        List<ApplicationExportRow> rows = service.export("PENDING", null, null).collectList().block();
+
+        // Assert
+        assertThat(rows).extracting(row -> row.getApplication().getId()).containsExactly(1L, 2L, 3L, 4L, 5L, 10L, 11L);
+        assertThat(requests).extracting(uri -> uri.getPort() + "?" + uri.getQuery()).containsExactly(
+                "8083?page=0&size=2", "8083?page=1&size=2", "8083?page=2&size=2",
+                "8082?page=0&size=2", "8082?page=1&size=2",
+                "8081?page=0&size=2");
+    }
+
+    @Test
+    void export_WithPageSizeAndCursor_ShouldResumeInsidePage() {
+        // Arrange
+        givenBank(BANCOLOMBIA_PORT, true, 1, 2, 3, 4, 5);
+        givenBank(DAVIVIENDA_PORT, true);
+        givenBank(COLTEFINANCIERA_PORT, true);
+        ApplicationExportService service = service(2, 0);
+        String cursor = new ApplicationExportService.ExportCursor("", "BCO", 3, 3L).encode();
+
+        // Act
+        List<ApplicationExportRow> rows = service.export(null, cursor, null).collectList().block();
+
+        // Assert
+        assertThat(rows).extracting(row -> row.getApplication().getId()).containsExactly(4L, 5L);
+        assertThat(requests.get(0).getQuery()).isEqualTo("page=1&size=2");
+    }
+
+    @Test
+    void export_WhenRowsAreInsertedBeforeCursor_ShouldResumeAfterLastExportedId() {
+        // Arrange
+        givenBank(BANCOLOMBIA_PORT, true, 1, 2, 3);
+        givenBank(DAVIVIENDA_PORT, true, 10);
+        givenBank(COLTEFINANCIERA_PORT, true);
+        ApplicationExportService service = service(0, 0);
+        String cursor = service.export(null, null, null).collectList().block().get(1).getCursor();
+        givenBank(BANCOLOMBIA_PORT, true, 0, 1, 2, 3);
+
+        // Act
+        List<ApplicationExportRow> rows = service.export(null, cursor, null).collectList().block();
+
+        // Assert
+        assertThat(rows).extracting(row -> row.getApplication().getId()).containsExactly(3L, 10L);
+        assertThat(ApplicationExportService.ExportCursor.decode(rows.get(0).getCursor()).offset()).isEqualTo(4);
+    }
+
+    @Test
+    void export_WithPageSizeWhenRowsAreDeletedBeforeCursor_ShouldSearchFromFirstPage() {
+        // Arrange
+        givenBank(BANCOLOMBIA_PORT, true, 1, 2, 3, 4, 5);
+        givenBank(DAVIVIENDA_PORT, true);
+        givenBank(COLTEFINANCIERA_PORT, true);
+        ApplicationExportService service = service(2, 0);
+        String cursor = service.export(null, null, null).collectList().block().get(2).getCursor();
+        givenBank(BANCOLOMBIA_PORT, true, 3, 4, 5);
+        requests.clear();
+
+        // Act
+        List<ApplicationExportRow> rows = service.export(null, cursor, null).collectList().block();
+
+        // Assert
+        assertThat(rows).extracting(row -> row.getApplication().getId()).containsExactly(4L, 5L);
+        assertThat(requests).extracting(uri -> uri.getPort() + "?" + uri.getQuery()).startsWith(
+                "8083?page=1&size=2", "8083?page=0&size=2", "8083?page=1&size=2");
+    }
+
+    @Test
+    void export_WhenCursorApplicationWasDeleted_ShouldFailWithConflict() {
+        // Arrange
+        givenBank(BANCOLOMBIA_PORT, true, 1, 2, 3);
+        givenBank(DAVIVIENDA_PORT, true, 10);
+        givenBank(COLTEFINANCIERA_PORT, true);
+        ApplicationExportService service = service(0, 0);
+        String cursor = service.export(null, null, null).collectList().block().get(1).getCursor();
+        givenBank(BANCOLOMBIA_PORT, true, 1, 3);
+
+        // Act & Assert
+        StepVerifier.create(service.export(null, cursor, null))
+                .expectErrorSatisfies(error -> assertThat(error).isInstanceOf(ResponseStatusException.class)
+                        .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.CONFLICT))
+                .verify();
+    }
+
+    @Test
+    void export_WhenBankIgnoresPaging_ShouldNotDuplicateRows() {
+        // Arrange
+        givenBank(BANCOLOMBIA_PORT, false, 1, 2);
+        givenBank(DAVIVIENDA_PORT, false, 10, 11, 12);
+        givenBank(COLTEFINANCIERA_PORT, true);
+        ApplicationExportService service = service(2, 0);
+
+        // Act
+        List<ApplicationExportRow> rows = service.export(null, null, null).collectList().block();
+
+        // Assert
+        assertThat(rows).extracting(row -> row.getApplication().getId()).containsExactly(1L, 2L, 10L, 11L, 12L);
+        assertThat(requests).extracting(URI::getPort)
+                .containsExactly(BANCOLOMBIA_PORT, BANCOLOMBIA_PORT, DAVIVIENDA_PORT, COLTEFINANCIERA_PORT);
+    }
+
+    @Test
+    void export_WithSlowConsumer_ShouldOnlyReadWhatIsRequested() {
+        // Arrange
+        AtomicInteger chunksSent = new AtomicInteger();
+        ApplicationExportService service = new ApplicationExportService(
+                WebClient.builder().exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(largeArray(10_000).doOnNext(chunk -> chunksSent.incrementAndGet()))
+                        .build())),
+                "application/json", 0, 0);
+
+        AtomicInteger chunksWhenDelivered = new AtomicInteger();
+
+        // Act & Assert - al cancelar, WebClient drena el resto del cuerpo para liberarlo
+        StepVerifier.create(service.export(null, null, null), 5)
+                .expectNextCount(5)
+                .then(() -> chunksWhenDelivered.set(chunksSent.get()))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        assertThat(chunksWhenDelivered.get()).isLessThan(500);
+    }
+
+    @Test
+    void export_WithInvalidCursor_ShouldFailWithBadRequest() {
+        // Arrange
+        ApplicationExportService service = service(0, 0);
+        String otherStatus = new ApplicationExportService.ExportCursor("APPROVED", "BCO", 1, 1L).encode();
+
+        // Act & Assert
+        StepVerifier.create(service.export(null, "not-a-cursor", null))
+                .expectErrorSatisfies(error -> assertThat(error).isInstanceOf(ResponseStatusException.class)
+                        .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.BAD_REQUEST))
+                .verify();
+        StepVerifier.create(service.export("PENDING", otherStatus, null))
+                .expectError(ResponseStatusException.class)
+                .verify();
+        StepVerifier.create(service.export("PENDING/../x", null, null))
+                .expectError(ResponseStatusException.class)
+                .verify();
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    void reserve_ShouldSpaceBatchesPerBank() {
+        // Arrange
+        ApplicationExportService service = service(0, 1000);
+
+        // Act
+        Duration first = service.reserve("BCO", 64, 0);
+        Duration second = service.reserve("BCO", 64, 0);
+        Duration otherBank = service.reserve("DAVI", 64, 0);
+        Duration afterPause = service.reserve("BCO", 64, Duration.ofSeconds(1).toNanos());
+
+        // Assert
+        assertThat(first).isZero();
+        assertThat(second).isEqualTo(Duration.ofMillis(64));
+        assertThat(otherBank).isZero();
+        assertThat(afterPause).isZero();
+    }
+
+    @Test
+    void cursor_ShouldRoundTrip() {
+        // Arrange
+        ApplicationExportService.ExportCursor cursor = new ApplicationExportService.ExportCursor("PENDING", "DAVI", 42, 4200L);
+
+        // Act
+        ApplicationExportService.ExportCursor decoded = ApplicationExportService.ExportCursor.decode(cursor.encode());
+
+        // Assert
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    private ApplicationExportService service(int pageSize, int recordsPerSecond) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requests.add(request.url());
+            int port = request.url().getPort();
+            List<ApplicationDto> applications = bankApplications.getOrDefault(port, List.of());
+            Map<String, String> query = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams()
+                    .toSingleValueMap();
+            if (query.containsKey("page") && bankPaging.getOrDefault(port, true)) {
+                int size = Integer.parseInt(query.get("size"));
+                int from = Math.min(applications.size(), Integer.parseInt(query.get("page")) * size);
+                applications = applications.subList(from, Math.min(applications.size(), from + size));
+            }
+            try {
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(objectMapper.writeValueAsString(applications))
+                        .build());
+            } catch (Exception e) {
+                return Mono.error(e);
+            }
+        });
+        return new ApplicationExportService(builder, "application/json", pageSize, recordsPerSecond);
+    }
+
+    private void givenBank(int port, boolean paging, long... ids) {
+        bankApplications.put(port, LongStream.of(ids).mapToObj(ApplicationExportServiceTest::application).toList());
+        bankPaging.put(port, paging);
+    }
+
+    private Flux<DataBuffer> largeArray(int size) {
+        return Flux.range(0, size + 1).map(index -> {
+            String chunk;
+            if (index == size) {
+                chunk = "]";
+            } else {
+                try {
+                    chunk = (index == 0 ? "[" : ",") + objectMapper.writeValueAsString(application(index));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes());
+        });
+    }
+
+    private static ApplicationDto application(long id) {
+        ApplicationDto dto = new ApplicationDto();
+        dto.setId(id);
+        dto.setStatus(Application.ApplicationStatus.PENDING);
+        dto.setUserId("user" + id);
+        dto.setAmount(1_000_000.0 + id);
+        dto.setApplicationDate(LocalDateTime.of(2025, 3, 1, 10, 30));
+        return dto;
+    }
+}
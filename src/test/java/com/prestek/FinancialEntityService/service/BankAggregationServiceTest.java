@@ -3,6 +3,7 @@ package com.prestek.FinancialEntityService.service;
 import com.prestek.FinancialEntityCore.dto.ApplicationDto;
 import com.prestek.FinancialEntityCore.model.Application;
 import com.prestek.FinancialEntityService.dto.BankApplicationDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,8 +15,10 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -43,10 +46,18 @@ class BankAggregationServiceTest {
 
     private BankAggregationService service;
 
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserApplicationsCache applicationsCache;
+
     @BeforeEach
     void setUp() {
         when(webClientBuilder.build()).thenReturn(webClient);
-        service = new BankAggregationService(webClientBuilder);
+        meterRegistry = new SimpleMeterRegistry();
+        applicationsCache = new UserApplicationsCache(Duration.ofSeconds(60), 100);
+        service = new BankAggregationService(webClientBuilder,
+                new RetryBudgetRegistry(meterRegistry, 0.1, 10, 2, 1, 5),
+                applicationsCache, 5000, "application/json");
 
         // Configuración base del mock chain
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
@@ -389,6 +400,85 @@ class BankAggregationServiceTest {
     }
 
     // Método helper para crear ApplicationDto
+    @Test
+    void fetchFromBank_WithTransient503_ShouldRetryAndRecoverWithinBudget() {
+        // Arrange
+        String userId = "user123";
+        String jwtToken = "Bearer valid-token";
+        ApplicationDto app = createApplicationDto(1L, "APPROVED", 15000000.0);
+        AtomicInteger bancolombiaCalls = new AtomicInteger();
+
+        when(responseSpec.onStatus(any(Predicate.class), any(Function.class))).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(ApplicationDto.class))
+                .thenReturn(Flux.defer(() -> bancolombiaCalls.getAndIncrement() == 0
+                        ? Flux.error(new WebClientResponseException(503, "Service Unavailable", null, null, null))
+                        : Flux.just(app)))
+                .thenReturn(Flux.empty())
+                .thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(service.getAllApplicationsFromBanks(userId, jwtToken))
+                .assertNext(applications -> {
+                    assertThat(applications).hasSize(1);
+                    assertThat(applications.get(0).getBankCode()).isEqualTo("BCO");
+                })
+                .verifyComplete();
+
+        assertThat(bancolombiaCalls).hasValue(2);
+        assertThat(meterRegistry.counter("bank.retry.attempts", "bank", "BCO").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("bank.retry.success", "bank", "BCO").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void fetchFromBank_WithNonTransientError_ShouldNotRetry() {
+        // Arrange
+        AtomicInteger bancolombiaCalls = new AtomicInteger();
+
+        when(responseSpec.onStatus(any(Predicate.class), any(Function.class))).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(ApplicationDto.class))
+                .thenReturn(Flux.defer(() -> {
+                    bancolombiaCalls.incrementAndGet();
+                    return Flux.error(new WebClientResponseException(400, "Bad Request", null, null, null));
+                }))
+                .thenReturn(Flux.empty())
+                .thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(service.getAllApplicationsFromBanks("user123", "Bearer valid-token"))
+                .assertNext(applications -> assertThat(applications).isEmpty())
+                .verifyComplete();
+
+        assertThat(bancolombiaCalls).hasValue(1);
+        assertThat(meterRegistry.counter("bank.retry.attempts", "bank", "BCO").count()).isZero();
+    }
+
+    @Test
+    void getAllApplicationsFromBanks_AfterMutation_ShouldServeUpdatedCacheWithoutCallingBanks() {
+        // Arrange
+        String userId = "user123";
+        String jwtToken = "Bearer valid-token";
+
+        when(responseSpec.onStatus(any(Predicate.class), any(Function.class))).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(ApplicationDto.class))
+                .thenReturn(Flux.just(createApplicationDto(1L, "PENDING", 10000000.0)))
+                .thenReturn(Flux.empty())
+                .thenReturn(Flux.empty());
+        service.getAllApplicationsFromBanks(userId, jwtToken).block();
+
+        // Act - la ruta del gateway reporta el cambio de estado
+        applicationsCache.applyMutation(BankApplicationDto.from(
+                createApplicationDto(1L, "APPROVED", 10000000.0), "Bancolombia", "BCO"));
+
+        // Assert
+        StepVerifier.create(service.getAllApplicationsFromBanks(userId, jwtToken))
+                .assertNext(applications -> {
+                    assertThat(applications).hasSize(1);
+                    assertThat(applications.get(0).getStatus()).isEqualTo("APPROVED");
+                })
+                .verifyComplete();
+        verify(responseSpec, times(3)).bodyToFlux(ApplicationDto.class);
+    }
+
     private ApplicationDto createApplicationDto(Long id, String status, Double amount) {
         ApplicationDto dto = new ApplicationDto();
         dto.setId(id);
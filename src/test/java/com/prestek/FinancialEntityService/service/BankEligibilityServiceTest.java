@@ -0,0 +1,114 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.OfferDto;
+import com.prestek.FinancialEntityService.dto.SimulationRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BankEligibilityServiceTest {
+
+    @Test
+    void evaluate_WithoutPolicies_ShouldAcceptAllBanks() {
+        // Arrange
+        BankEligibilityService service = new BankEligibilityService(new MockEnvironment());
+
+        // Act
+        List<OfferDto> rejections = service.evaluate(createRequest(20000000.0, 48, 5000000.0)).rejections();
+
+        // Assert
+        assertThat(rejections).isEmpty();
+    }
+
+    @Test
+    void evaluate_WithAmountAboveBankMaximum_ShouldRejectOnlyThatBank() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("bank-policies.banks.BCO.max-amount", "15000000")
+                .withProperty("bank-policies.banks.BCO.amount-causal", "BCO-001");
+        BankEligibilityService service = new BankEligibilityService(environment);
+
+        // Act
+        List<OfferDto> rejections = service.evaluate(createRequest(20000000.0, 48, 5000000.0)).rejections();
+
+        // Assert
+        assertThat(rejections).hasSize(1);
+        OfferDto offer = rejections.get(0);
+        assertThat(offer.getEntity()).isEqualTo("Bancolombia");
+        assertThat(offer.getApproved()).isFalse();
+        assertThat(offer.getPolicyRejected()).isTrue();
+        assertThat(offer.getCodCausal()).isEqualTo("BCO-001");
+        assertThat(service.evaluate(createRequest(20000000.0, 48, 5000000.0))
+                .isEligible(BankConstants.BankService.DAVIVIENDA)).isTrue();
+    }
+
+    @Test
+    void evaluate_WithPaymentAboveIncomeCapacity_ShouldRejectByPaymentToIncome() {
+        // Arrange - cuota mínima de 20M a 12 meses al 12% EA ≈ 1.77M > 30% de 5M
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("bank-policies.banks.DAVI.max-payment-to-income", "0.3")
+                .withProperty("bank-policies.banks.DAVI.min-annual-rate", "0.12");
+        BankEligibilityService service = new BankEligibilityService(environment);
+
+        // Act
+        List<OfferDto> shortTerm = service.evaluate(createRequest(20000000.0, 12, 5000000.0)).rejections();
+        List<OfferDto> longTerm = service.evaluate(createRequest(20000000.0, 60, 5000000.0)).rejections();
+
+        // Assert
+        assertThat(shortTerm).extracting(OfferDto::getCodCausal)
+                .containsExactly("CAPACIDAD_PAGO_INSUFICIENTE");
+        assertThat(longTerm).isEmpty();
+    }
+
+    @Test
+    void onEnvironmentChange_ShouldReloadPolicies() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment();
+        BankEligibilityService service = new BankEligibilityService(environment);
+        SimulationRequest request = createRequest(20000000.0, 48, 5000000.0);
+        assertThat(service.evaluate(request).rejections()).isEmpty();
+
+        // Act
+        environment.setProperty("bank-policies.banks.COLT.min-monthly-income", "8000000");
+        service.onEnvironmentChange(new EnvironmentChangeEvent(
+                Set.of("bank-policies.banks.COLT.min-monthly-income")));
+
+        // Assert
+        assertThat(service.evaluate(request).rejections()).extracting(OfferDto::getCodCausal)
+                .containsExactly("INGRESO_INSUFICIENTE");
+    }
+
+    @Test
+    void evaluate_WhenPoliciesReloadAfterward_ShouldKeepExclusionsMatchingRejections() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("bank-policies.banks.BCO.max-amount", "15000000");
+        BankEligibilityService service = new BankEligibilityService(environment);
+        BankEligibilityService.Evaluation evaluation = service.evaluate(createRequest(20000000.0, 48, 5000000.0));
+
+        // Act
+        environment.setProperty("bank-policies.banks.DAVI.max-amount", "15000000");
+        service.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("bank-policies.banks.DAVI.max-amount")));
+
+        // Assert
+        assertThat(evaluation.rejections()).extracting(OfferDto::getEntity).containsExactly("Bancolombia");
+        assertThat(evaluation.excludedBankCodes()).containsExactly("BCO");
+        assertThat(evaluation.isEligible(BankConstants.BankService.DAVIVIENDA)).isTrue();
+        assertThat(evaluation.allRejected()).isFalse();
+    }
+
+    private SimulationRequest createRequest(double amount, int termMonths, double monthlyIncome) {
+        SimulationRequest request = new SimulationRequest();
+        request.setUserId("user123");
+        request.setAmount(amount);
+        request.setTermMonths(termMonths);
+        request.setMonthlyIncome(monthlyIncome);
+        return request;
+    }
+}
@@ -0,0 +1,95 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BankEndpointRegistryTest {
+
+    private BankEndpointRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("BANCOLOMBIA_SERVICE_URL", "http://bco-1:9000, http://bco-2:9000/");
+        registry = new BankEndpointRegistry(environment,
+                new BankOutlierDetector(5, 3.0, 1000, 30, 300, 50), 50, 10, 2000);
+    }
+
+    @Test
+    void endpoints_WithCommaSeparatedUrls_ShouldRegisterEachReplica() {
+        assertThat(registry.endpoints("BCO")).extracting(BankEndpointRegistry.BankEndpoint::baseUrl)
+                .containsExactly("http://bco-1:9000", "http://bco-2:9000");
+        assertThat(registry.endpoints("DAVI")).extracting(BankEndpointRegistry.BankEndpoint::baseUrl)
+                .containsExactly("http://localhost:8082");
+    }
+
+    @Test
+    void route_WithBankUrl_ShouldRewriteToReplicaKeepingPathAndQuery() {
+        // Act
+        BankEndpointRegistry.Routed primary = registry.route(URI.create(
+                BankConstants.BankService.BANCOLOMBIA.buildUri("/api/applications/user/7?page=1")));
+        BankEndpointRegistry.Routed gatewayRoute = registry.route(URI.create("bank://davi/api/applications/5"));
+
+        // Assert
+        assertThat(primary.target().getHost()).isIn("bco-1", "bco-2");
+        assertThat(primary.target().getRawPath()).isEqualTo("/api/applications/user/7");
+        assertThat(primary.target().getRawQuery()).isEqualTo("page=1");
+        assertThat(gatewayRoute.target()).isEqualTo(URI.create("http://localhost:8082/api/applications/5"));
+        assertThat(registry.route(URI.create("http://localhost:5678/webhook/simulate"))).isNull();
+    }
+
+    @Test
+    void bankCode_WithBanksSharingOrigin_ShouldMatchLongestBasePath() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("DAVIVIENDA_SERVICE_URL", "http://banks:9000/davi")
+                .withProperty("COLTEFINANCIERA_SERVICE_URL", "http://banks:9000/colt/");
+        BankEndpointRegistry shared = new BankEndpointRegistry(environment,
+                new BankOutlierDetector(5, 3.0, 1000, 30, 300, 50), 50, 10, 2000);
+
+        // Act
+        BankEndpointRegistry.Routed routed = shared.route(URI.create("http://banks:9000/colt/api/applications/5"));
+
+        // Assert
+        assertThat(shared.bankCode(URI.create("http://banks:9000/davi/api/applications"))).isEqualTo("DAVI");
+        assertThat(shared.bankCode(URI.create("http://banks:9000/colt/api/applications"))).isEqualTo("COLT");
+        assertThat(shared.bankCode(URI.create("http://banks:9000/davidx/api/applications"))).isNull();
+        assertThat(routed.endpoint().bankCode()).isEqualTo("COLT");
+        assertThat(routed.target()).isEqualTo(URI.create("http://banks:9000/colt/api/applications/5"));
+    }
+
+    @Test
+    void choose_ShouldPreferReplicaWithLowerPeakEwmaLatency() {
+        // Arrange - una falla fija la latencia de bco-2 en la penalización
+        List<BankEndpointRegistry.BankEndpoint> endpoints = registry.endpoints("BCO");
+        BankEndpointRegistry.Call failed = endpoints.get(1).start();
+        failed.complete(true);
+
+        // Act & Assert
+        assertThat(endpoints.get(1).latencyMillis()).isGreaterThan(1000);
+        for (int i = 0; i < 20; i++) {
+            assertThat(registry.choose("BCO")).isSameAs(endpoints.get(0));
+        }
+    }
+
+    @Test
+    void choose_ShouldAvoidReplicaWithRequestsInFlight() {
+        // Arrange
+        List<BankEndpointRegistry.BankEndpoint> endpoints = registry.endpoints("BCO");
+        List<BankEndpointRegistry.Call> pending = List.of(
+                endpoints.get(0).start(), endpoints.get(0).start(), endpoints.get(0).start());
+
+        // Act & Assert
+        assertThat(registry.choose("BCO")).isSameAs(endpoints.get(1));
+
+        pending.forEach(BankEndpointRegistry.Call::cancel);
+        assertThat(endpoints.get(0).inFlight()).isZero();
+    }
+}
@@ -0,0 +1,142 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.controller.BankEndpointsEndpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BankOutlierDetectorTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private BankOutlierDetector detector;
+    private BankEndpointRegistry registry;
+    private List<BankEndpointRegistry.BankEndpoint> bco;
+
+    @BeforeEach
+    void setUp() {
+        detector = new BankOutlierDetector(3, 3.0, 1000, 30, 300, 50);
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("BANCOLOMBIA_SERVICE_URL", "http://bco-1:9000,http://bco-2:9000,http://bco-3:9000")
+                .withProperty("DAVIVIENDA_SERVICE_URL", "http://davi-1:9000");
+        registry = new BankEndpointRegistry(environment, detector, 50, 10, 2000);
+        bco = registry.endpoints("BCO");
+    }
+
+    @Test
+    void complete_WithConsecutive5xx_ShouldEjectReplicaFromBalancing() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            bco.get(0).start().complete(true);
+        }
+
+        // Assert
+        assertThat(bco.get(0).isEjected()).isTrue();
+        assertThat(bco.get(0).lastEjectionReason()).isEqualTo(BankOutlierDetector.Outcome.ERROR);
+        for (int i = 0; i < 50; i++) {
+            assertThat(registry.choose("BCO")).isNotSameAs(bco.get(0));
+        }
+    }
+
+    @Test
+    void complete_WithSuccessBetweenFailures_ShouldResetConsecutiveCount() {
+        // Act
+        bco.get(0).start().complete(true);
+        bco.get(0).start().complete(true);
+        bco.get(0).start().complete(false);
+        bco.get(0).start().complete(true);
+
+        // Assert
+        assertThat(bco.get(0).isEjected()).isFalse();
+        assertThat(bco.get(0).consecutiveFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void fail_WithTimeouts_ShouldEjectWithTimeoutReason() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            bco.get(1).start().fail(new RuntimeException(new TimeoutException("Did not observe any item")));
+        }
+
+        // Assert
+        assertThat(bco.get(1).isEjected()).isTrue();
+        assertThat(bco.get(1).lastEjectionReason()).isEqualTo(BankOutlierDetector.Outcome.TIMEOUT);
+    }
+
+    @Test
+    void onResult_WithSlowSuccesses_ShouldEjectLatencyOutlier() {
+        // Arrange
+        long now = System.nanoTime();
+
+        // Act - 5s frente a ~50ms de las demás réplicas
+        for (int i = 0; i < 3; i++) {
+            detector.onResult(bco.get(2), 5 * SECOND, BankOutlierDetector.Outcome.SUCCESS, now);
+        }
+
+        // Assert
+        assertThat(bco.get(2).isEjected(now)).isTrue();
+        assertThat(bco.get(2).lastEjectionReason()).isEqualTo(BankOutlierDetector.Outcome.LATENCY);
+    }
+
+    @Test
+    void onResult_AfterRepeatedEjections_ShouldDoubleEjectionTime() {
+        // Arrange
+        long now = System.nanoTime();
+        fail(bco.get(0), now);
+        long firstEjection = bco.get(0).ejectedUntilNanos - now;
+
+        // Act - vuelve a fallar apenas vence la primera expulsión
+        long later = now + firstEjection + SECOND;
+        fail(bco.get(0), later);
+
+        // Assert
+        assertThat(firstEjection).isEqualTo(30 * SECOND);
+        assertThat(bco.get(0).ejectedUntilNanos - later).isEqualTo(60 * SECOND);
+        assertThat(bco.get(0).ejectionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void onResult_ShouldNotEjectMoreThanMaxPercentOrTheLastReplica() {
+        // Arrange
+        long now = System.nanoTime();
+        fail(bco.get(0), now);
+
+        // Act - 50% de 3 réplicas permite una sola expulsión
+        fail(bco.get(1), now);
+        fail(registry.endpoints("DAVI").get(0), now);
+
+        // Assert
+        assertThat(bco.get(0).isEjected(now)).isTrue();
+        assertThat(bco.get(1).isEjected(now)).isFalse();
+        assertThat(registry.endpoints("DAVI").get(0).isEjected(now)).isFalse();
+    }
+
+    @Test
+    void bankEndpointsEndpoint_ShouldExposeEjectionState() {
+        // Arrange
+        fail(bco.get(0), System.nanoTime());
+
+        // Act
+        List<BankEndpointsEndpoint.EndpointState> states = new BankEndpointsEndpoint(registry).endpoints().get("BCO");
+
+        // Assert
+        assertThat(states).extracting(BankEndpointsEndpoint.EndpointState::url)
+                .containsExactly("http://bco-1:9000", "http://bco-2:9000", "http://bco-3:9000");
+        assertThat(states.get(0).ejected()).isTrue();
+        assertThat(states.get(0).ejectionCount()).isEqualTo(1);
+        assertThat(states.get(0).ejectedForMillis()).isPositive();
+        assertThat(states.get(1).ejected()).isFalse();
+    }
+
+    private void fail(BankEndpointRegistry.BankEndpoint endpoint, long now) {
+        for (int i = 0; i < 3; i++) {
+            detector.onResult(endpoint, 10_000_000, BankOutlierDetector.Outcome.ERROR, now);
+        }
+    }
+}
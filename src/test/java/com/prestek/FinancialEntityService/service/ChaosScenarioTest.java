@@ -0,0 +1,286 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prestek.FinancialEntityCore.dto.ApplicationDto;
+import com.prestek.FinancialEntityCore.model.Application;
+import com.prestek.FinancialEntityService.dto.BankAnalysisDto;
+import com.prestek.FinancialEntityService.dto.BankApplicationDto;
+import com.prestek.FinancialEntityService.dto.BankComparisonDto;
+import com.prestek.FinancialEntityService.dto.SimulationRequest;
+import com.prestek.FinancialEntityService.dto.SimulationResponse;
+import com.prestek.FinancialEntityService.filter.ChaosExchangeFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Escenarios de caos sobre el fan-out: cada falla de {@link FaultInjector}
+ * aplicada a un banco (o a n8n) contra destinos en memoria, verificando el
+ * techo de latencia y el resultado parcial.
+ */
+class ChaosScenarioTest {
+
+    private static final long DEADLINE_MS = 300;
+    private static final long LATENCY_CEILING_MS = DEADLINE_MS + 400;
+    private static final String N8N_URL = "http://n8n.local/webhook/simulate-credit";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private FaultInjector faultInjector;
+    private WebClient.Builder webClientBuilder;
+    private BankAggregationService aggregationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BankEndpointRegistry endpointRegistry = new BankEndpointRegistry(new MockEnvironment(),
+                new BankOutlierDetector(5, 3.0, 1000, 30, 300, 50), 50, 10, 2000);
+        MockEnvironment chaosEnvironment = new MockEnvironment();
+        chaosEnvironment.setActiveProfiles(FaultInjector.PROFILE);
+        faultInjector = new FaultInjector(new OutboundTargetResolver(endpointRegistry, N8N_URL), chaosEnvironment);
+
+        byte[] applications = objectMapper.writeValueAsBytes(applications(20));
+        byte[] simulation = objectMapper.writeValueAsBytes(simulationResponse());
+        webClientBuilder = WebClient.builder()
+                .filter(new ChaosExchangeFilter(faultInjector))
+                .exchangeFunction(request -> {
+                    byte[] body = "n8n.local".equals(request.url().getHost()) ? simulation : applications;
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))))
+                            .build());
+                });
+        aggregationService = new BankAggregationService(webClientBuilder,
+                new RetryBudgetRegistry(new SimpleMeterRegistry(), 0.1, 10, 2, 1, 5),
+                new UserApplicationsCache(Duration.ZERO, 0), DEADLINE_MS, "application/json");
+    }
+
+    @Test
+    void getAllApplicationsFromBanks_WithoutFaults_ShouldReturnAllBanks() {
+        // Act & Assert
+        assertThat(banksAnswering()).containsExactlyInAnyOrder("BCO", "DAVI", "COLT");
+    }
+
+    @Test
+    void getAllApplicationsFromBanks_WithLatencyBelowDeadline_ShouldReturnAllBanks() {
+        // Arrange
+        faultInjector.configure("DAVI", new FaultInjector.Fault(50, 20, 0, 0, 0, 0, 0, 0));
+
+        // Act & Assert
+        assertThat(banksAnswering()).containsExactlyInAnyOrder("BCO", "DAVI", "COLT");
+    }
+
+    @Test
+    void getAllApplicationsFromBanks_WithHangingBank_ShouldReturnPartialResultWithinDeadline() {
+        // Arrange
+        faultInjector.configure("DAVI", FaultInjector.Fault.latency(10_000));
+
+        // Act & Assert
+        assertThat(banksAnswering()).containsExactlyInAnyOrder("BCO", "COLT");
+    }
+
+    @Test
+    void getAllApplicationsFromBanks_WithFailingBank_ShouldReturnPartialResult() {
+        // Arrange
+        faultInjector.configure("COLT", FaultInjector.Fault.errors(1.0, 503));
+
+        // Act & Assert
+        assertThat(banksAnswering()).containsExactlyInAnyOrder("BCO", "DAVI");
+    }
+
+    @Test
+    void getAllApplicationsFromBanks_WithDroppedConnections_ShouldReturnPartialResult() {
+        // Arrange
+        faultInjector.configure("Bancolombia", FaultInjector.Fault.drops(1.0));
+
+        // Act & Assert
+        assertThat(banksAnswering()).containsExactlyInAnyOrder("DAVI", "COLT");
+    }
+
+    @Test
+    void getAllApplicationsFromBanks_WithTruncatedJson_ShouldReturnPartialResult() {
+        // Arrange
+        faultInjector.configure("COLT", FaultInjector.Fault.truncated(1.0));
+
+        // Act & Assert
+        assertThat(banksAnswering()).containsExactlyInAnyOrder("BCO", "DAVI");
+    }
+
+    @Test
+    void getAllApplicationsFromBanks_WithTricklingBody_ShouldReturnPartialResultWithinDeadline() {
+        // Arrange - unos 6 KB a 64 bytes cada 50ms: muy por encima del deadline
+        faultInjector.configure("DAVI", FaultInjector.Fault.slowBody(50, 64));
+
+        // Act & Assert
+        assertThat(banksAnswering()).containsExactlyInAnyOrder("BCO", "COLT");
+    }
+
+    @Test
+    void getAllApplicationsFromBanks_AfterClearingFaults_ShouldReturnAllBanks() {
+        // Arrange
+        faultInjector.configure("DAVI", FaultInjector.Fault.errors(1.0, 500));
+        faultInjector.configure("COLT", FaultInjector.Fault.drops(1.0));
+
+        // Act
+        faultInjector.clearAll();
+
+        // Assert
+        assertThat(banksAnswering()).containsExactlyInAnyOrder("BCO", "DAVI", "COLT");
+    }
+
+    @Test
+    void simulateLoan_WithFailingN8n_ShouldFailWithinCeiling() {
+        // Arrange
+        faultInjector.configure("n8n", FaultInjector.Fault.errors(1.0, 502));
+        SimulationService simulationService = simulationService();
+
+        // Act & Assert
+        StepVerifier.create(simulationService.simulateLoan(simulationRequest(), "Bearer token"))
+                .expectErrorSatisfies(error -> assertThat(error).hasMessageContaining("502"))
+                .verify(Duration.ofMillis(LATENCY_CEILING_MS));
+    }
+
+    @Test
+    void simulateLoan_WithTruncatedN8nBody_ShouldFail() {
+        // Arrange
+        faultInjector.configure("n8n", FaultInjector.Fault.truncated(1.0));
+        SimulationService simulationService = simulationService();
+
+        // Act & Assert
+        StepVerifier.create(simulationService.simulateLoan(simulationRequest(), "Bearer token"))
+                .expectError()
+                .verify(Duration.ofMillis(LATENCY_CEILING_MS));
+    }
+
+    @Test
+    void simulateLoan_WithFaultOnOtherTarget_ShouldSucceed() {
+        // Arrange
+        faultInjector.configure("DAVI", FaultInjector.Fault.drops(1.0));
+        SimulationService simulationService = simulationService();
+
+        // Act & Assert
+        StepVerifier.create(simulationService.simulateLoan(simulationRequest(), "Bearer token"))
+                .assertNext(response -> assertThat(response.getAnalysis().getBanks()).hasSize(3))
+                .verifyComplete();
+    }
+
+    @Test
+    void configure_WithUnknownTargetOrInvalidRate_ShouldThrow() {
+        // Act & Assert
+        assertThatThrownBy(() -> faultInjector.configure("NUBANK", FaultInjector.Fault.drops(1.0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FaultInjector.Fault.errors(1.5, 503))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FaultInjector.Fault.errors(0.5, 302))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void configure_WithoutChaosProfile_ShouldRejectAndInjectNothing() {
+        // Arrange
+        BankEndpointRegistry endpointRegistry = new BankEndpointRegistry(new MockEnvironment(),
+                new BankOutlierDetector(5, 3.0, 1000, 30, 300, 50), 50, 10, 2000);
+        FaultInjector disabled = new FaultInjector(new OutboundTargetResolver(endpointRegistry, N8N_URL),
+                new MockEnvironment());
+        WebClient.Builder builder = WebClient.builder();
+
+        // Act
+        new ChaosExchangeFilter(disabled).customize(builder);
+
+        // Assert
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThatThrownBy(() -> disabled.configure("DAVI", FaultInjector.Fault.drops(1.0)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(disabled.faults()).isEmpty();
+        builder.filters(filters -> assertThat(filters).isEmpty());
+    }
+
+    private List<String> banksAnswering() {
+        long start = System.nanoTime();
+        List<BankApplicationDto> applications = aggregationService
+                .getAllApplicationsFromBanks("user123", "Bearer token")
+                .block(Duration.ofSeconds(5));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(elapsedMillis)
+                .as("latencia de la agregación")
+                .isLessThan(LATENCY_CEILING_MS);
+        return applications.stream()
+                .map(BankApplicationDto::getBankCode)
+                .distinct()
+                .toList();
+    }
+
+    private SimulationService simulationService() {
+        QuoteCurveCache quoteCurveCache = new QuoteCurveCache(mock(BankQuoteClient.class),
+                new double[] { 10000000, 30000000 }, new int[] { 36, 60 }, new int[] { 650 },
+                650, 86400, 0.02, 20000000, "", 4, 0);
+        SimulationService simulationService = new SimulationService(webClientBuilder,
+                new BankEligibilityService(new MockEnvironment()), quoteCurveCache,
+                new WeightedRankingEngine(0.4, 0.2, 0.2, 0.2, 0.3, 0.4));
+        ReflectionTestUtils.setField(simulationService, "n8nSimulationUrl", N8N_URL);
+        return simulationService;
+    }
+
+    private static SimulationRequest simulationRequest() {
+        return SimulationRequest.builder()
+                .userId("user123")
+                .amount(15000000.0)
+                .termMonths(36)
+                .monthlyIncome(6000000.0)
+                .build();
+    }
+
+    private static List<ApplicationDto> applications(int count) {
+        List<ApplicationDto> applications = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            ApplicationDto dto = new ApplicationDto();
+            dto.setId(id);
+            dto.setStatus(Application.ApplicationStatus.PENDING);
+            dto.setUserId("user123");
+            dto.setAmount(5000000.0 + id);
+            dto.setApplicationDate(LocalDateTime.of(2025, 1, 1, 9, 0));
+            dto.setCreditOfferId(100L + id);
+            dto.setUserFullName("Test User");
+            dto.setCreditOfferDescription("Crédito de libre inversión a 36 meses");
+            applications.add(dto);
+        }
+        return applications;
+    }
+
+    private static SimulationResponse simulationResponse() {
+        Map<String, BankAnalysisDto> banks = new LinkedHashMap<>();
+        for (String bank : List.of("BCO", "DAVI", "COLT")) {
+            banks.put(bank, BankAnalysisDto.builder()
+                    .monthlyPaymentAvg(512_345L)
+                    .totalCost(18_444_420L)
+                    .totalInterest(3_444_420L)
+                    .build());
+        }
+        return SimulationResponse.builder()
+                .analysis(BankComparisonDto.of(banks))
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.prestek.FinancialEntityService.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ConnectionWarmupServiceTest {
+
+    private static final String N8N_URL = "http://n8n.local:5678/webhook-test/simulate-credit";
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    @Test
+    void warmUp_ShouldOpenConnectionsPerTargetAndBecomeReady() {
+        // Arrange
+        ConnectionWarmupService service = service(request -> {
+            requests.add(request.method() + " " + request.url());
+            return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+        }, "", Duration.ofSeconds(5));
+        ConnectionWarmupHealthIndicator indicator = new ConnectionWarmupHealthIndicator(service);
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        // Act
+        StepVerifier.create(service.warmUp()).verifyComplete();
+
+        // Assert - 3 bancos + n8n, 2 conexiones cada uno, siempre a la raíz
+        assertThat(requests).hasSize(8);
+        assertThat(requests).allMatch(request -> request.startsWith(HttpMethod.HEAD.name()) && request.endsWith("/"));
+        assertThat(requests).filteredOn(request -> request.contains("n8n.local:5678")).hasSize(2);
+        assertThat(service.details()).containsEntry("BCO", "2 connections").containsEntry("n8n", "2 connections");
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void warmUp_WithProbePath_ShouldReportProbeStatus() {
+        // Arrange
+        ConnectionWarmupService service = service(request -> {
+            requests.add(request.method() + " " + request.url().getPath());
+            HttpStatus status = request.method() == HttpMethod.GET ? HttpStatus.OK : HttpStatus.NOT_FOUND;
+            return Mono.just(ClientResponse.create(status).build());
+        }, "/actuator/health", Duration.ofSeconds(5));
+
+        // Act
+        StepVerifier.create(service.warmUp()).verifyComplete();
+
+        // Assert
+        assertThat(requests).filteredOn(request -> request.equals("GET /actuator/health")).hasSize(4);
+        assertThat(service.details()).containsEntry("DAVI", "2 connections, probe 200");
+    }
+
+    @Test
+    void warmUp_WhenTargetNeverAnswers_ShouldBecomeReadyAfterTimeout() {
+        // Arrange
+        ConnectionWarmupService service = service(request -> Mono.never(), "", Duration.ofMillis(50));
+
+        // Act
+        StepVerifier.create(service.warmUp()).verifyComplete();
+
+        // Assert
+        assertThat(service.isReady()).isTrue();
+        assertThat(service.details()).containsEntry("COLT", "failed: timeout");
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConnectionWarmupService service(ExchangeFunction exchangeFunction, String probePath, Duration timeout) {
+        ObjectProvider<HttpClient> noGatewayClient = mock(ObjectProvider.class);
+        BankEndpointRegistry endpointRegistry = new BankEndpointRegistry(new MockEnvironment(),
+                new BankOutlierDetector(5, 3.0, 1000, 30, 300, 50), 50, 10, 2000);
+        return new ConnectionWarmupService(WebClient.builder().exchangeFunction(exchangeFunction),
+                noGatewayClient, endpointRegistry, N8N_URL, 2, probePath, timeout);
+    }
+}
@@ -0,0 +1,172 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.BankQuoteDto;
+import com.prestek.FinancialEntityService.dto.BankQuoteRequest;
+import com.prestek.FinancialEntityService.dto.OfferDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteCurveCacheTest {
+
+    private static final BankConstants.BankService BANK = BankConstants.BankService.BANCOLOMBIA;
+
+    @Mock
+    private BankQuoteClient quoteClient;
+
+    private QuoteCurveCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new QuoteCurveCache(quoteClient, new double[] { 10000000, 30000000 },
+                new int[] { 36, 60 }, new int[] { 600, 750 }, 650, 86400, 0.02, 20000000, "", 4, 0);
+    }
+
+    @Test
+    void estimateOffer_OnGridPoint_ShouldUseExactQuote() {
+        // Arrange
+        cache.record(BANK, 750, 10000000, 36, quote(0.18, 0.20));
+
+        // Act
+        Optional<OfferDto> offer = cache.estimateOffer(BANK, 760, 10000000, 36);
+
+        // Assert
+        assertThat(offer).isPresent();
+        assertThat(offer.get().getEffectiveAnnualRate()).isCloseTo(0.19, within(1e-9));
+        assertThat(offer.get().getTotalPayments()).isEqualTo(36);
+        double expectedPayment = LoanMath.monthlyPayment(10000000, LoanMath.monthlyRate(0.19), 36);
+        assertThat(offer.get().getMonthlyPayment()).isEqualTo((int) Math.round(expectedPayment));
+    }
+
+    @Test
+    void estimateOffer_BetweenGridPoints_ShouldInterpolateRate() {
+        // Arrange
+        recordCell(750, 0.18, 0.19);
+
+        // Act
+        Optional<OfferDto> offer = cache.estimateOffer(BANK, 760, 20000000, 48);
+
+        // Assert - la tasa interpolada queda entre las esquinas
+        assertThat(offer).isPresent();
+        assertThat(offer.get().getEffectiveAnnualRate()).isBetween(0.18, 0.20);
+        assertThat(offer.get().getReason()).contains("Estimación");
+    }
+
+    @Test
+    void estimateOffer_WithSpreadAboveBound_ShouldReturnEmpty() {
+        // Arrange
+        recordCell(750, 0.18, 0.25);
+
+        // Act & Assert
+        assertThat(cache.estimateOffer(BANK, 760, 20000000, 48)).isEmpty();
+    }
+
+    @Test
+    void estimateOffer_WithMissingNeighbourOrOtherBand_ShouldReturnEmpty() {
+        // Arrange
+        cache.record(BANK, 750, 10000000, 36, quote(0.18, 0.19));
+
+        // Act & Assert
+        assertThat(cache.estimateOffer(BANK, 760, 20000000, 48)).isEmpty();
+        assertThat(cache.estimateOffer(BANK, 600, 10000000, 36)).isEmpty();
+        assertThat(cache.estimateOffer(BANK, 760, 60000000, 36)).isEmpty();
+    }
+
+    @Test
+    void refreshAll_ShouldQuoteEveryGridPointAndFillCurve() {
+        // Arrange
+        when(quoteClient.quote(any(BankConstants.BankService.class), any(BankQuoteRequest.class), isNull()))
+                .thenReturn(Mono.just(quote(0.20, 0.21)));
+        when(quoteClient.quote(eq(BankConstants.BankService.DAVIVIENDA), any(BankQuoteRequest.class), isNull()))
+                .thenReturn(Mono.error(new RuntimeException("Connection refused")));
+
+        // Act & Assert - 2 bancos exitosos x 2 bandas x 2 montos x 2 plazos
+        StepVerifier.create(cache.refreshAll())
+                .expectNext(16L)
+                .verifyComplete();
+
+        assertThat(cache.estimateOffer(BANK, null, 20000000, 48)).isPresent();
+        assertThat(cache.estimateOffer(BankConstants.BankService.DAVIVIENDA, null, 20000000, 48)).isEmpty();
+    }
+
+    @Test
+    void refreshStalest_ShouldQuoteOnlyMissingOrOldestPointsPerBank() {
+        // Arrange - a BANK solo le falta (600, 10M, 36)
+        recordCell(750, 0.20, 0.20);
+        cache.record(BANK, 600, 10000000, 60, quote(0.20, 0.21));
+        cache.record(BANK, 600, 30000000, 36, quote(0.20, 0.21));
+        cache.record(BANK, 600, 30000000, 60, quote(0.20, 0.21));
+        when(quoteClient.quote(any(BankConstants.BankService.class), any(BankQuoteRequest.class), isNull()))
+                .thenReturn(Mono.just(quote(0.20, 0.21)));
+
+        // Act & Assert - un punto por banco
+        StepVerifier.create(cache.refreshStalest(1))
+                .expectNext(3L)
+                .verifyComplete();
+
+        verify(quoteClient).quote(eq(BANK), argThat(request -> request.getAmount() == 10000000L
+                && request.getTermMonths() == 36 && request.getScore() == 600), isNull());
+        verify(quoteClient, times(3)).quote(any(BankConstants.BankService.class), any(BankQuoteRequest.class), isNull());
+    }
+
+    @Test
+    void scheduledRefresh_WithoutToken_ShouldNotQuoteBanks() {
+        // Act
+        cache.scheduledRefresh();
+
+        // Assert - nunca se envía un header Authorization vacío
+        verifyNoInteractions(quoteClient);
+    }
+
+    @Test
+    void scheduledRefresh_OnFirstCycle_ShouldQuoteWholeGridThenOnlyBatch() {
+        // Arrange
+        QuoteCurveCache batched = new QuoteCurveCache(quoteClient, new double[] { 10000000, 30000000 },
+                new int[] { 36, 60 }, new int[] { 600, 750 }, 650, 86400, 0.02, 20000000, "Bearer refresh", 4, 1);
+        when(quoteClient.quote(any(BankConstants.BankService.class), any(BankQuoteRequest.class), eq("Bearer refresh")))
+                .thenReturn(Mono.just(quote(0.20, 0.21)));
+
+        // Act
+        batched.scheduledRefresh();
+        batched.scheduledRefresh();
+
+        // Assert - 3 bancos x 8 puntos en el primer ciclo, luego 1 punto por banco
+        verify(quoteClient, times(27)).quote(any(BankConstants.BankService.class), any(BankQuoteRequest.class),
+                eq("Bearer refresh"));
+        assertThat(batched.estimateOffer(BANK, null, 20000000, 48)).isPresent();
+    }
+
+    private void recordCell(int score, double rate, double otherCornerRate) {
+        cache.record(BANK, score, 10000000, 36, quote(rate, rate + 0.01));
+        cache.record(BANK, score, 10000000, 60, quote(rate, rate + 0.01));
+        cache.record(BANK, score, 30000000, 36, quote(rate, rate + 0.01));
+        cache.record(BANK, score, 30000000, 60, quote(otherCornerRate, otherCornerRate + 0.01));
+    }
+
+    private BankQuoteDto quote(double rateMin, double rateMax) {
+        return BankQuoteDto.builder()
+                .rateEAmin(rateMin)
+                .rateEAmax(rateMax)
+                .feesEstimated(50000L)
+                .build();
+    }
+}
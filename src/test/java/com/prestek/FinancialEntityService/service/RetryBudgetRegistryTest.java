@@ -0,0 +1,35 @@
+package com.prestek.FinancialEntityService.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetRegistryTest {
+
+    @Test
+    void execute_WhenBudgetIsExhausted_ShouldStopRetrying() {
+        // Arrange - balde de 1 token sin depósitos suficientes para un segundo reintento
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RetryBudgetRegistry budget = new RetryBudgetRegistry(registry, 0.0, 1, 5, 1, 2);
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> alwaysUnavailable = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new BankServiceException("DAVI", 503, "Davivienda failed with 503"));
+        });
+
+        // Act & Assert
+        StepVerifier.create(budget.execute("DAVI", Duration.ofSeconds(5),
+                        error -> error instanceof BankServiceException, alwaysUnavailable))
+                .expectError(BankServiceException.class)
+                .verify();
+
+        assertThat(calls).hasValue(2);
+        assertThat(registry.counter("bank.retry.budget.exhausted", "bank", "DAVI").count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,221 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.BankQuoteDto;
+import com.prestek.FinancialEntityService.dto.BankQuoteRequest;
+import com.prestek.FinancialEntityService.dto.SensitivityRequest;
+import com.prestek.FinancialEntityService.dto.SensitivitySeriesDto;
+import com.prestek.FinancialEntityService.dto.SimulationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SensitivityServiceTest {
+
+    private static final String AUTH = "Bearer valid-token";
+
+    @Mock
+    private BankQuoteClient quoteClient;
+
+    private QuoteCurveCache quoteCurveCache;
+
+    private SensitivityService sensitivityService;
+
+    private SimulationRequest base;
+
+    @BeforeEach
+    void setUp() {
+        quoteCurveCache = new QuoteCurveCache(quoteClient, new double[] { 10000000, 30000000 },
+                new int[] { 36, 60 }, new int[] { 650 }, 650, 86400, 0.02, 20000000, "", 4, 0);
+        sensitivityService = new SensitivityService(quoteClient, quoteCurveCache,
+                new BankEligibilityService(new MockEnvironment()), 100);
+
+        base = new SimulationRequest();
+        base.setUserId("user123");
+        base.setAmount(20000000.0);
+        base.setTermMonths(48);
+        base.setMonthlyIncome(5000000.0);
+    }
+
+    @Test
+    void analyze_WithSingleSweep_ShouldEvaluateEveryPointPerBank() {
+        // Arrange
+        when(quoteClient.quote(any(BankConstants.BankService.class), any(BankQuoteRequest.class), eq(AUTH)))
+                .thenReturn(Mono.just(quote(0.20, 0.22)));
+        SensitivityRequest request = SensitivityRequest.builder()
+                .base(base)
+                .sweeps(List.of(sweep(SensitivityRequest.Variable.TERM_MONTHS, 12, 60, 12)))
+                .build();
+
+        // Act & Assert
+        StepVerifier.create(sensitivityService.analyze(request, AUTH).collectList())
+                .assertNext(series -> {
+                    assertThat(series).extracting(SensitivitySeriesDto::getBankCode)
+                            .containsExactlyInAnyOrder("BCO", "DAVI", "COLT");
+                    SensitivitySeriesDto first = series.get(0);
+                    assertThat(first.getValues()).containsExactly(12, 24, 36, 48, 60);
+                    assertThat(first.getSecondaryValue()).isNull();
+
+                    double expected = LoanMath.monthlyPayment(20000000, LoanMath.monthlyRate(0.21), 48);
+                    assertThat(first.getMonthlyPayment()[3]).isEqualTo(Math.round(expected));
+                    assertThat(first.getTotalCost()[3]).isEqualTo(Math.round(expected * 48 + 100000));
+                    assertThat(first.getPaymentToIncome()[3]).isCloseTo(expected / 5000000, within(1e-4));
+                    // Más plazo, menor cuota
+                    assertThat(first.getMonthlyPayment()[0]).isGreaterThan(first.getMonthlyPayment()[4]);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void analyze_WithTwoSweeps_ShouldEmitOneSeriesPerSecondaryValue() {
+        // Arrange
+        when(quoteClient.quote(any(BankConstants.BankService.class), any(BankQuoteRequest.class), eq(AUTH)))
+                .thenReturn(Mono.just(quote(0.20, 0.22)));
+        SensitivityRequest request = SensitivityRequest.builder()
+                .base(base)
+                .sweeps(List.of(
+                        sweep(SensitivityRequest.Variable.AMOUNT, 10000000, 30000000, 5000000),
+                        sweep(SensitivityRequest.Variable.MONTHLY_INCOME, 4000000, 6000000, 1000000)))
+                .build();
+
+        // Act & Assert - 3 bancos x 3 ingresos
+        StepVerifier.create(sensitivityService.analyze(request, AUTH).collectList())
+                .assertNext(series -> {
+                    assertThat(series).hasSize(9);
+                    assertThat(series).allMatch(s -> s.getValues().length == 5
+                            && s.getSecondaryVariable() == SensitivityRequest.Variable.MONTHLY_INCOME);
+                    assertThat(series).extracting(SensitivitySeriesDto::getSecondaryValue)
+                            .containsOnly(4000000.0, 5000000.0, 6000000.0);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void analyze_WhenQuoteFails_ShouldFallBackToCachedCurve() {
+        // Arrange
+        for (double amount : new double[] { 10000000, 30000000 }) {
+            for (int term : new int[] { 36, 60 }) {
+                quoteCurveCache.record(BankConstants.BankService.DAVIVIENDA, 650, amount, term, quote(0.24, 0.25));
+            }
+        }
+        when(quoteClient.quote(any(BankConstants.BankService.class), any(BankQuoteRequest.class), eq(AUTH)))
+                .thenReturn(Mono.error(new RuntimeException("Connection refused")));
+        SensitivityRequest request = SensitivityRequest.builder()
+                .base(base)
+                .sweeps(List.of(sweep(SensitivityRequest.Variable.AMOUNT, 10000000, 20000000, 10000000)))
+                .build();
+
+        // Act & Assert - solo Davivienda tiene curva en caché
+        StepVerifier.create(sensitivityService.analyze(request, AUTH))
+                .assertNext(series -> {
+                    assertThat(series.getBankCode()).isEqualTo("DAVI");
+                    assertThat(series.getEffectiveAnnualRate()).isCloseTo(0.245, within(1e-9));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void analyze_WithTooManyPoints_ShouldReturnBadRequest() {
+        // Arrange
+        SensitivityRequest request = SensitivityRequest.builder()
+                .base(base)
+                .sweeps(List.of(
+                        sweep(SensitivityRequest.Variable.AMOUNT, 1000000, 50000000, 1000000),
+                        sweep(SensitivityRequest.Variable.TERM_MONTHS, 6, 60, 6)))
+                .build();
+
+        // Act & Assert
+        StepVerifier.create(sensitivityService.analyze(request, AUTH))
+                .expectErrorSatisfies(error -> {
+                    assertThat(error).isInstanceOf(ResponseStatusException.class);
+                    assertThat(((ResponseStatusException) error).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                })
+                .verify();
+
+        verifyNoInteractions(quoteClient);
+    }
+
+    @Test
+    void analyze_WithStepSmallEnoughToOverflowInt_ShouldReturnBadRequest() {
+        // Arrange - (50M - 1M) / 0.001 puntos desbordaban el conteo a negativo
+        SensitivityRequest request = SensitivityRequest.builder()
+                .base(base)
+                .sweeps(List.of(sweep(SensitivityRequest.Variable.AMOUNT, 1000000, 50000000, 0.001)))
+                .build();
+
+        // Act & Assert
+        StepVerifier.create(sensitivityService.analyze(request, AUTH))
+                .expectErrorSatisfies(error -> {
+                    assertThat(error).isInstanceOf(ResponseStatusException.class);
+                    assertThat(((ResponseStatusException) error).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                })
+                .verify();
+
+        verifyNoInteractions(quoteClient);
+    }
+
+    @Test
+    void analyze_WithFractionalTermStep_ShouldReturnBadRequest() {
+        // Arrange - 12, 12.5, 13... se redondeaban a plazos repetidos
+        SensitivityRequest request = SensitivityRequest.builder()
+                .base(base)
+                .sweeps(List.of(sweep(SensitivityRequest.Variable.TERM_MONTHS, 12, 24, 0.5)))
+                .build();
+
+        // Act & Assert
+        StepVerifier.create(sensitivityService.analyze(request, AUTH))
+                .expectErrorSatisfies(error -> assertThat(error).isInstanceOf(ResponseStatusException.class)
+                        .hasMessageContaining("whole-month"))
+                .verify();
+    }
+
+    @Test
+    void analyze_WithRepeatedVariable_ShouldReturnBadRequest() {
+        // Arrange
+        SensitivityRequest request = SensitivityRequest.builder()
+                .base(base)
+                .sweeps(List.of(
+                        sweep(SensitivityRequest.Variable.AMOUNT, 1000000, 5000000, 1000000),
+                        sweep(SensitivityRequest.Variable.AMOUNT, 1000000, 5000000, 1000000)))
+                .build();
+
+        // Act & Assert
+        StepVerifier.create(sensitivityService.analyze(request, AUTH))
+                .expectError(ResponseStatusException.class)
+                .verify();
+    }
+
+    private SensitivityRequest.Sweep sweep(SensitivityRequest.Variable variable, double from, double to, double step) {
+        return SensitivityRequest.Sweep.builder()
+                .variable(variable)
+                .from(from)
+                .to(to)
+                .step(step)
+                .build();
+    }
+
+    private BankQuoteDto quote(double rateMin, double rateMax) {
+        return BankQuoteDto.builder()
+                .rateEAmin(rateMin)
+                .rateEAmax(rateMax)
+                .feesEstimated(100000L)
+                .build();
+    }
+}
@@ -0,0 +1,207 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.dto.RecommendationDto;
+import com.prestek.FinancialEntityService.dto.SimulationJobDto;
+import com.prestek.FinancialEntityService.dto.SimulationRequest;
+import com.prestek.FinancialEntityService.dto.SimulationResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationJobServiceTest {
+
+    private static final String AUTH_TOKEN = "Bearer valid-token";
+
+    @Mock
+    private SimulationService simulationService;
+
+    private SimulationJobService jobService;
+
+    @AfterEach
+    void tearDown() {
+        if (jobService != null) {
+            jobService.shutdown();
+        }
+    }
+
+    @Test
+    void submit_WithValidRequest_ShouldCompleteJob() {
+        // Arrange
+        jobService = new SimulationJobService(simulationService, 10, 2, 600, 120, 30);
+        SimulationResponse response = createResponse();
+        when(simulationService.simulateLoan(any(SimulationRequest.class), anyString()))
+                .thenReturn(Mono.just(response));
+
+        // Act
+        SimulationJobDto submitted = jobService.submit(createRequest(20000000.0), AUTH_TOKEN).block();
+
+        // Assert
+        assertThat(submitted).isNotNull();
+        StepVerifier.create(jobService.find(submitted.getJobId(), AUTH_TOKEN, 5))
+                .assertNext(job -> {
+                    assertThat(job.getStatus()).isEqualTo(SimulationJobDto.Status.COMPLETED);
+                    assertThat(job.getResult()).isEqualTo(response);
+                    assertThat(job.getCompletedAt()).isNotNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void submit_WithDuplicateRequest_ShouldReuseJob() {
+        // Arrange
+        jobService = new SimulationJobService(simulationService, 10, 2, 600, 120, 30);
+        when(simulationService.simulateLoan(any(SimulationRequest.class), anyString()))
+                .thenReturn(Mono.never());
+
+        // Act
+        SimulationJobDto first = jobService.submit(createRequest(20000000.0), AUTH_TOKEN).block();
+        SimulationJobDto second = jobService.submit(createRequest(20000000.0), AUTH_TOKEN).block();
+
+        // Assert
+        assertThat(second.getJobId()).isEqualTo(first.getJobId());
+        verify(simulationService, times(1)).simulateLoan(any(SimulationRequest.class), anyString());
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldRejectWithServiceUnavailable() {
+        // Arrange - un worker ocupado y una cola con capacidad 1
+        jobService = new SimulationJobService(simulationService, 1, 1, 600, 120, 30);
+        when(simulationService.simulateLoan(any(SimulationRequest.class), anyString()))
+                .thenReturn(Mono.never());
+
+        jobService.submit(createRequest(10000000.0), AUTH_TOKEN).block();
+        jobService.submit(createRequest(20000000.0), AUTH_TOKEN).block();
+
+        // Act & Assert
+        StepVerifier.create(jobService.submit(createRequest(30000000.0), AUTH_TOKEN))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException rse
+                        && rse.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE)
+                .verify();
+    }
+
+    @Test
+    void find_WithLongPoll_ShouldWaitForCompletion() {
+        // Arrange
+        jobService = new SimulationJobService(simulationService, 10, 2, 600, 120, 30);
+        Sinks.One<SimulationResponse> pending = Sinks.one();
+        SimulationResponse response = createResponse();
+        when(simulationService.simulateLoan(any(SimulationRequest.class), anyString()))
+                .thenReturn(pending.asMono());
+
+        SimulationJobDto submitted = jobService.submit(createRequest(20000000.0), AUTH_TOKEN).block();
+
+        // Act & Assert
+        StepVerifier.create(jobService.find(submitted.getJobId(), AUTH_TOKEN, 5))
+                .then(() -> pending.tryEmitValue(response))
+                .assertNext(job -> assertThat(job.getStatus()).isEqualTo(SimulationJobDto.Status.COMPLETED))
+                .verifyComplete();
+    }
+
+    @Test
+    void find_WithFailedSimulation_ShouldReportError() {
+        // Arrange
+        jobService = new SimulationJobService(simulationService, 10, 2, 600, 120, 30);
+        when(simulationService.simulateLoan(any(SimulationRequest.class), anyString()))
+                .thenReturn(Mono.error(new RuntimeException("N8N service unavailable")));
+
+        SimulationJobDto submitted = jobService.submit(createRequest(20000000.0), AUTH_TOKEN).block();
+
+        // Act & Assert
+        StepVerifier.create(jobService.find(submitted.getJobId(), AUTH_TOKEN, null))
+                .assertNext(job -> {
+                    assertThat(job.getStatus()).isEqualTo(SimulationJobDto.Status.FAILED);
+                    assertThat(job.getError()).isEqualTo("N8N service unavailable");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void submit_WhenSimulationFailsWhileQueueing_ShouldNotReuseFailedJob() {
+        // Arrange - con un worker libre el trabajo se ejecuta y falla dentro de tryEmitNext
+        jobService = new SimulationJobService(simulationService, 10, 2, 600, 120, 30);
+        when(simulationService.simulateLoan(any(SimulationRequest.class), anyString()))
+                .thenReturn(Mono.error(new RuntimeException("N8N service unavailable")));
+
+        // Act
+        SimulationJobDto first = jobService.submit(createRequest(20000000.0), AUTH_TOKEN).block();
+        SimulationJobDto second = jobService.submit(createRequest(20000000.0), AUTH_TOKEN).block();
+
+        // Assert
+        assertThat(first.getStatus()).isEqualTo(SimulationJobDto.Status.FAILED);
+        assertThat(second.getJobId()).isNotEqualTo(first.getJobId());
+        verify(simulationService, times(2)).simulateLoan(any(SimulationRequest.class), anyString());
+        StepVerifier.create(jobService.find(first.getJobId(), AUTH_TOKEN, null))
+                .assertNext(job -> assertThat(job.getStatus()).isEqualTo(SimulationJobDto.Status.FAILED))
+                .verifyComplete();
+    }
+
+    @Test
+    void find_WithUnknownJobOrDifferentToken_ShouldReturnNotFound() {
+        // Arrange
+        jobService = new SimulationJobService(simulationService, 10, 2, 600, 120, 30);
+        when(simulationService.simulateLoan(any(SimulationRequest.class), anyString()))
+                .thenReturn(Mono.never());
+        SimulationJobDto submitted = jobService.submit(createRequest(20000000.0), AUTH_TOKEN).block();
+
+        // Act & Assert
+        StepVerifier.create(jobService.find("unknown", AUTH_TOKEN, null))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException rse
+                        && rse.getStatusCode() == HttpStatus.NOT_FOUND)
+                .verify();
+        StepVerifier.create(jobService.find(submitted.getJobId(), "Bearer other-token", null))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException rse
+                        && rse.getStatusCode() == HttpStatus.NOT_FOUND)
+                .verify();
+    }
+
+    @Test
+    void purgeExpired_WithZeroTtl_ShouldRemoveFinishedJobs() throws InterruptedException {
+        // Arrange
+        jobService = new SimulationJobService(simulationService, 10, 2, 0, 120, 30);
+        when(simulationService.simulateLoan(any(SimulationRequest.class), anyString()))
+                .thenReturn(Mono.just(createResponse()));
+        SimulationJobDto submitted = jobService.submit(createRequest(20000000.0), AUTH_TOKEN).block();
+        Thread.sleep(5);
+
+        // Act
+        jobService.purgeExpired();
+
+        // Assert
+        StepVerifier.create(jobService.find(submitted.getJobId(), AUTH_TOKEN, null))
+                .expectError(ResponseStatusException.class)
+                .verify();
+    }
+
+    private SimulationRequest createRequest(double amount) {
+        SimulationRequest request = new SimulationRequest();
+        request.setUserId("user123");
+        request.setAmount(amount);
+        request.setTermMonths(48);
+        request.setMonthlyIncome(5000000.0);
+        return request;
+    }
+
+    private SimulationResponse createResponse() {
+        return SimulationResponse.builder()
+                .recommendation(RecommendationDto.builder()
+                        .bestOption("Bancolombia")
+                        .riskAssessment("bajo")
+                        .build())
+                .build();
+    }
+}
@@ -1,5 +1,9 @@
 package com.prestek.FinancialEntityService.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prestek.FinancialEntityService.config.BankConstants;
+import com.prestek.FinancialEntityService.dto.BankQuoteDto;
+import com.prestek.FinancialEntityService.dto.OfferDto;
 import com.prestek.FinancialEntityService.dto.RecommendationDto;
 import com.prestek.FinancialEntityService.dto.SimulationRequest;
 import com.prestek.FinancialEntityService.dto.SimulationResponse;
@@ -10,6 +14,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -50,9 +55,22 @@ class SimulationServiceTest {
 
     private String n8nUrl = "http://localhost:5678/webhook-test/simulate-credit";
 
+    @Mock
+    private BankQuoteClient quoteClient;
+
+    private MockEnvironment eligibilityEnvironment;
+
+    private QuoteCurveCache quoteCurveCache;
+
+    private final RankingEngine rankingEngine = new WeightedRankingEngine(0.4, 0.2, 0.2, 0.2, 0.3, 0.4);
+
     @BeforeEach
     void setUp() {
-        simulationService = new SimulationService(webClientBuilder);
+        eligibilityEnvironment = new MockEnvironment();
+        quoteCurveCache = new QuoteCurveCache(quoteClient, new double[] { 10000000, 30000000 },
+                new int[] { 36, 60 }, new int[] { 650 }, 650, 86400, 0.02, 20000000, "", 4, 0);
+        simulationService = new SimulationService(webClientBuilder,
+                new BankEligibilityService(eligibilityEnvironment), quoteCurveCache, rankingEngine);
         ReflectionTestUtils.setField(simulationService, "n8nSimulationUrl", n8nUrl);
     }
 
@@ -865,4 +883,243 @@ class SimulationServiceTest {
                 .expectComplete()
                 .verify();
     }
+
+    // ==================== Pruebas del pre-filtro de políticas ====================
+
+    @Test
+    void simulateLoan_WhenAllBanksRejectByPolicy_ShouldSkipN8N() {
+        // Arrange
+        eligibilityEnvironment
+                .withProperty("bank-policies.banks.BCO.max-amount", "10000000")
+                .withProperty("bank-policies.banks.DAVI.max-amount", "10000000")
+                .withProperty("bank-policies.banks.COLT.max-term-months", "24");
+        simulationService = new SimulationService(webClientBuilder,
+                new BankEligibilityService(eligibilityEnvironment), quoteCurveCache, rankingEngine);
+        ReflectionTestUtils.setField(simulationService, "n8nSimulationUrl", n8nUrl);
+
+        SimulationRequest request = new SimulationRequest();
+        request.setUserId("user123");
+        request.setAmount(20000000.0);
+        request.setTermMonths(48);
+        request.setMonthlyIncome(5000000.0);
+
+        // Act & Assert
+        StepVerifier.create(simulationService.simulateLoan(request, "Bearer valid-token"))
+                .assertNext(response -> {
+                    assertThat(response.getOffers()).hasSize(3);
+                    assertThat(response.getOffers()).allMatch(offer -> offer.getPolicyRejected()
+                            && !offer.getApproved());
+                    assertThat(response.getOffers()).extracting(OfferDto::getCodCausal)
+                            .containsExactlyInAnyOrder("MONTO_FUERA_POLITICA", "MONTO_FUERA_POLITICA",
+                                    "PLAZO_FUERA_POLITICA");
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(webClientBuilder);
+    }
+
+    @Test
+    void simulateLoan_WhenSomeBanksRejectByPolicy_ShouldExcludeThemAndMergeOffers() {
+        // Arrange
+        eligibilityEnvironment.withProperty("bank-policies.banks.DAVI.max-amount", "10000000");
+        simulationService = new SimulationService(webClientBuilder,
+                new BankEligibilityService(eligibilityEnvironment), quoteCurveCache, rankingEngine);
+        ReflectionTestUtils.setField(simulationService, "n8nSimulationUrl", n8nUrl);
+
+        SimulationRequest request = new SimulationRequest();
+        request.setUserId("user123");
+        request.setAmount(20000000.0);
+        request.setTermMonths(48);
+        request.setMonthlyIncome(5000000.0);
+
+        SimulationResponse n8nResponse = SimulationResponse.builder()
+                .recommendation(RecommendationDto.builder().bestOption("Bancolombia").build())
+                .build();
+
+        when(webClientBuilder.build()).thenReturn(webClient);
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.header(anyString(), anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(SimulationResponse.class)).thenReturn(Mono.just(n8nResponse));
+
+        // Act & Assert
+        StepVerifier.create(simulationService.simulateLoan(request, "Bearer valid-token"))
+                .assertNext(response -> {
+                    assertThat(response.getOffers()).hasSize(1);
+                    assertThat(response.getOffers().get(0).getEntity()).isEqualTo("Davivienda");
+                    assertThat(response.getOffers().get(0).getCodCausal()).isEqualTo("MONTO_FUERA_POLITICA");
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<Object> bodyCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(requestBodySpec).bodyValue(bodyCaptor.capture());
+        assertThat(((SimulationRequest) bodyCaptor.getValue()).getExcludedBanks()).containsExactly("DAVI");
+    }
+
+    // ==================== Pruebas de simulaciones estimadas ====================
+
+    @Test
+    void simulateLoan_InEstimateMode_ShouldAnswerFromQuoteCurvesWithoutNetwork() {
+        // Arrange
+        for (BankConstants.BankService bank : new BankConstants.BankService[] {
+                BankConstants.BankService.BANCOLOMBIA, BankConstants.BankService.DAVIVIENDA }) {
+            double rate = bank == BankConstants.BankService.BANCOLOMBIA ? 0.20 : 0.24;
+            for (double amount : new double[] { 10000000, 30000000 }) {
+                for (int term : new int[] { 36, 60 }) {
+                    quoteCurveCache.record(bank, 650, amount, term, BankQuoteDto.builder()
+                            .rateEAmin(rate)
+                            .rateEAmax(rate + 0.01)
+                            .feesEstimated(100000L)
+                            .build());
+                }
+            }
+        }
+
+        SimulationRequest request = new SimulationRequest();
+        request.setUserId("user123");
+        request.setAmount(20000000.0);
+        request.setTermMonths(48);
+        request.setMonthlyIncome(5000000.0);
+        request.setMode(SimulationRequest.Mode.ESTIMATE);
+
+        // Act & Assert - las estimaciones no llaman a ningún servicio
+        StepVerifier.create(simulationService.simulateLoan(request, "Bearer token"))
+                .assertNext(response -> {
+                    assertThat(response.getEstimated()).isTrue();
+                    assertThat(response.getOffers()).extracting(OfferDto::getEntity)
+                            .containsExactlyInAnyOrder("Bancolombia", "Davivienda");
+                    assertThat(response.getRecommendation().getBestOption()).isEqualTo("Bancolombia");
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(webClientBuilder, quoteClient);
+    }
+
+    @Test
+    void simulateLoan_InEstimateModeWithoutToken_ShouldFail() {
+        // Arrange
+        SimulationRequest request = new SimulationRequest();
+        request.setUserId("user123");
+        request.setAmount(20000000.0);
+        request.setTermMonths(48);
+        request.setMonthlyIncome(5000000.0);
+        request.setMode(SimulationRequest.Mode.ESTIMATE);
+
+        // Act & Assert
+        StepVerifier.create(simulationService.simulateLoan(request, null))
+                .expectErrorMatches(error -> error instanceof IllegalArgumentException
+                        && error.getMessage().equals("Authorization token is required"))
+                .verify();
+
+        verifyNoInteractions(webClientBuilder, quoteClient);
+    }
+
+    // ==================== Pruebas del ranking en proceso ====================
+
+    @Test
+    void simulateLoan_WithAnalysisFromN8N_ShouldRankLocallyByBankCode() throws Exception {
+        // Arrange - n8n reporta el análisis con nombres de banco; se normalizan a código
+        SimulationResponse n8nResponse = new ObjectMapper().readValue("""
+                {
+                  "analysis": {
+                    "bancolombia": {"monthlyPaymentAvg": 650000, "totalCost": 31200000, "totalInterest": 11200000},
+                    "davivienda": {"monthlyPaymentAvg": 610000, "totalCost": 29280000, "totalInterest": 9280000},
+                    "coltefinanciera": {"monthlyPaymentAvg": 700000, "totalCost": 33600000, "totalInterest": 13600000}
+                  },
+                  "offers": [{"entity": "Davivienda", "approved": true}],
+                  "recommendation": {"bestOption": "Bancolombia"}
+                }
+                """, SimulationResponse.class);
+
+        SimulationRequest request = new SimulationRequest();
+        request.setUserId("user123");
+        request.setAmount(20000000.0);
+        request.setTermMonths(48);
+        request.setMonthlyIncome(5000000.0);
+
+        when(webClientBuilder.build()).thenReturn(webClient);
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.header(anyString(), anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(SimulationResponse.class)).thenReturn(Mono.just(n8nResponse));
+
+        // Act & Assert
+        StepVerifier.create(simulationService.simulateLoan(request, "Bearer valid-token"))
+                .assertNext(response -> {
+                    assertThat(response.getAnalysis().getBanks()).containsOnlyKeys("BCO", "DAVI", "COLT");
+                    assertThat(response.getRecommendation().getBestOption()).isEqualTo("Davivienda");
+                    assertThat(response.getRecommendation().getRiskAssessment()).isEqualTo("bajo");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void simulateLoan_WithN8NPayloadWithoutOffers_ShouldStillRecommendABank() throws Exception {
+        // Arrange - el contrato de n8n solo trae analysis y recommendation
+        SimulationResponse n8nResponse = new ObjectMapper().readValue("""
+                {
+                  "analysis": {
+                    "bancolombia": {"monthlyPaymentAvg": 650000, "totalCost": 31200000, "totalInterest": 11200000},
+                    "davivienda": {"monthlyPaymentAvg": 610000, "totalCost": 29280000, "totalInterest": 9280000},
+                    "coltefinanciera": {"monthlyPaymentAvg": 700000, "totalCost": 33600000, "totalInterest": 13600000}
+                  },
+                  "recommendation": {"bestOption": "Bancolombia", "summary": "Recomendación de n8n"}
+                }
+                """, SimulationResponse.class);
+        stubN8NResponse(n8nResponse);
+
+        // Act & Assert
+        StepVerifier.create(simulationService.simulateLoan(createRankingRequest(), "Bearer valid-token"))
+                .assertNext(response -> {
+                    assertThat(response.getRecommendation().getBestOption()).isEqualTo("Davivienda");
+                    assertThat(response.getRecommendation().getSummary()).isEqualTo("3 ofertas comparadas");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void simulateLoan_WithoutRankableAnalysis_ShouldKeepN8NRecommendation() throws Exception {
+        // Arrange - sin cuota ni costo no hay nada que comparar
+        SimulationResponse n8nResponse = new ObjectMapper().readValue("""
+                {
+                  "analysis": {"bancolombia": {"positives": ["Tasa competitiva"]}},
+                  "recommendation": {"bestOption": "Bancolombia", "summary": "Recomendación de n8n"}
+                }
+                """, SimulationResponse.class);
+        stubN8NResponse(n8nResponse);
+
+        // Act & Assert
+        StepVerifier.create(simulationService.simulateLoan(createRankingRequest(), "Bearer valid-token"))
+                .assertNext(response -> {
+                    assertThat(response.getRecommendation().getBestOption()).isEqualTo("Bancolombia");
+                    assertThat(response.getRecommendation().getSummary()).isEqualTo("Recomendación de n8n");
+                })
+                .verifyComplete();
+    }
+
+    private void stubN8NResponse(SimulationResponse n8nResponse) {
+        when(webClientBuilder.build()).thenReturn(webClient);
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.header(anyString(), anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(SimulationResponse.class)).thenReturn(Mono.just(n8nResponse));
+    }
+
+    private static SimulationRequest createRankingRequest() {
+        SimulationRequest request = new SimulationRequest();
+        request.setUserId("user123");
+        request.setAmount(20000000.0);
+        request.setTermMonths(48);
+        request.setMonthlyIncome(5000000.0);
+        return request;
+    }
 }
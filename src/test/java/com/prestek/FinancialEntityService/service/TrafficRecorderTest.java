@@ -0,0 +1,243 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prestek.FinancialEntityService.filter.TrafficRecordingExchangeFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrafficRecorderTest {
+
+    private static final String APPLICATIONS =
+            "[{\"id\":1,\"userId\":\"cc-1020304050\",\"userFullName\":\"Ana Pérez\",\"amount\":5000000.0}]";
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Path file;
+    private TrafficRecorder recorder;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = directory.resolve("recording.ptr");
+        BankEndpointRegistry endpointRegistry = new BankEndpointRegistry(new MockEnvironment(),
+                new BankOutlierDetector(5, 3.0, 1000, 30, 300, 50), 50, 10, 2000);
+        recorder = new TrafficRecorder(new OutboundTargetResolver(endpointRegistry, "http://n8n.local/webhook/sim"),
+                objectMapper, file, "userId,userFullName", 100, 1024 * 1024);
+        webClient = WebClient.builder()
+                .filter(new TrafficRecordingExchangeFilter(recorder))
+                .exchangeFunction(request -> writeBody(request)
+                        .then(Mono.delay(Duration.ofMillis(20)))
+                        .map(tick -> ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance
+                                        .wrap(APPLICATIONS.getBytes(StandardCharsets.UTF_8)))))
+                                .build()))
+                .build();
+    }
+
+    @Test
+    void record_WithBankResponse_ShouldStoreAnonymizedExchangeWithTiming() throws Exception {
+        // Act
+        webClient.get()
+                .uri("http://localhost:8083/api/applications/user/cc-1020304050")
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+        recorder.close();
+
+        // Assert
+        List<TrafficRecord> records = TrafficRecord.readAll(file);
+        assertThat(records).singleElement().satisfies(record -> {
+            assertThat(record.target()).isEqualTo("BCO");
+            assertThat(record.method()).isEqualTo("GET");
+            assertThat(record.status()).isEqualTo(200);
+            assertThat(record.path()).startsWith("/api/applications/user/")
+                    .doesNotContain("1020304050")
+                    .hasSize("/api/applications/user/cc-1020304050".length());
+            assertThat(record.headersMicros()).isGreaterThanOrEqualTo(20_000);
+            assertThat(record.totalMicros()).isGreaterThanOrEqualTo(record.headersMicros());
+            assertThat(record.responseContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+
+            JsonNode application = readTree(record.responseBody()).get(0);
+            assertThat(application.get("userId").asText()).hasSize("cc-1020304050".length())
+                    .doesNotContain("1020304050");
+            assertThat(application.get("userFullName").asText()).isNotEqualTo("Ana Pérez");
+            assertThat(application.get("amount").asDouble()).isEqualTo(5000000.0);
+        });
+    }
+
+    @Test
+    void record_WithRequestBody_ShouldStoreItAnonymized() throws Exception {
+        // Act
+        webClient.post()
+                .uri("http://n8n.local/webhook/sim")
+                .bodyValue(Map.of("userId", "cc-1020304050", "amount", 15000000))
+                .retrieve()
+                .toBodilessEntity()
+                .block();
+        recorder.close();
+
+        // Assert
+        assertThat(TrafficRecord.readAll(file)).singleElement().satisfies(record -> {
+            assertThat(record.target()).isEqualTo(OutboundTargetResolver.N8N_TARGET);
+            JsonNode request = readTree(record.requestBody());
+            assertThat(request.get("amount").asInt()).isEqualTo(15000000);
+            assertThat(request.get("userId").asText()).doesNotContain("1020304050");
+        });
+    }
+
+    @Test
+    void record_WithUnknownTarget_ShouldNotRecord() throws Exception {
+        // Act
+        webClient.get().uri("http://other.local/api").retrieve().bodyToMono(String.class).block();
+        recorder.close();
+
+        // Assert
+        assertThat(TrafficRecord.readAll(file)).isEmpty();
+    }
+
+    @Test
+    void anonymize_WithSameValue_ShouldUseStablePseudonym() throws Exception {
+        // Arrange
+        long now = System.nanoTime();
+        TrafficRecorder.Exchange exchange = new TrafficRecorder.Exchange("DAVI", "GET",
+                URI.create("http://localhost:8082/api/applications/user/u-77"), 200, now, now, now,
+                null, new byte[0], "text/plain", "secret".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        TrafficRecord first = recorder.anonymize(exchange);
+        TrafficRecord second = recorder.anonymize(exchange);
+        recorder.close();
+
+        // Assert
+        assertThat(first.path()).isEqualTo(second.path());
+        assertThat(new String(first.responseBody(), StandardCharsets.UTF_8)).isEqualTo("######");
+    }
+
+    @Test
+    void anonymize_WithRedactedNumbers_ShouldKeepTypeAndDigits() throws Exception {
+        // Arrange
+        TrafficRecorder numbers = new TrafficRecorder(new OutboundTargetResolver(new BankEndpointRegistry(
+                new MockEnvironment(), new BankOutlierDetector(5, 3.0, 1000, 30, 300, 50), 50, 10, 2000),
+                "http://n8n.local/webhook/sim"), objectMapper, null, "amount,monthlyIncome", 100, 1024 * 1024);
+        long now = System.nanoTime();
+        byte[] body = "{\"amount\":15000000,\"monthlyIncome\":6000000.5,\"termMonths\":36}"
+                .getBytes(StandardCharsets.UTF_8);
+        TrafficRecorder.Exchange exchange = new TrafficRecorder.Exchange("n8n", "POST",
+                URI.create("http://n8n.local/webhook/sim"), 200, now, now, now,
+                MediaType.APPLICATION_JSON_VALUE, body, null, new byte[0]);
+
+        // Act
+        JsonNode request = readTree(numbers.anonymize(exchange).requestBody());
+        recorder.close();
+
+        // Assert
+        assertThat(request.get("amount").isIntegralNumber()).isTrue();
+        assertThat(request.get("amount").asLong()).isBetween(10_000_000L, 99_999_999L).isNotEqualTo(15000000L);
+        assertThat(request.get("monthlyIncome").isFloatingPointNumber()).isTrue();
+        assertThat(request.get("monthlyIncome").asDouble()).isBetween(1_000_000.0, 9_999_999.0);
+        assertThat(request.get("termMonths").asInt()).isEqualTo(36);
+    }
+
+    @Test
+    void constructor_WithoutFile_ShouldStayDisabled() throws Exception {
+        // Arrange
+        TrafficRecorder disabled = new TrafficRecorder(new OutboundTargetResolver(new BankEndpointRegistry(
+                new MockEnvironment(), new BankOutlierDetector(5, 3.0, 1000, 30, 300, 50), 50, 10, 2000),
+                "http://n8n.local/webhook/sim"), objectMapper, null, "userId", 100, 1024 * 1024);
+        WebClient.Builder builder = WebClient.builder();
+
+        // Act
+        new TrafficRecordingExchangeFilter(disabled).customize(builder);
+        disabled.close();
+        recorder.close();
+
+        // Assert
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.target(URI.create("http://localhost:8083/api/applications"))).isNull();
+        builder.filters(filters -> assertThat(filters).isEmpty());
+    }
+
+    @Test
+    void writeTo_WithUnwritableField_ShouldWriteNothing() throws Exception {
+        // Arrange
+        TrafficRecord record = new TrafficRecord("BCO", "GET", "/" + "a".repeat(70_000), 200, 0, 0, 0,
+                "", new byte[0], "", new byte[0]);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        recorder.close();
+
+        // Act & Assert
+        assertThatThrownBy(() -> record.writeTo(new DataOutputStream(bytes))).isInstanceOf(IOException.class);
+        assertThat(bytes.size()).isZero();
+    }
+
+    /**
+     * Escribe el cuerpo de la petición como lo haría el conector HTTP.
+     */
+    private static Mono<Void> writeBody(ClientRequest request) {
+        if (request.method() != HttpMethod.POST) {
+            return Mono.empty();
+        }
+        MockClientHttpRequest written = new MockClientHttpRequest(request.method(), request.url());
+        return request.body().insert(written, new BodyInserter.Context() {
+            @Override
+            public List<HttpMessageWriter<?>> messageWriters() {
+                return ExchangeStrategies.withDefaults().messageWriters();
+            }
+
+            @Override
+            public Optional<ServerHttpRequest> serverRequest() {
+                return Optional.empty();
+            }
+
+            @Override
+            public Map<String, Object> hints() {
+                return Map.of();
+            }
+        }).then(Mono.defer(() -> written.getBody().then()));
+    }
+
+    private JsonNode readTree(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.prestek.FinancialEntityService.service;
+
+import com.prestek.FinancialEntityService.dto.RecommendationDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeightedRankingEngineTest {
+
+    private final WeightedRankingEngine engine = new WeightedRankingEngine(0.4, 0.2, 0.2, 0.2, 0.3, 0.4);
+
+    @Test
+    void rank_WithCheapestApprovedOffer_ShouldRecommendIt() {
+        // Arrange
+        List<RankingCandidate> candidates = List.of(
+                new RankingCandidate("BCO", "Bancolombia", 650000, 31200000, 0.13, true),
+                new RankingCandidate("DAVI", "Davivienda", 610000, 29280000, 0.12, true),
+                new RankingCandidate("COLT", "Coltefinanciera", 700000, 33600000, 0.14, true));
+
+        // Act
+        RecommendationDto recommendation = engine.rank(candidates);
+
+        // Assert
+        assertThat(recommendation.getBestOption()).isEqualTo("Davivienda");
+        assertThat(recommendation.getRiskAssessment()).isEqualTo("bajo");
+        assertThat(recommendation.getSummary()).isEqualTo("3 ofertas comparadas");
+    }
+
+    @Test
+    void rank_WithRejectedCheapestOffer_ShouldPenalizeApproval() {
+        // Arrange
+        List<RankingCandidate> candidates = List.of(
+                new RankingCandidate("DAVI", "Davivienda", 600000, 29000000, 0.350, false),
+                new RankingCandidate("BCO", "Bancolombia", 605000, 29100000, 0.352, true),
+                new RankingCandidate("COLT", "Coltefinanciera", 700000, 33600000, 0.400, true));
+
+        // Act
+        RecommendationDto recommendation = engine.rank(candidates);
+
+        // Assert
+        assertThat(recommendation.getBestOption()).isEqualTo("Bancolombia");
+        assertThat(recommendation.getRiskAssessment()).isEqualTo("medio");
+    }
+
+    @Test
+    void rank_WithMuchCheaperRejectedOffer_ShouldNeverRecommendIt() {
+        // Arrange - con una simple penalización el rechazado ganaría por costo
+        List<RankingCandidate> candidates = List.of(
+                new RankingCandidate("DAVI", "Davivienda", 400000, 19200000, 0.08, false),
+                new RankingCandidate("BCO", "Bancolombia", 650000, 31200000, 0.13, true),
+                new RankingCandidate("COLT", "Coltefinanciera", 660000, 31680000, 0.132, true));
+
+        // Act
+        RecommendationDto recommendation = engine.rank(candidates);
+
+        // Assert
+        assertThat(recommendation.getBestOption()).isEqualTo("Bancolombia");
+        assertThat(recommendation.getSummary()).isEqualTo("3 ofertas comparadas, 2 aprobadas");
+    }
+
+    @Test
+    void rank_WithoutApprovalData_ShouldRankOnMetrics() {
+        // Arrange - n8n no envía ofertas: la aprobación es desconocida para todos
+        List<RankingCandidate> candidates = List.of(
+                new RankingCandidate("BCO", "Bancolombia", 650000, 31200000, 0.13, null),
+                new RankingCandidate("DAVI", "Davivienda", 610000, 29280000, 0.12, null));
+
+        // Act
+        RecommendationDto recommendation = engine.rank(candidates);
+
+        // Assert
+        assertThat(recommendation.getBestOption()).isEqualTo("Davivienda");
+        assertThat(recommendation.getSummary()).isEqualTo("2 ofertas comparadas");
+    }
+
+    @Test
+    void rank_WithUnknownAndApprovedOffers_ShouldApplyApprovalWeight() {
+        // Arrange - Davivienda es algo más barato pero sin aprobación confirmada
+        List<RankingCandidate> candidates = List.of(
+                new RankingCandidate("DAVI", "Davivienda", 640000, 30720000, 0.128, null),
+                new RankingCandidate("BCO", "Bancolombia", 650000, 31200000, 0.13, true),
+                new RankingCandidate("COLT", "Coltefinanciera", 700000, 33600000, 0.14, true));
+
+        // Act
+        RecommendationDto recommendation = engine.rank(candidates);
+
+        // Assert
+        assertThat(recommendation.getBestOption()).isEqualTo("Bancolombia");
+    }
+
+    @Test
+    void rank_WithoutApprovedOffers_ShouldNotRecommendAnyBank() {
+        // Arrange
+        List<RankingCandidate> candidates = List.of(
+                new RankingCandidate("DAVI", "Davivienda", 400000, 19200000, 0.08, false),
+                new RankingCandidate("BCO", "Bancolombia", 650000, 31200000, 0.13, false));
+
+        // Act
+        RecommendationDto recommendation = engine.rank(candidates);
+
+        // Assert
+        assertThat(recommendation.getBestOption()).isNull();
+        assertThat(recommendation.getRiskAssessment()).isNull();
+        assertThat(recommendation.getReason()).isEqualTo("Ningún banco aprobó la solicitud");
+    }
+
+    @Test
+    void rank_WithTiedScores_ShouldBeDeterministicByBankCode() {
+        // Arrange
+        RankingCandidate davivienda = new RankingCandidate("DAVI", "Davivienda", 600000, 29000000, 0.45, true);
+        RankingCandidate bancolombia = new RankingCandidate("BCO", "Bancolombia", 600000, 29000000, 0.45, true);
+
+        // Act & Assert - el orden de entrada no cambia el resultado
+        assertThat(engine.rank(List.of(davivienda, bancolombia)).getBestOption()).isEqualTo("Bancolombia");
+        assertThat(engine.rank(List.of(bancolombia, davivienda)).getBestOption()).isEqualTo("Bancolombia");
+        assertThat(engine.rank(List.of(bancolombia, davivienda)).getRiskAssessment()).isEqualTo("alto");
+    }
+
+    @Test
+    void rank_WithManyBanks_ShouldPickLowestWeightedScore() {
+        // Arrange
+        List<RankingCandidate> candidates = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            double payment = 700000 - (i % 7) * 10000 + (i == 23 ? -100000 : 0);
+            candidates.add(new RankingCandidate(String.format("B%02d", i), "Banco " + i,
+                    payment, payment * 48, payment / 5000000, true));
+        }
+
+        // Act
+        RecommendationDto recommendation = engine.rank(candidates);
+
+        // Assert
+        assertThat(recommendation.getBestOption()).isEqualTo("Banco 23");
+    }
+
+    @Test
+    void rank_WithoutCandidates_ShouldReturnNull() {
+        // Act & Assert
+        assertThat(engine.rank(List.of())).isNull();
+    }
+}